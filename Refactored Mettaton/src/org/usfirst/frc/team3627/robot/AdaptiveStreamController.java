@@ -0,0 +1,192 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Decides the settings of the driver camera stream from how well
+ * the stream is actually getting through.
+ *
+ * The possible settings are kept in a ladder, from the most
+ * expensive at the top to the cheapest at the bottom. Whenever
+ * the stream goes over its bandwidth budget, gets behind its
+ * latency target or cannot keep up its frame rate, the controller
+ * steps down the ladder right away. When the stream has been
+ * comfortably within its targets for a while, and the next step up
+ * is expected to fit in the budget, the controller steps back up.
+ * Stepping down quickly and up slowly keeps the feed from lagging
+ * while still using a clear link.
+ *
+ * While shed, the stream is held at SHED_LEVEL or below, so encoding
+ * it takes less of the roboRIO's time.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class AdaptiveStreamController implements Sheddable {
+
+	//settings from most to least bandwidth; the driver cares most about
+	//latency and frame rate, so quality and size are given up first.
+	//The camera captures at 320x240, so nothing bigger is worth sending
+	static final StreamSettings[] LADDER = {
+		new StreamSettings(320, 240, 30, 60),
+		new StreamSettings(320, 240, 30, 45),
+		new StreamSettings(320, 240, 30, 30),
+		new StreamSettings(320, 240, 20, 30),
+		new StreamSettings(320, 240, 15, 25),
+		new StreamSettings(160, 120, 30, 40),
+		new StreamSettings(160, 120, 20, 30),
+		new StreamSettings(160, 120, 15, 20),
+		new StreamSettings(160, 120, 10, 15)
+	};
+
+	//320x240 at quality 30, which is what the CameraServer used to send
+	static final int DEFAULT_LEVEL = 2;
+
+	//160x120 at 20 frames per second, which is still enough to drive by
+	static final int SHED_LEVEL = 6;
+
+	//number of good intervals in a row before stepping up; doubled each
+	//time a step up fails right away, so the stream does not keep bouncing
+	static final int INTERVALS_BEFORE_RAISE = 4;
+	static final int MAX_INTERVALS_BEFORE_RAISE = 64;
+
+	//a step up that lasts this many intervals counts as a success
+	static final int RAISE_SUCCESS_INTERVALS = 10;
+
+	//fraction of the expected frames that counts as keeping up
+	static final double MIN_FRAME_RATIO = 0.7;
+
+	//fraction of the budget the next step up must be expected to fit in
+	static final double RAISE_HEADROOM = 0.8;
+
+	//targets
+	private double bandwidthTarget;
+	private double latencyTarget;
+
+	//current position on the ladder; the stream thread updates it,
+	//while the periodic functions may set it
+	private volatile int level = DEFAULT_LEVEL;
+	private volatile int topLevel;
+	private int goodIntervals;
+	private int raiseDelay = INTERVALS_BEFORE_RAISE;
+	private int intervalsSinceRaise = RAISE_SUCCESS_INTERVALS;
+
+	/**
+	 * Creates an AdaptiveStreamController with the given targets.
+	 *
+	 * @param bandwidthTarget the most bytes per second the stream may use
+	 * @param latencyTarget the most seconds a frame may take to be sent
+	 */
+	public AdaptiveStreamController(double bandwidthTarget, double latencyTarget) {
+		this.bandwidthTarget = bandwidthTarget;
+		this.latencyTarget = latencyTarget;
+	}
+
+	public StreamSettings getSettings() {
+		return LADDER[level];
+	}
+
+	public int getLevel() {
+		return level;
+	}
+
+	public double getBandwidthTarget() {
+		return bandwidthTarget;
+	}
+
+	public double getLatencyTarget() {
+		return latencyTarget;
+	}
+
+	public void setBandwidthTarget(double value) {
+		bandwidthTarget = value;
+	}
+
+	public void setLatencyTarget(double value) {
+		latencyTarget = value;
+	}
+
+	/**
+	 * Sets the settings to a rung of the ladder, for example to shed
+	 * load when the robot is busy. The controller continues to adjust
+	 * from there. While shed, it goes no higher than SHED_LEVEL.
+	 *
+	 * @param value the rung of the ladder, where 0 is the most expensive
+	 */
+	public void setLevel(int value) {
+		level = Math.max(topLevel, Math.min(LADDER.length - 1, value));
+		goodIntervals = 0;
+	}
+
+	/**
+	 * Drops the stream to SHED_LEVEL, and keeps it from stepping up
+	 * past there until it is restored.
+	 */
+	public void shed() {
+		topLevel = SHED_LEVEL;
+		if (level < SHED_LEVEL) {
+			setLevel(SHED_LEVEL);
+		}
+	}
+
+	/**
+	 * Lets the stream step up again as the link allows.
+	 */
+	public void restore() {
+		topLevel = 0;
+	}
+
+	/**
+	 * Adjusts the settings based on what happened over the last
+	 * measurement interval. Only call this when at least one client
+	 * is connected; with no clients there is nothing to measure.
+	 *
+	 * @param bytesPerSecond total bytes per second sent to every client
+	 * @param worstLatency the highest average send latency of any client, in seconds
+	 * @param worstFrameRatio the lowest fraction of its expected frames that any client received
+	 * @return true if the settings changed
+	 */
+	public boolean update(double bytesPerSecond, double worstLatency, double worstFrameRatio) {
+		int oldLevel = level;
+		StreamSettings settings = LADDER[level];
+
+		boolean overBudget = bytesPerSecond > bandwidthTarget;
+		boolean lagging = worstLatency > latencyTarget;
+		boolean starved = worstFrameRatio < MIN_FRAME_RATIO;
+
+		intervalsSinceRaise++;
+		if (intervalsSinceRaise == RAISE_SUCCESS_INTERVALS) {
+			raiseDelay = INTERVALS_BEFORE_RAISE;
+		}
+
+		if (overBudget || lagging || starved) {
+
+			//the last step up did not fit, so wait longer before trying again
+			if (intervalsSinceRaise < RAISE_SUCCESS_INTERVALS) {
+				raiseDelay = Math.min(2 * raiseDelay, MAX_INTERVALS_BEFORE_RAISE);
+				intervalsSinceRaise = RAISE_SUCCESS_INTERVALS;
+			}
+
+			//step down twice as far when things are really bad
+			boolean severe = (bytesPerSecond > 1.5 * bandwidthTarget || worstLatency > 2 * latencyTarget);
+			level = Math.min(LADDER.length - 1, level + (severe ? 2 : 1));
+			goodIntervals = 0;
+		} else if (worstLatency < latencyTarget / 2) {
+			goodIntervals++;
+
+			if (goodIntervals >= raiseDelay && level > topLevel) {
+
+				//estimate the bandwidth of the next step up from this one
+				double ratio = LADDER[level - 1].getRelativeCost() / settings.getRelativeCost();
+
+				if (bytesPerSecond * ratio < RAISE_HEADROOM * bandwidthTarget) {
+					level--;
+					intervalsSinceRaise = 0;
+				}
+				goodIntervals = 0;
+			}
+		} else {
+			goodIntervals = 0;
+		}
+
+		return level != oldLevel;
+	}
+}
@@ -0,0 +1,412 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Serves the driver camera stream, and keeps adjusting the stream
+ * so that it fits through whatever link the driver station has.
+ *
+ * This speaks the same protocol as the WPILib CameraServer on the
+ * same port, so the dashboard does not know the difference. Unlike
+ * the CameraServer, it measures how fast each client actually
+ * receives frames and how long each frame takes to send, and an
+ * AdaptiveStreamController changes the frame size, frame rate and
+ * JPEG quality to hold the bandwidth and latency targets.
+ *
+ * Each client is sent only the newest frame whenever it is ready
+ * for one. A client on a slow link skips frames instead of falling
+ * further and further behind.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class AdaptiveStreamServer implements Runnable, Stoppable, Publishable {
+
+	//same port and frame header as the CameraServer
+	static final int DEFAULT_PORT = 1180;
+	static final byte[] MAGIC_NUMBER = {0x01, 0x00, 0x00, 0x00};
+
+	//how often the controller adjusts the settings, in seconds
+	static final double CONTROL_INTERVAL = 0.5;
+
+	//small socket buffers, so a slow link shows up as send latency
+	//instead of hiding in the buffers
+	static final int SEND_BUFFER_SIZE = 8 * 1024;
+
+	//how long to wait before accepting again after a failed accept, in
+	//milliseconds, so a socket that keeps failing does not spin a core
+	static final long ACCEPT_RETRY_DELAY = 100;
+
+	//how long to wait before capturing again after a failed capture,
+	//in milliseconds; a camera being replugged takes about this long
+	static final long CAPTURE_RETRY_DELAY = 500;
+
+	//least time between dashboard updates, in seconds
+	static final double DASHBOARD_PERIOD = 0.5;
+
+	private JpegSource source;
+	private AdaptiveStreamController controller;
+	private int port;
+
+	private ServerSocket serverSocket;
+	private List<Client> clients = new CopyOnWriteArrayList<Client>();
+	private volatile boolean running;
+
+	//the newest frame; clients wait on frameLock for it to change
+	private final Object frameLock = new Object();
+	private byte[] latestFrame;
+	private long latestFrameTime;
+	private long latestFrameNumber;
+
+	//what the controller was last given, for the dashboard
+	private volatile double lastBandwidth;
+	private volatile double lastLatency;
+
+	//dashboard field handles
+	private int levelField;
+	private int bandwidthField;
+	private int latencyField;
+
+	/**
+	 * Creates an AdaptiveStreamServer.
+	 *
+	 * @param source where compressed frames come from
+	 * @param controller decides the stream settings
+	 * @param port the TCP port to serve on
+	 */
+	public AdaptiveStreamServer(JpegSource source, AdaptiveStreamController controller, int port) {
+		this.source = source;
+		this.controller = controller;
+		this.port = port;
+	}
+
+	/**
+	 * Creates an AdaptiveStreamServer on the CameraServer's port.
+	 *
+	 * @param source where compressed frames come from
+	 * @param controller decides the stream settings
+	 */
+	public AdaptiveStreamServer(JpegSource source, AdaptiveStreamController controller) {
+		this(source, controller, DEFAULT_PORT);
+	}
+
+	public StreamSettings getSettings() {
+		return controller.getSettings();
+	}
+
+	public AdaptiveStreamController getController() {
+		return controller;
+	}
+
+	public int getClientCount() {
+		return clients.size();
+	}
+
+	/**
+	 * Describes what each client received over the last control interval.
+	 *
+	 * @return one line per client with its frame rate and send latency
+	 */
+	public String getClientReport() {
+		StringBuilder report = new StringBuilder();
+
+		for (Client client : clients) {
+			synchronized (client) {
+				report.append(client.socket.getRemoteSocketAddress()).append(": ")
+						.append(String.format("%.1f fps, %.0f ms", client.lastFrameRate, client.lastLatency * 1000))
+						.append('\n');
+			}
+		}
+
+		return report.toString();
+	}
+
+	/**
+	 * Starts accepting clients and capturing frames, each on its
+	 * own thread.
+	 *
+	 * @throws IOException when the port cannot be opened
+	 */
+	public synchronized void start() throws IOException {
+		if (running) {
+			return;
+		}
+
+		serverSocket = new ServerSocket();
+		serverSocket.setReuseAddress(true);
+		serverSocket.bind(new InetSocketAddress(port));
+		running = true;
+
+		CorePartition.newBackgroundThread(this::acceptClients, "Stream Accept").start();
+		CorePartition.newBackgroundThread(this, "Stream Capture").start();
+	}
+
+	/**
+	 * Stops the stream and disconnects every client.
+	 */
+	public synchronized void stop() {
+		running = false;
+
+		try {
+			if (serverSocket != null) {
+				serverSocket.close();
+			}
+		} catch (IOException e) {
+
+			//closing anyway
+		}
+
+		for (Client client : clients) {
+			client.close();
+		}
+
+		//wake up clients waiting for a frame so they can exit
+		synchronized (frameLock) {
+			frameLock.notifyAll();
+		}
+	}
+
+	/**
+	 * Captures frames at the current frame rate and adjusts the
+	 * settings every control interval.
+	 */
+	public void run() {
+		long lastControl = System.nanoTime();
+		long nextFrame = System.nanoTime();
+		boolean failing = false;
+
+		while (running) {
+
+			//nothing to do without anybody watching
+			if (clients.isEmpty()) {
+				sleepNanos(100000000L);
+				lastControl = System.nanoTime();
+				continue;
+			}
+
+			StreamSettings settings = controller.getSettings();
+			byte[] frame;
+			try {
+				frame = source.capture(settings);
+			} catch (RuntimeException e) {
+
+				//the camera failed or was unplugged; the clients keep the
+				//last frame until it comes back, and the failure is only
+				//reported once however long it lasts
+				if (!failing) {
+					System.err.println("Camera capture failed, retrying: " + e.getMessage());
+					failing = true;
+				}
+				sleepNanos(CAPTURE_RETRY_DELAY * 1000000L);
+				nextFrame = System.nanoTime();
+				continue;
+			}
+			if (failing) {
+				System.err.println("Camera capture recovered");
+				failing = false;
+			}
+
+			synchronized (frameLock) {
+				latestFrame = frame;
+				latestFrameTime = System.nanoTime();
+				latestFrameNumber++;
+				frameLock.notifyAll();
+			}
+
+			long now = System.nanoTime();
+			if (now - lastControl >= CONTROL_INTERVAL * 1e9) {
+				adjust((now - lastControl) / 1e9);
+				lastControl = now;
+			}
+
+			//hold the frame rate
+			nextFrame += (long) (1e9 / settings.getFps());
+			long wait = nextFrame - System.nanoTime();
+			if (wait > 0) {
+				sleepNanos(wait);
+			} else {
+				nextFrame = System.nanoTime();
+			}
+		}
+	}
+
+	/**
+	 * Collects every client's measurements and gives them to the controller.
+	 */
+	private void adjust(double interval) {
+		double bytesPerSecond = 0;
+		double worstLatency = 0;
+		double worstFrameRatio = 1;
+		StreamSettings settings = controller.getSettings();
+
+		for (Client client : clients) {
+			synchronized (client) {
+				bytesPerSecond += client.bytesSent / interval;
+
+				if (client.framesSent > 0) {
+					worstLatency = Math.max(worstLatency, client.totalLatency / client.framesSent);
+				}
+
+				double expected = Math.min(settings.getFps(), client.requestedFps) * interval;
+				worstFrameRatio = Math.min(worstFrameRatio, client.framesSent / expected);
+
+				client.lastFrameRate = client.framesSent / interval;
+				client.lastLatency = (client.framesSent > 0 ? client.totalLatency / client.framesSent : 0);
+				client.bytesSent = 0;
+				client.framesSent = 0;
+				client.totalLatency = 0;
+			}
+		}
+
+		controller.update(bytesPerSecond, worstLatency, worstFrameRatio);
+		lastBandwidth = bytesPerSecond;
+		lastLatency = worstLatency;
+	}
+
+	/**
+	 * Adds the stream's place on the ladder, its bandwidth and its
+	 * latency to the dashboard.
+	 */
+	public void addFields(DashboardPublisher publisher) {
+		levelField = publisher.addNumber("Camera Stream Level", DASHBOARD_PERIOD);
+		bandwidthField = publisher.addNumber("Camera Stream Bandwidth", DASHBOARD_PERIOD);
+		latencyField = publisher.addNumber("Camera Stream Latency", DASHBOARD_PERIOD);
+	}
+
+	public void writeFields(DashboardPublisher publisher) {
+		publisher.set(levelField, controller.getLevel());
+		publisher.set(bandwidthField, lastBandwidth);
+		publisher.set(latencyField, lastLatency * 1000);
+	}
+
+	private void acceptClients() {
+		while (running) {
+			try {
+				Socket socket = serverSocket.accept();
+				socket.setSendBufferSize(SEND_BUFFER_SIZE);
+				socket.setTcpNoDelay(true);
+
+				Client client = new Client(socket);
+				clients.add(client);
+
+				CorePartition.newBackgroundThread(client, "Stream Client " + socket.getRemoteSocketAddress()).start();
+			} catch (IOException e) {
+
+				//the socket was closed by stop(), or the accept failed; try
+				//again if running, but not right away
+				if (running) {
+					sleepNanos(ACCEPT_RETRY_DELAY * 1000000L);
+				}
+			}
+		}
+	}
+
+	private static void sleepNanos(long nanos) {
+		try {
+			Thread.sleep(nanos / 1000000, (int) (nanos % 1000000));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * One connected dashboard. Its statistics are guarded by
+	 * synchronizing on the Client.
+	 */
+	private class Client implements Runnable {
+
+		private Socket socket;
+		private int requestedFps = Integer.MAX_VALUE;
+
+		//measurements for the current control interval
+		private long bytesSent;
+		private long framesSent;
+		private double totalLatency;
+
+		//measurements from the last control interval
+		private double lastFrameRate;
+		private double lastLatency;
+
+		Client(Socket socket) {
+			this.socket = socket;
+		}
+
+		public void run() {
+			try {
+				DataInputStream input = new DataInputStream(socket.getInputStream());
+				DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+
+				//the dashboard asks for a frame rate, compression and size;
+				//only the frame rate is honored, the rest is up to the controller
+				int fps = input.readInt();
+				input.readInt();
+				input.readInt();
+
+				synchronized (this) {
+					requestedFps = (fps > 0 ? fps : Integer.MAX_VALUE);
+				}
+
+				long lastSentNumber = 0;
+				long lastSentTime = 0;
+
+				while (running) {
+					byte[] frame;
+					long frameTime;
+
+					synchronized (frameLock) {
+						while (running && latestFrameNumber == lastSentNumber) {
+							frameLock.wait();
+						}
+
+						frame = latestFrame;
+						frameTime = latestFrameTime;
+						lastSentNumber = latestFrameNumber;
+					}
+
+					//honor the frame rate the client asked for
+					long minPeriod = (long) (1e9 / requestedFps);
+					if (frameTime - lastSentTime < minPeriod) {
+						continue;
+					}
+
+					output.write(MAGIC_NUMBER);
+					output.writeInt(frame.length);
+					output.write(frame);
+					output.flush();
+					lastSentTime = frameTime;
+
+					synchronized (this) {
+						bytesSent += frame.length + MAGIC_NUMBER.length + 4;
+						framesSent++;
+						totalLatency += (System.nanoTime() - frameTime) / 1e9;
+					}
+				}
+			} catch (IOException e) {
+
+				//the client went away
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				close();
+			}
+		}
+
+		void close() {
+			clients.remove(this);
+
+			try {
+				socket.close();
+			} catch (IOException e) {
+
+				//closing anyway
+			}
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * The autonomous routine of Mettaton: lower the launcher to cross
+ * the defense, then drive straight ahead at SPEED for DRIVE_TIME and
+ * stop, as in every match so far.
+ *
+ * Once it is told to follow the path, it instead follows PATH to a
+ * shooting position and stops at its end. The waypoints have not
+ * been measured on a field yet, so the path is not the default.
+ *
+ * The routine only drives the components it is given, so the same
+ * code runs from Robot on the field and against a SimulatedRobot.
+ * Call init() when autonomous starts, which plans the path so that
+ * no tick has to, and periodic() every tick after that.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class Autonomous {
+
+	//the defense ahead of the robot, then a curve over to a shooting
+	//position; in meters from where it starts, x ahead, y left.
+	//Only a guess until it is measured on the field
+	static final double[][] PATH = {{0, 0}, {3, 0}, {4.5, 1}, {5.5, 1.2}};
+	static final double SPEED = 0.5;
+
+	//how long the default routine drives, in seconds
+	static final double DRIVE_TIME = 5;
+
+	private DriveTrain driveTrain;
+	private Winch launcher;
+	private PathFollower path;
+
+	//the routine chosen for the next init(), and the one running
+	private boolean pathChosen;
+	private boolean followingPath;
+	private boolean winchPositioned;
+	private int driveTicks;
+
+	/**
+	 * Creates the routine for the given components.
+	 *
+	 * @param driveTrain the drive train to drive
+	 * @param launcher the launcher to lower
+	 * @param trackWidth the distance between the left and right wheels, in meters
+	 */
+	public Autonomous(DriveTrain driveTrain, Winch launcher, double trackWidth) {
+		this.driveTrain = driveTrain;
+		this.launcher = launcher;
+		path = new PathFollower(trackWidth, SPEED);
+	}
+
+	public PathFollower getPath() {
+		return path;
+	}
+
+	public boolean isPathChosen() {
+		return pathChosen;
+	}
+
+	/**
+	 * Chooses between following PATH and driving straight ahead, from
+	 * the next init().
+	 *
+	 * @param value true to follow the path
+	 */
+	public void setPathChosen(boolean value) {
+		pathChosen = value;
+	}
+
+	/**
+	 * Returns whether the launcher is down and the robot has driven
+	 * the path, or driven straight for DRIVE_TIME.
+	 *
+	 * @return true once the routine is done
+	 */
+	public boolean isFinished() {
+		if (!winchPositioned) {
+			return false;
+		}
+		return (followingPath ? path.isFinished() : driveTicks > DRIVE_TIME * Robot.TICKS_PER_SEC);
+	}
+
+	/**
+	 * Starts the routine over, from the origin of the pose.
+	 */
+	public void init() {
+		followingPath = pathChosen;
+		winchPositioned = false;
+		driveTicks = 0;
+		if (followingPath) {
+			path.plan(PATH);
+		}
+	}
+
+	/**
+	 * Runs the next tick of the routine.
+	 *
+	 * @param pose the robot's pose, indexed like a PoseEstimator's
+	 */
+	public void periodic(double[] pose) {
+
+		//position winch
+		if (!winchPositioned) {
+			if (launcher.isFullyDown()) {
+
+				//winch is positioned
+				winchPositioned = true;
+				launcher.stop();
+			} else {
+
+				//winch not yet positioned
+				launcher.lower();
+			}
+
+		//once positioned, follow the path, stopping at its end
+		} else if (followingPath) {
+			path.follow(pose, driveTrain);
+
+		//or move forward
+		} else {
+			if (driveTicks <= DRIVE_TIME * Robot.TICKS_PER_SEC) {
+				driveTrain.driveStraight(SPEED);
+			} else {
+				driveTrain.stop();
+			}
+
+			driveTicks++;
+		}
+	}
+}
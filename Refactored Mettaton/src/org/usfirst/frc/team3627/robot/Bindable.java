@@ -0,0 +1,20 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Classes that implement this interface are driven by actions
+ * bound to controller buttons, instead of by reading the
+ * controller themselves every tick.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public interface Bindable {
+
+	/**
+	 * Binds this component's actions. Called once, in robotInit().
+	 * 
+	 * @param bindings the registry to bind the actions in
+	 * @throws IllegalArgumentException when an input is already bound by another component
+	 */
+	public void bindControls(ButtonBindings bindings) throws IllegalArgumentException;
+}
@@ -0,0 +1,318 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the actions that components bind to the buttons of a
+ * RoboticsController, so that they do not each have to poll every
+ * button they use every tick.
+ *
+ * Components bind their actions once, in robotInit(), to a button
+ * being pressed, held or released, or to an axis going beyond a
+ * threshold. Every tick, the registry reads all of the buttons and
+ * bound axes into a single snapshot, compares it with the snapshot
+ * of the last tick, and only looks at the bindings of what changed.
+ * Actions bound to held buttons run every tick the button is held.
+ *
+ * Each button and each direction of an axis belongs to the first
+ * component that binds or reserves it, and binding it from another
+ * component is an error, so 2 components can never fight over the
+ * same input. Components that still read some buttons themselves,
+ * like the DriveTrain, should reserve them.
+ *
+ * Presses and releases run first, in button order and then in the
+ * order the axes were bound; then held buttons run, in the order
+ * they were bound.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class ButtonBindings implements ControllerDrivable {
+
+	//bits of the snapshot; bit n is button n, and the bits after the
+	//buttons are the bound axis thresholds, in the order they were bound
+	static final int FIRST_AXIS_BIT = RoboticsController.BTN_RS + 1;
+	static final int MAX_BITS = Long.SIZE;
+
+	private enum Kind {
+		PRESS, HOLD, RELEASE
+	}
+
+	//the owner of each button, and of each direction of each axis
+	private Object[] buttonOwners = new Object[FIRST_AXIS_BIT];
+	private Object[] axisOwners = new Object[2 * (RoboticsController.AX_RY + 1)];
+
+	//the bound axis thresholds, by bit
+	private int[] thresholdAxes = new int[MAX_BITS];
+	private double[] thresholds = new double[MAX_BITS];
+	private int bits = FIRST_AXIS_BIT;
+
+	//presses and releases by bit, and held buttons in the order bound
+	private List<List<Binding>> edgeBindings = new ArrayList<List<Binding>>();
+	private List<Binding> heldBindings = new ArrayList<Binding>();
+
+	private long lastSnapshot;
+
+	/**
+	 * Creates a ButtonBindings with nothing bound.
+	 */
+	public ButtonBindings() {
+		for (int i = 0; i < MAX_BITS; i++) {
+			edgeBindings.add(new ArrayList<Binding>());
+		}
+	}
+
+	/**
+	 * Runs an action once each time a button is pressed.
+	 *
+	 * @param owner the component the action belongs to
+	 * @param button one of RoboticsController.BTN_*
+	 * @param action the action to run
+	 * @throws IllegalArgumentException when the button does not exist, belongs to another component, or already has an action for presses
+	 */
+	public void onPress(Object owner, int button, Runnable action) throws IllegalArgumentException {
+		bindButton(owner, button, Kind.PRESS, action);
+	}
+
+	/**
+	 * Runs an action every tick while a button is held, including the
+	 * tick it is pressed.
+	 *
+	 * @param owner the component the action belongs to
+	 * @param button one of RoboticsController.BTN_*
+	 * @param action the action to run
+	 * @throws IllegalArgumentException when the button does not exist, belongs to another component, or already has an action for holding
+	 */
+	public void whileHeld(Object owner, int button, Runnable action) throws IllegalArgumentException {
+		bindButton(owner, button, Kind.HOLD, action);
+	}
+
+	/**
+	 * Runs an action once each time a button is released.
+	 *
+	 * @param owner the component the action belongs to
+	 * @param button one of RoboticsController.BTN_*
+	 * @param action the action to run
+	 * @throws IllegalArgumentException when the button does not exist, belongs to another component, or already has an action for releases
+	 */
+	public void onRelease(Object owner, int button, Runnable action) throws IllegalArgumentException {
+		bindButton(owner, button, Kind.RELEASE, action);
+	}
+
+	/**
+	 * Runs an action once each time an axis goes beyond a threshold.
+	 * A positive threshold is crossed going up, and a negative one
+	 * going down. Axes read the way RoboticsController.getAxis()
+	 * reports them, so up on a stick is positive.
+	 *
+	 * @param owner the component the action belongs to
+	 * @param axis one of RoboticsController.AX_*
+	 * @param threshold the value the axis must go beyond, not 0
+	 * @param action the action to run
+	 * @throws IllegalArgumentException when the axis does not exist, the threshold is 0 or not a number, that direction of the axis belongs to another component, or there are too many thresholds
+	 */
+	public void onAxisBeyond(Object owner, int axis, double threshold, Runnable action) throws IllegalArgumentException {
+		if (!(threshold > 0 || threshold < 0)) {
+			throw new IllegalArgumentException("the threshold of axis " + axis + " must not be " + threshold);
+		}
+
+		claimAxis(owner, axis, threshold > 0);
+
+		//the same threshold shares a bit
+		int bit = -1;
+		for (int i = FIRST_AXIS_BIT; i < bits; i++) {
+			if (thresholdAxes[i] == axis && thresholds[i] == threshold) {
+				bit = i;
+			}
+		}
+
+		if (bit == -1) {
+			if (bits == MAX_BITS) {
+				throw new IllegalArgumentException("no more than " + (MAX_BITS - FIRST_AXIS_BIT) +
+						" axis thresholds can be bound");
+			}
+			bit = bits++;
+			thresholdAxes[bit] = axis;
+			thresholds[bit] = threshold;
+		}
+
+		checkDuplicate(edgeBindings.get(bit), Kind.PRESS, 1L << bit, "axis " + axis + " beyond " + threshold);
+		edgeBindings.get(bit).add(new Binding(Kind.PRESS, 1L << bit, action));
+	}
+
+	/**
+	 * Gives buttons to a component that reads them itself, so that
+	 * no other component can bind them.
+	 *
+	 * @param owner the component that reads the buttons
+	 * @param buttons the RoboticsController.BTN_* it reads
+	 * @throws IllegalArgumentException when a button does not exist or belongs to another component
+	 */
+	public void reserveButtons(Object owner, int... buttons) throws IllegalArgumentException {
+		for (int button : buttons) {
+			claimButton(owner, button);
+		}
+	}
+
+	/**
+	 * Gives both directions of axes to a component that reads them
+	 * itself, so that no other component can bind them.
+	 *
+	 * @param owner the component that reads the axes
+	 * @param axes the RoboticsController.AX_* it reads
+	 * @throws IllegalArgumentException when an axis does not exist or belongs to another component
+	 */
+	public void reserveAxes(Object owner, int... axes) throws IllegalArgumentException {
+		for (int axis : axes) {
+			claimAxis(owner, axis, true);
+			claimAxis(owner, axis, false);
+		}
+	}
+
+	private void bindButton(Object owner, int button, Kind kind, Runnable action) throws IllegalArgumentException {
+		claimButton(owner, button);
+
+		Binding binding = new Binding(kind, 1L << button, action);
+		if (kind == Kind.HOLD) {
+			checkDuplicate(heldBindings, kind, binding.bit, "button " + button);
+			heldBindings.add(binding);
+		} else {
+			checkDuplicate(edgeBindings.get(button), kind, binding.bit, "button " + button);
+			edgeBindings.get(button).add(binding);
+		}
+	}
+
+	private void claimButton(Object owner, int button) throws IllegalArgumentException {
+		if (button < 1 || button >= FIRST_AXIS_BIT) {
+			throw new IllegalArgumentException("there is no button " + button);
+		}
+
+		buttonOwners[button] = claim(buttonOwners[button], owner, "button " + button);
+	}
+
+	private void claimAxis(Object owner, int axis, boolean positive) throws IllegalArgumentException {
+		if (axis < 0 || 2 * axis >= axisOwners.length) {
+			throw new IllegalArgumentException("there is no axis " + axis);
+		}
+
+		int index = 2 * axis + (positive ? 1 : 0);
+		axisOwners[index] = claim(axisOwners[index], owner,
+				(positive ? "the positive side of axis " : "the negative side of axis ") + axis);
+	}
+
+	/**
+	 * Returns the owner of an input once it is claimed by the given
+	 * owner.
+	 */
+	private static Object claim(Object current, Object owner, String input) throws IllegalArgumentException {
+		if (current != null && current != owner) {
+			throw new IllegalArgumentException(input + " is already bound by " +
+					current.getClass().getSimpleName() + ", so " + owner.getClass().getSimpleName() +
+					" cannot bind it");
+		}
+		return owner;
+	}
+
+	private static void checkDuplicate(List<Binding> bindings, Kind kind, long bit, String input)
+			throws IllegalArgumentException {
+		for (Binding binding : bindings) {
+			if (binding.kind == kind && binding.bit == bit) {
+				throw new IllegalArgumentException(input + " already has an action for " +
+						kind.name().toLowerCase());
+			}
+		}
+	}
+
+	/**
+	 * Reads every button and bound axis into a snapshot, one bit each.
+	 *
+	 * @param controller the controller to read
+	 * @return the snapshot
+	 */
+	long getSnapshot(RoboticsController controller) {
+		long snapshot = controller.getButtonMask();
+
+		for (int bit = FIRST_AXIS_BIT; bit < bits; bit++) {
+			double value = controller.getAxis(thresholdAxes[bit]);
+			double threshold = thresholds[bit];
+			if (threshold > 0 ? value > threshold : value < threshold) {
+				snapshot |= 1L << bit;
+			}
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Takes the controller as it is now as the last tick, so that
+	 * presses and releases made while the bindings were not driven
+	 * (such as while disabled) run no actions.
+	 *
+	 * @param controller the controller to read
+	 */
+	public void resetEdges(RoboticsController controller) {
+		lastSnapshot = getSnapshot(controller);
+	}
+
+	/**
+	 * Returns whether a button is down this tick, so that an action
+	 * can depend on another button. Presses made on the same tick
+	 * count, whichever runs first.
+	 *
+	 * @param button one of RoboticsController.BTN_*
+	 * @return true if the button is down
+	 */
+	public boolean isHeld(int button) {
+		return (lastSnapshot & (1L << button)) != 0;
+	}
+
+	/**
+	 * Runs the actions bound to whatever changed since the last tick,
+	 * and those bound to held buttons.
+	 *
+	 * @param controller the controller to read
+	 */
+	public void driveByController(RoboticsController controller) {
+		long snapshot = getSnapshot(controller);
+		long changed = snapshot ^ lastSnapshot;
+		lastSnapshot = snapshot;
+
+		//one bit at a time, lowest first
+		while (changed != 0) {
+			int bit = Long.numberOfTrailingZeros(changed);
+			changed &= changed - 1;
+
+			Kind kind = ((snapshot & (1L << bit)) != 0 ? Kind.PRESS : Kind.RELEASE);
+			List<Binding> bindings = edgeBindings.get(bit);
+			for (int i = 0; i < bindings.size(); i++) {
+				Binding binding = bindings.get(i);
+				if (binding.kind == kind) {
+					binding.action.run();
+				}
+			}
+		}
+
+		for (int i = 0; i < heldBindings.size(); i++) {
+			Binding binding = heldBindings.get(i);
+			if ((snapshot & binding.bit) != 0) {
+				binding.action.run();
+			}
+		}
+	}
+
+	/**
+	 * An action bound to a bit of the snapshot.
+	 */
+	private static class Binding {
+
+		Kind kind;
+		long bit;
+		Runnable action;
+
+		Binding(Kind kind, long bit, Runnable action) {
+			this.kind = kind;
+			this.bit = bit;
+			this.action = action;
+		}
+	}
+}
@@ -0,0 +1,281 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Splits the roboRIO's 2 cores between the control loop and all the
+ * work that runs beside it.
+ *
+ * Vision, the camera stream, the dashboard, the match log and the
+ * tuner each run on their own thread, and Linux ignores Java's thread
+ * priorities, so whenever they are busy the scheduler is as likely to
+ * run them on the control loop's core as on the other one, and the
+ * loop waits. Instead, the thread running the periodic functions is
+ * pinned to CONTROL_CPU with pinControlLoop(), and every background
+ * thread pins itself to BACKGROUND_CPU as it starts. Background
+ * threads come from newBackgroundThread(), and one-off work (such as
+ * saving a file) that should not hold up the loop is given to
+ * submit(), which runs it in order on a single background thread.
+ *
+ * Java cannot set a thread's affinity itself, so each thread finds
+ * its own id through /proc/thread-self and runs taskset on it, once.
+ * /proc/thread-self is only in Linux 3.17 and later, and roboRIO
+ * images older than that have been shipped, so without it the thread
+ * starting a background thread finds the new thread's id instead, as
+ * the one new entry in /proc/self/task, and pins it from outside. The
+ * control loop was not started here, so it cannot be found that way
+ * and is left to the scheduler; with the background threads kept off
+ * its core, that core is still the idle one. Where taskset or /proc
+ * is missing, or there is only 1 core, nothing is pinned and
+ * everything runs as it did before; report() says why. Threads that
+ * WPILib and the JVM start on their own, like the Notifier and the
+ * garbage collector, are left to the scheduler.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class CorePartition {
+
+	//the kernel handles most interrupts on the first core, so the
+	//control loop gets the second
+	static final int CONTROL_CPU = 1;
+	static final int BACKGROUND_CPU = 0;
+
+	//counted before anything is pinned, as a pinned thread may only see its own core
+	static final int CPUS = Runtime.getRuntime().availableProcessors();
+
+	//where a thread finds its own id, where the ids of all the
+	//threads are listed, and what pins a thread
+	static final String THREAD_SELF = "/proc/thread-self";
+	static final String TASKS = "/proc/self/task";
+	static final String TASKSET = "taskset";
+
+	private static volatile boolean pinningEnabled = true;
+
+	//why nothing can be pinned, or null if it can
+	private static volatile String unavailable = (CPUS <= CONTROL_CPU ? "only " + CPUS + " CPU" : null);
+
+	//whether threads can find their own ids, or have to be found
+	private static volatile boolean threadSelfAvailable = new File(THREAD_SELF).exists();
+
+	//held while a background thread is started and found, so no other
+	//thread started here shows up as new at the same time
+	private static final Object TASK_LOCK = new Object();
+
+	private static volatile boolean controlPinned;
+	private static volatile boolean backgroundPinned;
+	private static int missedThreads;
+	private static ExecutorService background;
+
+	private CorePartition() {
+	}
+
+	/**
+	 * Turns pinning on or off for threads that start from now on, for
+	 * comparing against the unpinned default. It is on by default.
+	 *
+	 * @param value false to leave new threads to the scheduler
+	 */
+	public static void setPinningEnabled(boolean value) {
+		pinningEnabled = value;
+	}
+
+	/**
+	 * Pins the calling thread, which should be the one running the
+	 * periodic functions, to the control loop's core. Call it once
+	 * the background threads have started, as threads it starts
+	 * afterwards share its core unless they pin themselves.
+	 *
+	 * @return true if the thread was pinned
+	 */
+	public static boolean pinControlLoop() {
+		controlPinned = (threadSelfAvailable && pin(CONTROL_CPU));
+		return controlPinned;
+	}
+
+	/**
+	 * Creates a daemon thread that pins itself to the background core
+	 * when it starts. It has the lowest priority as well, for JVMs that
+	 * honor it.
+	 *
+	 * @param target what the thread runs
+	 * @param name the name of the thread
+	 * @return the thread, not yet started
+	 */
+	public static Thread newBackgroundThread(Runnable target, String name) {
+		Thread thread = new Thread(() -> {
+			if (threadSelfAvailable && pin(BACKGROUND_CPU)) {
+				backgroundPinned = true;
+			}
+			target.run();
+		}, name) {
+
+			@Override
+			public synchronized void start() {
+				if (threadSelfAvailable) {
+					super.start();
+					return;
+				}
+
+				//the thread cannot find its own id, so find it here
+				synchronized (TASK_LOCK) {
+					Set<String> before = listTasks();
+					super.start();
+					pinNewTask(before, BACKGROUND_CPU);
+				}
+			}
+		};
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		return thread;
+	}
+
+	/**
+	 * Runs a task on the background core, after any submitted before
+	 * it. The task has to handle its own exceptions.
+	 *
+	 * @param task the work to run
+	 */
+	public static synchronized void submit(Runnable task) {
+		if (background == null) {
+			background = Executors.newSingleThreadExecutor(runnable -> newBackgroundThread(runnable, "Background"));
+		}
+		background.execute(task);
+	}
+
+	/**
+	 * Describes where the control loop and background threads run.
+	 *
+	 * @return the report
+	 */
+	public static String report() {
+		if (unavailable != null) {
+			return String.format("Threads are not pinned to cores: %s%n", unavailable);
+		}
+		if (!pinningEnabled || !(controlPinned || backgroundPinned)) {
+			return String.format("Threads are not pinned to cores%n");
+		}
+
+		String missed;
+		synchronized (TASK_LOCK) {
+			missed = (missedThreads > 0 ? String.format(" (%d could not be found and were not)", missedThreads) : "");
+		}
+		if (!controlPinned) {
+			return String.format("Background threads pinned to CPU %d%s; the control loop is left to the "
+					+ "scheduler, as it cannot find its own id without %s%n", BACKGROUND_CPU, missed, THREAD_SELF);
+		}
+		return String.format("Control loop pinned to CPU %d, background threads to CPU %d%s%n",
+				CONTROL_CPU, BACKGROUND_CPU, missed);
+	}
+
+	/**
+	 * Pins the calling thread to a core, unless pinning is turned off
+	 * or has already failed.
+	 *
+	 * @return true if the thread was pinned
+	 */
+	static boolean pin(int cpu) {
+		if (!pinningEnabled || unavailable != null) {
+			return false;
+		}
+
+		String id;
+		try {
+			id = Files.readSymbolicLink(Paths.get(THREAD_SELF)).getFileName().toString();
+		} catch (IOException | UnsupportedOperationException e) {
+			unavailable = "a thread cannot find its id through " + THREAD_SELF;
+			return false;
+		}
+		return taskset(cpu, id);
+	}
+
+	/**
+	 * Lists the ids of the threads of this process.
+	 *
+	 * @return the ids, or null if they cannot be listed
+	 */
+	private static Set<String> listTasks() {
+		String[] ids = new File(TASKS).list();
+		if (ids == null) {
+			unavailable = "cannot list the threads in " + TASKS;
+			return null;
+		}
+		return new HashSet<String>(Arrays.asList(ids));
+	}
+
+	/**
+	 * Pins the one thread that has started since the given list of
+	 * threads was taken. Call it holding TASK_LOCK.
+	 *
+	 * @param before the ids of the threads before it started, or null
+	 */
+	private static void pinNewTask(Set<String> before, int cpu) {
+		if (!pinningEnabled || unavailable != null || before == null) {
+			return;
+		}
+
+		Set<String> started = listTasks();
+		if (started == null) {
+			return;
+		}
+		started.removeAll(before);
+
+		//a thread WPILib or the JVM started at the same moment makes
+		//it impossible to tell which is which
+		if (started.size() != 1) {
+			missedThreads++;
+			return;
+		}
+		if (taskset(cpu, started.iterator().next())) {
+			backgroundPinned = true;
+		}
+	}
+
+	/**
+	 * Pins the thread with the given id to a core.
+	 *
+	 * @return true if the thread was pinned
+	 */
+	private static boolean taskset(int cpu, String id) {
+		try {
+			Process process = new ProcessBuilder(TASKSET, "-p", "-c", Integer.toString(cpu), id)
+					.redirectErrorStream(true).start();
+			String output = readAll(process.getInputStream());
+
+			if (process.waitFor() != 0) {
+				unavailable = TASKSET + " failed: " + output.trim().split("\n")[0];
+				return false;
+			}
+		} catch (IOException e) {
+			unavailable = "cannot run " + TASKSET + ": " + e.getMessage();
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		return true;
+	}
+
+	private static String readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[256];
+		try {
+			for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+				out.write(buffer, 0, read);
+			}
+		} finally {
+			in.close();
+		}
+		return out.toString();
+	}
+}
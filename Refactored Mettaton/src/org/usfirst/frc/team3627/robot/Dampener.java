@@ -31,6 +31,9 @@ public class Dampener implements NeedsUpdating {
 	//maximum change in value per step
 	private double maxAcceleration;
 	
+	//furthest from 0 the next step may take the value
+	private double stepLimit = Double.MAX_VALUE;
+	
 	public double getCurrentVal() {
 		return currentVal;
 	}
@@ -53,6 +56,30 @@ public class Dampener implements NeedsUpdating {
 		}
 	}
 	
+	/**
+	 * Returns the value the next update will step to, if nothing
+	 * changes before then.
+	 * 
+	 * @return the next value
+	 */
+	public double getNextVal() {
+		if (Math.abs(currentVal - targetVal) <= maxAcceleration) {
+			return targetVal;
+		}
+		return currentVal + maxAcceleration * Math.signum(targetVal - currentVal);
+	}
+	
+	/**
+	 * Keeps the next update from stepping the value further from 0
+	 * than the given limit. The target is left alone, so the value
+	 * carries on toward it on later updates.
+	 * 
+	 * @param limit the furthest from 0 the next step may go
+	 */
+	public void limitNextStep(double limit) {
+		stepLimit = Math.abs(limit);
+	}
+	
 	public double getMaxAcceleration() {
 		return maxAcceleration;
 	}
@@ -93,6 +120,13 @@ public class Dampener implements NeedsUpdating {
 		double direction = Math.signum(targetVal - currentVal);
 		
 		//step by maxAcceleration in determined direction
+		double lastVal = currentVal;
 		currentVal += maxAcceleration * direction;
+		
+		//a limited step may still slow down, but not speed up past the limit
+		if (Math.abs(currentVal) > stepLimit && Math.abs(currentVal) > Math.abs(lastVal)) {
+			currentVal = Math.signum(currentVal) * Math.max(stepLimit, Math.abs(lastVal));
+		}
+		stepLimit = Double.MAX_VALUE;
 	}
 }
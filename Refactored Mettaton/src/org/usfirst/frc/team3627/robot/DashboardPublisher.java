@@ -0,0 +1,259 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.wpi.first.wpilibj.tables.ITable;
+
+/**
+ * Sends the state of the robot to the dashboard over NetworkTables
+ * without slowing down the control loop.
+ *
+ * Putting a value into a NetworkTable looks up its key and takes a
+ * lock, which is too much to do for every value on every tick.
+ * Instead, each field is added once at startup and given a handle.
+ * Every tick, the control loop writes values by handle into a plain
+ * array and commits them all at once. A background thread picks up
+ * the latest commit and puts only the values that changed into the
+ * table, each no more often than its own period allows.
+ *
+ * Commits are passed between the threads through 3 buffers: the
+ * control loop fills one, the background thread reads another, and
+ * the third holds the latest commit. Committing swaps the filled
+ * buffer with the latest one in a single atomic operation, so neither
+ * thread ever waits for the other and the background thread never
+ * sees half of a commit.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class DashboardPublisher implements Runnable, Stoppable {
+
+	//how often the background thread checks for changes, in seconds
+	static final double DEFAULT_PERIOD = 0.02;
+
+	//flag set on the latest buffer's index when it holds a new commit
+	private static final int FRESH = 4;
+	private static final int INDEX = 3;
+
+	private ITable table;
+	private double period;
+
+	//fields, indexed by handle
+	private int fieldCount;
+	private String[] keys = new String[0];
+	private boolean[] booleans = new boolean[0];
+	private double[] periods = new double[0];
+
+	//values being written by the control loop
+	private double[] values = new double[0];
+
+	//the 3 buffers; the control loop owns one, the background thread
+	//owns one, and latest holds the index of the third
+	private volatile double[][] buffers;
+	private int writeBuffer = 0;
+	private int readBuffer = 1;
+	private final AtomicInteger latest = new AtomicInteger(2);
+
+	//owned by the background thread
+	private boolean committed;
+	private double[] lastPublished;
+	private double[] nextPublish;
+	private volatile long putCount;
+
+	private Thread thread;
+	private volatile boolean running;
+
+	/**
+	 * Creates a DashboardPublisher.
+	 *
+	 * @param table the table to put values into
+	 * @param period how often to check for changes, in seconds
+	 */
+	public DashboardPublisher(ITable table, double period) {
+		this.table = table;
+		this.period = period;
+	}
+
+	/**
+	 * Creates a DashboardPublisher that checks for changes every tick.
+	 *
+	 * @param table the table to put values into
+	 */
+	public DashboardPublisher(ITable table) {
+		this(table, DEFAULT_PERIOD);
+	}
+
+	/**
+	 * Adds a number field.
+	 *
+	 * @param key the key of the field in the table
+	 * @param period the least time between updates of the field, in seconds
+	 * @return the handle to write the field with
+	 * @throws IllegalStateException when the publisher has already started
+	 */
+	public int addNumber(String key, double period) throws IllegalStateException {
+		return addField(key, false, period);
+	}
+
+	/**
+	 * Adds a boolean field.
+	 *
+	 * @param key the key of the field in the table
+	 * @param period the least time between updates of the field, in seconds
+	 * @return the handle to write the field with
+	 * @throws IllegalStateException when the publisher has already started
+	 */
+	public int addBoolean(String key, double period) throws IllegalStateException {
+		return addField(key, true, period);
+	}
+
+	private synchronized int addField(String key, boolean isBoolean, double period) {
+		if (buffers != null) {
+			throw new IllegalStateException("fields must be added before the publisher starts");
+		}
+
+		int handle = fieldCount++;
+		keys = Arrays.copyOf(keys, fieldCount);
+		booleans = Arrays.copyOf(booleans, fieldCount);
+		periods = Arrays.copyOf(periods, fieldCount);
+		values = Arrays.copyOf(values, fieldCount);
+
+		keys[handle] = key;
+		booleans[handle] = isBoolean;
+		periods[handle] = period;
+		return handle;
+	}
+
+	public int getFieldCount() {
+		return fieldCount;
+	}
+
+	/**
+	 * Returns the number of values put into the table so far.
+	 *
+	 * @return the number of puts
+	 */
+	public long getPutCount() {
+		return putCount;
+	}
+
+	/**
+	 * Writes a number field. Only call this from the control loop.
+	 *
+	 * @param handle the handle returned by addNumber()
+	 * @param value the value
+	 */
+	public void set(int handle, double value) {
+		values[handle] = value;
+	}
+
+	/**
+	 * Writes a boolean field. Only call this from the control loop.
+	 *
+	 * @param handle the handle returned by addBoolean()
+	 * @param value the value
+	 */
+	public void set(int handle, boolean value) {
+		values[handle] = (value ? 1 : 0);
+	}
+
+	/**
+	 * Hands every value written so far to the background thread.
+	 * Call this once per tick, after the fields are written.
+	 */
+	public void commit() {
+		double[][] buffers = this.buffers;
+		if (buffers == null) {
+			return;
+		}
+
+		System.arraycopy(values, 0, buffers[writeBuffer], 0, fieldCount);
+		writeBuffer = latest.getAndSet(writeBuffer | FRESH) & INDEX;
+	}
+
+	/**
+	 * Starts publishing on a background thread. No more fields can
+	 * be added once it starts.
+	 */
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+
+		buffers = new double[3][fieldCount];
+		lastPublished = new double[fieldCount];
+		nextPublish = new double[fieldCount];
+		Arrays.fill(lastPublished, Double.NaN);
+
+		running = true;
+		thread = CorePartition.newBackgroundThread(this, "Dashboard");
+		thread.start();
+	}
+
+	/**
+	 * Stops publishing. The values in the table stay where they were.
+	 */
+	public void stop() {
+		running = false;
+	}
+
+	/**
+	 * Puts the changed values of the latest commit into the table
+	 * every period until stopped.
+	 */
+	public void run() {
+		long start = System.nanoTime();
+
+		while (running) {
+			publishChanges((System.nanoTime() - start) / 1e9);
+
+			try {
+				Thread.sleep((long) (period * 1000));
+			} catch (InterruptedException e) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Puts each value of the latest commit that changed since it was
+	 * last put, and whose period has passed, into the table.
+	 *
+	 * @param now the current time, in seconds
+	 */
+	void publishChanges(double now) {
+
+		//take the latest commit if there is a new one
+		if ((latest.get() & FRESH) != 0) {
+			readBuffer = latest.getAndSet(readBuffer) & INDEX;
+			committed = true;
+		}
+
+		//nothing to put until the control loop commits for the first time
+		if (!committed) {
+			return;
+		}
+
+		double[] snapshot = buffers[readBuffer];
+
+		for (int i = 0; i < fieldCount; i++) {
+			double value = snapshot[i];
+
+			//NaN never equals itself, so every field is put the first time
+			if (value == lastPublished[i] || now < nextPublish[i]) {
+				continue;
+			}
+
+			if (booleans[i]) {
+				table.putBoolean(keys[i], value != 0);
+			} else {
+				table.putNumber(keys[i], value);
+			}
+
+			lastPublished[i] = value;
+			nextPublish[i] = now + periods[i];
+			putCount++;
+		}
+	}
+}
@@ -1,6 +1,8 @@
 package org.usfirst.frc.team3627.robot;
 
+import edu.wpi.first.wpilibj.SpeedController;
 import edu.wpi.first.wpilibj.Talon;
+import edu.wpi.first.wpilibj.interfaces.Gyro;
 
 /**
  * Encapsulates the implementation of the Mettaton drive 
@@ -14,17 +16,116 @@ import edu.wpi.first.wpilibj.Talon;
  * Bumpers rotate slowly
  * Left stick controls left motors
  * Right stick controls right motors
+ * B switches to curvature drive and back
+ * 
+ * In curvature drive, the triggers set the speed and the left
+ * stick's X axis sets how sharply to turn, so the robot sweeps
+ * through the same arc whatever its speed, and the driver only has
+ * to steer with one stick. Holding a bumper quick-turns: the stick
+ * then spins the robot in place, as fast as it is pushed. Whenever
+ * a turn asks one side for more than full speed, both sides are
+ * scaled down together, so the arc keeps its shape. Once the stick
+ * is let go, the heading is only held after the Dampeners have
+ * finished unwinding the turn and the robot has stopped turning, so
+ * it does not swing back to where the stick was released.
+ * 
+ * If the DriveTrain is given a gyro, it also holds its heading
+ * whenever the driver means to drive straight (with the triggers,
+ * or with the sticks within the straightening threshold of each
+ * other). With bumper turns enabled as well, each bumper press
+ * turns the robot by a fixed angle instead of rotating slowly.
+ * 
+ * If the DriveTrain is given a Feedforward for each side, the
+ * dampener values are taken as speeds instead of outputs, and
+ * each side gets the output that drives it at that speed. Then
+ * even a small stick input moves the robot, in proportion.
+ * 
+ * If the DriveTrain is given a TractionController, it only uses
+ * its full acceleration while the robot is neither tipping nor
+ * slipping its wheels.
  * 
  * @author Ryan Longood
  * @version March 2016
  */
 
-public class DriveTrain implements NeedsUpdating, ControllerDrivable, DampenedStoppable {
+public class DriveTrain implements NeedsUpdating, ControllerDrivable, Bindable, DampenedStoppable, Publishable,
+		PowerLimitable {
+	
+	//default attributes, as tuned on the practice field
+	static final double DEFAULT_BUMPER_ROT_SPEED = 0.2;
+	static final double DEFAULT_STRAIGHTENING_THRESHOLD = 0.2;
+	static final double DEFAULT_INPUT_SCALAR = 2;
+	static final double DEFAULT_BUMPER_TURN_ANGLE = 45;
+	static final double DEFAULT_CURVATURE_SENSITIVITY = 1;
+	
+	//difference between the sides, and turn rate in degrees per
+	//second, below which a turn has unwound
+	static final double UNWOUND_DIFFERENCE = 0.01;
+	static final double UNWOUND_RATE = 5;
+	
+	//gains for holding a heading, per degree and per degree per second
+	static final double HEADING_KP = 0.02;
+	static final double HEADING_KD = 0.002;
+	static final double MAX_HEADING_TRIM = 0.3;
+	
+	//gains and tolerances for turning to an angle
+	static final double TURN_KP = 0.02;
+	static final double TURN_KD = 0.004;
+	static final double MAX_TURN_SPEED = 0.8;
+	static final double TURN_TOLERANCE = 2;
+	static final double TURN_RATE_TOLERANCE = 10;
+	
+	//input smaller than this is treated as no input
+	static final double INPUT_DEADBAND = 0.05;
+	
+	//least time between dashboard updates, in seconds
+	static final double DASHBOARD_PERIOD = 0.05;
 	
 	//attributes of this DriveTrain
-	private double bumperRotSpeed = 0.2;
-	private double straighteningThreshold = 0.2;
-	private double inputScalar = 2;
+	private double bumperRotSpeed = DEFAULT_BUMPER_ROT_SPEED;
+	private double straighteningThreshold = DEFAULT_STRAIGHTENING_THRESHOLD;
+	private double inputScalar = DEFAULT_INPUT_SCALAR;
+	private double bumperTurnAngle = DEFAULT_BUMPER_TURN_ANGLE;
+	private double curvatureSensitivity = DEFAULT_CURVATURE_SENSITIVITY;
+	
+	//curvature drive instead of tank drive
+	private boolean curvatureDriveEnabled;
+	
+	//optional gyro; angles increase clockwise, in degrees
+	private Gyro gyro;
+	
+	//bumper presses turn by bumperTurnAngle, with a gyro
+	private boolean bumperTurnEnabled;
+	
+	//optional battery voltage compensation
+	private VoltageCompensator compensator;
+	
+	//optional feedforward for each side, and the accelerations they use
+	private Feedforward leftFeedforward;
+	private Feedforward rightFeedforward;
+	private double leftAccel;
+	private double rightAccel;
+	
+	//optional traction control, which scales down the acceleration limit
+	private TractionController traction;
+	private double maxAcceleration;
+	private boolean headingHoldEnabled = true;
+	
+	//the heading being held while driving straight
+	private boolean holdingHeading;
+	private double heldHeading;
+	
+	//the angle being turned to by the bumpers
+	private boolean turning;
+	private double turnTarget;
+	
+	//dashboard field handles
+	private int leftCurrentField;
+	private int leftTargetField;
+	private int rightCurrentField;
+	private int rightTargetField;
+	private int headingField;
+	private int curvatureField;
 	
 	public double getBumperRotSpeed() {
 		return bumperRotSpeed;
@@ -38,8 +139,102 @@ public class DriveTrain implements NeedsUpdating, ControllerDrivable, DampenedSt
 		return inputScalar;
 	}
 	
+	/**
+	 * Returns the acceleration limit, before any traction control.
+	 * 
+	 * @return the most the motor values change per tick
+	 */
 	public double getMaxAcceleration() {
-		return leftDampener.getMaxAcceleration();
+		return maxAcceleration;
+	}
+	
+	public double getBumperTurnAngle() {
+		return bumperTurnAngle;
+	}
+	
+	public boolean isBumperTurnEnabled() {
+		return bumperTurnEnabled;
+	}
+	
+	public boolean isHeadingHoldEnabled() {
+		return headingHoldEnabled;
+	}
+	
+	public boolean isCurvatureDriveEnabled() {
+		return curvatureDriveEnabled;
+	}
+	
+	public double getCurvatureSensitivity() {
+		return curvatureSensitivity;
+	}
+	
+	public boolean hasGyro() {
+		return gyro != null;
+	}
+	
+	public double getLeftCurrentVal() {
+		return leftDampener.getCurrentVal();
+	}
+	
+	public double getLeftTargetVal() {
+		return leftDampener.getTargetVal();
+	}
+	
+	public double getRightCurrentVal() {
+		return rightDampener.getCurrentVal();
+	}
+	
+	public double getRightTargetVal() {
+		return rightDampener.getTargetVal();
+	}
+	
+	/**
+	 * Returns the value last sent to the left motors.
+	 * 
+	 * @return the left motor output, from -1 to 1
+	 */
+	public double getLeftOutput() {
+		return frontLeft.get();
+	}
+	
+	/**
+	 * Returns the value last sent to the right motors. The right
+	 * side is mounted backwards, so this is negated from the
+	 * right side's speed.
+	 * 
+	 * @return the right motor output, from -1 to 1
+	 */
+	public double getRightOutput() {
+		return frontRight.get();
+	}
+	
+	public TractionController getTractionController() {
+		return traction;
+	}
+	
+	public Feedforward getLeftFeedforward() {
+		return leftFeedforward;
+	}
+	
+	public Feedforward getRightFeedforward() {
+		return rightFeedforward;
+	}
+	
+	public LatencyTracer getLeftTracer() {
+		return leftTracer;
+	}
+	
+	public LatencyTracer getRightTracer() {
+		return rightTracer;
+	}
+	
+	/**
+	 * Returns the heading of the robot according to the gyro.
+	 * 
+	 * @return the heading in degrees, increasing clockwise, or 0 if there is no gyro
+	 */
+	public double getHeading() {
+		return (gyro == null ? 0 : gyro.getAngle());
 	}
 	
 	
@@ -56,21 +251,118 @@ public class DriveTrain implements NeedsUpdating, ControllerDrivable, DampenedSt
 	}
 	
 	public void setMaxAcceleration(double value) {
-		leftDampener.setMaxAcceleration(value);
-		rightDampener.setMaxAcceleration(value);
+		maxAcceleration = value;
+		applyAccelerationLimit();
+	}
+	
+	public void setBumperTurnAngle(double value) {
+		bumperTurnAngle = value;
+	}
+	
+	/**
+	 * Switches each bumper press between turning the robot by the
+	 * bumper turn angle and rotating it slowly while held. Turning by
+	 * an angle needs a gyro; without one, the bumpers rotate slowly.
+	 * 
+	 * @param value true to turn by an angle
+	 */
+	public void setBumperTurnEnabled(boolean value) {
+		bumperTurnEnabled = value;
+	}
+	
+	public void setHeadingHoldEnabled(boolean value) {
+		headingHoldEnabled = value;
+		holdingHeading = false;
+	}
+	
+	/**
+	 * Switches between curvature drive and tank drive.
+	 * 
+	 * @param value true for curvature drive
+	 */
+	public void setCurvatureDriveEnabled(boolean value) {
+		curvatureDriveEnabled = value;
+		holdingHeading = false;
+		turning = false;
+	}
+	
+	/**
+	 * Sets how sharply curvature drive turns with the stick all the
+	 * way over: at 1, the outer side goes twice as fast as the robot
+	 * and the inner side stops.
+	 * 
+	 * @param value the sensitivity
+	 */
+	public void setCurvatureSensitivity(double value) {
+		curvatureSensitivity = value;
+	}
+	
+	/**
+	 * Gives the DriveTrain a compensator, so that its speeds are the
+	 * same whatever the battery voltage.
+	 * 
+	 * @param compensator the compensator to use, or null to set raw outputs
+	 */
+	public void setVoltageCompensator(VoltageCompensator compensator) {
+		this.compensator = compensator;
+	}
+	
+	/**
+	 * Gives the DriveTrain a Feedforward for each side, so that its
+	 * speeds are in proportion to its inputs, down to the smallest.
+	 * 
+	 * @param left the Feedforward of the left side, or null to set outputs directly
+	 * @param right the Feedforward of the right side, or null to set outputs directly
+	 * @throws IllegalArgumentException when only 1 side is given a Feedforward
+	 */
+	public void setFeedforward(Feedforward left, Feedforward right) throws IllegalArgumentException {
+		if ((left == null) != (right == null)) {
+			throw new IllegalArgumentException("both sides need a Feedforward, or neither");
+		}
+		
+		leftFeedforward = left;
+		rightFeedforward = right;
+	}
+	
+	/**
+	 * Gives the DriveTrain a TractionController, which it updates
+	 * itself, to hold back its acceleration while the robot tips or
+	 * slips.
+	 * 
+	 * @param traction the controller to use, or null to always use the full acceleration
+	 */
+	public void setTractionController(TractionController traction) {
+		this.traction = traction;
+		applyAccelerationLimit();
+	}
+	
+	/**
+	 * Gives the DriveTrain a gyro to hold its heading and turn to
+	 * angles with. The gyro's angle must increase clockwise.
+	 * 
+	 * @param gyro the gyro to use, or null to drive without one
+	 */
+	public void setGyro(Gyro gyro) {
+		this.gyro = gyro;
+		holdingHeading = false;
+		turning = false;
 	}
 	
 	
 	//talons
-	private Talon frontLeft;
-	private Talon frontRight;
-	private Talon backLeft;
-	private Talon backRight;
+	private SpeedController frontLeft;
+	private SpeedController frontRight;
+	private SpeedController backLeft;
+	private SpeedController backRight;
 	
 	//values of the sides of the drive train
 	private Dampener leftDampener;
 	private Dampener rightDampener;
 	
+	//follow driver input through to the talons of each side
+	private LatencyTracer leftTracer = new LatencyTracer("Drive Left");
+	private LatencyTracer rightTracer = new LatencyTracer("Drive Right");
+	
 	/**
 	 * Creates a DriveTrain as used with Mettaton for 2016.
 	 * 
@@ -81,11 +373,30 @@ public class DriveTrain implements NeedsUpdating, ControllerDrivable, DampenedSt
 	 * @param maxAcceleration the acceleration of the motors
 	 */
 	public DriveTrain(int frontLeftPort, int frontRightPort, int backLeftPort, int backRightPort, double maxAcceleration) {
-		frontLeft = new Talon(frontLeftPort);
-		frontRight = new Talon(frontRightPort);
-		backLeft = new Talon(backLeftPort);
-		backRight = new Talon(backRightPort);
+		this(new Talon(frontLeftPort), new Talon(frontRightPort),
+				new Talon(backLeftPort), new Talon(backRightPort),
+				maxAcceleration);
+	}
+	
+	/**
+	 * Creates a DriveTrain that drives the given speed controllers.
+	 * This is what allows a DriveTrain to be run against simulated
+	 * motors instead of real talons.
+	 * 
+	 * @param frontLeft the front left speed controller
+	 * @param frontRight the front right speed controller
+	 * @param backLeft the back left speed controller
+	 * @param backRight the back right speed controller
+	 * @param maxAcceleration the acceleration of the motors
+	 */
+	public DriveTrain(SpeedController frontLeft, SpeedController frontRight, 
+			SpeedController backLeft, SpeedController backRight, double maxAcceleration) {
+		this.frontLeft = frontLeft;
+		this.frontRight = frontRight;
+		this.backLeft = backLeft;
+		this.backRight = backRight;
 		
+		this.maxAcceleration = maxAcceleration;
 		leftDampener = new Dampener(-1, 1, maxAcceleration);
 		rightDampener = new Dampener(-1, 1, maxAcceleration);
 	}
@@ -96,20 +407,56 @@ public class DriveTrain implements NeedsUpdating, ControllerDrivable, DampenedSt
 	 * @param controller the controller to use
 	 */
 	public void driveByController(RoboticsController controller) {
+		if (curvatureDriveEnabled) {
+			driveByCurvature(controller);
+			return;
+		}
 		
 		double triggers = controller.getAxisRTrig() - controller.getAxisLTrig();
 		
 		//there is net bumper input only when 1 is pressed
 		boolean netBumper = (controller.getButtonRB() != controller.getButtonLB());
 		
+		double leftVal = controller.getAxisLY();
+		double rightVal = controller.getAxisRY();
+		boolean stickInput = (Math.abs(leftVal) > INPUT_DEADBAND || Math.abs(rightVal) > INPUT_DEADBAND);
+		
+		//the triggers take over both sides when pressed
+		if (LatencyTracer.isEnabled()) {
+			boolean triggerInput = (Math.abs(triggers) > INPUT_DEADBAND);
+			leftTracer.input(triggerInput ? triggers : leftVal);
+			rightTracer.input(triggerInput ? triggers : rightVal);
+		}
+		
 		//drive with triggers if there is trigger input
-		if (Math.abs(triggers) > 0.05) {
+		if (Math.abs(triggers) > INPUT_DEADBAND) {
 			
 			//drive by triggers: drive straight
-			double scaledTriggers = getScaledValue(triggers);
+			turning = false;
+			setStraightTargets(getScaledValue(triggers));
+			
 			
-	    		leftDampener.setTargetVal(scaledTriggers);
-			rightDampener.setTargetVal(scaledTriggers);
+			
+			//with bumper turns, each bumper press turns by a fixed angle
+		} else if (gyro != null && bumperTurnEnabled && (turning || netBumper) && !stickInput) {
+			
+			if (netBumper && (controller.getButtonEdgeRB() || controller.getButtonEdgeLB())) {
+				
+				//presses add up, so 2 quick presses turn twice as far
+				double start = (turning ? turnTarget : gyro.getAngle());
+				turnTarget = start + (controller.getButtonRB() ? bumperTurnAngle : -bumperTurnAngle);
+				turning = true;
+			}
+			
+			if (turning) {
+				turning = !turnToAngle(turnTarget);
+				leftTracer.commanded(leftDampener.getTargetVal());
+				rightTracer.commanded(rightDampener.getTargetVal());
+				return;
+			}
+			
+			leftDampener.setTargetVal(0);
+			rightDampener.setTargetVal(0);
 			
 			
 			
@@ -125,6 +472,8 @@ public class DriveTrain implements NeedsUpdating, ControllerDrivable, DampenedSt
 			}
 			
 			//apply the rotation values
+			turning = false;
+			holdingHeading = false;
 			leftDampener.setTargetVal(direction);
 			rightDampener.setTargetVal(-direction);
 			
@@ -132,34 +481,191 @@ public class DriveTrain implements NeedsUpdating, ControllerDrivable, DampenedSt
 			
 			//drive with sticks
 		} else {
-			double leftVal = controller.getAxisLY();
-	    		double rightVal = controller.getAxisRY();
+			turning = false;
+			
+			//a stick resting off center is no input once there is a
+			//gyro or feedforward, or heading hold would engage and
+			//fight drift with the robot at rest, and kS added to it
+			//would creep the robot along; without them it is driven
+			//as it always was
+			if (gyro != null || leftFeedforward != null) {
+				if (Math.abs(leftVal) <= INPUT_DEADBAND) {
+					leftVal = 0;
+				}
+				if (Math.abs(rightVal) <= INPUT_DEADBAND) {
+					rightVal = 0;
+				}
+			}
 	    	
-		    	//average the 2 values if within threshold of each other
+		    	//drive straight if the 2 values are within threshold of each other
 		    	if (Math.abs(leftVal - rightVal) <= straighteningThreshold) {
 			    	double average = (leftVal + rightVal) / 2;
-			    	leftVal = average;
-			    	rightVal = average;
+			    	setStraightTargets(getScaledValue(average));
+		    	} else {
+		    		holdingHeading = false;
+		    		leftDampener.setTargetVal(getScaledValue(leftVal));
+		    		rightDampener.setTargetVal(getScaledValue(rightVal));
 		    	}
-	
-		    	leftDampener.setTargetVal(getScaledValue(leftVal));
-		    	rightDampener.setTargetVal(getScaledValue(rightVal));
 	    	}
+		
+		leftTracer.commanded(leftDampener.getTargetVal());
+		rightTracer.commanded(rightDampener.getTargetVal());
+		applyDampenerValues();
+	}
+	
+	/**
+	 * Sets the values of the motors in curvature drive, from the
+	 * triggers, the left stick's X axis and the bumpers.
+	 * 
+	 * @param controller the controller to use
+	 */
+	private void driveByCurvature(RoboticsController controller) {
+		double throttle = controller.getAxisRTrig() - controller.getAxisLTrig();
+		double wheel = controller.getAxisLX();
+		boolean quickTurn = (controller.getButtonLB() || controller.getButtonRB());
+		turning = false;
+		
+		if (Math.abs(throttle) <= INPUT_DEADBAND) {
+			throttle = 0;
+		}
+		if (Math.abs(wheel) <= INPUT_DEADBAND) {
+			wheel = 0;
+		}
+		
+		if (LatencyTracer.isEnabled()) {
+			leftTracer.input(throttle + wheel);
+			rightTracer.input(throttle - wheel);
+		}
+		
+		throttle = getScaledValue(throttle);
+		wheel = getScaledValue(wheel);
+		
+		//positive rotation turns right; turning in proportion to
+		//speed keeps the same arc at any speed
+		double rotation = (quickTurn ? wheel : Math.abs(throttle) * wheel * curvatureSensitivity);
+		
+		//holding the heading while the robot is still turning would
+		//wind up the error, and swing the robot back once it unwound
+		boolean unwinding = (!holdingHeading &&
+				(Math.abs(leftDampener.getCurrentVal() - rightDampener.getCurrentVal()) > UNWOUND_DIFFERENCE ||
+				(gyro != null && Math.abs(gyro.getRate()) > UNWOUND_RATE)));
+		
+		if (rotation == 0 && !unwinding) {
+			setStraightTargets(throttle);
+		} else {
+			holdingHeading = false;
+			double left = throttle + rotation;
+			double right = throttle - rotation;
+			
+			//scale both sides together to keep the shape of the turn
+			double largest = Math.max(Math.abs(left), Math.abs(right));
+			if (largest > 1) {
+				left /= largest;
+				right /= largest;
+			}
 			
+			leftDampener.setTargetVal(left);
+			rightDampener.setTargetVal(right);
+		}
+		
+		leftTracer.commanded(leftDampener.getTargetVal());
+		rightTracer.commanded(rightDampener.getTargetVal());
 		applyDampenerValues();
 	}
 	
+	/**
+	 * Reserves the sticks, triggers and bumpers, which the DriveTrain
+	 * reads itself in driveByController(), so that nothing else can
+	 * bind them, and binds B to switch to curvature drive and back.
+	 * 
+	 * @param bindings the registry to reserve them in
+	 */
+	public void bindControls(ButtonBindings bindings) {
+		bindings.reserveButtons(this, RoboticsController.BTN_LB, RoboticsController.BTN_RB);
+		bindings.reserveAxes(this, RoboticsController.AX_LX, RoboticsController.AX_LY, RoboticsController.AX_RY,
+				RoboticsController.AX_L_TRIG, RoboticsController.AX_R_TRIG);
+		bindings.onPress(this, RoboticsController.BTN_B, () -> setCurvatureDriveEnabled(!curvatureDriveEnabled));
+	}
+	
 	/**
 	 * Applies a given speed to the motors in order to drive straight
 	 * 
 	 * @param speed the speed at which to drive
 	 */
 	public void driveStraight(double speed) {
-		leftDampener.setTargetVal(speed);
-		rightDampener.setTargetVal(speed);
+		setStraightTargets(speed);
 		applyDampenerValues();
 	}
 	
+	/**
+	 * Rotates the robot toward the given heading. Call this every
+	 * tick until it returns true. Requires a gyro.
+	 * 
+	 * To aim at a vision target, pass the current heading plus the
+	 * target's angle offset, captured once when aiming starts.
+	 * 
+	 * @param angle the heading to turn to in degrees, increasing clockwise
+	 * @return true once the robot is at the heading and has stopped turning
+	 * @throws IllegalStateException when the DriveTrain has no gyro
+	 */
+	public boolean turnToAngle(double angle) throws IllegalStateException {
+		if (gyro == null) {
+			throw new IllegalStateException("turnToAngle requires a gyro");
+		}
+		
+		holdingHeading = false;
+		
+		double error = angle - gyro.getAngle();
+		double rate = gyro.getRate();
+		boolean done = (Math.abs(error) <= TURN_TOLERANCE && Math.abs(rate) <= TURN_RATE_TOLERANCE);
+		
+		double output = 0;
+		if (!done) {
+			output = clamp(TURN_KP * error - TURN_KD * rate, MAX_TURN_SPEED);
+		}
+		
+		driveRotate(output);
+		return done;
+	}
+	
+	/**
+	 * Sets both sides to drive straight at the given speed. With a gyro
+	 * and heading hold enabled, the heading is captured when driving
+	 * straight starts, and the sides are trimmed to hold it.
+	 * 
+	 * @param speed the speed at which to drive
+	 */
+	private void setStraightTargets(double speed) {
+		double trim = 0;
+		
+		if (gyro != null && headingHoldEnabled && speed != 0) {
+			if (!holdingHeading) {
+				heldHeading = gyro.getAngle();
+				holdingHeading = true;
+			}
+			
+			//turning right makes the angle grow, so a negative
+			//error means the left side needs to slow down
+			double error = heldHeading - gyro.getAngle();
+			trim = clamp(HEADING_KP * error - HEADING_KD * gyro.getRate(), MAX_HEADING_TRIM);
+			
+			//leave room for the trim when driving at full speed
+			speed = clamp(speed, 1 - Math.abs(trim));
+		} else {
+			holdingHeading = false;
+		}
+		
+		leftDampener.setTargetVal(speed + trim);
+		rightDampener.setTargetVal(speed - trim);
+	}
+	
+	/**
+	 * Limits a value to between -limit and limit.
+	 */
+	private static double clamp(double value, double limit) {
+		return Math.max(-limit, Math.min(limit, value));
+	}
+	
 	/**
 	 * Applies a given speed to the motors in order to rotate
 	 * 
@@ -172,17 +678,58 @@ public class DriveTrain implements NeedsUpdating, ControllerDrivable, DampenedSt
 		applyDampenerValues();
 	}
 	
+	/**
+	 * Applies the given speeds to each side, as the sticks would
+	 * without scaling or straightening.
+	 *
+	 * @param left the speed of the left side
+	 * @param right the speed of the right side
+	 */
+	public void driveTank(double left, double right) {
+		turning = false;
+		holdingHeading = false;
+		leftDampener.setTargetVal(left);
+		rightDampener.setTargetVal(right);
+		applyDampenerValues();
+	}
+
 	/**
 	 * Actually applies the dampener values to the talons
 	 */
 	private void applyDampenerValues() {
-		frontLeft.set(leftDampener.getCurrentVal());
-		backLeft.set(leftDampener.getCurrentVal());
+		double left = leftDampener.getCurrentVal();
+		double right = rightDampener.getCurrentVal();
+		
+		//turn the speeds into outputs, and scale both down together
+		//if an acceleration asks for more than full
+		if (leftFeedforward != null) {
+			left = leftFeedforward.calculate(left, leftAccel);
+			right = rightFeedforward.calculate(right, rightAccel);
+			
+			double largest = Math.max(Math.abs(left), Math.abs(right));
+			if (largest > 1) {
+				left /= largest;
+				right /= largest;
+			}
+		}
+		
+		//both sides are scaled together so the robot keeps its course
+		if (compensator != null) {
+			double scale = compensator.getPairScale(left, right);
+			left *= scale;
+			right *= scale;
+		}
+		
+		frontLeft.set(left);
+		backLeft.set(left);
 		
 		//the right side is negated to compensate 
 		//for the stupidity of the electrical team
-		frontRight.set(-rightDampener.getCurrentVal());
-		backRight.set(-rightDampener.getCurrentVal());
+		frontRight.set(-right);
+		backRight.set(-right);
+		
+		leftTracer.actuated(leftDampener.getCurrentVal());
+		rightTracer.actuated(rightDampener.getCurrentVal());
 	}
 	
 	/**
@@ -204,13 +751,82 @@ public class DriveTrain implements NeedsUpdating, ControllerDrivable, DampenedSt
 	    	return scaled;
 	}
 	
+	/**
+	 * Adds the dampener values and heading to the dashboard.
+	 */
+	public void addFields(DashboardPublisher publisher) {
+		leftCurrentField = publisher.addNumber("Drive Left Current", DASHBOARD_PERIOD);
+		leftTargetField = publisher.addNumber("Drive Left Target", DASHBOARD_PERIOD);
+		rightCurrentField = publisher.addNumber("Drive Right Current", DASHBOARD_PERIOD);
+		rightTargetField = publisher.addNumber("Drive Right Target", DASHBOARD_PERIOD);
+		headingField = publisher.addNumber("Drive Heading", DASHBOARD_PERIOD);
+		curvatureField = publisher.addBoolean("Drive Curvature", DASHBOARD_PERIOD);
+	}
+	
+	public void writeFields(DashboardPublisher publisher) {
+		publisher.set(leftCurrentField, leftDampener.getCurrentVal());
+		publisher.set(leftTargetField, leftDampener.getTargetVal());
+		publisher.set(rightCurrentField, rightDampener.getCurrentVal());
+		publisher.set(rightTargetField, rightDampener.getTargetVal());
+		publisher.set(headingField, getHeading());
+		publisher.set(curvatureField, curvatureDriveEnabled);
+	}
+	
+	/**
+	 * Returns the larger of the 2 sides' values after this tick's
+	 * step, which the acceleration limit keeps short of the targets.
+	 */
+	public double getRequestedOutput() {
+		return Math.max(Math.abs(leftDampener.getNextVal()), Math.abs(rightDampener.getNextVal()));
+	}
+	
+	/**
+	 * Scales this tick's step of both sides down together, so that
+	 * the robot keeps its course. The targets are left alone, so it
+	 * carries on accelerating toward them as the budget allows.
+	 */
+	public void limitOutput(double limit) {
+		double largest = getRequestedOutput();
+		if (largest > limit) {
+			double scale = limit / largest;
+			leftDampener.limitNextStep(leftDampener.getNextVal() * scale);
+			rightDampener.limitNextStep(rightDampener.getNextVal() * scale);
+		}
+	}
+	
 	/**
 	 * Steps the motor speeds closer to the target speeds
 	 */
 	public void update() {
+		if (traction != null) {
+			traction.update();
+			applyAccelerationLimit();
+		}
+		
+		double left = leftDampener.getCurrentVal();
+		double right = rightDampener.getCurrentVal();
 		leftDampener.update();
 		rightDampener.update();
+		leftAccel = (leftDampener.getCurrentVal() - left) * Robot.TICKS_PER_SEC;
+		rightAccel = (rightDampener.getCurrentVal() - right) * Robot.TICKS_PER_SEC;
 		applyDampenerValues();
+		
+		leftTracer.update();
+		rightTracer.update();
+	}
+	
+	/**
+	 * Sets the dampeners to the acceleration limit, scaled down by
+	 * the traction control if there is any.
+	 */
+	private void applyAccelerationLimit() {
+		double limit = maxAcceleration;
+		if (traction != null) {
+			limit *= traction.getAccelerationScale();
+		}
+		
+		leftDampener.setMaxAcceleration(limit);
+		rightDampener.setMaxAcceleration(limit);
 	}
 	
 	/**
@@ -232,6 +848,10 @@ public class DriveTrain implements NeedsUpdating, ControllerDrivable, DampenedSt
 		
 		leftDampener.setTargetVal(0);
 		rightDampener.setTargetVal(0);
+		leftAccel = 0;
+		rightAccel = 0;
 		
+		leftTracer.actuated(0);
+		rightTracer.actuated(0);
 	}
 }
@@ -0,0 +1,155 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+/**
+ * Turns the speed and acceleration a side of the drive train should
+ * have into the output that gets it there.
+ *
+ * A motor does not turn at all until its output overcomes static
+ * friction, and past that point its speed grows with the output,
+ * so a plain output is not proportional to speed: small outputs do
+ * nothing and the robot jumps once they are large enough. The
+ * feedforward is
+ *
+ * output = kS * sign(speed) + kV * speed + kA * acceleration
+ *
+ * where speeds are fractions of top speed, like the values of a
+ * Dampener, and accelerations are those fractions per second. kS is
+ * the output that just overcomes friction, kV the output per unit of
+ * speed beyond it, and kA the output needed per unit of acceleration.
+ * With kS + kV = 1, a full speed is still a full output.
+ *
+ * The constants come from a FeedforwardCalibrator.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class Feedforward {
+
+	//property names in a saved file, after the prefix
+	static final String KS = "kS";
+	static final String KV = "kV";
+	static final String KA = "kA";
+
+	private double kS;
+	private double kV;
+	private double kA;
+
+	/**
+	 * Creates a Feedforward with the given constants.
+	 *
+	 * @param kS the output that overcomes static friction
+	 * @param kV the output per fraction of top speed
+	 * @param kA the output per fraction of top speed per second
+	 * @throws IllegalArgumentException when a constant is negative or not a number, or kS is 1 or more
+	 */
+	public Feedforward(double kS, double kV, double kA) throws IllegalArgumentException {
+
+		//the comparisons fail for NaN
+		if (!(kS >= 0 && kS < 1 && kV >= 0 && kA >= 0)) {
+			throw new IllegalArgumentException("kS (" + kS + ") must be from 0 to less than 1, and kV (" +
+					kV + ") and kA (" + kA + ") must not be negative");
+		}
+
+		this.kS = kS;
+		this.kV = kV;
+		this.kA = kA;
+	}
+
+	public double getKS() {
+		return kS;
+	}
+
+	public double getKV() {
+		return kV;
+	}
+
+	public double getKA() {
+		return kA;
+	}
+
+	/**
+	 * Returns the output for the given speed and acceleration. There
+	 * is no output for no speed, so a stopped robot stays still.
+	 *
+	 * @param speed the speed, as a fraction of top speed
+	 * @param acceleration the acceleration, in fractions of top speed per second
+	 * @return the output, which may be more than 1 for a hard acceleration
+	 */
+	public double calculate(double speed, double acceleration) {
+		if (speed == 0) {
+			return 0;
+		}
+		return kS * Math.signum(speed) + kV * speed + kA * acceleration;
+	}
+
+	/**
+	 * Reads a Feedforward saved with save().
+	 *
+	 * @param file the file to read
+	 * @param prefix the prefix of the properties, e.g. "left."
+	 * @return the Feedforward
+	 * @throws IOException when the file cannot be read
+	 * @throws IllegalArgumentException when a constant is missing or not valid
+	 */
+	public static Feedforward load(File file, String prefix) throws IOException, IllegalArgumentException {
+		Properties properties = new Properties();
+		InputStream in = new FileInputStream(file);
+
+		try {
+			properties.load(in);
+		} finally {
+			in.close();
+		}
+
+		return new Feedforward(read(properties, prefix + KS), read(properties, prefix + KV),
+				read(properties, prefix + KA));
+	}
+
+	private static double read(Properties properties, String name) throws IllegalArgumentException {
+		String value = properties.getProperty(name);
+		if (value == null) {
+			throw new IllegalArgumentException("missing " + name);
+		}
+		return Double.parseDouble(value.trim());
+	}
+
+	/**
+	 * Saves the left and right Feedforwards of a drive train to a file,
+	 * with the prefixes "left." and "right.".
+	 *
+	 * @param file the file to write
+	 * @param left the Feedforward of the left side
+	 * @param right the Feedforward of the right side
+	 * @throws IOException when the file cannot be written
+	 */
+	public static void save(File file, Feedforward left, Feedforward right) throws IOException {
+		Properties properties = new Properties();
+		left.put(properties, "left.");
+		right.put(properties, "right.");
+
+		OutputStream out = new FileOutputStream(file);
+		try {
+			properties.store(out, "drive train feedforward, from FeedforwardCalibrator");
+		} finally {
+			out.close();
+		}
+	}
+
+	private void put(Properties properties, String prefix) {
+		properties.setProperty(prefix + KS, Double.toString(kS));
+		properties.setProperty(prefix + KV, Double.toString(kV));
+		properties.setProperty(prefix + KA, Double.toString(kA));
+	}
+
+	public String toString() {
+		return String.format("kS=%.4f kV=%.4f kA=%.4f", kS, kV, kA);
+	}
+}
@@ -0,0 +1,317 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Finds the Feedforward of each side of a DriveTrain by driving it
+ * and watching its encoders.
+ *
+ * The routine drives straight with outputs that slowly ramp up from
+ * nothing, so that the output at which each side starts to move and
+ * the output needed for each speed show up, then with sudden steps,
+ * so that the output needed to accelerate shows up. Each is done
+ * forward and then backward, so the robot ends up about where it
+ * started; it needs about 4 m of clear carpet ahead and behind.
+ *
+ * Every tick, the output each side was driven with is recorded with
+ * its speed and acceleration, and at the end the constants are fit
+ * to all of it by least squares. Speeds in the fit are in m/s; the
+ * fitted constants are then put in terms of the side's top speed,
+ * the speed that an output of 1 reaches, which is what a Feedforward
+ * uses.
+ *
+ * On the robot, run it in test mode. On a computer,
+ * FeedforwardValidator runs it against a SimulatedRobot.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class FeedforwardCalibrator implements Stoppable {
+
+	//the slow ramp, in output per second, and the output it ends at
+	static final double RAMP_RATE = 0.15;
+	static final double RAMP_OUTPUT = 0.5;
+
+	//the sudden steps
+	static final double STEP_OUTPUT = 0.5;
+	static final double STEP_TIME = 1;
+
+	//time to come to rest between stages, in seconds
+	static final double REST_TIME = 1;
+
+	//samples slower than this, in m/s, are not moving yet
+	static final double MIN_SPEED = 0.02;
+
+	static final double TICK_LENGTH = 1 / Robot.TICKS_PER_SEC;
+
+	private DriveTrain driveTrain;
+	private Measurable leftEncoder;
+	private Measurable rightEncoder;
+
+	//what the DriveTrain used before calibrating
+	private Feedforward oldLeft;
+	private Feedforward oldRight;
+
+	//the recording
+	private int ticks;
+	private int totalTicks;
+	private double[] outputs;
+	private double[] leftDistances;
+	private double[] rightDistances;
+	private boolean running;
+
+	//the results
+	private Feedforward left;
+	private Feedforward right;
+	private double leftTopSpeed;
+	private double rightTopSpeed;
+
+	/**
+	 * Creates a FeedforwardCalibrator.
+	 *
+	 * @param driveTrain the DriveTrain to calibrate
+	 * @param leftEncoder measures the distance the left side drives forward
+	 * @param rightEncoder measures the distance the right side drives forward
+	 */
+	public FeedforwardCalibrator(DriveTrain driveTrain, Measurable leftEncoder, Measurable rightEncoder) {
+		this.driveTrain = driveTrain;
+		this.leftEncoder = leftEncoder;
+		this.rightEncoder = rightEncoder;
+
+		double rampTime = RAMP_OUTPUT / RAMP_RATE;
+		totalTicks = (int) Math.round((2 * rampTime + 2 * STEP_TIME + 4 * REST_TIME) * Robot.TICKS_PER_SEC);
+	}
+
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Returns the fitted Feedforward of the left side.
+	 *
+	 * @return the Feedforward, or null until a calibration finishes
+	 */
+	public Feedforward getLeft() {
+		return left;
+	}
+
+	/**
+	 * Returns the fitted Feedforward of the right side.
+	 *
+	 * @return the Feedforward, or null until a calibration finishes
+	 */
+	public Feedforward getRight() {
+		return right;
+	}
+
+	/**
+	 * Returns the speed an output of 1 drives the left side at.
+	 *
+	 * @return the speed in m/s, or 0 until a calibration finishes
+	 */
+	public double getLeftTopSpeed() {
+		return leftTopSpeed;
+	}
+
+	/**
+	 * Returns the speed an output of 1 drives the right side at.
+	 *
+	 * @return the speed in m/s, or 0 until a calibration finishes
+	 */
+	public double getRightTopSpeed() {
+		return rightTopSpeed;
+	}
+
+	/**
+	 * Starts calibrating. The DriveTrain drives without a Feedforward
+	 * until the routine finishes or is stopped.
+	 */
+	public void start() {
+		oldLeft = driveTrain.getLeftFeedforward();
+		oldRight = driveTrain.getRightFeedforward();
+		driveTrain.setFeedforward(null, null);
+
+		ticks = 0;
+		outputs = new double[totalTicks + 1];
+		leftDistances = new double[totalTicks + 1];
+		rightDistances = new double[totalTicks + 1];
+		leftDistances[0] = leftEncoder.getDistance();
+		rightDistances[0] = rightEncoder.getDistance();
+		running = true;
+	}
+
+	/**
+	 * Drives the next tick of the routine. Call this every tick, before
+	 * the DriveTrain updates, until it returns true. The DriveTrain
+	 * keeps the Feedforward it had; the fitted ones are in getLeft()
+	 * and getRight().
+	 *
+	 * @return true once the routine is done and the constants are fit
+	 * @throws IllegalStateException when the routine was not started, or the sides did not move enough to fit
+	 */
+	public boolean calibrate() throws IllegalStateException {
+		if (!running) {
+			throw new IllegalStateException("calibrate() called before start()");
+		}
+
+		//what the last tick did
+		if (ticks > 0) {
+			outputs[ticks] = driveTrain.getLeftCurrentVal();
+			leftDistances[ticks] = leftEncoder.getDistance();
+			rightDistances[ticks] = rightEncoder.getDistance();
+		}
+
+		if (ticks == totalTicks) {
+			stop();
+
+			double[] leftFit = fit(leftDistances);
+			double[] rightFit = fit(rightDistances);
+			leftTopSpeed = leftFit[3];
+			rightTopSpeed = rightFit[3];
+			left = new Feedforward(leftFit[0], leftFit[1], leftFit[2]);
+			right = new Feedforward(rightFit[0], rightFit[1], rightFit[2]);
+			return true;
+		}
+
+		double output = getOutput(ticks * TICK_LENGTH);
+		driveTrain.driveTank(output, output);
+		ticks++;
+		return false;
+	}
+
+	/**
+	 * Stops the routine and the robot, and gives the DriveTrain back
+	 * the Feedforward it had.
+	 */
+	public void stop() {
+		if (!running) {
+			return;
+		}
+
+		running = false;
+		driveTrain.setFeedforward(oldLeft, oldRight);
+		driveTrain.stop();
+	}
+
+	/**
+	 * Returns the output the routine drives with at the given time.
+	 */
+	static double getOutput(double time) {
+		double rampTime = RAMP_OUTPUT / RAMP_RATE;
+		double[] stages = {rampTime, REST_TIME, rampTime, REST_TIME, STEP_TIME, REST_TIME, STEP_TIME, REST_TIME};
+
+		for (int i = 0; i < stages.length; i++) {
+			if (time < stages[i]) {
+				switch (i) {
+				case 0:
+					return RAMP_RATE * time;
+				case 2:
+					return -RAMP_RATE * time;
+				case 4:
+					return STEP_OUTPUT;
+				case 6:
+					return -STEP_OUTPUT;
+				default:
+					return 0;
+				}
+			}
+			time -= stages[i];
+		}
+		return 0;
+	}
+
+	/**
+	 * Fits output = kS * sign(v) + kV * v + kA * a to the recording of
+	 * one side, then puts kV and kA in terms of top speed.
+	 *
+	 * @return kS, kV, kA and the top speed in m/s
+	 */
+	private double[] fit(double[] distances) throws IllegalStateException {
+
+		//speed over each tick; tick i ran from distances[i - 1] to distances[i]
+		double[] speeds = new double[totalTicks + 1];
+		for (int i = 1; i <= totalTicks; i++) {
+			speeds[i] = (distances[i] - distances[i - 1]) / TICK_LENGTH;
+		}
+
+		//normal equations of the least squares fit
+		double[][] normal = new double[3][4];
+		int samples = 0;
+
+		for (int i = 2; i < totalTicks; i++) {
+
+			//a side coasting with no output has nothing to say about friction
+			if (Math.abs(speeds[i]) < MIN_SPEED || outputs[i] == 0) {
+				continue;
+			}
+
+			double acceleration = (speeds[i + 1] - speeds[i - 1]) / (2 * TICK_LENGTH);
+			double[] row = {Math.signum(speeds[i]), speeds[i], acceleration, outputs[i]};
+
+			for (int r = 0; r < 3; r++) {
+				for (int c = 0; c < 4; c++) {
+					normal[r][c] += row[r] * row[c];
+				}
+			}
+			samples++;
+		}
+
+		double[] constants = solve(normal);
+		double kS = Math.max(0, constants[0]);
+		if (samples < 3 || Double.isNaN(constants[1]) || constants[1] <= 0 || kS >= 1) {
+			throw new IllegalStateException("the drive train did not move enough to calibrate (" +
+					samples + " samples)");
+		}
+
+		//the speed where kS + kV * speed = 1
+		double topSpeed = (1 - kS) / constants[1];
+		return new double[] {kS, 1 - kS, Math.max(0, constants[2] * topSpeed), topSpeed};
+	}
+
+	/**
+	 * Solves 3 linear equations, given as rows of 3 coefficients and
+	 * a constant, by Gaussian elimination.
+	 */
+	private static double[] solve(double[][] equations) {
+		int n = equations.length;
+
+		for (int col = 0; col < n; col++) {
+
+			//use the largest coefficient left in the column
+			int pivot = col;
+			for (int row = col + 1; row < n; row++) {
+				if (Math.abs(equations[row][col]) > Math.abs(equations[pivot][col])) {
+					pivot = row;
+				}
+			}
+			double[] swap = equations[col];
+			equations[col] = equations[pivot];
+			equations[pivot] = swap;
+
+			for (int row = col + 1; row < n; row++) {
+				double factor = equations[row][col] / equations[col][col];
+				for (int c = col; c <= n; c++) {
+					equations[row][c] -= factor * equations[col][c];
+				}
+			}
+		}
+
+		double[] solution = new double[n];
+		for (int row = n - 1; row >= 0; row--) {
+			double sum = equations[row][n];
+			for (int c = row + 1; c < n; c++) {
+				sum -= equations[row][c] * solution[c];
+			}
+			solution[row] = sum / equations[row][row];
+		}
+		return solution;
+	}
+
+	/**
+	 * Describes the fitted constants of both sides.
+	 *
+	 * @return the report
+	 */
+	public String report() {
+		return String.format("left: %s, top speed %.2f m/s%nright: %s, top speed %.2f m/s%n",
+				left, leftTopSpeed, right, rightTopSpeed);
+	}
+}
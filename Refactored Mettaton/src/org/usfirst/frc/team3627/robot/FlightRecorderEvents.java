@@ -0,0 +1,297 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Emits Java Flight Recorder events from the control loop, so that a
+ * recording shows each tick, each component call and each change of
+ * mode next to the garbage collections, compilations and thread
+ * scheduling that happened around them.
+ *
+ * The events are:
+ *
+ * mettaton.Tick: one periodic function, with the time spent in each phase
+ * mettaton.ComponentCall: one update() or driveByController() of a component
+ * mettaton.ModeChange: the robot entering a mode
+ *
+ * The robot is built for Java 8, which has no flight recorder API to
+ * compile against, so the event types are created at run time with
+ * jdk.jfr.EventFactory, where the JVM has it. Where it does not, or
+ * until events are enabled, every method here returns after a single
+ * check of a flag. Enable events with -Dmettaton.jfr=true, or with
+ * setEnabled(), then start a recording as usual, for example with
+ * -XX:StartFlightRecording.
+ *
+ * Ticks are built up from the control loop only.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class FlightRecorderEvents {
+
+	//system property that enables events at startup
+	static final String ENABLE_PROPERTY = "mettaton.jfr";
+
+	static final String CATEGORY = "Mettaton";
+
+	//phases of a tick, in the order they run
+	static final int PHASE_DRIVE = 0;
+	static final int PHASE_UPDATE = 1;
+	static final int PHASE_PUBLISH = 2;
+	static final int PHASE_LOG = 3;
+	static final String[] PHASE_NAMES = {"drive", "update", "publish", "log"};
+
+	private static volatile boolean enabled;
+
+	//the event types, or null if the flight recorder is not available
+	private static EventType tick;
+	private static EventType componentCall;
+	private static EventType modeChange;
+
+	//the tick being built up
+	private static Object tickEvent;
+	private static long phaseStart;
+	private static long[] phaseNanos = new long[PHASE_NAMES.length];
+
+	static {
+		try {
+			String[] tickFields = new String[PHASE_NAMES.length + 1];
+			tickFields[0] = "mode";
+			for (int i = 0; i < PHASE_NAMES.length; i++) {
+				tickFields[i + 1] = PHASE_NAMES[i] + "Time";
+			}
+
+			tick = new EventType("mettaton.Tick", "Tick", tickFields);
+			componentCall = new EventType("mettaton.ComponentCall", "Component Call", "component", "method");
+			modeChange = new EventType("mettaton.ModeChange", "Mode Change", "mode");
+		} catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+
+			//no flight recorder on this JVM
+			tick = null;
+		}
+
+		if (Boolean.getBoolean(ENABLE_PROPERTY)) {
+			setEnabled(true);
+		}
+	}
+
+	private FlightRecorderEvents() {
+	}
+
+	/**
+	 * Returns whether this JVM has a flight recorder to send events to.
+	 *
+	 * @return true if events can be enabled
+	 */
+	public static boolean isAvailable() {
+		return tick != null;
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Turns events on or off. Events stay off on a JVM without a
+	 * flight recorder.
+	 *
+	 * @param value whether to emit events
+	 * @return whether events are now on
+	 */
+	public static boolean setEnabled(boolean value) {
+		enabled = (value && isAvailable());
+		return enabled;
+	}
+
+	/**
+	 * Starts timing a tick. Call this first thing in a periodic function.
+	 */
+	public static void beginTick() {
+		if (!enabled) {
+			return;
+		}
+
+		tickEvent = tick.begin();
+		Arrays.fill(phaseNanos, 0);
+		phaseStart = System.nanoTime();
+	}
+
+	/**
+	 * Ends a phase of the tick, which began when the tick or the
+	 * previous phase ended.
+	 *
+	 * @param phase one of PHASE_*
+	 */
+	public static void endPhase(int phase) {
+		if (!enabled || tickEvent == null) {
+			return;
+		}
+
+		long now = System.nanoTime();
+		phaseNanos[phase] += now - phaseStart;
+		phaseStart = now;
+	}
+
+	/**
+	 * Ends the tick and emits its event.
+	 *
+	 * @param mode the name of the robot mode
+	 */
+	public static void commitTick(String mode) {
+		if (!enabled || tickEvent == null) {
+			return;
+		}
+
+		Object event = tickEvent;
+		tickEvent = null;
+
+		tick.set(event, 0, mode);
+		for (int i = 0; i < PHASE_NAMES.length; i++) {
+			tick.set(event, i + 1, phaseNanos[i]);
+		}
+		tick.commit(event);
+	}
+
+	/**
+	 * Starts timing a call to a component.
+	 *
+	 * @return the event to commit when the call returns, or null if events are off
+	 */
+	public static Object beginComponentCall() {
+		if (!enabled) {
+			return null;
+		}
+		return componentCall.begin();
+	}
+
+	/**
+	 * Ends a call to a component and emits its event.
+	 *
+	 * @param event the event returned by beginComponentCall()
+	 * @param component the component that was called
+	 * @param method the name of the method that was called
+	 */
+	public static void commitComponentCall(Object event, Object component, String method) {
+		if (event == null) {
+			return;
+		}
+
+		componentCall.set(event, 0, component.getClass().getSimpleName());
+		componentCall.set(event, 1, method);
+		componentCall.commit(event);
+	}
+
+	/**
+	 * Emits an event for the robot entering a mode.
+	 *
+	 * @param mode the name of the mode
+	 */
+	public static void modeChange(String mode) {
+		if (!enabled) {
+			return;
+		}
+
+		Object event = modeChange.begin();
+		modeChange.set(event, 0, mode);
+		modeChange.commit(event);
+	}
+
+	/**
+	 * An event type created with jdk.jfr.EventFactory, and the
+	 * handles to create and commit its events with. The first field
+	 * of a Tick is a string and the rest are times in nanoseconds;
+	 * every field of the other events is a string.
+	 */
+	private static class EventType {
+
+		private Object factory;
+		private MethodHandle newEvent;
+		private MethodHandle begin;
+		private MethodHandle set;
+		private MethodHandle commit;
+
+		EventType(String name, String label, String... fields) throws ReflectiveOperationException {
+			ClassLoader loader = ClassLoader.getSystemClassLoader();
+			Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory", true, loader);
+			Class<?> eventClass = Class.forName("jdk.jfr.Event", true, loader);
+			Class<?> annotationClass = Class.forName("jdk.jfr.AnnotationElement", true, loader);
+			Class<?> valueClass = Class.forName("jdk.jfr.ValueDescriptor", true, loader);
+
+			Constructor<?> annotation = annotationClass.getConstructor(Class.class, Object.class);
+			Constructor<?> value = valueClass.getConstructor(Class.class, String.class, List.class);
+
+			List<Object> annotations = new ArrayList<Object>();
+			annotations.add(annotation.newInstance(Class.forName("jdk.jfr.Name", true, loader), name));
+			annotations.add(annotation.newInstance(Class.forName("jdk.jfr.Label", true, loader), label));
+			String[] category = {CATEGORY};
+			annotations.add(annotation.newInstance(Class.forName("jdk.jfr.Category", true, loader), category));
+
+			Object timespan = annotation.newInstance(Class.forName("jdk.jfr.Timespan", true, loader), "NANOSECONDS");
+
+			List<Object> values = new ArrayList<Object>();
+			for (int i = 0; i < fields.length; i++) {
+				boolean time = (i > 0 && fields[i].endsWith("Time"));
+				List<Object> fieldAnnotations = new ArrayList<Object>();
+				if (time) {
+					fieldAnnotations.add(timespan);
+				}
+				values.add(value.newInstance(time ? long.class : String.class, fields[i], fieldAnnotations));
+			}
+
+			factory = factoryClass.getMethod("create", List.class, List.class).invoke(null, annotations, values);
+
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			newEvent = lookup.findVirtual(factoryClass, "newEvent", MethodType.methodType(eventClass))
+					.bindTo(factory);
+			begin = lookup.findVirtual(eventClass, "begin", MethodType.methodType(void.class))
+					.asType(MethodType.methodType(void.class, Object.class));
+			set = lookup.findVirtual(eventClass, "set", MethodType.methodType(void.class, int.class, Object.class))
+					.asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+			commit = lookup.findVirtual(eventClass, "commit", MethodType.methodType(void.class))
+					.asType(MethodType.methodType(void.class, Object.class));
+
+			//make sure creating an event works before anything relies on it
+			newEvent();
+		}
+
+		Object newEvent() {
+			try {
+				return newEvent.invoke();
+			} catch (Throwable e) {
+				throw new IllegalStateException("could not create a flight recorder event", e);
+			}
+		}
+
+		Object begin() {
+			Object event = newEvent();
+			try {
+				begin.invokeExact(event);
+			} catch (Throwable e) {
+				throw new IllegalStateException("could not begin a flight recorder event", e);
+			}
+			return event;
+		}
+
+		void set(Object event, int field, Object value) {
+			try {
+				set.invokeExact(event, field, value);
+			} catch (Throwable e) {
+				throw new IllegalStateException("could not set a flight recorder event field", e);
+			}
+		}
+
+		void commit(Object event) {
+			try {
+				commit.invokeExact(event);
+			} catch (Throwable e) {
+				throw new IllegalStateException("could not commit a flight recorder event", e);
+			}
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package org.usfirst.frc.team3627.robot;
 
+import edu.wpi.first.wpilibj.SpeedController;
 import edu.wpi.first.wpilibj.Talon;
 
 /**
@@ -8,11 +9,14 @@ import edu.wpi.first.wpilibj.Talon;
  * intaking, and off. Each mode has a speed that can be specified
  * during construction.
  * 
+ * The state may be changed from another thread, such as an
+ * interrupt handler, while the control loop updates the flywheel.
+ * 
  * @author Ryan Longood
  * @version March 2016
  */
 
-public class Flywheel implements Stoppable {
+public class Flywheel implements NeedsUpdating, Stoppable, PowerLimitable {
 	
 	//this enum represents the possible states 
 	//that a flywheel can be in at any given time
@@ -23,7 +27,7 @@ public class Flywheel implements Stoppable {
 	}
 	
 	//talon
-	private Talon flywheelMotor;
+	private SpeedController flywheelMotor;
 	
 	//attributes of this flywheel
 	private FlywheelState state;
@@ -31,6 +35,15 @@ public class Flywheel implements Stoppable {
 	private double intakeSpeed;
 	private int direction;
 	
+	//the output for the current state, before compensation
+	private double output;
+	
+	//optional battery voltage compensation
+	private VoltageCompensator compensator;
+	
+	//the largest output allowed by the power budget
+	private double limit = 1;
+	
 	public double getShootSpeed() {
 		return shootSpeed;
 	}
@@ -39,32 +52,70 @@ public class Flywheel implements Stoppable {
 		return intakeSpeed;
 	}
 	
-	public FlywheelState getState() {
+	public synchronized FlywheelState getState() {
 		return state;
 	}
 	
+	/**
+	 * Gives the Flywheel a compensator, so that it spins at the same
+	 * speed whatever the battery voltage.
+	 * 
+	 * @param compensator the compensator to use, or null to set raw outputs
+	 */
+	public synchronized void setVoltageCompensator(VoltageCompensator compensator) {
+		this.compensator = compensator;
+		applyOutput();
+	}
+	
 	/**
 	 * Sets the state of the flywheel to the specified state and
 	 * adjusts its speed to compensate.
 	 * 
 	 * @param newState the new state of the flywheel	 
 	 */
-	public void setState(FlywheelState newState) {
+	public synchronized void setState(FlywheelState newState) {
 		state = newState;
 		
 			switch (state) {
 			case Shooting:
-				flywheelMotor.set(-shootSpeed * direction);
+				output = -shootSpeed * direction;
 				break;
 				
 			case Intaking:
-				flywheelMotor.set(intakeSpeed * direction);
+				output = intakeSpeed * direction;
 				break;
 				
 			default:
-				flywheelMotor.set(0);
+				output = 0;
 				break;
 		}
+		
+		applyOutput();
+	}
+	
+	/**
+	 * Reapplies the output with this tick's battery voltage. The
+	 * output of a flywheel only changes with its state, so without
+	 * this it would slow down as the battery drains.
+	 */
+	public synchronized void update() {
+		applyOutput();
+	}
+	
+	public synchronized double getRequestedOutput() {
+		return Math.abs(output);
+	}
+	
+	public synchronized void limitOutput(double limit) {
+		this.limit = limit;
+	}
+	
+	/**
+	 * Actually applies the output to the talon
+	 */
+	private void applyOutput() {
+		double limited = Math.max(-limit, Math.min(limit, output));
+		flywheelMotor.set(compensator == null ? limited : compensator.compensate(limited));
 	}
 	
 	/**
@@ -77,10 +128,24 @@ public class Flywheel implements Stoppable {
 	 * @throws IllegalArgumentException when shootSpeed or intakeSpeed is not between 0 and 1
 	 */
 	public Flywheel(int motorPort, double shootSpeed, double intakeSpeed, boolean counterclockwise) throws IllegalArgumentException {
+		this(new Talon(motorPort), shootSpeed, intakeSpeed, counterclockwise);
+	}
+	
+	/**
+	 * Creates a flywheel that drives the given speed controller.
+	 * This allows a Flywheel to be run against a simulated motor.
+	 * 
+	 * @param motor the flywheel speed controller
+	 * @param shootSpeed the speed at which the flywheel will shoot; should be positive
+	 * @param intakeSpeed the speed at which the flywheel will intake; should be positive
+	 * @param counterclockwise if true, flips the direction in which this flywheel spins
+	 * @throws IllegalArgumentException when shootSpeed or intakeSpeed is not between 0 and 1
+	 */
+	public Flywheel(SpeedController motor, double shootSpeed, double intakeSpeed, boolean counterclockwise) throws IllegalArgumentException {
 		
 		//ensure speeds are between 0 and 1
 		if ((0 <= shootSpeed && shootSpeed <= 1) && (0 <= intakeSpeed && intakeSpeed <= 1)) {
-			flywheelMotor = new Talon(motorPort);
+			flywheelMotor = motor;
 			this.shootSpeed = shootSpeed;
 			this.intakeSpeed = intakeSpeed;
 			
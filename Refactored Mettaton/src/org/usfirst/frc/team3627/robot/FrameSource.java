@@ -0,0 +1,29 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Anything that can supply camera frames to the vision code.
+ * 
+ * Frames are copied into a pixel array that the caller owns
+ * and reuses, so grabbing a frame does not need to create a
+ * new array every time. Each pixel is packed as 0xRRGGBB, row
+ * by row starting from the top left corner of the image.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public interface FrameSource {
+	
+	public int getWidth();
+	
+	public int getHeight();
+	
+	/**
+	 * Copies the next frame into the given array. Blocks until
+	 * a frame is available.
+	 * 
+	 * @param pixels the array to fill; must hold at least width * height pixels
+	 * @return the time the frame was captured in seconds, or a negative
+	 * value if no more frames are available
+	 */
+	public double grabFrame(int[] pixels);
+}
@@ -0,0 +1,21 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * A switch that can tell a component the moment it is pressed,
+ * instead of waiting for the component to check it on its next
+ * tick.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public interface Interrupting extends Pressable {
+	
+	/**
+	 * Runs an action each time the switch is pressed. The action
+	 * runs on whatever thread notices the press, which is not the
+	 * thread of the periodic functions, so it must be thread safe.
+	 * 
+	 * @param action the action to run
+	 */
+	public void whenPressed(Runnable action);
+}
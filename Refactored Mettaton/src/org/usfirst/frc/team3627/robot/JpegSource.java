@@ -0,0 +1,22 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Anything that can supply JPEG compressed frames for the driver
+ * camera stream.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public interface JpegSource {
+	
+	/**
+	 * Captures the next frame and compresses it. Blocks until a
+	 * frame is available. The returned array belongs to the caller
+	 * and must not be changed by the source afterward, because it
+	 * may be sent to several clients at once.
+	 * 
+	 * @param settings the size and quality to compress the frame with
+	 * @return the compressed frame
+	 */
+	public byte[] capture(StreamSettings settings);
+}
@@ -0,0 +1,245 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.util.Arrays;
+
+/**
+ * Measures how long a driver's input takes to reach a motor, for one
+ * mechanism.
+ *
+ * The mechanism reports each stage of handling an input: the value it
+ * read from the controller, the target it set on its dampener, and
+ * every value it set on its talon. When the input changes, the tracer
+ * follows that sample through the stages and records how long it took
+ * to reach each:
+ *
+ * command: the dampener target was set from the input
+ * response: the talon was first set to a new value, after the dampener step
+ * target: the talon reached the target; the ticks since the response
+ *         are what the dampener ramp adds
+ *
+ * Only one sample is followed at a time, and changes while it is
+ * followed are part of the same sample.
+ *
+ * Tracing is off until setEnabled(true), and while it is off each
+ * stage costs a single check of a flag. All the other methods are
+ * only called from the control loop.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class LatencyTracer implements NeedsUpdating {
+
+	//how much an input must change to start a sample
+	static final double INPUT_CHANGE = 0.1;
+
+	//how close the output must be to the target to have reached it
+	static final double TARGET_TOLERANCE = 1e-6;
+
+	//samples are abandoned if they do not reach their target in this many ticks
+	static final int MAX_SAMPLE_TICKS = (int) (5 * Robot.TICKS_PER_SEC);
+
+	//the most samples kept; older ones are overwritten
+	static final int MAX_SAMPLES = 1024;
+
+	//stages of a sample
+	private static final int IDLE = 0;
+	private static final int READ = 1;
+	private static final int COMMANDED = 2;
+	private static final int RESPONDED = 3;
+
+	private static volatile boolean enabled;
+
+	private String name;
+
+	//the current sample
+	private int stage = IDLE;
+	private long tick;
+	private long readTime;
+	private long readTick;
+	private double lastInput;
+	private double lastTarget;
+	private double lastOutput;
+	private double target;
+
+	//recorded samples, as a ring
+	private long[] commandNanos = new long[MAX_SAMPLES];
+	private long[] responseNanos = new long[MAX_SAMPLES];
+	private int[] responseTicks = new int[MAX_SAMPLES];
+	private long[] targetNanos = new long[MAX_SAMPLES];
+	private int[] targetTicks = new int[MAX_SAMPLES];
+	private int samples;
+	private int abandoned;
+
+	/**
+	 * Creates a LatencyTracer.
+	 *
+	 * @param name the name of the mechanism, for reports
+	 */
+	public LatencyTracer(String name) {
+		this.name = name;
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Turns tracing on or off for every mechanism. This can be called
+	 * from any thread, and takes effect from the next tick.
+	 *
+	 * @param value whether to trace
+	 */
+	public static void setEnabled(boolean value) {
+		enabled = value;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getSamples() {
+		return samples;
+	}
+
+	/**
+	 * Reports the value read from the controller. A sample starts
+	 * when it changes enough and no sample is being followed.
+	 *
+	 * @param value the input
+	 */
+	public void input(double value) {
+		if (!enabled) {
+			return;
+		}
+
+		if (stage == IDLE && Math.abs(value - lastInput) >= INPUT_CHANGE) {
+			stage = READ;
+			readTime = System.nanoTime();
+			readTick = tick;
+		}
+		lastInput = value;
+	}
+
+	/**
+	 * Reports the target set on the dampener after the input was read.
+	 *
+	 * @param value the target
+	 */
+	public void commanded(double value) {
+		if (!enabled) {
+			return;
+		}
+
+		if (stage == READ) {
+			if (value == lastTarget) {
+
+				//the input did not change what the mechanism does
+				stage = IDLE;
+			} else {
+				commandNanos[samples % MAX_SAMPLES] = System.nanoTime() - readTime;
+				stage = COMMANDED;
+			}
+		}
+
+		lastTarget = value;
+		target = value;
+	}
+
+	/**
+	 * Reports a value set on the talon.
+	 *
+	 * @param value the output
+	 */
+	public void actuated(double value) {
+		if (!enabled) {
+			return;
+		}
+
+		if (stage == COMMANDED && value != lastOutput) {
+			responseNanos[samples % MAX_SAMPLES] = System.nanoTime() - readTime;
+			responseTicks[samples % MAX_SAMPLES] = (int) (tick - readTick);
+			stage = RESPONDED;
+		}
+
+		if (stage == RESPONDED && Math.abs(value - target) <= TARGET_TOLERANCE) {
+			targetNanos[samples % MAX_SAMPLES] = System.nanoTime() - readTime;
+			targetTicks[samples % MAX_SAMPLES] = (int) (tick - readTick);
+			samples++;
+			stage = IDLE;
+		}
+
+		lastOutput = value;
+	}
+
+	/**
+	 * Counts a tick. The mechanism calls this from its own update().
+	 */
+	public void update() {
+		if (!enabled) {
+			return;
+		}
+
+		tick++;
+		if (stage != IDLE && tick - readTick > MAX_SAMPLE_TICKS) {
+			abandoned++;
+			stage = IDLE;
+		}
+	}
+
+	/**
+	 * Forgets every sample recorded so far.
+	 */
+	public void reset() {
+		samples = 0;
+		abandoned = 0;
+		stage = IDLE;
+	}
+
+	/**
+	 * Describes the latency of the samples recorded so far.
+	 *
+	 * @return the report, one line per stage
+	 */
+	public String report() {
+		int count = Math.min(samples, MAX_SAMPLES);
+		if (count == 0) {
+			return name + ": no samples (" + abandoned + " abandoned)\n";
+		}
+
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("%s: %d samples (%d abandoned)%n", name, samples, abandoned));
+		report.append(String.format("  read to command:   %s%n", describe(commandNanos, null, count)));
+		report.append(String.format("  read to response:  %s%n", describe(responseNanos, responseTicks, count)));
+		report.append(String.format("  read to target:    %s%n", describe(targetNanos, targetTicks, count)));
+
+		//the ticks the ramp adds after the first response
+		int[] rampTicks = new int[count];
+		for (int i = 0; i < count; i++) {
+			rampTicks[i] = targetTicks[i] - responseTicks[i];
+		}
+		Arrays.sort(rampTicks);
+		report.append(String.format("  added by the ramp: median %d ticks, 90%% %d ticks, max %d ticks%n",
+				rampTicks[count / 2], rampTicks[(int) (count * 0.9)], rampTicks[count - 1]));
+
+		return report.toString();
+	}
+
+	/**
+	 * Describes the median, 90th percentile and maximum of a stage.
+	 */
+	private static String describe(long[] nanos, int[] ticks, int count) {
+		long[] sortedNanos = Arrays.copyOf(nanos, count);
+		Arrays.sort(sortedNanos);
+
+		String micros = String.format("median %.1f us, 90%% %.1f us, max %.1f us",
+				sortedNanos[count / 2] / 1e3, sortedNanos[(int) (count * 0.9)] / 1e3, sortedNanos[count - 1] / 1e3);
+		if (ticks == null) {
+			return micros;
+		}
+
+		int[] sortedTicks = Arrays.copyOf(ticks, count);
+		Arrays.sort(sortedTicks);
+		return String.format("median %d ticks, 90%% %d ticks, max %d ticks; %s",
+				sortedTicks[count / 2], sortedTicks[(int) (count * 0.9)], sortedTicks[count - 1], micros);
+	}
+}
@@ -13,11 +13,15 @@ package org.usfirst.frc.team3627.robot;
  * A lowers the launcher
  * X extends the pusher for the duration of the press
  * 
+ * If the launcher has a ball sensor, Back starts and cancels an
+ * automatic intake instead: the flywheels intake until the sensor
+ * sees the ball seated, and stop (or spin up to shoot) the moment
+ * it does, from the sensor's interrupt rather than on the next tick.
  * 
  * @author Ryan Longood
  * @version March 2016
  */
-public class Launcher extends Winch implements NeedsUpdating, ControllerDrivable {
+public class Launcher extends Winch implements NeedsUpdating, Bindable {
 	
 	//Launcher inherits from winch, so there is no field for one.
 	
@@ -28,10 +32,72 @@ public class Launcher extends Winch implements NeedsUpdating, ControllerDrivable
 	//pusher
 	private Pusher ballPusher;
 	
+	//optional ball sensor, for automatic intakes
+	private Interrupting ballSensor;
+	private boolean autoIntaking;
+	private boolean preSpin;
+	
+	//dashboard field handles
+	private int shootingField;
+	private int intakingField;
+	private int pusherField;
+	private int ballField;
+	private int autoIntakingField;
+	
 	public Flywheel.FlywheelState getFlywheelState() {
 		return leftFly.getState();
 	}
 	
+	public Flywheel getLeftFlywheel() {
+		return leftFly;
+	}
+	
+	public Flywheel getRightFlywheel() {
+		return rightFly;
+	}
+	
+	public boolean isPusherExtended() {
+		return ballPusher.isExtended();
+	}
+	
+	public synchronized boolean isAutoIntaking() {
+		return autoIntaking;
+	}
+	
+	/**
+	 * Returns whether the ball sensor sees a ball seated.
+	 * 
+	 * @return true if there is a ball, or false if there is none or no sensor
+	 */
+	public boolean hasBall() {
+		return (ballSensor != null && ballSensor.isPressed());
+	}
+	
+	public boolean isPreSpinEnabled() {
+		return preSpin;
+	}
+	
+	/**
+	 * Sets whether the flywheels spin up to shoot as soon as an
+	 * automatic intake seats the ball, instead of stopping.
+	 * 
+	 * @param value true to spin up right away
+	 */
+	public void setPreSpinEnabled(boolean value) {
+		preSpin = value;
+	}
+	
+	/**
+	 * Gives the launcher a sensor that is pressed while a ball is
+	 * seated, for automatic intakes.
+	 * 
+	 * @param sensor the sensor; call this at most once
+	 */
+	public void setBallSensor(Interrupting sensor) {
+		ballSensor = sensor;
+		sensor.whenPressed(this::ballSeated);
+	}
+	
 	/**
 	 * Creates a Launcher as used with Mettaton 2016.
 	 * 
@@ -43,70 +109,203 @@ public class Launcher extends Winch implements NeedsUpdating, ControllerDrivable
 	 * @param intakeSpeed the speed at which the flywheels will spin to intake
 	 */
 	public Launcher(Winch winch, Pusher ballPusher, int leftFlyChannel, int rightFlyChannel, double shootSpeed, double intakeSpeed) {
+		this(winch, ballPusher,
+				new Flywheel(leftFlyChannel, shootSpeed, intakeSpeed, false),
+				new Flywheel(rightFlyChannel, shootSpeed, intakeSpeed, true));
+	}
+	
+	/**
+	 * Creates a Launcher from the given flywheels. This allows a
+	 * Launcher to be run against simulated motors.
+	 * 
+	 * @param winch the winch to use
+	 * @param ballPusher the pusher to use
+	 * @param leftFly the left flywheel, which spins clockwise
+	 * @param rightFly the right flywheel, which spins counterclockwise
+	 */
+	public Launcher(Winch winch, Pusher ballPusher, Flywheel leftFly, Flywheel rightFly) {
 		
 		//call the base's constructor
 		super(winch);
 		
 		//now do launcher-specific things:
 		this.ballPusher = ballPusher;
-		
-		leftFly = new Flywheel(leftFlyChannel, shootSpeed, intakeSpeed, false);
-		rightFly = new Flywheel(rightFlyChannel, shootSpeed, intakeSpeed, true);
+		this.leftFly = leftFly;
+		this.rightFly = rightFly;
 		setFlywheelState(Flywheel.FlywheelState.Off);
 	}
 	
 	/**
-	 * Manipulates the launcher based on the given controller's input.
+	 * Binds the launcher's controls.
 	 * 
 	 * The controls are as follows:
 	 * Start toggles between flywheel shooting and off
-	 * Back toggles flywheel intaking and off
+	 * Back toggles flywheel intaking and off, unless Start is held
 	 * Y raises the launcher
 	 * A lowers the launcher
 	 * X extends the pusher for the duration of the press
 	 * 
-	 * @param controller the controller to use
+	 * @param bindings the registry to bind the controls in
 	 */
-	public void driveByController(RoboticsController controller) {
+	public void bindControls(ButtonBindings bindings) {
+		bindings.onPress(this, RoboticsController.BTN_START, () -> toggleFlywheelState(Flywheel.FlywheelState.Shooting));
 		
-		//toggle flywheel state
-		if (controller.getButtonEdgeStart()) {
-			
-			
-			//toggle between shooting and off
-			if (leftFly.getState() == Flywheel.FlywheelState.Off) {
-				setFlywheelState(Flywheel.FlywheelState.Shooting);
-			} else {
-				setFlywheelState(Flywheel.FlywheelState.Off);
+		//pressing both never shoots and intakes at once
+		bindings.onPress(this, RoboticsController.BTN_BACK, () -> {
+			if (bindings.isHeld(RoboticsController.BTN_START)) {
+				return;
 			}
-		} else if (controller.getButtonEdgeBack()) {
 			
-			
-			//toggle between intaking and off
-			if (leftFly.getState() == Flywheel.FlywheelState.Off) {
-				setFlywheelState(Flywheel.FlywheelState.Intaking);
+			if (ballSensor != null) {
+				toggleAutoIntake();
 			} else {
-				setFlywheelState(Flywheel.FlywheelState.Off);
+				toggleFlywheelState(Flywheel.FlywheelState.Intaking);
 			}
+		});
+		
+		//held buttons run in the order they are bound, so
+		//Y is bound last to win when both are held
+		bindings.whileHeld(this, RoboticsController.BTN_A, () -> moveWinch(-1));
+		bindings.whileHeld(this, RoboticsController.BTN_Y, () -> moveWinch(1));
+		bindings.onRelease(this, RoboticsController.BTN_A, () -> moveWinch(0));
+		bindings.onRelease(this, RoboticsController.BTN_Y, () -> moveWinch(0));
+		
+		bindings.onPress(this, RoboticsController.BTN_X, () -> ballPusher.extend());
+		bindings.onRelease(this, RoboticsController.BTN_X, () -> ballPusher.retract());
+	}
+	
+	/**
+	 * Toggles the flywheels between the given state and off.
+	 */
+	private synchronized void toggleFlywheelState(Flywheel.FlywheelState state) {
+		autoIntaking = false;
+		if (leftFly.getState() == Flywheel.FlywheelState.Off) {
+			setFlywheelState(state);
+		} else {
+			setFlywheelState(Flywheel.FlywheelState.Off);
 		}
+	}
+	
+	/**
+	 * Starts an automatic intake if the flywheels are off, or stops
+	 * them otherwise.
+	 */
+	private synchronized void toggleAutoIntake() {
+		if (leftFly.getState() == Flywheel.FlywheelState.Off) {
+			startAutoIntake();
+		} else {
+			autoIntaking = false;
+			setFlywheelState(Flywheel.FlywheelState.Off);
+		}
+	}
+	
+	/**
+	 * Spins the flywheels to intake until the ball sensor sees the
+	 * ball seated. If a ball is already seated, this goes straight
+	 * to what happens once it is.
+	 * 
+	 * @throws IllegalStateException when the launcher has no ball sensor
+	 */
+	public synchronized void startAutoIntake() throws IllegalStateException {
+		if (ballSensor == null) {
+			throw new IllegalStateException("automatic intakes need a ball sensor");
+		}
+		
+		autoIntaking = true;
+		setFlywheelState(Flywheel.FlywheelState.Intaking);
+		
+		//the sensor only interrupts on a press
+		if (ballSensor.isPressed()) {
+			ballSeated();
+		}
+	}
+	
+	/**
+	 * Ends an automatic intake once the ball is seated. This runs
+	 * from the sensor's interrupt, and again from update() in case
+	 * an interrupt was missed.
+	 */
+	private synchronized void ballSeated() {
+		if (!autoIntaking) {
+			return;
+		}
+		
+		autoIntaking = false;
+		setFlywheelState(preSpin ? Flywheel.FlywheelState.Shooting : Flywheel.FlywheelState.Off);
+	}
+	
+	/**
+	 * Raises, lowers or stops the winch for the Y and A buttons.
+	 * 
+	 * @param direction 1 to raise, -1 to lower or 0 to stop
+	 */
+	private void moveWinch(int direction) {
+		LatencyTracer tracer = getTracer();
+		tracer.input(direction);
 		
-		//move winch
-		if (controller.getButtonY()) {
+		if (direction > 0) {
 			raise();
-		} else if (controller.getButtonA()) {
+		} else if (direction < 0) {
 			lower(0.5);
 		} else {
 			stop();
 		}
+		tracer.commanded(getTargetVal());
+	}
+	
+	/**
+	 * Adds the winch, flywheel and pusher states to the dashboard.
+	 */
+	public void addFields(DashboardPublisher publisher) {
+		super.addFields(publisher);
+		shootingField = publisher.addBoolean("Flywheels Shooting", DASHBOARD_PERIOD);
+		intakingField = publisher.addBoolean("Flywheels Intaking", DASHBOARD_PERIOD);
+		pusherField = publisher.addBoolean("Pusher Extended", DASHBOARD_PERIOD);
+		
+		if (ballSensor != null) {
+			ballField = publisher.addBoolean("Ball Seated", DASHBOARD_PERIOD);
+			autoIntakingField = publisher.addBoolean("Auto Intaking", DASHBOARD_PERIOD);
+		}
+	}
+	
+	public void writeFields(DashboardPublisher publisher) {
+		super.writeFields(publisher);
+		publisher.set(shootingField, leftFly.getState() == Flywheel.FlywheelState.Shooting);
+		publisher.set(intakingField, leftFly.getState() == Flywheel.FlywheelState.Intaking);
+		publisher.set(pusherField, ballPusher.isExtended());
 		
-		//move pusher
-		if (controller.getButtonX()) {
-			ballPusher.extend();
-		} else {
-			ballPusher.retract();
+		if (ballSensor != null) {
+			publisher.set(ballField, ballSensor.isPressed());
+			publisher.set(autoIntakingField, isAutoIntaking());
 		}
 	}
 	
+	/**
+	 * Steps the winch, keeps the flywheels at their speed, and ends
+	 * an automatic intake if the sensor interrupt was missed.
+	 */
+	public void update() {
+		super.update();
+		leftFly.update();
+		rightFly.update();
+		
+		if (ballSensor != null && ballSensor.isPressed()) {
+			ballSeated();
+		}
+	}
+	
+	/**
+	 * Gives the winch and the flywheels a compensator, so that their
+	 * speeds are the same whatever the battery voltage.
+	 * 
+	 * @param compensator the compensator to use, or null to set raw outputs
+	 */
+	public void setVoltageCompensator(VoltageCompensator compensator) {
+		super.setVoltageCompensator(compensator);
+		leftFly.setVoltageCompensator(compensator);
+		rightFly.setVoltageCompensator(compensator);
+	}
+	
 	/**
 	 * Sets the state of the launcher flywheels to the 
 	 * specified state.
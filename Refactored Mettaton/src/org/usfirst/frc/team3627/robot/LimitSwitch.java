@@ -10,12 +10,13 @@ import edu.wpi.first.wpilibj.*;
  * 
  * The only thing this class adds to the base class
  * of DigitalInput is a method that returns true if
- * the limit switch is toggled.
+ * the limit switch is toggled, and a way to be told
+ * by an interrupt the moment it is.
  * 
  * @author Ryan Longood
  * @version March 2016
  */
-public class LimitSwitch extends DigitalInput {
+public class LimitSwitch extends DigitalInput implements Interrupting {
 
 	/**
 	 * Constructs a LimitSwitch with the specified channel.
@@ -36,4 +37,23 @@ public class LimitSwitch extends DigitalInput {
 	public boolean isPressed() {
 		return !this.get();
 	}
+	
+	/**
+	 * Runs an action from the FPGA's interrupt thread each time the
+	 * limit switch is pressed. A bouncing switch may run it more than
+	 * once per press.
+	 * 
+	 * @param action the action to run
+	 */
+	public void whenPressed(final Runnable action) {
+		requestInterrupts(new InterruptHandlerFunction<Object>() {
+			public void interruptFired(int interruptAssertedMask, Object param) {
+				action.run();
+			}
+		});
+		
+		//the input reads false when pressed, so a press is a falling edge
+		setUpSourceEdge(false, true);
+		enableInterrupts();
+	}
 }
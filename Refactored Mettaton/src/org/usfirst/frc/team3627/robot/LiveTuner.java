@@ -0,0 +1,314 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+import edu.wpi.first.wpilibj.tables.ITable;
+
+/**
+ * Lets the drive train, winch and pusher be tuned while the robot
+ * runs, instead of changing constants in Robot and redeploying.
+ *
+ * New values come from the dashboard, as numbers named "Tuning "
+ * followed by the name of the parameter, or from a properties file
+ * that maps parameter names to values. A background thread watches
+ * both, and whenever something changes it builds a new
+ * RobotParameters and validates it. A set that passes replaces the
+ * pending set in one atomic operation; one that fails is reported
+ * under "Tuning Status" and never reaches the robot. The same thread
+ * switches latency tracing on and off with "Latency Tracing".
+ *
+ * The control loop calls applyPending() at the start of each tick.
+ * If a new set is pending, every value in it is applied before
+ * anything else happens that tick. Since a RobotParameters cannot be
+ * changed, the control loop never sees half of a set and never waits
+ * for the background thread.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class LiveTuner implements Runnable, Stoppable {
+
+	//how often the dashboard and the file are checked, in seconds
+	static final double DEFAULT_PERIOD = 0.25;
+
+	//prefix of the parameters in the table
+	static final String KEY_PREFIX = "Tuning ";
+	static final String STATUS_KEY = "Tuning Status";
+	static final String TRACING_KEY = "Latency Tracing";
+
+	private DriveTrain driveTrain;
+	private Winch winch;
+	private Pusher pusher;
+
+	//where new values come from; either may be null
+	private ITable table;
+	private File file;
+	private double period;
+
+	//the latest valid set, swapped in by the background thread
+	private final AtomicReference<RobotParameters> pending;
+
+	//the set the components were last configured with; control loop only
+	private RobotParameters applied;
+	private volatile int appliedCount;
+
+	//owned by the background thread
+	private double[] tableValues;
+	private long fileModified;
+
+	private Thread thread;
+	private volatile boolean running;
+
+	/**
+	 * Creates a LiveTuner, and configures the components with the
+	 * initial parameters.
+	 *
+	 * @param driveTrain the drive train to tune
+	 * @param winch the winch to tune
+	 * @param pusher the pusher to tune, or null if there is none
+	 * @param initial the parameters to start with
+	 * @param table the table to take values from, or null
+	 * @param file the properties file to take values from, or null
+	 * @param period how often to check for new values, in seconds
+	 * @throws IllegalArgumentException when the initial parameters are not valid
+	 */
+	public LiveTuner(DriveTrain driveTrain, Winch winch, Pusher pusher, RobotParameters initial,
+			ITable table, File file, double period) throws IllegalArgumentException {
+		initial.validate();
+
+		this.driveTrain = driveTrain;
+		this.winch = winch;
+		this.pusher = pusher;
+		this.table = table;
+		this.file = file;
+		this.period = period;
+
+		pending = new AtomicReference<RobotParameters>(initial);
+		apply(initial);
+	}
+
+	/**
+	 * Creates a LiveTuner that checks for new values 4 times per second.
+	 *
+	 * @param driveTrain the drive train to tune
+	 * @param winch the winch to tune
+	 * @param pusher the pusher to tune, or null if there is none
+	 * @param initial the parameters to start with
+	 * @param table the table to take values from, or null
+	 * @param file the properties file to take values from, or null
+	 * @throws IllegalArgumentException when the initial parameters are not valid
+	 */
+	public LiveTuner(DriveTrain driveTrain, Winch winch, Pusher pusher, RobotParameters initial,
+			ITable table, File file) throws IllegalArgumentException {
+		this(driveTrain, winch, pusher, initial, table, file, DEFAULT_PERIOD);
+	}
+
+	/**
+	 * Returns the latest valid parameters, which may not be applied yet.
+	 *
+	 * @return the parameters
+	 */
+	public RobotParameters getParameters() {
+		return pending.get();
+	}
+
+	/**
+	 * Returns the number of times a set of parameters was applied,
+	 * counting the initial set.
+	 *
+	 * @return the number of sets applied
+	 */
+	public int getAppliedCount() {
+		return appliedCount;
+	}
+
+	/**
+	 * Validates a set of parameters and makes it the next one to be
+	 * applied. This can be called from any thread.
+	 *
+	 * @param parameters the new parameters
+	 * @throws IllegalArgumentException when the parameters are not valid
+	 */
+	public void offer(RobotParameters parameters) throws IllegalArgumentException {
+		parameters.validate();
+		pending.set(parameters);
+	}
+
+	/**
+	 * Applies the latest valid parameters if they have not been
+	 * applied yet. Call this from the control loop at the start of
+	 * every periodic function.
+	 */
+	public void applyPending() {
+		RobotParameters next = pending.get();
+		if (next != applied) {
+			apply(next);
+		}
+	}
+
+	private void apply(RobotParameters parameters) {
+		parameters.applyTo(driveTrain);
+		parameters.applyTo(winch);
+		if (pusher != null) {
+			parameters.applyTo(pusher);
+		}
+
+		applied = parameters;
+		appliedCount++;
+	}
+
+	/**
+	 * Starts watching the dashboard and the file on a background thread.
+	 * The current values are put into the table so they can be edited.
+	 */
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+
+		RobotParameters current = pending.get();
+		tableValues = new double[RobotParameters.NAMES.length];
+		for (int i = 0; i < tableValues.length; i++) {
+			tableValues[i] = current.get(RobotParameters.NAMES[i]);
+		}
+		putTable(current, "Ready");
+		if (table != null) {
+			table.putBoolean(TRACING_KEY, LatencyTracer.isEnabled());
+		}
+
+		//the file as it is now is the starting point, not a change
+		if (file != null) {
+			fileModified = file.lastModified();
+		}
+
+		running = true;
+		thread = CorePartition.newBackgroundThread(this, "Tuner");
+		thread.start();
+	}
+
+	/**
+	 * Stops watching for new values. Values already pending are
+	 * still applied.
+	 */
+	public void stop() {
+		running = false;
+	}
+
+	/**
+	 * Checks for new values every period until stopped.
+	 */
+	public void run() {
+		while (running) {
+			poll();
+
+			try {
+				Thread.sleep((long) (period * 1000));
+			} catch (InterruptedException e) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Checks the file and then the table once, and offers any new values.
+	 */
+	void poll() {
+		if (file != null) {
+			long modified = file.lastModified();
+
+			//0 means the file is gone, which keeps the values it had
+			if (modified != 0 && modified != fileModified) {
+				fileModified = modified;
+				try {
+					accept(load(pending.get()), "Loaded " + file.getName());
+				} catch (IOException | IllegalArgumentException e) {
+					reject(file.getName() + ": " + e.getMessage());
+				}
+			}
+		}
+
+		if (table != null) {
+			RobotParameters parameters = pending.get();
+			boolean changed = false;
+
+			for (int i = 0; i < tableValues.length; i++) {
+				String name = RobotParameters.NAMES[i];
+				double value = table.getNumber(KEY_PREFIX + name, tableValues[i]);
+
+				//only values edited on the dashboard count, so a rejected
+				//value is not reported again every period
+				if (value != tableValues[i]) {
+					tableValues[i] = value;
+					parameters = parameters.with(name, value);
+					changed = true;
+				}
+			}
+
+			if (changed) {
+				try {
+					accept(parameters, "Applied from dashboard");
+				} catch (IllegalArgumentException e) {
+					reject(e.getMessage());
+				}
+			}
+
+			//tracing is switched here too, since this already watches the table
+			LatencyTracer.setEnabled(table.getBoolean(TRACING_KEY, LatencyTracer.isEnabled()));
+		}
+	}
+
+	/**
+	 * Reads the file over the given parameters.
+	 *
+	 * @throws IllegalArgumentException when the file names an unknown parameter or a value is not a number
+	 */
+	private RobotParameters load(RobotParameters parameters) throws IOException, IllegalArgumentException {
+		Properties properties = new Properties();
+		InputStream in = new FileInputStream(file);
+
+		try {
+			properties.load(in);
+		} finally {
+			in.close();
+		}
+
+		for (String name : properties.stringPropertyNames()) {
+			parameters = parameters.with(name, Double.parseDouble(properties.getProperty(name).trim()));
+		}
+
+		return parameters;
+	}
+
+	private void accept(RobotParameters parameters, String status) throws IllegalArgumentException {
+		offer(parameters);
+		putTable(parameters, status);
+	}
+
+	private void reject(String message) {
+		System.err.println("Tuning rejected: " + message);
+
+		//put back the values the robot is still using
+		putTable(pending.get(), "Rejected: " + message);
+	}
+
+	/**
+	 * Puts the given parameters and status into the table, so the
+	 * dashboard always shows the values the robot is using.
+	 */
+	private void putTable(RobotParameters parameters, String status) {
+		if (table == null) {
+			return;
+		}
+
+		for (int i = 0; i < tableValues.length; i++) {
+			tableValues[i] = parameters.get(RobotParameters.NAMES[i]);
+			table.putNumber(KEY_PREFIX + RobotParameters.NAMES[i], tableValues[i]);
+		}
+		table.putString(STATUS_KEY, status);
+	}
+}
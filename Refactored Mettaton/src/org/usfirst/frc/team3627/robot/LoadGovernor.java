@@ -0,0 +1,233 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the control loop on time when the roboRIO gets busy, by
+ * shedding less important work before the loop runs late.
+ *
+ * The periodic functions tell the governor when each tick begins and
+ * ends. When ticks start taking too much of the period, or one runs
+ * over or starts late (as after a garbage collection), the governor
+ * sheds the next stage of work, one stage at a time, in the order
+ * they were added. Once ticks have been comfortably short for a while,
+ * it restores the last stage shed. Shedding quickly and restoring
+ * slowly keeps the loop on time, and a restore that has to be shed
+ * again right away doubles the wait before the next one, so a stage
+ * that does not fit does not keep bouncing, like the camera ladder of
+ * an AdaptiveStreamController.
+ *
+ * Only the work that is added as a stage is ever shed. The drive
+ * train, the launcher and its limit switches are not stages, and run
+ * in full every tick no matter how busy the robot is.
+ *
+ * Every shed and restore is printed, with the tick time that caused it.
+ * The loop is already running late when that happens, so the message
+ * is formatted and printed on the background core instead.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class LoadGovernor implements Publishable {
+
+	//fractions of the period a tick may take: above SHED_FRACTION on
+	//average another stage is shed, and below RESTORE_FRACTION on
+	//average the last one may come back
+	static final double SHED_FRACTION = 0.6;
+	static final double RESTORE_FRACTION = 0.45;
+
+	//a single tick this long, or starting this late, is an overrun
+	static final double OVERRUN_FRACTION = 0.9;
+	static final double LATE_FRACTION = 0.5;
+
+	//weight of the newest tick in the average
+	static final double FILTER_WEIGHT = 0.2;
+
+	//ticks after a shed before the next, so its effect shows first
+	static final int SHED_INTERVAL = 5;
+
+	//quiet ticks before a restore; doubled each time a restore has to
+	//be shed again within RESTORE_SUCCESS_TICKS
+	static final int RESTORE_TICKS = 50;
+	static final int MAX_RESTORE_TICKS = 800;
+	static final int RESTORE_SUCCESS_TICKS = 100;
+
+	//least time between dashboard updates, in seconds
+	static final double DASHBOARD_PERIOD = 0.1;
+
+	private double period;
+
+	//stages in the order they are shed
+	private List<String> names = new ArrayList<String>();
+	private List<Sheddable> stages = new ArrayList<Sheddable>();
+	private int level;
+
+	//the current tick
+	private double tickStart = Double.NaN;
+	private double lateness;
+
+	private double lastTickTime;
+	private double averageTickTime;
+	private int ticksSinceShed = SHED_INTERVAL;
+	private int quietTicks;
+	private int restoreTicks = RESTORE_TICKS;
+	private int ticksSinceRestore = RESTORE_SUCCESS_TICKS;
+	private int transitions;
+
+	//dashboard field handles
+	private int levelField;
+	private int tickTimeField;
+
+	/**
+	 * Creates a LoadGovernor with no stages to shed.
+	 *
+	 * @param period the time between ticks, in seconds
+	 */
+	public LoadGovernor(double period) {
+		this.period = period;
+	}
+
+	/**
+	 * Adds a stage of work to shed after the stages added before it.
+	 *
+	 * @param name the name of the stage, for the log
+	 * @param stage the work
+	 */
+	public void addStage(String name, Sheddable stage) {
+		names.add(name);
+		stages.add(stage);
+	}
+
+	/**
+	 * Returns how many stages are shed.
+	 *
+	 * @return the number of stages, from 0 to all of them
+	 */
+	public int getLevel() {
+		return level;
+	}
+
+	/**
+	 * Returns how many times a stage has been shed or restored.
+	 *
+	 * @return the number of times
+	 */
+	public int getTransitions() {
+		return transitions;
+	}
+
+	/**
+	 * Returns the average time the ticks take.
+	 *
+	 * @return the average, in seconds
+	 */
+	public double getAverageTickTime() {
+		return averageTickTime;
+	}
+
+	/**
+	 * Marks the start of a tick. Call this first thing in each
+	 * periodic function.
+	 *
+	 * @param now the current time, in seconds
+	 */
+	public void beginTick(double now) {
+		lateness = (Double.isNaN(tickStart) ? 0 : Math.max(0, now - tickStart - period));
+		tickStart = now;
+	}
+
+	/**
+	 * Forgets when the last tick began, so that the first tick after
+	 * a change of mode does not count as late. What is shed stays shed.
+	 */
+	public void pause() {
+		tickStart = Double.NaN;
+	}
+
+	/**
+	 * Marks the end of a tick, and sheds or restores a stage if the
+	 * ticks call for it. Call this last thing in each periodic
+	 * function.
+	 *
+	 * @param now the current time, in seconds
+	 */
+	public void endTick(double now) {
+		if (Double.isNaN(tickStart)) {
+			return;
+		}
+
+		lastTickTime = now - tickStart;
+		averageTickTime += (lastTickTime - averageTickTime) * FILTER_WEIGHT;
+		ticksSinceShed++;
+
+		//once a restore has lasted, the next one need not wait as long
+		ticksSinceRestore++;
+		if (ticksSinceRestore == RESTORE_SUCCESS_TICKS) {
+			restoreTicks = RESTORE_TICKS;
+		}
+
+		boolean overrun = (lastTickTime > OVERRUN_FRACTION * period || lateness > LATE_FRACTION * period);
+
+		if (overrun || averageTickTime > SHED_FRACTION * period) {
+			quietTicks = 0;
+
+			if (level < stages.size() && ticksSinceShed >= SHED_INTERVAL) {
+				shed(now, overrun);
+			}
+		} else if (averageTickTime < RESTORE_FRACTION * period) {
+			quietTicks++;
+
+			if (level > 0 && quietTicks >= restoreTicks) {
+				restore(now);
+			}
+		} else {
+			quietTicks = 0;
+		}
+	}
+
+	private void shed(double now, boolean overrun) {
+
+		//the last restore did not fit, so wait longer before the next
+		if (ticksSinceRestore < RESTORE_SUCCESS_TICKS) {
+			restoreTicks = Math.min(2 * restoreTicks, MAX_RESTORE_TICKS);
+			ticksSinceRestore = RESTORE_SUCCESS_TICKS;
+		}
+
+		stages.get(level).shed();
+		level++;
+		ticksSinceShed = 0;
+		transitions++;
+
+		String name = names.get(level - 1);
+		double tickTime = lastTickTime;
+		double average = averageTickTime;
+		double late = lateness;
+		CorePartition.submit(() -> System.out.println(String.format(
+				"Shed %s at %.2f s (%stick %.1f ms, average %.1f ms, %.1f ms late)",
+				name, now, overrun ? "overrun, " : "", tickTime * 1e3, average * 1e3, late * 1e3)));
+	}
+
+	private void restore(double now) {
+		level--;
+		stages.get(level).restore();
+		quietTicks = 0;
+		ticksSinceRestore = 0;
+		transitions++;
+
+		String name = names.get(level);
+		double average = averageTickTime;
+		CorePartition.submit(() -> System.out.println(String.format("Restored %s at %.2f s (average tick %.1f ms)",
+				name, now, average * 1e3)));
+	}
+
+	public void addFields(DashboardPublisher publisher) {
+		levelField = publisher.addNumber("Load Shed Stages", DASHBOARD_PERIOD);
+		tickTimeField = publisher.addNumber("Tick Time ms", DASHBOARD_PERIOD);
+	}
+
+	public void writeFields(DashboardPublisher publisher) {
+		publisher.set(levelField, level);
+		publisher.set(tickTimeField, averageTickTime * 1e3);
+	}
+}
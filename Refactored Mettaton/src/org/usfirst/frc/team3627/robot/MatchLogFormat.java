@@ -0,0 +1,91 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Describes the binary match log written by the MatchLogger, so
+ * that the code that writes it and the code that reads it agree.
+ *
+ * A log is a header followed by fixed-size records, one per tick:
+ *
+ * header (16 bytes)
+ *   0  int   MAGIC
+ *   4  int   VERSION
+ *   8  int   RECORD_SIZE
+ *   12 int   number of records written so far
+ *
+ * record (64 bytes)
+ *   0  long  FPGA time, in microseconds
+ *   8  int   sequence number, counting every record, including dropped ones
+ *   12 float drive train left dampener current value
+ *   16 float drive train left dampener target value
+ *   20 float drive train right dampener current value
+ *   24 float drive train right dampener target value
+ *   28 float left motor output
+ *   32 float right motor output
+ *   36 float winch dampener current value
+ *   40 float winch dampener target value
+ *   44 float winch motor output
+ *   48 byte  flags (FLAG_*)
+ *   49 byte  flywheel state (ordinal of Flywheel.FlywheelState)
+ *   50 byte  robot mode (MODE_*)
+ *   51 byte  unused
+ *   52 float estimated x, in meters
+ *   56 float estimated y, in meters
+ *   60 float estimated heading, in radians
+ *
+ * Everything is big-endian. The log file is made larger than it
+ * needs to be, so only the number of records in the header can be
+ * trusted; anything after that is zeros.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class MatchLogFormat {
+
+	//"MTLG"
+	static final int MAGIC = 0x4D544C47;
+	static final int VERSION = 1;
+
+	static final int HEADER_SIZE = 16;
+	static final int HEADER_MAGIC = 0;
+	static final int HEADER_VERSION = 4;
+	static final int HEADER_RECORD_SIZE = 8;
+	static final int HEADER_RECORD_COUNT = 12;
+
+	static final int RECORD_SIZE = 64;
+	static final int TIMESTAMP = 0;
+	static final int SEQUENCE = 8;
+	static final int LEFT_CURRENT = 12;
+	static final int LEFT_TARGET = 16;
+	static final int RIGHT_CURRENT = 20;
+	static final int RIGHT_TARGET = 24;
+	static final int LEFT_OUTPUT = 28;
+	static final int RIGHT_OUTPUT = 32;
+	static final int WINCH_CURRENT = 36;
+	static final int WINCH_TARGET = 40;
+	static final int WINCH_OUTPUT = 44;
+	static final int FLAGS = 48;
+	static final int FLYWHEEL_STATE = 49;
+	static final int MODE = 50;
+	static final int POSE_X = 52;
+	static final int POSE_Y = 56;
+	static final int POSE_HEADING = 60;
+
+	//bits of the flags byte
+	static final int FLAG_LOWER_LIMIT = 1;
+	static final int FLAG_UPPER_LIMIT = 2;
+	static final int FLAG_PUSHER_EXTENDED = 4;
+
+	//robot modes
+	static final int MODE_DISABLED = 0;
+	static final int MODE_AUTONOMOUS = 1;
+	static final int MODE_TELEOP = 2;
+	static final int MODE_TEST = 3;
+
+	//names of the modes, indexed by mode
+	static final String[] MODE_NAMES = {"disabled", "autonomous", "teleop", "test"};
+
+	private MatchLogFormat() {
+
+		//only constants
+	}
+}
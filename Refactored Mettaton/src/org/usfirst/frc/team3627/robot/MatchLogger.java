@@ -0,0 +1,338 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Records the state of the robot every tick into a binary log file
+ * on the roboRIO, without slowing down the control loop.
+ *
+ * The control loop calls log() once per tick. That only copies a
+ * few numbers from the components into a TelemetryBuffer, which
+ * takes a few hundred nanoseconds and never touches the disk.
+ * A background thread drains the buffer into a memory-mapped file,
+ * so the operating system writes the log out whenever it likes. If
+ * the background thread ever falls behind far enough for the
+ * buffer to fill, records are dropped rather than making the loop
+ * wait; the gaps show up in the sequence numbers.
+ *
+ * The format of the log is described by MatchLogFormat.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class MatchLogger implements Runnable, Stoppable {
+
+	//about 10 seconds of records at 50 per second
+	static final int BUFFER_RECORDS = 512;
+
+	//the log file grows by this much at a time (about 5 minutes)
+	static final int CHUNK_RECORDS = 16384;
+
+	//how long the background thread sleeps between drains, in ms
+	static final long DRAIN_INTERVAL = 100;
+
+	//log files are named by number, and only the newest are kept; a
+	//match takes about 1 MB, so this is about 2 events of matches
+	static final String FILE_PREFIX = "match-";
+	static final String FILE_SUFFIX = ".mlog";
+	static final int KEPT_LOGS = 30;
+
+	//no log is started with less than this free, in bytes, so the
+	//roboRIO never fills up mid-match
+	static final long MIN_FREE_SPACE = 50L * 1024 * 1024;
+
+	//components being logged
+	private DriveTrain driveTrain;
+	private Winch winch;
+	private Launcher launcher;
+	private PoseEstimator pose;
+
+	//written by the control loop
+	private TelemetryBuffer buffer = new TelemetryBuffer(MatchLogFormat.RECORD_SIZE, BUFFER_RECORDS);
+	private int sequence;
+	private double[] poseValues = new double[3];
+
+	//the log file, written by the background thread
+	private File file;
+	private RandomAccessFile randomAccessFile;
+	private FileChannel channel;
+	private MappedByteBuffer header;
+	private MappedByteBuffer chunk;
+	private long chunkStart;
+	private int recordCount;
+
+	private Thread thread;
+	private volatile boolean running;
+
+	/**
+	 * Creates a MatchLogger that logs the given components. If the
+	 * winch is a Launcher, its flywheels and pusher are logged too.
+	 *
+	 * @param driveTrain the drive train to log
+	 * @param winch the winch to log
+	 * @param pose the pose estimator to log, or null to leave the pose at 0
+	 */
+	public MatchLogger(DriveTrain driveTrain, Winch winch, PoseEstimator pose) {
+		this.driveTrain = driveTrain;
+		this.winch = winch;
+		this.pose = pose;
+
+		if (winch instanceof Launcher) {
+			launcher = (Launcher) winch;
+		}
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	public long getDropped() {
+		return buffer.getDropped();
+	}
+
+	public synchronized int getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * Records the current state of the components. Call this once
+	 * per tick from the control loop, after the components update.
+	 *
+	 * @param timestamp the FPGA time, in microseconds
+	 * @param mode the robot mode, one of MatchLogFormat.MODE_*
+	 */
+	public void log(long timestamp, int mode) {
+		int sequence = this.sequence++;
+		int offset = buffer.claim();
+
+		if (offset < 0) {
+
+			//full; the skipped sequence number marks the gap
+			return;
+		}
+
+		ByteBuffer records = buffer.getRecords();
+		records.putLong(offset + MatchLogFormat.TIMESTAMP, timestamp);
+		records.putInt(offset + MatchLogFormat.SEQUENCE, sequence);
+
+		records.putFloat(offset + MatchLogFormat.LEFT_CURRENT, (float) driveTrain.getLeftCurrentVal());
+		records.putFloat(offset + MatchLogFormat.LEFT_TARGET, (float) driveTrain.getLeftTargetVal());
+		records.putFloat(offset + MatchLogFormat.RIGHT_CURRENT, (float) driveTrain.getRightCurrentVal());
+		records.putFloat(offset + MatchLogFormat.RIGHT_TARGET, (float) driveTrain.getRightTargetVal());
+		records.putFloat(offset + MatchLogFormat.LEFT_OUTPUT, (float) driveTrain.getLeftOutput());
+		records.putFloat(offset + MatchLogFormat.RIGHT_OUTPUT, (float) driveTrain.getRightOutput());
+
+		records.putFloat(offset + MatchLogFormat.WINCH_CURRENT, (float) winch.getCurrentVal());
+		records.putFloat(offset + MatchLogFormat.WINCH_TARGET, (float) winch.getTargetVal());
+		records.putFloat(offset + MatchLogFormat.WINCH_OUTPUT, (float) winch.getOutput());
+
+		int flags = 0;
+		if (winch.isFullyDown()) {
+			flags |= MatchLogFormat.FLAG_LOWER_LIMIT;
+		}
+		if (winch.isFullyUp()) {
+			flags |= MatchLogFormat.FLAG_UPPER_LIMIT;
+		}
+
+		int flywheelState = 0;
+		if (launcher != null) {
+			if (launcher.isPusherExtended()) {
+				flags |= MatchLogFormat.FLAG_PUSHER_EXTENDED;
+			}
+			flywheelState = launcher.getFlywheelState().ordinal();
+		}
+
+		records.put(offset + MatchLogFormat.FLAGS, (byte) flags);
+		records.put(offset + MatchLogFormat.FLYWHEEL_STATE, (byte) flywheelState);
+		records.put(offset + MatchLogFormat.MODE, (byte) mode);
+
+		if (pose != null) {
+			pose.getPose(poseValues);
+		}
+		records.putFloat(offset + MatchLogFormat.POSE_X, (float) poseValues[PoseEstimator.POSE_X]);
+		records.putFloat(offset + MatchLogFormat.POSE_Y, (float) poseValues[PoseEstimator.POSE_Y]);
+		records.putFloat(offset + MatchLogFormat.POSE_HEADING, (float) poseValues[PoseEstimator.POSE_HEADING]);
+
+		buffer.publish();
+	}
+
+	/**
+	 * Creates a new log file in the given directory and starts
+	 * draining records into it on a background thread. Files are
+	 * numbered, since the roboRIO clock is not set until the driver
+	 * station connects. Only the newest KEPT_LOGS logs are kept, and
+	 * the oldest are deleted to make room for the new one.
+	 *
+	 * @param directory the directory to put the log in
+	 * @throws IOException when the log file cannot be created, or the
+	 * disk has less than MIN_FREE_SPACE free
+	 */
+	public synchronized void start(File directory) throws IOException {
+		if (running) {
+			return;
+		}
+
+		directory.mkdirs();
+		int number = deleteOldLogs(directory) + 1;
+
+		long free = directory.getUsableSpace();
+		if (free < MIN_FREE_SPACE) {
+			throw new IOException("only " + free / 1024 + " kB free in " + directory);
+		}
+
+		file = new File(directory, String.format(FILE_PREFIX + "%03d" + FILE_SUFFIX, number));
+
+		randomAccessFile = new RandomAccessFile(file, "rw");
+		channel = randomAccessFile.getChannel();
+
+		header = channel.map(FileChannel.MapMode.READ_WRITE, 0, MatchLogFormat.HEADER_SIZE);
+		header.putInt(MatchLogFormat.HEADER_MAGIC, MatchLogFormat.MAGIC);
+		header.putInt(MatchLogFormat.HEADER_VERSION, MatchLogFormat.VERSION);
+		header.putInt(MatchLogFormat.HEADER_RECORD_SIZE, MatchLogFormat.RECORD_SIZE);
+		header.putInt(MatchLogFormat.HEADER_RECORD_COUNT, 0);
+
+		recordCount = 0;
+		mapChunk(MatchLogFormat.HEADER_SIZE);
+
+		running = true;
+		thread = CorePartition.newBackgroundThread(this, "Match Logger");
+		thread.start();
+	}
+
+	/**
+	 * Deletes all but the newest KEPT_LOGS - 1 logs in the given
+	 * directory, so there are KEPT_LOGS once the next is created.
+	 *
+	 * @param directory the directory holding the logs
+	 * @return the highest log number in the directory, or -1 if there are none
+	 */
+	private static int deleteOldLogs(File directory) {
+		List<File> logs = new ArrayList<File>();
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File log : files) {
+				if (getLogNumber(log) >= 0) {
+					logs.add(log);
+				}
+			}
+		}
+		if (logs.isEmpty()) {
+			return -1;
+		}
+
+		//newest last
+		logs.sort(Comparator.comparingInt(MatchLogger::getLogNumber));
+
+		for (File old : logs.subList(0, Math.max(0, logs.size() - (KEPT_LOGS - 1)))) {
+			if (!old.delete()) {
+				System.err.println("Could not delete old match log " + old);
+			}
+		}
+
+		return getLogNumber(logs.get(logs.size() - 1));
+	}
+
+	/**
+	 * Returns the number in a log file's name.
+	 *
+	 * @param file the file
+	 * @return the number, or -1 if the file is not a log
+	 */
+	private static int getLogNumber(File file) {
+		String name = file.getName();
+		if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+			return -1;
+		}
+
+		try {
+			return Integer.parseInt(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Drains the last records, flushes the log to disk and closes it.
+	 */
+	public void stop() {
+		Thread stopping;
+		synchronized (this) {
+			running = false;
+			stopping = thread;
+			thread = null;
+		}
+
+		if (stopping != null) {
+			try {
+				stopping.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Drains the buffer into the log file until stopped.
+	 */
+	public void run() {
+		try {
+			while (running) {
+				drain();
+
+				try {
+					Thread.sleep(DRAIN_INTERVAL);
+				} catch (InterruptedException e) {
+					break;
+				}
+			}
+
+			//whatever was logged before stopping
+			drain();
+			header.force();
+			chunk.force();
+			channel.close();
+			randomAccessFile.close();
+		} catch (IOException e) {
+			System.err.println("Match log stopped: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Copies every waiting record into the log, growing the file as needed.
+	 */
+	private synchronized void drain() throws IOException {
+		int count;
+
+		do {
+			if (chunk.remaining() < MatchLogFormat.RECORD_SIZE) {
+				mapChunk(chunkStart + chunk.position());
+			}
+
+			count = buffer.drainTo(chunk);
+			recordCount += count;
+		} while (count > 0 && !chunk.hasRemaining());
+
+		//readers trust only the records counted in the header
+		header.putInt(MatchLogFormat.HEADER_RECORD_COUNT, recordCount);
+	}
+
+	/**
+	 * Maps the next chunk of the file, starting at the given position.
+	 */
+	private void mapChunk(long start) throws IOException {
+		if (chunk != null) {
+			chunk.force();
+		}
+
+		chunkStart = start;
+		chunk = channel.map(FileChannel.MapMode.READ_WRITE, start, (long) CHUNK_RECORDS * MatchLogFormat.RECORD_SIZE);
+	}
+}
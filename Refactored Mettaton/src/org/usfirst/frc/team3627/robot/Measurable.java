@@ -0,0 +1,22 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Sensors that measure how far something has traveled,
+ * such as wheel encoders, implement this interface.
+ * 
+ * Components that only need a distance can accept a Measurable,
+ * so that they can be given a simulated sensor instead of a
+ * physical one.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public interface Measurable {
+
+	/**
+	 * Returns the distance traveled since the sensor was reset.
+	 * 
+	 * @return the distance in meters
+	 */
+	public double getDistance();
+}
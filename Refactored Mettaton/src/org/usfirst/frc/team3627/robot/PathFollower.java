@@ -0,0 +1,309 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Drives the drive train along a curved path by pure pursuit.
+ *
+ * A path is planned once from a few waypoints, before it is needed
+ * (in autonomousInit()), into a smooth curve through all of them
+ * sampled every SPACING meters. For each sample the planner keeps its
+ * position, the distance along the path, the curvature of the path
+ * there and the speed to drive at. The speed is slower in tight
+ * curves, and is lowered ahead of them and of the end of the path so
+ * that the robot slows down in time.
+ *
+ * Every tick, follow() finds the sample closest to the robot and the
+ * first sample at least LOOKAHEAD ahead of it, and steers along the
+ * arc that runs from the robot to that sample. Both searches start
+ * where the last tick's left off and only ever move forward, so a
+ * tick costs the same however long the path is. The arc's curvature
+ * sets how much faster the outer side goes than the inner side, and
+ * both are given to the drive train as Dampener targets, so they are
+ * still limited by its acceleration.
+ *
+ * Poses and waypoints are in meters, like those of a PoseEstimator,
+ * and the path is driven forward. Following does not create any
+ * garbage.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class PathFollower {
+
+	//distance between samples of a planned path, in meters
+	static final double SPACING = 0.05;
+
+	//distance to the point the robot steers toward, in meters; longer
+	//is smoother, shorter cuts fewer corners
+	static final double LOOKAHEAD = 0.5;
+
+	//farthest the robot can get along the path between ticks, in meters
+	static final double SEARCH_DISTANCE = 1;
+
+	//speed is divided by 1 + CURVE_SLOWDOWN * curvature, so a turn
+	//with a radius of CURVE_SLOWDOWN meters is driven at half speed
+	static final double CURVE_SLOWDOWN = 0.5;
+
+	//most the speed may drop per meter, and the speed at the end
+	static final double SLOWDOWN_PER_METER = 0.4;
+	static final double END_SPEED = 0.1;
+
+	//the path is finished this close to its end, in meters
+	static final double END_TOLERANCE = 0.05;
+
+	private double trackWidth;
+	private double maxSpeed;
+
+	//the planned path, one value per sample
+	private double[] pathX = new double[0];
+	private double[] pathY = new double[0];
+	private double[] distance = new double[0];
+	private double[] curvature = new double[0];
+	private double[] speed = new double[0];
+
+	//progress along the path
+	private int closest;
+	private int lookahead;
+	private boolean finished = true;
+
+	/**
+	 * Creates a PathFollower with no path.
+	 *
+	 * @param trackWidth the distance between the left and right wheels, in meters
+	 * @param maxSpeed the fastest to drive, from 0 to 1
+	 * @throws IllegalArgumentException when the track width is not positive or the speed is out of range
+	 */
+	public PathFollower(double trackWidth, double maxSpeed) throws IllegalArgumentException {
+		if (!(trackWidth > 0)) {
+			throw new IllegalArgumentException("trackWidth must be positive");
+		}
+		if (!(maxSpeed > 0 && maxSpeed <= 1)) {
+			throw new IllegalArgumentException("maxSpeed (" + maxSpeed + ") must be from 0 to 1");
+		}
+
+		this.trackWidth = trackWidth;
+		this.maxSpeed = maxSpeed;
+	}
+
+	/**
+	 * Plans a smooth path through the given waypoints, and starts
+	 * following it from the beginning.
+	 *
+	 * The curve between each pair of waypoints is a Catmull-Rom
+	 * spline, which passes through every waypoint and heads from the
+	 * one before toward the one after.
+	 *
+	 * @param waypoints at least 2 points, each {x, y} in meters
+	 * @throws IllegalArgumentException when there are fewer than 2 waypoints, or 2 in a row are the same
+	 */
+	public void plan(double[][] waypoints) throws IllegalArgumentException {
+		if (waypoints.length < 2) {
+			throw new IllegalArgumentException("a path needs at least 2 waypoints");
+		}
+
+		//count the samples first, so each array is allocated once
+		int count = 1;
+		for (int i = 1; i < waypoints.length; i++) {
+			double chord = Math.hypot(waypoints[i][0] - waypoints[i - 1][0], waypoints[i][1] - waypoints[i - 1][1]);
+			if (chord == 0) {
+				throw new IllegalArgumentException("waypoints " + (i - 1) + " and " + i + " are the same");
+			}
+			count += segmentSamples(chord);
+		}
+
+		pathX = new double[count];
+		pathY = new double[count];
+		distance = new double[count];
+		curvature = new double[count];
+		speed = new double[count];
+
+		pathX[0] = waypoints[0][0];
+		pathY[0] = waypoints[0][1];
+		int n = 1;
+		for (int i = 1; i < waypoints.length; i++) {
+
+			//the ends are their own neighbors, so the path starts and
+			//ends heading straight along its first and last segments
+			double[] p0 = waypoints[Math.max(0, i - 2)];
+			double[] p1 = waypoints[i - 1];
+			double[] p2 = waypoints[i];
+			double[] p3 = waypoints[Math.min(waypoints.length - 1, i + 1)];
+
+			int samples = segmentSamples(Math.hypot(p2[0] - p1[0], p2[1] - p1[1]));
+			for (int j = 1; j <= samples; j++) {
+				double t = (double) j / samples;
+				pathX[n] = catmullRom(p0[0], p1[0], p2[0], p3[0], t);
+				pathY[n] = catmullRom(p0[1], p1[1], p2[1], p3[1], t);
+				distance[n] = distance[n - 1] + Math.hypot(pathX[n] - pathX[n - 1], pathY[n] - pathY[n - 1]);
+				n++;
+			}
+		}
+
+		//the curvature at each sample is that of the circle through it
+		//and its neighbors; the ends are straight
+		for (int i = 1; i < count - 1; i++) {
+			curvature[i] = circleCurvature(i);
+		}
+
+		//slow down for curves, then lower each speed so the next can
+		//be reached in time, working back from the end
+		for (int i = 0; i < count; i++) {
+			speed[i] = maxSpeed / (1 + CURVE_SLOWDOWN * Math.abs(curvature[i]));
+		}
+		speed[count - 1] = Math.min(speed[count - 1], END_SPEED);
+		for (int i = count - 2; i >= 0; i--) {
+			double reachable = speed[i + 1] + SLOWDOWN_PER_METER * (distance[i + 1] - distance[i]);
+			speed[i] = Math.max(Math.min(speed[i], reachable), END_SPEED);
+		}
+
+		closest = 0;
+		lookahead = 0;
+		finished = false;
+	}
+
+	/**
+	 * Returns how many samples to split a segment into.
+	 */
+	private static int segmentSamples(double chord) {
+		return Math.max(1, (int) Math.ceil(chord / SPACING));
+	}
+
+	/**
+	 * Interpolates 1 coordinate of a Catmull-Rom spline between p1
+	 * and p2.
+	 */
+	private static double catmullRom(double p0, double p1, double p2, double p3, double t) {
+		return 0.5 * (2 * p1 + (p2 - p0) * t + (2 * p0 - 5 * p1 + 4 * p2 - p3) * t * t +
+				(3 * p1 - p0 - 3 * p2 + p3) * t * t * t);
+	}
+
+	/**
+	 * Returns the curvature of the circle through a sample and its
+	 * neighbors; positive curves to the left.
+	 */
+	private double circleCurvature(int i) {
+		double ax = pathX[i] - pathX[i - 1];
+		double ay = pathY[i] - pathY[i - 1];
+		double bx = pathX[i + 1] - pathX[i];
+		double by = pathY[i + 1] - pathY[i];
+		double cx = pathX[i + 1] - pathX[i - 1];
+		double cy = pathY[i + 1] - pathY[i - 1];
+
+		//twice the signed area over the product of the sides
+		double sides = Math.hypot(ax, ay) * Math.hypot(bx, by) * Math.hypot(cx, cy);
+		return (sides == 0 ? 0 : 2 * (ax * by - ay * bx) / sides);
+	}
+
+	/**
+	 * Returns whether the robot has reached the end of the path, or
+	 * has no path.
+	 *
+	 * @return true once finished
+	 */
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * Returns the length of the planned path.
+	 *
+	 * @return the length, in meters
+	 */
+	public double getLength() {
+		return (distance.length == 0 ? 0 : distance[distance.length - 1]);
+	}
+
+	/**
+	 * Returns how far along the path the robot is.
+	 *
+	 * @return the distance from the start to the closest point, in meters
+	 */
+	public double getProgress() {
+		return (distance.length == 0 ? 0 : distance[closest]);
+	}
+
+	int getSampleCount() {
+		return pathX.length;
+	}
+
+	double getSampleX(int i) {
+		return pathX[i];
+	}
+
+	double getSampleY(int i) {
+		return pathY[i];
+	}
+
+	/**
+	 * Drives toward the path from the given pose. Call this every
+	 * tick until it returns true; then the drive train is stopped.
+	 *
+	 * @param pose the robot's pose, indexed like a PoseEstimator's
+	 * @param driveTrain the drive train to drive
+	 * @return true once the robot has reached the end of the path
+	 */
+	public boolean follow(double[] pose, DriveTrain driveTrain) {
+		if (finished) {
+			driveTrain.stop();
+			return true;
+		}
+
+		double x = pose[PoseEstimator.POSE_X];
+		double y = pose[PoseEstimator.POSE_Y];
+		double heading = pose[PoseEstimator.POSE_HEADING];
+		int last = pathX.length - 1;
+
+		//the closest sample within reach of the last one
+		double closestDistance = squaredDistance(closest, x, y);
+		for (int i = closest + 1; i <= last && distance[i] - distance[closest] <= SEARCH_DISTANCE; i++) {
+			double d = squaredDistance(i, x, y);
+			if (d < closestDistance) {
+				closestDistance = d;
+				closest = i;
+			}
+		}
+
+		if (distance[last] - distance[closest] < END_TOLERANCE) {
+			finished = true;
+			driveTrain.stop();
+			return true;
+		}
+
+		//the first sample at least LOOKAHEAD away, or the end
+		lookahead = Math.max(lookahead, closest);
+		while (lookahead < last && squaredDistance(lookahead, x, y) < LOOKAHEAD * LOOKAHEAD) {
+			lookahead++;
+		}
+
+		//the lookahead point in the robot's frame, y to the left
+		double dx = pathX[lookahead] - x;
+		double dy = pathY[lookahead] - y;
+		double cos = Math.cos(heading);
+		double sin = Math.sin(heading);
+		double sideways = -sin * dx + cos * dy;
+		double squared = dx * dx + dy * dy;
+
+		//the arc through the robot and the lookahead point, tangent
+		//to the heading
+		double arc = (squared == 0 ? 0 : 2 * sideways / squared);
+
+		double v = speed[closest];
+		double left = v * (1 - arc * trackWidth / 2);
+		double right = v * (1 + arc * trackWidth / 2);
+
+		//scale both sides together to keep the arc
+		double largest = Math.max(Math.abs(left), Math.abs(right));
+		if (largest > 1) {
+			left /= largest;
+			right /= largest;
+		}
+
+		driveTrain.driveTank(left, right);
+		return false;
+	}
+
+	private double squaredDistance(int i, double x, double y) {
+		double dx = pathX[i] - x;
+		double dy = pathY[i] - y;
+		return dx * dx + dy * dy;
+	}
+}
@@ -0,0 +1,282 @@
+package org.usfirst.frc.team3627.robot;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.interfaces.Gyro;
+
+/**
+ * Keeps track of where the robot is on the field from its wheel
+ * encoders and gyro.
+ *
+ * Every update, the distance each side rolled since the last
+ * update is combined with the change in heading, and the robot is
+ * moved along the arc that those describe. With a gyro, the heading
+ * comes from the gyro, which is not fooled by wheel slip the way
+ * the difference between the encoders is. Without one, the heading
+ * comes from the encoders and the track width.
+ *
+ * The estimator runs on its own Notifier, several times faster than
+ * the periodic functions, so that short arcs keep the estimate
+ * accurate while turning quickly. Every pose is also kept, with the
+ * time it was measured, in a fixed-size history. That lets slow
+ * measurements be matched to where the robot was when they were
+ * taken; for example, a vision target found in a frame captured
+ * 100 ms ago should be compared against the heading 100 ms ago.
+ *
+ * Poses are in meters and radians, starting from where the robot was
+ * last reset, with positive headings turning counterclockwise (to
+ * the left). Updating and looking up poses does not create any
+ * garbage. The estimator is thread safe.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class PoseEstimator implements Runnable, Stoppable {
+
+	//200 updates per second, 4 for every periodic function call
+	static final double DEFAULT_PERIOD = 0.005;
+
+	//number of poses in the history; a power of 2
+	//(256 poses at 200 per second is 1.28 seconds)
+	static final int HISTORY_SIZE = 256;
+
+	//positions of the values in a pose array
+	static final int POSE_X = 0;
+	static final int POSE_Y = 1;
+	static final int POSE_HEADING = 2;
+
+	//sensors
+	private Measurable leftEncoder;
+	private Measurable rightEncoder;
+	private Gyro gyro;
+	private double trackWidth;
+
+	private Notifier notifier;
+
+	//sensor readings at the last update
+	private double lastLeft;
+	private double lastRight;
+	private double lastGyroHeading;
+
+	//current pose
+	private double x;
+	private double y;
+	private double heading;
+
+	//history of poses, oldest overwritten first
+	private double[] historyTime = new double[HISTORY_SIZE];
+	private double[] historyX = new double[HISTORY_SIZE];
+	private double[] historyY = new double[HISTORY_SIZE];
+	private double[] historyHeading = new double[HISTORY_SIZE];
+	private int historyNext;
+	private int historyCount;
+
+	/**
+	 * Creates a PoseEstimator at the origin.
+	 *
+	 * @param leftEncoder the encoder on the left side
+	 * @param rightEncoder the encoder on the right side
+	 * @param gyro the gyro, with angles increasing clockwise, or null to use the encoders alone
+	 * @param trackWidth the distance between the left and right wheels, in meters
+	 */
+	public PoseEstimator(Measurable leftEncoder, Measurable rightEncoder, Gyro gyro, double trackWidth) {
+		if (trackWidth <= 0) {
+			throw new IllegalArgumentException("trackWidth must be positive");
+		}
+
+		this.leftEncoder = leftEncoder;
+		this.rightEncoder = rightEncoder;
+		this.gyro = gyro;
+		this.trackWidth = trackWidth;
+		reset(0, 0, 0);
+	}
+
+	/**
+	 * Starts updating on a Notifier at the given period.
+	 *
+	 * @param period the time between updates, in seconds
+	 */
+	public synchronized void start(double period) {
+		if (notifier == null) {
+			notifier = new Notifier(this);
+		}
+		notifier.startPeriodic(period);
+	}
+
+	/**
+	 * Starts updating on a Notifier at the default period.
+	 */
+	public void start() {
+		start(DEFAULT_PERIOD);
+	}
+
+	/**
+	 * Stops updating. The pose stays where it was.
+	 */
+	public synchronized void stop() {
+		if (notifier != null) {
+			notifier.stop();
+		}
+	}
+
+	/**
+	 * Called by the Notifier; updates with the FPGA time.
+	 */
+	public void run() {
+		update(Timer.getFPGATimestamp());
+	}
+
+	/**
+	 * Moves the pose by what the sensors measured since the last
+	 * update and adds it to the history. Simulations call this
+	 * directly with simulated time instead of starting the Notifier.
+	 *
+	 * @param timestamp when the sensors were read, in seconds
+	 */
+	public synchronized void update(double timestamp) {
+		double left = leftEncoder.getDistance();
+		double right = rightEncoder.getDistance();
+		double leftDelta = left - lastLeft;
+		double rightDelta = right - lastRight;
+		lastLeft = left;
+		lastRight = right;
+
+		//change in heading, from the gyro if there is one
+		double turn;
+		if (gyro != null) {
+			double gyroHeading = -Math.toRadians(gyro.getAngle());
+			turn = gyroHeading - lastGyroHeading;
+			lastGyroHeading = gyroHeading;
+		} else {
+			turn = (rightDelta - leftDelta) / trackWidth;
+		}
+
+		//move along the arc
+		double distance = (leftDelta + rightDelta) / 2;
+
+		if (Math.abs(turn) < 1e-9) {
+			x += distance * Math.cos(heading);
+			y += distance * Math.sin(heading);
+		} else {
+			double radius = distance / turn;
+			x += radius * (Math.sin(heading + turn) - Math.sin(heading));
+			y -= radius * (Math.cos(heading + turn) - Math.cos(heading));
+		}
+
+		heading += turn;
+		record(timestamp);
+	}
+
+	/**
+	 * Places the robot at the given pose and clears the history.
+	 *
+	 * @param x the x coordinate, in meters
+	 * @param y the y coordinate, in meters
+	 * @param heading the heading, in radians
+	 */
+	public synchronized void reset(double x, double y, double heading) {
+		this.x = x;
+		this.y = y;
+		this.heading = heading;
+
+		lastLeft = leftEncoder.getDistance();
+		lastRight = rightEncoder.getDistance();
+		if (gyro != null) {
+			lastGyroHeading = -Math.toRadians(gyro.getAngle());
+		}
+
+		historyNext = 0;
+		historyCount = 0;
+	}
+
+	public synchronized double getX() {
+		return x;
+	}
+
+	public synchronized double getY() {
+		return y;
+	}
+
+	public synchronized double getHeading() {
+		return heading;
+	}
+
+	/**
+	 * Copies the current pose into the given array.
+	 *
+	 * @param pose an array of at least 3 values, indexed by POSE_X, POSE_Y and POSE_HEADING
+	 */
+	public synchronized void getPose(double[] pose) {
+		pose[POSE_X] = x;
+		pose[POSE_Y] = y;
+		pose[POSE_HEADING] = heading;
+	}
+
+	/**
+	 * Finds where the robot was at the given time, interpolating
+	 * between the 2 closest updates. Times after the last update
+	 * give the latest pose.
+	 *
+	 * @param timestamp the time to look up, in seconds
+	 * @param pose an array of at least 3 values to copy the pose into
+	 * @return false if the time is older than the history, in which case pose is unchanged
+	 */
+	public synchronized boolean getPoseAt(double timestamp, double[] pose) {
+		if (historyCount == 0) {
+			return false;
+		}
+
+		int oldest = (historyNext - historyCount) & (HISTORY_SIZE - 1);
+		int newest = (historyNext - 1) & (HISTORY_SIZE - 1);
+
+		if (timestamp < historyTime[oldest]) {
+			return false;
+		}
+
+		if (timestamp >= historyTime[newest]) {
+			pose[POSE_X] = historyX[newest];
+			pose[POSE_Y] = historyY[newest];
+			pose[POSE_HEADING] = historyHeading[newest];
+			return true;
+		}
+
+		//binary search for the last pose at or before the time,
+		//counting from the oldest pose in the history
+		int low = 0;
+		int high = historyCount - 1;
+
+		while (low < high) {
+			int middle = (low + high + 1) / 2;
+
+			if (historyTime[(oldest + middle) & (HISTORY_SIZE - 1)] <= timestamp) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+
+		int before = (oldest + low) & (HISTORY_SIZE - 1);
+		int after = (before + 1) & (HISTORY_SIZE - 1);
+		double span = historyTime[after] - historyTime[before];
+		double fraction = (span > 0 ? (timestamp - historyTime[before]) / span : 0);
+
+		pose[POSE_X] = historyX[before] + (historyX[after] - historyX[before]) * fraction;
+		pose[POSE_Y] = historyY[before] + (historyY[after] - historyY[before]) * fraction;
+		pose[POSE_HEADING] = historyHeading[before] + (historyHeading[after] - historyHeading[before]) * fraction;
+		return true;
+	}
+
+	/**
+	 * Adds the current pose to the history, overwriting the oldest
+	 * pose once the history is full.
+	 */
+	private void record(double timestamp) {
+		historyTime[historyNext] = timestamp;
+		historyX[historyNext] = x;
+		historyY[historyNext] = y;
+		historyHeading[historyNext] = heading;
+
+		historyNext = (historyNext + 1) & (HISTORY_SIZE - 1);
+		historyCount = Math.min(historyCount + 1, HISTORY_SIZE);
+	}
+}
@@ -0,0 +1,244 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Shares a limited amount of current between the mechanisms, so that
+ * running everything at once cannot brown out the roboRIO.
+ *
+ * Every tick, after the mechanisms are driven and before they update,
+ * the budget estimates the current each mechanism would draw at the
+ * output it asked for. The mechanisms are served in priority order.
+ * The first always gets all it asks for, even past the budget, since
+ * it is what the budget is there to protect; whatever it draws comes
+ * out of the budget before the rest are served. Each of the rest gets
+ * all it asks for while the budget lasts, and the first one that does
+ * not fit is limited to whatever output the rest of the budget allows.
+ * Everything after it is limited the same way, so the lowest
+ * priorities are held back first, before the battery sags, and a
+ * mechanism running on its own is never held back at all.
+ *
+ * The draw of a motor is estimated from a simple model: it is the
+ * stall current times how far the output is ahead of the motor's
+ * speed, plus the free current. Speeds are not measured; each
+ * mechanism's speed follows its output with its own time constant.
+ * If the budget is given a measurement of the total current, from the
+ * PDP, the estimates are corrected to match it over time.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class PowerBudget implements NeedsUpdating, Publishable {
+
+	//the currents of a CIM motor at 12 V, in amps
+	static final double CIM_STALL_CURRENT = 131;
+	static final double CIM_FREE_CURRENT = 2.7;
+
+	//how fast the correction from measured current follows, per tick
+	static final double CORRECTION_RATE = 0.05;
+
+	//the correction never strays further than this from the model
+	static final double MIN_CORRECTION = 0.5;
+	static final double MAX_CORRECTION = 2;
+
+	//least time between dashboard updates, in seconds
+	static final double DASHBOARD_PERIOD = 0.1;
+
+	private double budget;
+	private DoubleSupplier measuredCurrent;
+	private double correction = 1;
+
+	//mechanisms, in priority order
+	private List<Consumer> consumers = new ArrayList<Consumer>();
+
+	private double estimatedCurrent;
+	private int limitedCount;
+
+	//dashboard field handles
+	private int estimatedField;
+	private int limitedField;
+
+	/**
+	 * Creates a PowerBudget.
+	 *
+	 * @param budget the most current the mechanisms may draw together, in amps
+	 */
+	public PowerBudget(double budget) {
+		this.budget = budget;
+	}
+
+	public double getBudget() {
+		return budget;
+	}
+
+	public void setBudget(double value) {
+		budget = value;
+	}
+
+	/**
+	 * Returns the current the mechanisms were estimated to draw this
+	 * tick, after limiting.
+	 *
+	 * @return the current, in amps
+	 */
+	public double getEstimatedCurrent() {
+		return estimatedCurrent;
+	}
+
+	/**
+	 * Returns the number of mechanisms held back this tick.
+	 *
+	 * @return the number of mechanisms limited
+	 */
+	public int getLimitedCount() {
+		return limitedCount;
+	}
+
+	/**
+	 * Gives the budget a measurement of the total current to correct
+	 * its estimates with.
+	 *
+	 * @param measuredCurrent reads the total current, in amps, or null to trust the model
+	 */
+	public void setMeasuredCurrent(DoubleSupplier measuredCurrent) {
+		this.measuredCurrent = measuredCurrent;
+		correction = 1;
+	}
+
+	/**
+	 * Adds a mechanism with a lower priority than every mechanism
+	 * added before it. The first mechanism added is never limited.
+	 *
+	 * @param mechanism the mechanism
+	 * @param motors the number of motors it drives at its requested output
+	 * @param stallCurrent the stall current of each motor, in amps
+	 * @param freeCurrent the free current of each motor, in amps
+	 * @param timeConstant how long the mechanism takes to reach about 2/3 of a new speed, in seconds
+	 * @throws IllegalArgumentException when a count, current or time is not positive
+	 */
+	public void add(PowerLimitable mechanism, int motors, double stallCurrent, double freeCurrent,
+			double timeConstant) throws IllegalArgumentException {
+		if (motors <= 0 || stallCurrent <= 0 || freeCurrent < 0 || timeConstant <= 0) {
+			throw new IllegalArgumentException("motors (" + motors + "), stallCurrent (" + stallCurrent +
+					") and timeConstant (" + timeConstant + ") must be positive, and freeCurrent (" +
+					freeCurrent + ") must not be negative");
+		}
+
+		consumers.add(new Consumer(mechanism, motors, stallCurrent, freeCurrent, timeConstant));
+	}
+
+	/**
+	 * Adds a mechanism driven by CIM motors.
+	 *
+	 * @param mechanism the mechanism
+	 * @param motors the number of CIMs it drives at its requested output
+	 * @param timeConstant how long the mechanism takes to reach about 2/3 of a new speed, in seconds
+	 */
+	public void addCims(PowerLimitable mechanism, int motors, double timeConstant) {
+		add(mechanism, motors, CIM_STALL_CURRENT, CIM_FREE_CURRENT, timeConstant);
+	}
+
+	/**
+	 * Shares out the budget for this tick, limiting mechanisms from
+	 * the lowest priority up.
+	 */
+	public void update() {
+		double tick = 1 / Robot.TICKS_PER_SEC;
+		double remaining = budget;
+		double total = 0;
+		limitedCount = 0;
+
+		for (int i = 0; i < consumers.size(); i++) {
+			Consumer consumer = consumers.get(i);
+			double requested = Math.min(1, Math.abs(consumer.mechanism.getRequestedOutput()));
+			double output = requested;
+
+			double current = consumer.estimate(requested) * correction;
+			//what the first leaves may be less than nothing, but a
+			//mechanism asking for nothing is not being held back
+			if (i > 0 && current > Math.max(0, remaining)) {
+				output = Math.min(requested, consumer.outputFor(Math.max(0, remaining) / correction));
+				current = consumer.estimate(output) * correction;
+				limitedCount++;
+			}
+
+			consumer.mechanism.limitOutput(output < requested ? output : 1);
+			remaining -= current;
+			total += current;
+
+			//the mechanism speeds up or slows down toward its output
+			consumer.speed += (output - consumer.speed) * Math.min(1, tick / consumer.timeConstant);
+		}
+
+		estimatedCurrent = total;
+
+		//pull the model toward what the PDP measures
+		if (measuredCurrent != null && total > 1) {
+			double measured = measuredCurrent.getAsDouble();
+			if (measured >= 0) {
+				double target = measured / (total / correction);
+				correction += (target - correction) * CORRECTION_RATE;
+				correction = Math.max(MIN_CORRECTION, Math.min(MAX_CORRECTION, correction));
+			}
+		}
+	}
+
+	/**
+	 * Adds the estimated current and the number of limited mechanisms
+	 * to the dashboard.
+	 */
+	public void addFields(DashboardPublisher publisher) {
+		estimatedField = publisher.addNumber("Power Estimated Current", DASHBOARD_PERIOD);
+		limitedField = publisher.addNumber("Power Limited Mechanisms", DASHBOARD_PERIOD);
+	}
+
+	public void writeFields(DashboardPublisher publisher) {
+		publisher.set(estimatedField, estimatedCurrent);
+		publisher.set(limitedField, limitedCount);
+	}
+
+	/**
+	 * A mechanism in the budget, and the model of its motors.
+	 */
+	private static class Consumer {
+
+		PowerLimitable mechanism;
+		int motors;
+		double stallCurrent;
+		double freeCurrent;
+		double timeConstant;
+
+		//estimated speed, as a fraction of free speed
+		double speed;
+
+		Consumer(PowerLimitable mechanism, int motors, double stallCurrent, double freeCurrent, double timeConstant) {
+			this.mechanism = mechanism;
+			this.motors = motors;
+			this.stallCurrent = stallCurrent;
+			this.freeCurrent = freeCurrent;
+			this.timeConstant = timeConstant;
+		}
+
+		/**
+		 * Estimates the current drawn at the given output.
+		 */
+		double estimate(double output) {
+			return motors * (stallCurrent * Math.max(0, output - speed) + freeCurrent * output);
+		}
+
+		/**
+		 * Finds the output at which the given current would be drawn.
+		 */
+		double outputFor(double current) {
+			double perMotor = current / motors;
+
+			//below the speed, only the free current is drawn
+			if (perMotor <= freeCurrent * speed) {
+				return perMotor / freeCurrent;
+			}
+			return (perMotor + stallCurrent * speed) / (stallCurrent + freeCurrent);
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Some components draw enough current to brown out the robot when
+ * they all run at once. This interface lets a PowerBudget see how
+ * hard each one wants to run, and hold it back when there is not
+ * enough current to go around.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public interface PowerLimitable {
+
+	/**
+	 * Returns the output the component will apply this tick, as a
+	 * fraction of full voltage: for a dampened component, where this
+	 * tick's step takes it rather than its target. For a component
+	 * with more than one output, this is the largest.
+	 *
+	 * @return the output, from 0 to 1
+	 */
+	public double getRequestedOutput();
+
+	/**
+	 * Keeps the output of the component at or below the given limit
+	 * for this tick. This is called every tick, after the component
+	 * is driven and before it updates; a limit of 1 lets it run freely.
+	 *
+	 * @param limit the largest output allowed, from 0 to 1
+	 */
+	public void limitOutput(double limit);
+}
@@ -0,0 +1,18 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Anything that can be pressed, such as a limit switch.
+ * 
+ * Components that only need to know whether a switch is
+ * pressed should hold a Pressable instead of a LimitSwitch.
+ * That way the component can also be given a simulated
+ * switch, which lets it run on a computer with no robot
+ * hardware attached.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public interface Pressable {
+	
+	public boolean isPressed();
+}
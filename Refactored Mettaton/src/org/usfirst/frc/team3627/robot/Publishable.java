@@ -0,0 +1,35 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Classes that implement this interface show their state
+ * on the dashboard through a DashboardPublisher.
+ * 
+ * A Publishable component adds its fields to the publisher once,
+ * keeping the handle of each, and then writes its values by handle
+ * every tick. Writing a value only stores a number, so it costs
+ * the control loop almost nothing; the publisher sends the values
+ * to the dashboard on its own thread.
+ * 
+ * By implementing this interface, all published components can be
+ * put into a single Vector of the type Publishable, like the
+ * components that need updating.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public interface Publishable {
+
+	/**
+	 * Adds this component's fields to the publisher. Called once, before the publisher starts.
+	 * 
+	 * @param publisher the publisher to add the fields to
+	 */
+	public void addFields(DashboardPublisher publisher);
+	
+	/**
+	 * Writes this component's current values. Called once per tick.
+	 * 
+	 * @param publisher the publisher the fields were added to
+	 */
+	public void writeFields(DashboardPublisher publisher);
+}
@@ -23,6 +23,9 @@ public class Pusher {
 	//the value of the servo when extended
 	private double extendedVal;
 	
+	//whether the pusher was last told to extend
+	private boolean extended;
+	
 	public double getRetractedVal() {
 		return retractedVal;
 	}
@@ -31,6 +34,10 @@ public class Pusher {
 		return extendedVal;
 	}
 	
+	public boolean isExtended() {
+		return extended;
+	}
+	
 	public void setRetractedVal(double value) {
 		retractedVal = value;
 	}
@@ -48,12 +55,25 @@ public class Pusher {
 	 * @throws IllegalArgumentException when retractedVal or extendedVal is not between 0 and 1
 	 */
 	public Pusher(int servoPort, double retractedVal, double extendedVal) throws IllegalArgumentException {
+		this(retractedVal, extendedVal);
+		servo = new Servo(servoPort);
+		retract();
+	}
+	
+	/**
+	 * Creates a Pusher that is not backed by a servo. Subclasses
+	 * that use this constructor must override setPosition(), which
+	 * is how simulated pushers run without any hardware.
+	 * 
+	 * @param retractedVal the value of the servo when retracted
+	 * @param extendedVal the value of the servo when extended
+	 * @throws IllegalArgumentException when retractedVal or extendedVal is not between 0 and 1
+	 */
+	protected Pusher(double retractedVal, double extendedVal) throws IllegalArgumentException {
 		
 		if ((0 <= retractedVal && retractedVal <= 1) && (0 <= extendedVal && extendedVal <= 1)) {
-			servo = new Servo(servoPort);
 			this.retractedVal = retractedVal;
 			this.extendedVal = extendedVal;
-			retract();
 		} else {
 			throw new IllegalArgumentException(
 					"retractedVal (" + retractedVal + ") and extendedVal (" + extendedVal + ") must both be between 0 and 1"
@@ -65,13 +85,24 @@ public class Pusher {
 	 * Extends the pusher to its extended position
 	 */
 	public void extend() {
-		servo.set(extendedVal);
+		extended = true;
+		setPosition(extendedVal);
 	}
 	
 	/**
 	 * Retracts the pusher to its retracted position
 	 */
 	public void retract() {
-		servo.set(retractedVal);
+		extended = false;
+		setPosition(retractedVal);
+	}
+	
+	/**
+	 * Moves the servo; every movement goes through here.
+	 * 
+	 * @param value the value of the servo
+	 */
+	protected void setPosition(double value) {
+		servo.set(value);
 	}
 }
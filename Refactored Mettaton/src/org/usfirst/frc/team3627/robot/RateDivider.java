@@ -0,0 +1,49 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Runs work that the periodic functions do every tick on only some
+ * ticks while it is shed.
+ * 
+ * The periodic functions ask the divider every tick, and only do the
+ * work when it says so: every tick normally, and every DIVISOR-th
+ * tick while shed.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class RateDivider implements Sheddable {
+	
+	//a shed divider runs its work at 10 per second instead of 50
+	static final int DIVISOR = 5;
+	
+	private int divisor = 1;
+	private int count;
+	
+	/**
+	 * Returns whether to do the work this tick. Call this exactly
+	 * once per tick.
+	 * 
+	 * @return true if the work should be done
+	 */
+	public boolean shouldRun() {
+		count++;
+		if (count >= divisor) {
+			count = 0;
+			return true;
+		}
+		return false;
+	}
+	
+	public boolean isShed() {
+		return divisor > 1;
+	}
+	
+	public void shed() {
+		divisor = DIVISOR;
+	}
+	
+	public void restore() {
+		divisor = 1;
+		count = 0;
+	}
+}
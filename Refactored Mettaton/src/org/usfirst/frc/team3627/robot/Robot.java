@@ -1,8 +1,12 @@
 package org.usfirst.frc.team3627.robot;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Vector;
 
 import edu.wpi.first.wpilibj.*;
+import edu.wpi.first.wpilibj.networktables.NetworkTable;
+import edu.wpi.first.wpilibj.vision.USBCamera;
 
 /**
  * This class is the entry point for the robot code. All of the magic happens here.
@@ -33,35 +37,117 @@ public class Robot extends IterativeRobot {
 	final int CHAN_LOWER_LS = 1;
 	final int CHAN_UPPER_LS = 0;
 	
+	final int CHAN_LEFT_ENC_A = 2;
+	final int CHAN_LEFT_ENC_B = 3;
+	final int CHAN_RIGHT_ENC_A = 4;
+	final int CHAN_RIGHT_ENC_B = 5;
 	
+	final int CHAN_BALL_SENSOR = 6;
 	
-	//robot attributes
-	final double DRIVE_ACC = 4.5 / TICKS_PER_SEC;
+	//camera
+	final String CAMERA_NAME = "cam0";
+	final int CAMERA_WIDTH = 320;
+	final int CAMERA_HEIGHT = 240;
 	
-	final double WINCH_ACC = 10 / TICKS_PER_SEC;
-	final double WINCH_SPD = 0.8;
+	//the field radio allows 7 Mbit/s in total; the camera gets 3 of them
+	final double STREAM_BANDWIDTH = 3000000 / 8;
+	final double STREAM_LATENCY = 0.1;
 	
-	final double PUSH_RETRACTED = 0.15;
-	final double PUSH_EXTENDED = 0.55;
+	//the battery sags to the roboRIO's brownout voltage at about 200 A;
+	//the flywheels and winch only get what the drive train leaves of
+	//less than that, so they never take it there
+	static final double POWER_BUDGET = 160;
 	
-	final double FLY_SHOOT_SPD = 1;
-	final double FLY_INTAKE_SPD = 0.4;
+	//how long each mechanism takes to get up to speed, in seconds
+	static final double DRIVE_TIME_CONSTANT = 0.4;
+	static final double FLY_TIME_CONSTANT = 0.8;
+	static final double WINCH_TIME_CONSTANT = 0.1;
+	
+	//match logs
+	final String LOG_DIRECTORY = "/home/lvuser/logs";
+	
+	//live tuning; edit over ssh, e.g. "driveAcc=0.12"
+	final String TUNING_FILE = "/home/lvuser/tuning.properties";
+	
+	//shared state for other processes; /dev/shm is kept in memory
+	final String SHARED_STATE_FILE = "/dev/shm/mettaton-state";
+	
+	//drive train feedforward, saved by calibrating in test mode
+	//with this dashboard button checked
+	final String FEEDFORWARD_FILE = "/home/lvuser/feedforward.properties";
+	final String CALIBRATE_KEY = "Calibrate Drive";
+	
+	//set on the dashboard to follow Autonomous.PATH instead of driving straight
+	final String AUTO_PATH_KEY = "Autonomous Follows Path";
+	
+	//set on the dashboard for each bumper press to turn by an angle
+	//instead of rotating slowly while held
+	final String BUMPER_TURN_KEY = "Bumpers Turn By Angle";
+	
+	//time spent warming up the control loop each disabled tick; well
+	//under the 20 ms tick so the driver station never sees a late packet
+	final double WARM_UP_BUDGET = 0.005;
+	
+	
+	
+	//robot attributes; traction control only ever lowers the drive
+	//train's acceleration from this, since the tip limits it checks
+	//are not yet measured on the robot
+	static final double DRIVE_ACC = 4.5 / TICKS_PER_SEC;
+	
+	static final double WINCH_ACC = 10 / TICKS_PER_SEC;
+	static final double WINCH_SPD = 0.8;
+	
+	static final double PUSH_RETRACTED = 0.15;
+	static final double PUSH_EXTENDED = 0.55;
+	
+	static final double FLY_SHOOT_SPD = 1;
+	static final double FLY_INTAKE_SPD = 0.4;
+	
+	//spin up to shoot as soon as a ball is seated; only safe while
+	//a seated ball sits clear of the flywheels
+	static final boolean FLY_PRE_SPIN = false;
+	
+	//6 inch wheels, 360 count encoders read on every edge (1440 pulses per turn)
+	static final double WHEEL_DIAMETER = 0.1524;
+	static final double METERS_PER_PULSE = Math.PI * WHEEL_DIAMETER / 1440;
+	static final double TRACK_WIDTH = 0.6;
 	
 	
 	//fields
-	boolean winchPositioned;
-	int autonCounter;		//keeps time in autonomous
 	int teleCounter;
 	
 	RoboticsController controller;
 	
 	DriveTrain driveTrain;
 	Launcher launcher;
-	CameraServer server;
+	VoltageCompensator compensator;
+	PowerBudget power;
+	TractionController traction;
+	AdaptiveStreamServer stream;
+	VisionProcessor vision;
+	PoseEstimator pose;
+	Autonomous autonomous;
+	double[] autoPose = new double[3];
+	MatchLogger logger;
+	DashboardPublisher dashboard;
+	LiveTuner tuner;
+	SharedStateServer shared;
+	ButtonBindings bindings;
+	FeedforwardCalibrator calibrator;
+	WarmUp warmUp;
+	LoadGovernor governor;
+	RateDivider telemetryRate;
+	
+	Pusher pusher;
+	ADXRS450_Gyro gyro;
+	WheelEncoder leftEncoder;
+	WheelEncoder rightEncoder;
 	
 	//Vectors
 	Vector<NeedsUpdating> needsUpdating;
 	Vector<ControllerDrivable> controllerDriven;
+	Vector<Publishable> published;
 	
 	
 	
@@ -75,14 +161,98 @@ public class Robot extends IterativeRobot {
     	//commence death by glamour
 	    System.out.println("Ohhh yessssss...");
 	    
+	    //the gyro and camera spend their startup waiting, so they start on
+	    //their own threads while everything else is built here; every
+	    //motor and switch stays on this thread, as WPILib's channel
+	    //allocation is not thread-safe
+	    SubsystemInitializer init = new SubsystemInitializer();
+	    
+    	//the kit of parts gyro on the SPI port holds the heading when driving straight
+    	//(it calibrates here, so the robot must be still while it starts up)
+	    init.start("gyro", () -> gyro = new ADXRS450_Gyro());
+	    init.start("camera", this::initCamera);
+	    
+    	//a copy of the control loop on simulated hardware, run while disabled
+    	//so the real one is already compiled when the match starts
+	    init.start("warm-up", () -> warmUp = new WarmUp());
+	    
     	//initialize components
     	controller = new RoboticsController(CHAN_CONTROLLER);
+    	init.run("launcher", this::initLauncher);
+    	init.run("drive train", this::initDriveTrain);
+    	init.run("power", this::initPower);
+    	
+    	//the rest needs the gyro
+    	init.await();
+    	
+    	//the warm-up drives the way the robot does, with or without a feedforward
+    	warmUp.setFeedforward(driveTrain.getLeftFeedforward(), driveTrain.getRightFeedforward());
+    	init.run("pose", this::initPose);
+    	init.run("logging", this::initLogging);
+    	
+    	
+    	
+    	//Add any NeedsUpdating components to the Vector here.
+    	//Each will automatically be updated
+    	needsUpdating = new Vector<NeedsUpdating>();
+    	needsUpdating.add(compensator);		//first, so every output uses this tick's voltage
+    	needsUpdating.add(power);			//before the mechanisms it limits
+    	needsUpdating.add(driveTrain);
+    	needsUpdating.add(launcher);
+    	needsUpdating.add(controller);
+    	
+    	//Bind the controls of any Bindable components here. Binding
+    	//a button that another component already uses is an error
+    	bindings = new ButtonBindings();
+    	driveTrain.bindControls(bindings);
+    	launcher.bindControls(bindings);
+    	
+    	//Add any ControllerDrivable components to the Vector here.
+    	//Each will automatically be driven by the controller
+    	controllerDriven = new Vector<ControllerDrivable>();
+    	controllerDriven.add(driveTrain);
+    	controllerDriven.add(bindings);		//runs the bound actions
+    	
+    	//Add any Publishable components to the Vector here.
+    	//Each will automatically show up on the SmartDashboard
+    	published = new Vector<Publishable>();
+    	published.add(driveTrain);
+    	published.add(launcher);
+    	published.add(power);
+    	published.add(traction);
+    	published.add(stream);
+    	
+    	//when ticks get long, give up the least important work first,
+    	//so the drive train and the winch limits always run on time;
+    	//the rest of the loop (live tuning, the match log) costs too
+    	//little to be worth shedding
+    	governor = new LoadGovernor(1 / TICKS_PER_SEC);
+    	telemetryRate = new RateDivider();
+    	governor.addStage("telemetry", telemetryRate);
+    	governor.addStage("camera", stream.getController());
+    	governor.addStage("vision", vision);
+    	published.add(governor);
+    	
+    	init.run("dashboard", this::initDashboard);
+    	
+    	//every background thread has started on its own core by now, so
+    	//this thread gets the other one to itself for the periodic functions
+    	CorePartition.pinControlLoop();
+    	
+    	System.out.print(init.report());
+    	System.out.print(CorePartition.report());
+    }
+    
+    /**
+     * Builds the launcher and its winch, pusher and ball sensor.
+     */
+    private void initLauncher() {
     	
     	//configure launcher components
     	Winch winch = new Winch(CHAN_WINCH, CHAN_LOWER_LS, CHAN_UPPER_LS,
     			WINCH_SPD, WINCH_ACC);
     	
-    	Pusher pusher = new Pusher(CHAN_PUSHER, 
+    	pusher = new Pusher(CHAN_PUSHER, 
     			PUSH_RETRACTED, PUSH_EXTENDED);
     	
     	//configure launcher
@@ -90,82 +260,336 @@ public class Robot extends IterativeRobot {
     			CHAN_LEFT_FLY, CHAN_RIGHT_FLY,
     			FLY_SHOOT_SPD, FLY_INTAKE_SPD);
     	
+    	//the beam break stops an automatic intake the moment the ball is in
+    	launcher.setBallSensor(new LimitSwitch(CHAN_BALL_SENSOR));
+    	launcher.setPreSpinEnabled(FLY_PRE_SPIN);
+    }
+    
+    /**
+     * Builds the drive train and its encoders, and loads its feedforward.
+     */
+    private void initDriveTrain() {
+    	
     	//configure driveTrain
     	driveTrain = new DriveTrain(
     			CHAN_FRONT_LEFT, CHAN_FRONT_RIGHT, CHAN_BACK_LEFT, CHAN_BACK_RIGHT,
     			DRIVE_ACC);
     	
+    	//(the right side is mounted backwards, so its encoder is reversed)
+    	leftEncoder = new WheelEncoder(CHAN_LEFT_ENC_A, CHAN_LEFT_ENC_B, false, METERS_PER_PULSE);
+    	rightEncoder = new WheelEncoder(CHAN_RIGHT_ENC_A, CHAN_RIGHT_ENC_B, true, METERS_PER_PULSE);
+    	
+    	//hold back the acceleration whenever the robot starts to wheelie or
+    	//spin its wheels, which happens sooner with the launcher up
+    	traction = new TractionController(new BuiltInAccelerometer(), leftEncoder, rightEncoder, launcher);
+    	driveTrain.setTractionController(traction);
+    	
+    	//once calibrated, even small stick inputs move the robot in proportion
+    	calibrator = new FeedforwardCalibrator(driveTrain, leftEncoder, rightEncoder);
+    	File feedforwardFile = new File(FEEDFORWARD_FILE);
+    	if (feedforwardFile.exists()) {
+    		try {
+    			driveTrain.setFeedforward(Feedforward.load(feedforwardFile, "left."),
+    					Feedforward.load(feedforwardFile, "right."));
+    		} catch (IOException | IllegalArgumentException e) {
+    			DriverStation.reportError("Could not load the drive feedforward: " + e.getMessage(), false);
+    		}
+    	}
+    }
+    
+    /**
+     * Compensates for the battery voltage and shares out the current.
+     */
+    private void initPower() {
+    	
+    	//speeds stay the same as the battery drains through the match
+    	compensator = new VoltageCompensator(() -> DriverStation.getInstance().getBatteryVoltage());
+    	driveTrain.setVoltageCompensator(compensator);
+    	launcher.setVoltageCompensator(compensator);
+    	
+    	power = newPowerBudget(driveTrain, launcher);
+    	PowerDistributionPanel pdp = new PowerDistributionPanel();
+    	power.setMeasuredCurrent(pdp::getTotalCurrent);
+    }
+    
+    /**
+     * Creates the budget that shares the current so that everything
+     * at once cannot brown out the robot: driving comes first and is
+     * never held back, then spinning up the flywheels, then the winch,
+     * out of what driving leaves. Simulations use it
+     * too, so they run under the same limits as the robot.
+     * 
+     * @param driveTrain the drive train
+     * @param launcher the launcher, with its flywheels
+     * @return the budget, with no measured current
+     */
+    static PowerBudget newPowerBudget(DriveTrain driveTrain, Launcher launcher) {
+    	PowerBudget power = new PowerBudget(POWER_BUDGET);
+    	power.addCims(driveTrain, 4, DRIVE_TIME_CONSTANT);
+    	power.addCims(launcher.getLeftFlywheel(), 1, FLY_TIME_CONSTANT);
+    	power.addCims(launcher.getRightFlywheel(), 1, FLY_TIME_CONSTANT);
+    	power.addCims(launcher, 1, WINCH_TIME_CONSTANT);
+    	return power;
+    }
+    
+    /**
+     * Opens the camera, and starts the stream and the vision thread.
+     */
+    private void initCamera() {
+    	
     	//configure camera feed (name obtained from roboRIO web interface)
-    	server = CameraServer.getInstance();
-    	server.setQuality(30);
-    	server.startAutomaticCapture("cam0");
+    	//the stream adjusts its quality to whatever the radio link can carry
+    	USBCamera camera = new USBCamera(CAMERA_NAME);
+    	stream = new AdaptiveStreamServer(new UsbCameraJpegSource(camera),
+    			new AdaptiveStreamController(STREAM_BANDWIDTH, STREAM_LATENCY));
     	
+    	try {
+    		stream.start();
+    	} catch (IOException e) {
+    		DriverStation.reportError("Could not start the camera stream: " + e.getMessage(), false);
+    	}
     	
+    	//look for the goal target on its own thread so it never slows the loop
+    	vision = new VisionProcessor(new UsbCameraFrameSource(camera, CAMERA_WIDTH, CAMERA_HEIGHT));
+    	vision.start();
+    }
+    
+    /**
+     * Starts keeping track of where the robot is, once the gyro is ready.
+     */
+    private void initPose() {
+    	driveTrain.setGyro(gyro);
     	
-    	//Add any NeedsUpdating components to the Vector here.
-    	//Each will automatically be updated
-    	needsUpdating = new Vector<NeedsUpdating>();
-    	needsUpdating.add(driveTrain);
-    	needsUpdating.add(launcher);
-    	needsUpdating.add(controller);
+    	//keep track of where the robot is, 4 times per tick on its own Notifier
+    	pose = new PoseEstimator(leftEncoder, rightEncoder, gyro, TRACK_WIDTH);
+    	pose.start();
+    	autonomous = new Autonomous(driveTrain, launcher, TRACK_WIDTH);
+    }
+    
+    /**
+     * Starts the match log and shares the robot's state.
+     */
+    private void initLogging() {
     	
-    	//Add any ControllerDrivable components to the Vector here.
-    	//Each will automatically be driven by the controller
-    	controllerDriven = new Vector<ControllerDrivable>();
-    	controllerDriven.add(driveTrain);
-    	controllerDriven.add(launcher);
+    	//record every tick of the match to a file for later analysis
+    	logger = new MatchLogger(driveTrain, launcher, pose);
+    	try {
+    		logger.start(new File(LOG_DIRECTORY));
+    		System.out.println("Logging to " + logger.getFile());
+    	} catch (IOException e) {
+    		DriverStation.reportError("Could not start the match log: " + e.getMessage(), false);
+    	}
+    	
+    	//let local processes read the robot's state without any sockets
+    	shared = new SharedStateServer(driveTrain, launcher, pose);
+    	try {
+    		shared.start(new File(SHARED_STATE_FILE));
+    	} catch (IOException e) {
+    		DriverStation.reportError("Could not share state: " + e.getMessage(), false);
+    	}
+    }
+    
+    /**
+     * Publishes to the dashboard, and starts live tuning from it.
+     */
+    private void initDashboard() {
+    	dashboard = new DashboardPublisher(NetworkTable.getTable("SmartDashboard"));
+    	for (Publishable component : published) {
+    		component.addFields(dashboard);
+    	}
+    	dashboard.start();
+    	NetworkTable.getTable("SmartDashboard").putBoolean(CALIBRATE_KEY, false);
+    	NetworkTable.getTable("SmartDashboard").putBoolean(AUTO_PATH_KEY, false);
+    	NetworkTable.getTable("SmartDashboard").putBoolean(BUMPER_TURN_KEY, false);
+    	
+    	//values edited on the dashboard or in the tuning file take effect
+    	//at the start of the next tick, without redeploying
+    	tuner = new LiveTuner(driveTrain, launcher, pusher, RobotParameters.defaults(),
+    			NetworkTable.getTable("SmartDashboard"), new File(TUNING_FILE));
+    	tuner.start();
+    }
+    
+    /**
+     * This function is called when the robot is first disabled
+     */
+    public void disabledInit() {
+    	FlightRecorderEvents.modeChange("disabled");
+    	
+    	//a test harness only drives the robot in test mode
+    	shared.setCommandsEnabled(false);
+    	calibrator.stop();
+    	
+    	//report how laggy the controls were while enabled
+    	if (LatencyTracer.isEnabled()) {
+    		for (LatencyTracer tracer : new LatencyTracer[] {
+    				driveTrain.getLeftTracer(), driveTrain.getRightTracer(), launcher.getTracer()}) {
+    			System.out.print(tracer.report());
+    			tracer.reset();
+    		}
+    	}
+    }
+    
+    /**
+     * This function is called periodically while disabled
+     */
+    public void disabledPeriodic() {
+    	if (!warmUp.isFinished() && warmUp.run(WARM_UP_BUDGET)) {
+    		System.out.print(warmUp.report());
+    	}
     }
     
     /**
      * This function is called when autonomous is first entered
      */
     public void autonomousInit() {
-    	autonCounter = 0;
-    	winchPositioned = false;
+    	FlightRecorderEvents.modeChange("autonomous");
+    	governor.pause();
+    	
+    	//autonomous starts at the origin, facing down the field
+    	pose.reset(0, 0, 0);
+    	autonomous.setPathChosen(NetworkTable.getTable("SmartDashboard").getBoolean(AUTO_PATH_KEY, false));
+    	autonomous.init();
     }
     
     /**
      * This function is called periodically during autonomous
      */
     public void autonomousPeriodic() {
+    	FlightRecorderEvents.beginTick();
+    	governor.beginTick(Timer.getFPGATimestamp());
+    	tuner.applyPending();
     	
-    	//position winch
-    	if (!winchPositioned) {
-    		if (launcher.isFullyDown()) {
-    			
-        		//winch is positioned
-    			winchPositioned = true;
-    			launcher.stop();
-    		} else {
-    			
-    			//winch not yet positioned
-    			launcher.lower();
-    		}
-    		
-		//once positioned, move forward
-    	} else {
-	    	if (0 <= autonCounter && autonCounter <= 5 * TICKS_PER_SEC) {
-	    		driveTrain.driveStraight(0.5);
-	    	} else {
-	    		driveTrain.stop();
-	    	}
-	    	
-	    	autonCounter++;
-	    }
+    	pose.getPose(autoPose);
+    	autonomous.periodic(autoPose);
+    	FlightRecorderEvents.endPhase(FlightRecorderEvents.PHASE_DRIVE);
 
     	updateComponents();
+    	FlightRecorderEvents.endPhase(FlightRecorderEvents.PHASE_UPDATE);
+    	boolean publishing = telemetryRate.shouldRun();
+    	if (publishing) {
+    		publishComponents();
+    	}
+    	FlightRecorderEvents.endPhase(FlightRecorderEvents.PHASE_PUBLISH);
+    	long now = Utility.getFPGATime();
+    	logger.log(now, MatchLogFormat.MODE_AUTONOMOUS);
+    	if (publishing) {
+    		shared.publish(now, MatchLogFormat.MODE_AUTONOMOUS);
+    	}
+    	FlightRecorderEvents.endPhase(FlightRecorderEvents.PHASE_LOG);
+    	governor.endTick(Timer.getFPGATimestamp());
+    	FlightRecorderEvents.commitTick("autonomous");
+    }
+    
+    /**
+     * This function is called when tele-operated is first entered
+     */
+    public void teleopInit() {
+    	FlightRecorderEvents.modeChange("teleop");
+    	governor.pause();
+    	
+    	//nothing autonomous left running carries on until the driver
+    	//touches a button, and nothing done while disabled counts as one
+    	launcher.stop();
+    	launcher.retractPusher();
+    	controller.update();
+    	bindings.resetEdges(controller);
+    	driveTrain.setBumperTurnEnabled(NetworkTable.getTable("SmartDashboard").getBoolean(BUMPER_TURN_KEY, false));
     }
     
     /**
      * This function is called periodically during tele-operated
      */
     public void teleopPeriodic() {
+    	FlightRecorderEvents.beginTick();
+    	governor.beginTick(Timer.getFPGATimestamp());
+    	tuner.applyPending();
     	
     	//drive each component
     	driveComponents();
+    	FlightRecorderEvents.endPhase(FlightRecorderEvents.PHASE_DRIVE);
     	
     	//update state of each component
     	updateComponents();
+    	FlightRecorderEvents.endPhase(FlightRecorderEvents.PHASE_UPDATE);
+    	boolean publishing = telemetryRate.shouldRun();
+    	if (publishing) {
+    		publishComponents();
+    	}
+    	FlightRecorderEvents.endPhase(FlightRecorderEvents.PHASE_PUBLISH);
+    	long now = Utility.getFPGATime();
+    	logger.log(now, MatchLogFormat.MODE_TELEOP);
+    	if (publishing) {
+    		shared.publish(now, MatchLogFormat.MODE_TELEOP);
+    	}
+    	FlightRecorderEvents.endPhase(FlightRecorderEvents.PHASE_LOG);
+    	governor.endTick(Timer.getFPGATimestamp());
+    	FlightRecorderEvents.commitTick("teleop");
+    }
+    
+    /**
+     * This function is called when test mode is first entered
+     */
+    public void testInit() {
+    	FlightRecorderEvents.modeChange("test");
+    	
+    	if (NetworkTable.getTable("SmartDashboard").getBoolean(CALIBRATE_KEY, false)) {
+    		System.out.println("Calibrating the drive train");
+    		calibrator.start();
+    	} else {
+    		shared.setCommandsEnabled(true);
+    	}
+    }
+    
+    /**
+     * This function is called periodically during test mode,
+     * where a local process drives the robot through the shared state
+     */
+    public void testPeriodic() {
+    	tuner.applyPending();
+    	
+    	if (calibrator.isRunning()) {
+    		calibrateDrive();
+    		
+    	//without a command, nothing moves
+    	} else if (!shared.applyCommands()) {
+    		driveTrain.stop();
+    		launcher.stop();
+    	}
+    	
+    	updateComponents();
+    	publishComponents();
+    	shared.publish(Utility.getFPGATime(), MatchLogFormat.MODE_TEST);
+    }
+    
+    /**
+     * Drives the next tick of the drive train calibration, and
+     * uses and saves the results once it finishes.
+     */
+    private void calibrateDrive() {
+    	try {
+    		if (!calibrator.calibrate()) {
+    			return;
+    		}
+    	} catch (IllegalStateException e) {
+    		DriverStation.reportError("Could not calibrate the drive train: " + e.getMessage(), false);
+    		return;
+    	}
+    	
+    	System.out.print(calibrator.report());
+    	Feedforward left = calibrator.getLeft();
+    	Feedforward right = calibrator.getRight();
+    	driveTrain.setFeedforward(left, right);
+    	warmUp.setFeedforward(left, right);
+    	NetworkTable.getTable("SmartDashboard").putBoolean(CALIBRATE_KEY, false);
+    	
+    	//writing to flash can take a while, so it is not done in the loop
+    	CorePartition.submit(() -> {
+	    	try {
+	    		Feedforward.save(new File(FEEDFORWARD_FILE), left, right);
+	    	} catch (IOException e) {
+	    		DriverStation.reportError("Could not save the drive feedforward: " + e.getMessage(), false);
+	    	}
+    	});
     }
     
     /**
@@ -178,8 +602,23 @@ public class Robot extends IterativeRobot {
     	
     	//for each component of type NeedsUpdating in needsUpdating vector:
     	for (NeedsUpdating component : needsUpdating) {
+    		Object event = FlightRecorderEvents.beginComponentCall();
     		component.update();
+    		FlightRecorderEvents.commitComponentCall(event, component, "update");
+    	}
+    }
+    
+    /**
+     * Hands the state of each published component to the
+     * dashboard, which sends it on its own thread.
+     */
+    public void publishComponents() {
+    	
+    	//for each component of type Publishable in published vector:
+    	for (Publishable component : published) {
+    		component.writeFields(dashboard);
     	}
+    	dashboard.commit();
     }
     
     /**
@@ -190,7 +629,9 @@ public class Robot extends IterativeRobot {
     	
     	//for each component of type ControllerDrivable in controllerDriven vector:
     	for (ControllerDrivable component : controllerDriven) {
+    		Object event = FlightRecorderEvents.beginComponentCall();
     		component.driveByController(controller);
+    		FlightRecorderEvents.commitComponentCall(event, component, "driveByController");
     	}
     }
     
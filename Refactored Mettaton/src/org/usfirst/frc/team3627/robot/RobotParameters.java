@@ -0,0 +1,236 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * A complete set of the constants that determine how Mettaton
+ * drives and moves its winch and pusher. A RobotParameters cannot
+ * be changed once it is created; to try different values, create a
+ * new one. Because of that, a whole set can be handed from one thread
+ * to another and applied at once, without the receiving thread ever
+ * seeing some values from the old set and some from the new.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class RobotParameters {
+
+	//names of the parameters, as used by with() and tuning files
+	static final String[] NAMES = {"driveAcc", "winchAcc", "winchSpeed", "inputScalar",
+			"straighteningThreshold", "bumperRotSpeed", "pusherRetracted", "pusherExtended"};
+
+	//highest input exponent that still leaves the sticks usable
+	static final double MAX_INPUT_SCALAR = 5;
+
+	private final double driveAcc;
+	private final double winchAcc;
+	private final double winchSpeed;
+	private final double inputScalar;
+	private final double straighteningThreshold;
+	private final double bumperRotSpeed;
+	private final double pusherRetracted;
+	private final double pusherExtended;
+
+	/**
+	 * Creates a RobotParameters with the specified values.
+	 *
+	 * @param driveAcc the maximum change in drive motor value per tick
+	 * @param winchAcc the maximum change in winch motor value per tick
+	 * @param winchSpeed the speed at which the winch moves
+	 * @param inputScalar the exponent applied to driver input
+	 * @param straighteningThreshold how close the sticks must be to drive straight
+	 * @param bumperRotSpeed the speed at which the bumpers rotate the robot
+	 * @param pusherRetracted the value of the pusher servo when retracted
+	 * @param pusherExtended the value of the pusher servo when extended
+	 */
+	public RobotParameters(double driveAcc, double winchAcc, double winchSpeed,
+			double inputScalar, double straighteningThreshold, double bumperRotSpeed,
+			double pusherRetracted, double pusherExtended) {
+		this.driveAcc = driveAcc;
+		this.winchAcc = winchAcc;
+		this.winchSpeed = winchSpeed;
+		this.inputScalar = inputScalar;
+		this.straighteningThreshold = straighteningThreshold;
+		this.bumperRotSpeed = bumperRotSpeed;
+		this.pusherRetracted = pusherRetracted;
+		this.pusherExtended = pusherExtended;
+	}
+
+	/**
+	 * Creates a RobotParameters with the specified values and
+	 * Mettaton's pusher positions.
+	 *
+	 * @param driveAcc the maximum change in drive motor value per tick
+	 * @param winchAcc the maximum change in winch motor value per tick
+	 * @param winchSpeed the speed at which the winch moves
+	 * @param inputScalar the exponent applied to driver input
+	 * @param straighteningThreshold how close the sticks must be to drive straight
+	 * @param bumperRotSpeed the speed at which the bumpers rotate the robot
+	 */
+	public RobotParameters(double driveAcc, double winchAcc, double winchSpeed,
+			double inputScalar, double straighteningThreshold, double bumperRotSpeed) {
+		this(driveAcc, winchAcc, winchSpeed, inputScalar, straighteningThreshold, bumperRotSpeed,
+				Robot.PUSH_RETRACTED, Robot.PUSH_EXTENDED);
+	}
+
+	/**
+	 * Returns the parameters that Mettaton currently runs with.
+	 *
+	 * @return the default parameters
+	 */
+	public static RobotParameters defaults() {
+		return new RobotParameters(Robot.DRIVE_ACC, Robot.WINCH_ACC, Robot.WINCH_SPD,
+				DriveTrain.DEFAULT_INPUT_SCALAR, DriveTrain.DEFAULT_STRAIGHTENING_THRESHOLD,
+				DriveTrain.DEFAULT_BUMPER_ROT_SPEED, Robot.PUSH_RETRACTED, Robot.PUSH_EXTENDED);
+	}
+
+	public double getDriveAcc() {
+		return driveAcc;
+	}
+
+	public double getWinchAcc() {
+		return winchAcc;
+	}
+
+	public double getWinchSpeed() {
+		return winchSpeed;
+	}
+
+	public double getInputScalar() {
+		return inputScalar;
+	}
+
+	public double getStraighteningThreshold() {
+		return straighteningThreshold;
+	}
+
+	public double getBumperRotSpeed() {
+		return bumperRotSpeed;
+	}
+
+	public double getPusherRetracted() {
+		return pusherRetracted;
+	}
+
+	public double getPusherExtended() {
+		return pusherExtended;
+	}
+
+	/**
+	 * Returns the value of the parameter with the given name.
+	 *
+	 * @param name one of NAMES
+	 * @return the value
+	 * @throws IllegalArgumentException when there is no parameter with that name
+	 */
+	public double get(String name) throws IllegalArgumentException {
+		switch (name) {
+		case "driveAcc": return driveAcc;
+		case "winchAcc": return winchAcc;
+		case "winchSpeed": return winchSpeed;
+		case "inputScalar": return inputScalar;
+		case "straighteningThreshold": return straighteningThreshold;
+		case "bumperRotSpeed": return bumperRotSpeed;
+		case "pusherRetracted": return pusherRetracted;
+		case "pusherExtended": return pusherExtended;
+		default: throw new IllegalArgumentException("there is no parameter named " + name);
+		}
+	}
+
+	/**
+	 * Creates a copy of these parameters with one value changed.
+	 *
+	 * @param name one of NAMES
+	 * @param value the new value
+	 * @return the new parameters
+	 * @throws IllegalArgumentException when there is no parameter with that name
+	 */
+	public RobotParameters with(String name, double value) throws IllegalArgumentException {
+		double[] values = new double[NAMES.length];
+		boolean found = false;
+
+		for (int i = 0; i < NAMES.length; i++) {
+			if (NAMES[i].equals(name)) {
+				values[i] = value;
+				found = true;
+			} else {
+				values[i] = get(NAMES[i]);
+			}
+		}
+
+		if (!found) {
+			throw new IllegalArgumentException("there is no parameter named " + name);
+		}
+
+		return new RobotParameters(values[0], values[1], values[2], values[3],
+				values[4], values[5], values[6], values[7]);
+	}
+
+	/**
+	 * Checks that every value is one the robot can safely run with.
+	 *
+	 * @throws IllegalArgumentException describing the first value that is not
+	 */
+	public void validate() throws IllegalArgumentException {
+		checkRange("driveAcc", driveAcc, 0, 1, false);
+		checkRange("winchAcc", winchAcc, 0, 1, false);
+		checkRange("winchSpeed", winchSpeed, 0, 1, false);
+		checkRange("inputScalar", inputScalar, 1, MAX_INPUT_SCALAR, true);
+		checkRange("straighteningThreshold", straighteningThreshold, 0, 2, true);
+		checkRange("bumperRotSpeed", bumperRotSpeed, 0, 1, true);
+		checkRange("pusherRetracted", pusherRetracted, 0, 1, true);
+		checkRange("pusherExtended", pusherExtended, 0, 1, true);
+	}
+
+	/**
+	 * Throws if the value is not a number between min and max; min
+	 * itself is allowed only if minAllowed is true.
+	 */
+	private static void checkRange(String name, double value, double min, double max, boolean minAllowed) {
+		boolean aboveMin = (minAllowed ? value >= min : value > min);
+
+		//written so that NaN fails
+		if (!(aboveMin && value <= max)) {
+			throw new IllegalArgumentException(name + " (" + value + ") must be " +
+					(minAllowed ? "at least " : "more than ") + min + " and at most " + max);
+		}
+	}
+
+	/**
+	 * Applies the drive parameters to the given drive train.
+	 *
+	 * @param driveTrain the drive train to configure
+	 */
+	public void applyTo(DriveTrain driveTrain) {
+		driveTrain.setMaxAcceleration(driveAcc);
+		driveTrain.setInputScalar(inputScalar);
+		driveTrain.setStraighteningThreshold(straighteningThreshold);
+		driveTrain.setBumperRotSpeed(bumperRotSpeed);
+	}
+
+	/**
+	 * Applies the winch parameters to the given winch.
+	 *
+	 * @param winch the winch to configure
+	 */
+	public void applyTo(Winch winch) {
+		winch.setSpeed(winchSpeed);
+		winch.setMaxAcceleration(winchAcc);
+	}
+
+	/**
+	 * Applies the pusher positions to the given pusher. The pusher
+	 * moves to them the next time it extends or retracts.
+	 *
+	 * @param pusher the pusher to configure
+	 */
+	public void applyTo(Pusher pusher) {
+		pusher.setRetractedVal(pusherRetracted);
+		pusher.setExtendedVal(pusherExtended);
+	}
+
+	public String toString() {
+		return "driveAcc=" + driveAcc + ", winchAcc=" + winchAcc + ", winchSpeed=" + winchSpeed +
+				", inputScalar=" + inputScalar + ", straighteningThreshold=" + straighteningThreshold +
+				", bumperRotSpeed=" + bumperRotSpeed + ", pusherRetracted=" + pusherRetracted +
+				", pusherExtended=" + pusherExtended;
+	}
+}
@@ -15,24 +15,24 @@ public class RoboticsController implements NeedsUpdating {
 	private Joystick controller;
 	
 	//constants mapped to axis values
-	private final static int AX_LX = 0;
-	private final static int AX_LY = 1;
-	private final static int AX_L_TRIG = 2;
-	private final static int AX_R_TRIG = 3;
-	private final static int AX_RX = 4;
-	private final static int AX_RY = 5;
+	final static int AX_LX = 0;
+	final static int AX_LY = 1;
+	final static int AX_L_TRIG = 2;
+	final static int AX_R_TRIG = 3;
+	final static int AX_RX = 4;
+	final static int AX_RY = 5;
 	
 	//constants mapped to button values
-	private final static int BTN_A = 1;
-	private final static int BTN_B = 2;
-	private final static int BTN_X = 3;
-	private final static int BTN_Y = 4;
-	private final static int BTN_LB = 5;
-	private final static int BTN_RB = 6;
-	private final static int BTN_BACK = 7;
-	private final static int BTN_START = 8;
-	private final static int BTN_LS = 9;
-	private final static int BTN_RS = 10;
+	final static int BTN_A = 1;
+	final static int BTN_B = 2;
+	final static int BTN_X = 3;
+	final static int BTN_Y = 4;
+	final static int BTN_LB = 5;
+	final static int BTN_RB = 6;
+	final static int BTN_BACK = 7;
+	final static int BTN_START = 8;
+	final static int BTN_LS = 9;
+	final static int BTN_RS = 10;
 	
 	//constants mapped to direction indices
 	private final static int DIR_N = 0;
@@ -66,47 +66,71 @@ public class RoboticsController implements NeedsUpdating {
 			controller = newController;
 		}
 	}
-	
+
+	/**
+	 * Creates a RoboticsController that is not backed by a joystick.
+	 * Subclasses that use this constructor must override the raw
+	 * input methods, which is how simulated controllers feed input
+	 * to components without any hardware.
+	 */
+	protected RoboticsController() {
+		controller = null;
+	}
+
+	//raw input from the joystick; every getter goes through these
+
+	protected boolean getRawButton(int button) {
+		return controller.getRawButton(button);
+	}
+
+	protected double getRawAxis(int axis) {
+		return controller.getRawAxis(axis);
+	}
+
+	protected int getPOV() {
+		return controller.getPOV();
+	}
+
 	//returns if the given button is pressed
 	
 	public boolean getButtonA() {
-		return controller.getRawButton(BTN_A);
+		return getRawButton(BTN_A);
 	}
 	
 	public boolean getButtonB() {
-		return controller.getRawButton(BTN_B);
+		return getRawButton(BTN_B);
 	}
 	
 	public boolean getButtonX() {
-		return controller.getRawButton(BTN_X);
+		return getRawButton(BTN_X);
 	}
 	
 	public boolean getButtonY() {
-		return controller.getRawButton(BTN_Y);
+		return getRawButton(BTN_Y);
 	}
 	
 	public boolean getButtonLB() {
-		return controller.getRawButton(BTN_LB);
+		return getRawButton(BTN_LB);
 	}
 	
 	public boolean getButtonRB() {
-		return controller.getRawButton(BTN_RB);
+		return getRawButton(BTN_RB);
 	}
 	
 	public boolean getButtonBack() {
-		return controller.getRawButton(BTN_BACK);
+		return getRawButton(BTN_BACK);
 	}
 	
 	public boolean getButtonStart() {
-		return controller.getRawButton(BTN_START);
+		return getRawButton(BTN_START);
 	}
 	
 	public boolean getButtonLS() {
-		return controller.getRawButton(BTN_LS);
+		return getRawButton(BTN_LS);
 	}
 	
 	public boolean getButtonRS() {
-		return controller.getRawButton(BTN_RS);
+		return getRawButton(BTN_RS);
 	}
 	
 	
@@ -187,7 +211,7 @@ public class RoboticsController implements NeedsUpdating {
 	//returns the axis value of the given axis
 	
 	public double getAxisLX() {
-		return controller.getRawAxis(AX_LX);
+		return getRawAxis(AX_LX);
 	}
 	
 	/**
@@ -197,19 +221,19 @@ public class RoboticsController implements NeedsUpdating {
 	 * @return the value of the Y axis of the left stick
 	 */
 	public double getAxisLY() {
-		return -controller.getRawAxis(AX_LY);
+		return -getRawAxis(AX_LY);
 	}
 	
 	public double getAxisLTrig() {
-		return controller.getRawAxis(AX_L_TRIG);
+		return getRawAxis(AX_L_TRIG);
 	}
 	
 	public double getAxisRTrig() {
-		return controller.getRawAxis(AX_R_TRIG);
+		return getRawAxis(AX_R_TRIG);
 	}
 	
 	public double getAxisRX() {
-		return controller.getRawAxis(AX_RX);
+		return getRawAxis(AX_RX);
 	}
 	
 	/**
@@ -219,7 +243,34 @@ public class RoboticsController implements NeedsUpdating {
 	 * @return the value of the Y axis of the right stick
 	 */
 	public double getAxisRY() {
-		return -controller.getRawAxis(AX_RY);
+		return -getRawAxis(AX_RY);
+	}
+	
+	/**
+	 * Returns the value of the given axis, with the Y axes of the
+	 * sticks made positive up like getAxisLY() and getAxisRY().
+	 * 
+	 * @param axis one of AX_*
+	 * @return the value of the axis
+	 */
+	public double getAxis(int axis) {
+		double value = getRawAxis(axis);
+		return (axis == AX_LY || axis == AX_RY ? -value : value);
+	}
+	
+	/**
+	 * Returns every button at once, as bit n for button n.
+	 * 
+	 * @return the pressed buttons
+	 */
+	public long getButtonMask() {
+		long mask = 0;
+		for (int i = 1; i <= BTN_RS; i++) {
+			if (getRawButton(i)) {
+				mask |= 1L << i;
+			}
+		}
+		return mask;
 	}
 	
 	/**
@@ -229,7 +280,7 @@ public class RoboticsController implements NeedsUpdating {
 	 * @return the angle of the D-Pad
 	 */
 	public int getDPadAngle() {
-		return controller.getPOV();
+		return getPOV();
 	}
 	
 	public boolean isDPadNorth() {
@@ -280,7 +331,7 @@ public class RoboticsController implements NeedsUpdating {
 		
 		//buttons start at 1, ergo lastButtons[0] is unused
 		for (int i = 1; i < lastButtons.length; i++) {
-			lastButtons[i] = controller.getRawButton(i);
+			lastButtons[i] = getRawButton(i);
 		}
 		
 		lastDirections[DIR_N] = isDPadNorth();
@@ -0,0 +1,108 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * A RoboticsController whose input is set by code instead of
+ * by a driver. Simulations use this to feed scripted driver
+ * input to components through their normal driveByController()
+ * methods.
+ * 
+ * Values are set the way the driver sees them; for example,
+ * a positive stick value means the stick is pushed up. Edge
+ * detection still requires update() to be called every tick,
+ * just like a real controller.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class ScriptedController extends RoboticsController {
+	
+	//raw input state, indexed the same way as the joystick
+	private boolean[] buttons = new boolean[BTN_RS + 1];
+	private double[] axes = new double[AX_RY + 1];
+	private int pov = -1;
+	
+	/**
+	 * Creates a ScriptedController with no input applied.
+	 */
+	public ScriptedController() {
+		super();
+	}
+	
+	protected boolean getRawButton(int button) {
+		return buttons[button];
+	}
+	
+	protected double getRawAxis(int axis) {
+		return axes[axis];
+	}
+	
+	protected int getPOV() {
+		return pov;
+	}
+	
+	/**
+	 * Sets the left stick's vertical position. Positive values are up.
+	 * 
+	 * @param value the position of the stick
+	 */
+	public void setAxisLY(double value) {
+		
+		//the joystick reports up as negative
+		axes[AX_LY] = -value;
+	}
+	
+	/**
+	 * Sets the right stick's vertical position. Positive values are up.
+	 * 
+	 * @param value the position of the stick
+	 */
+	public void setAxisRY(double value) {
+		axes[AX_RY] = -value;
+	}
+	
+	public void setAxisLX(double value) {
+		axes[AX_LX] = value;
+	}
+	
+	public void setAxisRX(double value) {
+		axes[AX_RX] = value;
+	}
+	
+	public void setAxisLTrig(double value) {
+		axes[AX_L_TRIG] = value;
+	}
+	
+	public void setAxisRTrig(double value) {
+		axes[AX_R_TRIG] = value;
+	}
+	
+	/**
+	 * Sets whether a button is held. Use the BTN_ constants
+	 * from RoboticsController to pick the button.
+	 * 
+	 * @param button the button number
+	 * @param pressed true if the button is held down
+	 */
+	public void setButton(int button, boolean pressed) {
+		buttons[button] = pressed;
+	}
+	
+	public void setDPadAngle(int angle) {
+		pov = angle;
+	}
+	
+	/**
+	 * Releases every button and centers every axis.
+	 */
+	public void releaseAll() {
+		for (int i = 0; i < buttons.length; i++) {
+			buttons[i] = false;
+		}
+		
+		for (int i = 0; i < axes.length; i++) {
+			axes[i] = 0;
+		}
+		
+		pov = -1;
+	}
+}
@@ -0,0 +1,161 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Reads the state of the robot from, and sends commands to, the
+ * shared-state region of a running SharedStateServer. This is for
+ * processes beside the robot code, such as a vision process or a
+ * test harness, and needs nothing else from this package.
+ *
+ * A client is not thread-safe; each thread should have its own.
+ * Only one client at a time should send commands.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class SharedStateClient {
+
+	private SharedStateRegion region;
+	private double[] state = new double[SharedStateFormat.STATE_FIELDS];
+	private double[] command = new double[SharedStateFormat.COMMAND_FIELDS];
+	private long stateSequence;
+	private int commandId;
+
+	/**
+	 * Opens the region of a running robot.
+	 *
+	 * @param file the file of the region
+	 * @throws IOException when the region does not exist or cannot be mapped
+	 */
+	public SharedStateClient(File file) throws IOException {
+		region = new SharedStateRegion(file, false);
+
+		//carry on from the ids of any client before this one
+		region.read(SharedStateFormat.COMMAND_BLOCK, command, SharedStateFormat.COMMAND_FIELDS);
+		commandId = (int) command[SharedStateFormat.COMMAND_ID];
+	}
+
+	/**
+	 * Reads the latest state into this client, if it has changed since
+	 * it was last read.
+	 *
+	 * @return true if there was a new state
+	 */
+	public boolean update() {
+		if (region.getSequence(SharedStateFormat.STATE_BLOCK) == stateSequence) {
+			return false;
+		}
+
+		long sequence = region.read(SharedStateFormat.STATE_BLOCK, state, SharedStateFormat.STATE_FIELDS);
+		if (sequence <= 0) {
+			return false;
+		}
+
+		stateSequence = sequence;
+		return true;
+	}
+
+	/**
+	 * Returns a value of the last state read by update().
+	 *
+	 * @param field one of SharedStateFormat.STATE_*
+	 * @return the value
+	 */
+	public double get(int field) {
+		return state[field];
+	}
+
+	/**
+	 * Copies the last state read by update().
+	 *
+	 * @param values an array of at least SharedStateFormat.STATE_FIELDS values
+	 */
+	public void getState(double[] values) {
+		System.arraycopy(state, 0, values, 0, SharedStateFormat.STATE_FIELDS);
+	}
+
+	public long getTick() {
+		return (long) state[SharedStateFormat.STATE_TICK];
+	}
+
+	/**
+	 * Returns the id of the last command the robot applied, as of the
+	 * last state read by update().
+	 *
+	 * @return the command id
+	 */
+	public int getAcknowledged() {
+		return (int) state[SharedStateFormat.STATE_COMMAND_ACK];
+	}
+
+	/**
+	 * Sends drive train targets. They hold for a few ticks, so send
+	 * them every tick for as long as they should apply.
+	 *
+	 * @param left the target of the left side
+	 * @param right the target of the right side
+	 * @return the id of the command
+	 */
+	public int sendDrive(double left, double right) {
+		return send(SharedStateFormat.TARGET_DRIVE, left, right, 0);
+	}
+
+	/**
+	 * Sends a winch speed. It holds for a few ticks, so send it every
+	 * tick for as long as it should apply.
+	 *
+	 * @param speed the speed of the winch; positive raises and negative lowers
+	 * @return the id of the command
+	 */
+	public int sendWinch(double speed) {
+		return send(SharedStateFormat.TARGET_WINCH, 0, 0, speed);
+	}
+
+	/**
+	 * Sends a command.
+	 *
+	 * @param targets which targets to apply, SharedStateFormat.TARGET_*
+	 * @param left the target of the left side
+	 * @param right the target of the right side
+	 * @param winch the speed of the winch
+	 * @return the id of the command
+	 */
+	public int send(int targets, double left, double right, double winch) {
+		command[SharedStateFormat.COMMAND_ID] = ++commandId;
+		command[SharedStateFormat.COMMAND_TARGETS] = targets;
+		command[SharedStateFormat.COMMAND_LEFT] = left;
+		command[SharedStateFormat.COMMAND_RIGHT] = right;
+		command[SharedStateFormat.COMMAND_WINCH] = winch;
+		region.write(SharedStateFormat.COMMAND_BLOCK, command, SharedStateFormat.COMMAND_FIELDS);
+		return commandId;
+	}
+
+	/**
+	 * Waits until the robot publishes a state that acknowledges the
+	 * given command, yielding to other threads while it waits.
+	 *
+	 * @param id the id returned when the command was sent
+	 * @param timeout the longest to wait, in nanoseconds
+	 * @return true if the command was acknowledged in time
+	 */
+	public boolean waitForAcknowledgement(int id, long timeout) {
+		long deadline = System.nanoTime() + timeout;
+
+		while (true) {
+			update();
+			if (getAcknowledged() >= id) {
+				return true;
+			}
+			if (System.nanoTime() - deadline > 0) {
+				return false;
+			}
+			Thread.yield();
+		}
+	}
+
+	public void close() throws IOException {
+		region.close();
+	}
+}
@@ -0,0 +1,88 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Describes the shared-state region written by the SharedStateServer
+ * and read by SharedStateClients, so that the robot and the processes
+ * beside it agree on where everything is.
+ *
+ * The region is a small file, normally in /dev/shm so it lives only
+ * in memory, that every process maps. It holds a header and 2 blocks:
+ *
+ * header (64 bytes)
+ *   0  int   MAGIC
+ *   4  int   VERSION
+ *   8  int   REGION_SIZE
+ *
+ * state block, written by the robot every tick
+ *   64  long   sequence
+ *   72  double STATE_FIELDS values, indexed by STATE_*
+ *
+ * command block, written by a client
+ *   256 long   sequence
+ *   264 double COMMAND_FIELDS values, indexed by COMMAND_*
+ *
+ * Each block is guarded by its sequence, which is odd while the block
+ * is being written and even once it is complete. A reader reads the
+ * sequence, the values, then the sequence again, and tries again if
+ * the sequence was odd or changed. Only one process may write each
+ * block. The blocks are on separate cache lines so that writing one
+ * does not slow down reading the other.
+ *
+ * Everything is in the native byte order, since every process using
+ * the region runs on the same machine.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class SharedStateFormat {
+
+	//"MSHM"
+	static final int MAGIC = 0x4D53484D;
+	static final int VERSION = 1;
+
+	static final int REGION_SIZE = 512;
+	static final int HEADER_MAGIC = 0;
+	static final int HEADER_VERSION = 4;
+	static final int HEADER_REGION_SIZE = 8;
+
+	//blocks, by the offset of their sequence; values follow the sequence
+	static final int STATE_BLOCK = 64;
+	static final int COMMAND_BLOCK = 256;
+	static final int VALUES = 8;
+
+	//state values
+	static final int STATE_TIMESTAMP = 0;		//FPGA time, in microseconds
+	static final int STATE_TICK = 1;
+	static final int STATE_MODE = 2;			//one of MatchLogFormat.MODE_*
+	static final int STATE_LEFT_CURRENT = 3;
+	static final int STATE_LEFT_TARGET = 4;
+	static final int STATE_RIGHT_CURRENT = 5;
+	static final int STATE_RIGHT_TARGET = 6;
+	static final int STATE_LEFT_OUTPUT = 7;
+	static final int STATE_RIGHT_OUTPUT = 8;
+	static final int STATE_WINCH_CURRENT = 9;
+	static final int STATE_WINCH_TARGET = 10;
+	static final int STATE_WINCH_OUTPUT = 11;
+	static final int STATE_FLAGS = 12;			//MatchLogFormat.FLAG_*
+	static final int STATE_FLYWHEEL_STATE = 13;	//ordinal of Flywheel.FlywheelState
+	static final int STATE_POSE_X = 14;
+	static final int STATE_POSE_Y = 15;
+	static final int STATE_POSE_HEADING = 16;
+	static final int STATE_COMMAND_ACK = 17;	//id of the last command applied
+	static final int STATE_FIELDS = 18;
+
+	//command values
+	static final int COMMAND_ID = 0;			//counts up with each command
+	static final int COMMAND_TARGETS = 1;		//which targets to apply, TARGET_*
+	static final int COMMAND_LEFT = 2;			//drive train left target
+	static final int COMMAND_RIGHT = 3;			//drive train right target
+	static final int COMMAND_WINCH = 4;			//winch speed, positive raises
+	static final int COMMAND_FIELDS = 5;
+
+	//targets a command can set
+	static final int TARGET_DRIVE = 1;
+	static final int TARGET_WINCH = 2;
+
+	private SharedStateFormat() {
+	}
+}
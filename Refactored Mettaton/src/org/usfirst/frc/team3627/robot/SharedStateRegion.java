@@ -0,0 +1,163 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A memory-mapped shared-state region, laid out as described by
+ * SharedStateFormat. Writing and reading a block never takes a lock
+ * and never makes a system call; processes only see each other's
+ * writes through the memory they share.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class SharedStateRegion {
+
+	//times a reader tries to get a consistent block before giving up
+	static final int MAX_READ_ATTEMPTS = 1000;
+
+	private File file;
+	private RandomAccessFile randomAccessFile;
+	private MappedByteBuffer region;
+
+	//written only to order memory accesses; see fence()
+	private volatile int fence;
+
+	/**
+	 * Maps a shared-state region.
+	 *
+	 * @param file the file of the region
+	 * @param create whether to create the region, instead of opening one that already exists
+	 * @throws IOException when the file cannot be mapped, or is not a shared-state region
+	 */
+	public SharedStateRegion(File file, boolean create) throws IOException {
+		this.file = file;
+
+		if (!create && !file.exists()) {
+			throw new IOException(file + " does not exist; is the robot code running?");
+		}
+
+		randomAccessFile = new RandomAccessFile(file, "rw");
+		try {
+			region = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, SharedStateFormat.REGION_SIZE);
+		} catch (IOException e) {
+			randomAccessFile.close();
+			throw e;
+		}
+		region.order(ByteOrder.nativeOrder());
+
+		if (create) {
+
+			//start from nothing, so old commands are never applied
+			for (int i = 0; i < SharedStateFormat.REGION_SIZE; i += 8) {
+				region.putLong(i, 0);
+			}
+			region.putInt(SharedStateFormat.HEADER_VERSION, SharedStateFormat.VERSION);
+			region.putInt(SharedStateFormat.HEADER_REGION_SIZE, SharedStateFormat.REGION_SIZE);
+			fence();
+			region.putInt(SharedStateFormat.HEADER_MAGIC, SharedStateFormat.MAGIC);
+
+		} else if (region.getInt(SharedStateFormat.HEADER_MAGIC) != SharedStateFormat.MAGIC
+				|| region.getInt(SharedStateFormat.HEADER_VERSION) != SharedStateFormat.VERSION) {
+			close();
+			throw new IOException(file + " is not a shared-state region of this version");
+		}
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Writes values into a block. Only one thread, in one process,
+	 * may write each block.
+	 *
+	 * @param block the offset of the block, SharedStateFormat.STATE_BLOCK or COMMAND_BLOCK
+	 * @param values the values
+	 * @param count the number of values to write
+	 */
+	public void write(int block, double[] values, int count) {
+		long sequence = region.getLong(block);
+
+		//odd while writing
+		region.putLong(block, sequence + 1);
+		fence();
+
+		int offset = block + SharedStateFormat.VALUES;
+		for (int i = 0; i < count; i++) {
+			region.putDouble(offset + i * 8, values[i]);
+		}
+
+		fence();
+		region.putLong(block, sequence + 2);
+	}
+
+	/**
+	 * Reads a consistent copy of the values in a block.
+	 *
+	 * @param block the offset of the block, SharedStateFormat.STATE_BLOCK or COMMAND_BLOCK
+	 * @param values the array to read the values into
+	 * @param count the number of values to read
+	 * @return the sequence of the copy, which is 0 if the block was never written
+	 * or -1 if the writer was always in the middle of writing
+	 */
+	public long read(int block, double[] values, int count) {
+		int offset = block + SharedStateFormat.VALUES;
+
+		for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+			long before = region.getLong(block);
+			fence();
+
+			if ((before & 1) == 0) {
+				for (int i = 0; i < count; i++) {
+					values[i] = region.getDouble(offset + i * 8);
+				}
+
+				fence();
+				if (region.getLong(block) == before) {
+					return before;
+				}
+			}
+
+			//the writer is in another thread or process; let it finish
+			Thread.yield();
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Returns the sequence of a block, which changes whenever the block
+	 * is written. Reading it is much cheaper than reading the block.
+	 *
+	 * @param block the offset of the block
+	 * @return the sequence
+	 */
+	public long getSequence(int block) {
+		long sequence = region.getLong(block);
+		fence();
+		return sequence;
+	}
+
+	/**
+	 * Unmaps the region when it is next garbage collected. The file
+	 * is left for the other processes using it.
+	 */
+	public void close() throws IOException {
+		randomAccessFile.close();
+	}
+
+	/**
+	 * Keeps the memory accesses before this from being reordered with
+	 * the ones after it. Java 8 has no fence for buffers, but HotSpot
+	 * compiles every volatile write to a full barrier.
+	 */
+	private void fence() {
+		fence = 0;
+	}
+}
@@ -0,0 +1,235 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Shares the state of the robot with other processes on the roboRIO,
+ * such as a vision process or a test harness, through a
+ * SharedStateRegion, and takes drive and winch commands from them.
+ *
+ * Every tick the control loop publishes a snapshot of the components
+ * into the state block, which costs a few dozen memory writes. Other
+ * processes read it with a SharedStateClient whenever they like,
+ * without asking the robot for anything.
+ *
+ * Commands are only applied while they are enabled, and only while
+ * they keep coming: a command holds for COMMAND_TIMEOUT ticks, after
+ * which the commanded mechanisms are stopped, so a client that hangs
+ * or crashes cannot leave the robot driving.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class SharedStateServer implements Stoppable {
+
+	//ticks a command holds without a newer one
+	static final int COMMAND_TIMEOUT = 5;
+
+	//components being shared
+	private DriveTrain driveTrain;
+	private Winch winch;
+	private Launcher launcher;
+	private PoseEstimator pose;
+
+	//set and cleared by start() and stop(), which may be on another thread
+	private volatile SharedStateRegion region;
+	private double[] state = new double[SharedStateFormat.STATE_FIELDS];
+	private double[] command = new double[SharedStateFormat.COMMAND_FIELDS];
+	private double[] poseValues = new double[3];
+	private long tick;
+
+	//commands, written and read by the control loop only
+	private boolean commandsEnabled;
+	private long commandSequence;
+	private double commandId;
+	private int commandAge = COMMAND_TIMEOUT;
+	private int commandTargets;
+
+	/**
+	 * Creates a SharedStateServer for the given components. If the
+	 * winch is a Launcher, its flywheels and pusher are shared too.
+	 *
+	 * @param driveTrain the drive train to share
+	 * @param winch the winch to share
+	 * @param pose the pose estimator to share, or null to leave the pose at 0
+	 */
+	public SharedStateServer(DriveTrain driveTrain, Winch winch, PoseEstimator pose) {
+		this.driveTrain = driveTrain;
+		this.winch = winch;
+		this.pose = pose;
+
+		if (winch instanceof Launcher) {
+			launcher = (Launcher) winch;
+		}
+	}
+
+	public File getFile() {
+		SharedStateRegion region = this.region;
+		return (region == null ? null : region.getFile());
+	}
+
+	public boolean isCommandsEnabled() {
+		return commandsEnabled;
+	}
+
+	/**
+	 * Sets whether commands from clients are applied. Enabling
+	 * ignores any command sent while they were disabled.
+	 *
+	 * @param value whether to apply commands
+	 */
+	public void setCommandsEnabled(boolean value) {
+		SharedStateRegion region = this.region;
+		if (value && !commandsEnabled && region != null) {
+			commandSequence = region.getSequence(SharedStateFormat.COMMAND_BLOCK);
+			commandAge = COMMAND_TIMEOUT;
+		}
+		commandsEnabled = value;
+	}
+
+	/**
+	 * Creates the region and starts sharing.
+	 *
+	 * @param file the file of the region, which is replaced if it exists
+	 * @throws IOException when the region cannot be created
+	 */
+	public synchronized void start(File file) throws IOException {
+		if (region == null) {
+			region = new SharedStateRegion(file, true);
+		}
+	}
+
+	/**
+	 * Stops sharing. Clients keep seeing the last state published.
+	 */
+	public synchronized void stop() {
+		if (region != null) {
+			try {
+				region.close();
+			} catch (IOException e) {
+				System.err.println("Shared state did not close: " + e.getMessage());
+			}
+			region = null;
+		}
+	}
+
+	/**
+	 * Applies the latest command from a client to the drive train and
+	 * winch. Call this once per tick from the control loop, in place
+	 * of driving those components any other way.
+	 *
+	 * @return true if a command is being applied
+	 */
+	public boolean applyCommands() {
+		SharedStateRegion region = this.region;
+		if (region == null || !commandsEnabled) {
+			return false;
+		}
+
+		//only read the block when it has changed
+		long sequence = region.getSequence(SharedStateFormat.COMMAND_BLOCK);
+		if (sequence != commandSequence) {
+			long read = region.read(SharedStateFormat.COMMAND_BLOCK, command, SharedStateFormat.COMMAND_FIELDS);
+			if (read > 0) {
+				commandSequence = read;
+				commandId = command[SharedStateFormat.COMMAND_ID];
+				commandTargets = (int) command[SharedStateFormat.COMMAND_TARGETS];
+				commandAge = 0;
+			}
+		}
+
+		if (commandAge >= COMMAND_TIMEOUT) {
+			if (commandAge == COMMAND_TIMEOUT) {
+
+				//the client stopped sending; stop what it was driving
+				commandAge++;
+				stopTargets();
+			}
+			return false;
+		}
+
+		commandAge++;
+		if ((commandTargets & SharedStateFormat.TARGET_DRIVE) != 0) {
+			driveTrain.driveTank(command[SharedStateFormat.COMMAND_LEFT], command[SharedStateFormat.COMMAND_RIGHT]);
+		}
+		if ((commandTargets & SharedStateFormat.TARGET_WINCH) != 0) {
+			double speed = command[SharedStateFormat.COMMAND_WINCH];
+			if (speed > 0) {
+				winch.raise(speed / winch.getSpeed());
+			} else if (speed < 0) {
+				winch.lower(-speed / winch.getSpeed());
+			} else {
+				winch.stop();
+			}
+		}
+		return true;
+	}
+
+	private void stopTargets() {
+		if ((commandTargets & SharedStateFormat.TARGET_DRIVE) != 0) {
+			driveTrain.stop();
+		}
+		if ((commandTargets & SharedStateFormat.TARGET_WINCH) != 0) {
+			winch.stop();
+		}
+	}
+
+	/**
+	 * Publishes the current state of the components. Call this once
+	 * per tick from the control loop, after the components update.
+	 *
+	 * @param timestamp the FPGA time, in microseconds
+	 * @param mode the robot mode, one of MatchLogFormat.MODE_*
+	 */
+	public void publish(long timestamp, int mode) {
+		SharedStateRegion region = this.region;
+		if (region == null) {
+			return;
+		}
+
+		state[SharedStateFormat.STATE_TIMESTAMP] = timestamp;
+		state[SharedStateFormat.STATE_TICK] = tick++;
+		state[SharedStateFormat.STATE_MODE] = mode;
+
+		state[SharedStateFormat.STATE_LEFT_CURRENT] = driveTrain.getLeftCurrentVal();
+		state[SharedStateFormat.STATE_LEFT_TARGET] = driveTrain.getLeftTargetVal();
+		state[SharedStateFormat.STATE_RIGHT_CURRENT] = driveTrain.getRightCurrentVal();
+		state[SharedStateFormat.STATE_RIGHT_TARGET] = driveTrain.getRightTargetVal();
+		state[SharedStateFormat.STATE_LEFT_OUTPUT] = driveTrain.getLeftOutput();
+		state[SharedStateFormat.STATE_RIGHT_OUTPUT] = driveTrain.getRightOutput();
+
+		state[SharedStateFormat.STATE_WINCH_CURRENT] = winch.getCurrentVal();
+		state[SharedStateFormat.STATE_WINCH_TARGET] = winch.getTargetVal();
+		state[SharedStateFormat.STATE_WINCH_OUTPUT] = winch.getOutput();
+
+		int flags = 0;
+		if (winch.isFullyDown()) {
+			flags |= MatchLogFormat.FLAG_LOWER_LIMIT;
+		}
+		if (winch.isFullyUp()) {
+			flags |= MatchLogFormat.FLAG_UPPER_LIMIT;
+		}
+
+		int flywheelState = 0;
+		if (launcher != null) {
+			if (launcher.isPusherExtended()) {
+				flags |= MatchLogFormat.FLAG_PUSHER_EXTENDED;
+			}
+			flywheelState = launcher.getFlywheelState().ordinal();
+		}
+		state[SharedStateFormat.STATE_FLAGS] = flags;
+		state[SharedStateFormat.STATE_FLYWHEEL_STATE] = flywheelState;
+
+		if (pose != null) {
+			pose.getPose(poseValues);
+		}
+		state[SharedStateFormat.STATE_POSE_X] = poseValues[PoseEstimator.POSE_X];
+		state[SharedStateFormat.STATE_POSE_Y] = poseValues[PoseEstimator.POSE_Y];
+		state[SharedStateFormat.STATE_POSE_HEADING] = poseValues[PoseEstimator.POSE_HEADING];
+
+		state[SharedStateFormat.STATE_COMMAND_ACK] = commandId;
+
+		region.write(SharedStateFormat.STATE_BLOCK, state, SharedStateFormat.STATE_FIELDS);
+	}
+}
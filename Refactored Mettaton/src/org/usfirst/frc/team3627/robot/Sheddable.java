@@ -0,0 +1,23 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Work that can be cut back when the robot is running short of
+ * time, and put back once there is time again. A LoadGovernor
+ * decides when.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public interface Sheddable {
+	
+	/**
+	 * Cuts the work back. Called on the thread of the periodic
+	 * functions, so it must be quick.
+	 */
+	public void shed();
+	
+	/**
+	 * Puts the work back the way it was before it was shed.
+	 */
+	public void restore();
+}
@@ -0,0 +1,40 @@
+package org.usfirst.frc.team3627.robot;
+
+import edu.wpi.first.wpilibj.interfaces.Accelerometer;
+
+/**
+ * An accelerometer that reads a TankDriveModel instead of a
+ * physical sensor, mounted like the roboRIO: flat, with X pointing
+ * forward and Y to the left. The model drives on flat carpet and
+ * never pitches, so Z always reads 1 g.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class SimulatedAccelerometer implements Accelerometer {
+	
+	private TankDriveModel model;
+	
+	public SimulatedAccelerometer(TankDriveModel model) {
+		this.model = model;
+	}
+	
+	public void setRange(Range range) {
+		
+		//a simulated accelerometer never saturates
+	}
+	
+	public double getX() {
+		return model.getAcceleration() / TractionController.GRAVITY;
+	}
+	
+	public double getY() {
+		
+		//turning left pulls the robot toward the left
+		return model.getSpeed() * model.getTurnRate() / TractionController.GRAVITY;
+	}
+	
+	public double getZ() {
+		return 1;
+	}
+}
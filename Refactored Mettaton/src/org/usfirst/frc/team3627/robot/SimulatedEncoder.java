@@ -0,0 +1,30 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * A wheel encoder that reads one side of a TankDriveModel
+ * instead of a physical sensor. Like a real encoder, it sees
+ * how far the wheels turned, including any wheel slip.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class SimulatedEncoder implements Measurable {
+	
+	private TankDriveModel model;
+	private boolean left;
+	
+	/**
+	 * Creates a SimulatedEncoder on one side of a model.
+	 * 
+	 * @param model the model to read
+	 * @param left true for the left side, false for the right side
+	 */
+	public SimulatedEncoder(TankDriveModel model, boolean left) {
+		this.model = model;
+		this.left = left;
+	}
+	
+	public double getDistance() {
+		return (left ? model.getLeftWheelDistance() : model.getRightWheelDistance());
+	}
+}
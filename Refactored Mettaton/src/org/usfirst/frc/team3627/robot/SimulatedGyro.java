@@ -0,0 +1,45 @@
+package org.usfirst.frc.team3627.robot;
+
+import edu.wpi.first.wpilibj.interfaces.Gyro;
+
+/**
+ * A gyro that reads the heading of a TankDriveModel
+ * instead of a physical sensor.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class SimulatedGyro implements Gyro {
+	
+	private TankDriveModel model;
+	
+	//angle of the model when the gyro was last reset
+	private double offset;
+	
+	public SimulatedGyro(TankDriveModel model) {
+		this.model = model;
+		reset();
+	}
+	
+	public void calibrate() {
+		
+		//a simulated gyro does not drift
+	}
+	
+	public void reset() {
+		offset = model.getGyroAngle();
+	}
+	
+	public double getAngle() {
+		return model.getGyroAngle() - offset;
+	}
+	
+	public double getRate() {
+		return -Math.toDegrees(model.getTurnRate());
+	}
+	
+	public void free() {
+		
+		//nothing to free
+	}
+}
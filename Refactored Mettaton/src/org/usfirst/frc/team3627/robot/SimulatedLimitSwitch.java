@@ -0,0 +1,37 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * A limit switch whose state is set by a simulation
+ * instead of by a physical switch.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class SimulatedLimitSwitch implements Interrupting {
+	
+	private boolean pressed;
+	private Runnable action;
+	
+	public boolean isPressed() {
+		return pressed;
+	}
+	
+	/**
+	 * Presses or releases the switch. A press runs the action
+	 * given to whenPressed() right away, on the calling thread.
+	 * 
+	 * @param pressed true to press the switch
+	 */
+	public void setPressed(boolean pressed) {
+		boolean press = (pressed && !this.pressed);
+		this.pressed = pressed;
+		
+		if (press && action != null) {
+			action.run();
+		}
+	}
+	
+	public void whenPressed(Runnable action) {
+		this.action = action;
+	}
+}
@@ -0,0 +1,72 @@
+package org.usfirst.frc.team3627.robot;
+
+import edu.wpi.first.wpilibj.SpeedController;
+
+/**
+ * A speed controller that is not connected to anything. It
+ * simply remembers the last value it was set to so that a
+ * simulation can read it back.
+ * 
+ * Components that accept a SpeedController can be given one of
+ * these instead of a Talon, which lets them run on a computer
+ * with no robot hardware attached.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class SimulatedMotor implements SpeedController {
+	
+	//last value the motor was set to
+	private double value;
+	private boolean inverted;
+	
+	/**
+	 * Returns the last value set, including the inversion
+	 * that a real speed controller would apply.
+	 * 
+	 * @return the output of the motor between -1 and 1
+	 */
+	public double getOutput() {
+		return inverted ? -value : value;
+	}
+	
+	public double get() {
+		return value;
+	}
+	
+	public void set(double speed, byte syncGroup) {
+		set(speed);
+	}
+	
+	public void set(double speed) {
+		
+		//clamp like a real speed controller would
+		if (speed > 1) {
+			value = 1;
+		} else if (speed < -1) {
+			value = -1;
+		} else {
+			value = speed;
+		}
+	}
+	
+	public void setInverted(boolean isInverted) {
+		inverted = isInverted;
+	}
+	
+	public boolean getInverted() {
+		return inverted;
+	}
+	
+	public void disable() {
+		value = 0;
+	}
+	
+	public void stopMotor() {
+		value = 0;
+	}
+	
+	public void pidWrite(double output) {
+		set(output);
+	}
+}
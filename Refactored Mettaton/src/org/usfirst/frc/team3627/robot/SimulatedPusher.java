@@ -0,0 +1,34 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * A pusher that is not connected to a servo. It simply
+ * remembers the last position it was moved to so that a
+ * simulation can read it back.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class SimulatedPusher extends Pusher {
+	
+	private double position;
+	
+	/**
+	 * Creates a retracted SimulatedPusher.
+	 * 
+	 * @param retractedVal the value of the servo when retracted
+	 * @param extendedVal the value of the servo when extended
+	 * @throws IllegalArgumentException when retractedVal or extendedVal is not between 0 and 1
+	 */
+	public SimulatedPusher(double retractedVal, double extendedVal) throws IllegalArgumentException {
+		super(retractedVal, extendedVal);
+		retract();
+	}
+	
+	public double getPosition() {
+		return position;
+	}
+	
+	protected void setPosition(double value) {
+		position = value;
+	}
+}
@@ -0,0 +1,65 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * The settings of the driver camera stream: the size of each
+ * frame, how many frames are sent per second and the JPEG
+ * quality they are compressed with. A StreamSettings cannot be
+ * changed once it is created.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class StreamSettings {
+	
+	private final int width;
+	private final int height;
+	private final int fps;
+	private final int quality;
+	
+	/**
+	 * Creates a StreamSettings with the specified values.
+	 * 
+	 * @param width the width of each frame in pixels
+	 * @param height the height of each frame in pixels
+	 * @param fps the number of frames sent per second
+	 * @param quality the JPEG quality, from 0 to 100
+	 */
+	public StreamSettings(int width, int height, int fps, int quality) {
+		this.width = width;
+		this.height = height;
+		this.fps = fps;
+		this.quality = quality;
+	}
+	
+	public int getWidth() {
+		return width;
+	}
+	
+	public int getHeight() {
+		return height;
+	}
+	
+	public int getFps() {
+		return fps;
+	}
+	
+	public int getQuality() {
+		return quality;
+	}
+	
+	/**
+	 * Returns a rough estimate of how much bandwidth these settings
+	 * use, relative to other settings. JPEG size grows about linearly
+	 * with the number of pixels and, in the range used here, with
+	 * the quality.
+	 * 
+	 * @return the relative cost of these settings
+	 */
+	public double getRelativeCost() {
+		return (double) width * height * fps * (quality + 10);
+	}
+	
+	public String toString() {
+		return width + "x" + height + " at " + fps + " fps, quality " + quality;
+	}
+}
@@ -0,0 +1,145 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Initializes the subsystems of the robot, starting the slow ones
+ * on their own threads so that they overlap, and reports how long
+ * each one took.
+ *
+ * Some subsystems spend most of their startup waiting: the gyro
+ * calibrates for several seconds and the camera takes a while to
+ * open. Each of those is started with start(), and the rest of
+ * robotInit() carries on meanwhile. Subsystems that need them call
+ * await() first. Quick subsystems can be timed on the calling thread
+ * with run().
+ *
+ * Only subsystems that share nothing may be started together. In
+ * particular, WPILib does not lock its lists of allocated channels,
+ * so every PWM and DIO channel must be created on a single thread.
+ *
+ * The report gives the time of each subsystem, the time spent in
+ * the initializer, and how long it has been since the JVM started,
+ * which is how long the robot has been unable to play.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class SubsystemInitializer {
+
+	private long startTime = System.nanoTime();
+	private List<Subsystem> subsystems = new ArrayList<Subsystem>();
+
+	/**
+	 * Starts initializing a subsystem on its own thread.
+	 *
+	 * @param name the name of the subsystem, for the report
+	 * @param init what initializes it
+	 */
+	public void start(String name, Runnable init) {
+		Subsystem subsystem = new Subsystem(name, init);
+		subsystems.add(subsystem);
+
+		subsystem.thread = new Thread(subsystem, "Init " + name);
+		subsystem.thread.start();
+	}
+
+	/**
+	 * Initializes a subsystem on this thread.
+	 *
+	 * @param name the name of the subsystem, for the report
+	 * @param init what initializes it
+	 */
+	public void run(String name, Runnable init) {
+		Subsystem subsystem = new Subsystem(name, init);
+		subsystems.add(subsystem);
+
+		subsystem.run();
+		if (subsystem.failure != null) {
+			throw subsystem.failure;
+		}
+	}
+
+	/**
+	 * Waits for every started subsystem to finish initializing.
+	 *
+	 * @throws IllegalStateException when a subsystem failed to initialize, with what it threw as the cause
+	 */
+	public void await() throws IllegalStateException {
+		for (Subsystem subsystem : subsystems) {
+			if (subsystem.thread == null) {
+				continue;
+			}
+
+			//the robot cannot play without its subsystems, so keep waiting
+			boolean interrupted = false;
+			while (subsystem.thread.isAlive()) {
+				try {
+					subsystem.thread.join();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+
+			if (subsystem.failure != null) {
+				throw new IllegalStateException("Could not initialize the " + subsystem.name + ": " +
+						subsystem.failure.getMessage(), subsystem.failure);
+			}
+		}
+	}
+
+	/**
+	 * Describes how long each subsystem took, once await() has
+	 * returned, and how long it has all taken up to now.
+	 *
+	 * @return the report
+	 */
+	public String report() {
+		double elapsed = (System.nanoTime() - startTime) / 1e9;
+		double sinceLaunch = (System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime()) / 1e3;
+
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("Initialized in %.2f s, ready %.2f s after the JVM started%n",
+				elapsed, sinceLaunch));
+
+		for (Subsystem subsystem : subsystems) {
+			report.append(String.format("  %-16s %6.2f s%s%n", subsystem.name, subsystem.time,
+					subsystem.thread != null ? " (on its own thread)" : ""));
+		}
+		return report.toString();
+	}
+
+	/**
+	 * A subsystem being initialized.
+	 */
+	private static class Subsystem implements Runnable {
+
+		String name;
+		Runnable init;
+		Thread thread;
+
+		//written by the thread, and read once it has been joined
+		double time;
+		RuntimeException failure;
+
+		Subsystem(String name, Runnable init) {
+			this.name = name;
+			this.init = init;
+		}
+
+		public void run() {
+			long start = System.nanoTime();
+			try {
+				init.run();
+			} catch (RuntimeException e) {
+				failure = e;
+			}
+			time = (System.nanoTime() - start) / 1e9;
+		}
+	}
+}
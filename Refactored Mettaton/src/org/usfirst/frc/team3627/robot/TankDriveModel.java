@@ -0,0 +1,260 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * A simple physics model of the Mettaton drive train, used to
+ * run the drive code on a computer without the robot.
+ *
+ * Each side of the drive train is modeled as a motor that pulls
+ * its wheels toward a speed proportional to its duty cycle, less
+ * the duty cycle it takes to overcome static friction. The
+ * carpet can only provide so much grip, so when a side tries to
+ * accelerate harder than the grip allows, its wheels spin faster
+ * than the robot actually moves. That difference is tracked as
+ * wheel slip.
+ *
+ * The position of the robot is integrated along exact arcs, so
+ * the model itself does not drift. Distances are in meters,
+ * speeds in meters per second and angles in radians, with
+ * positive headings turning counterclockwise (to the left).
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class TankDriveModel {
+
+	//default characteristics of Mettaton
+	static final double DEFAULT_FREE_SPEED = 4.0;
+	static final double DEFAULT_TIME_CONSTANT = 0.15;
+	static final double DEFAULT_TRACTION_ACCEL = 8.0;
+	static final double DEFAULT_TRACK_WIDTH = 0.6;
+	static final double DEFAULT_STATIC_DUTY = 0.08;
+
+	//characteristics of the model
+	private double freeSpeed;
+	private double timeConstant;
+	private double tractionAccel;
+	private double trackWidth;
+	private double staticDuty;
+
+	//speed of each side of the robot over the ground
+	private double leftSpeed;
+	private double rightSpeed;
+
+	//acceleration of the robot over the last step, as an accelerometer sees it
+	private double acceleration;
+
+	//surface speed of the wheels, which differs from the
+	//ground speed while the wheels are slipping
+	private double leftWheelSpeed;
+	private double rightWheelSpeed;
+
+	//distance each side's wheels have turned, as an encoder sees it
+	private double leftWheelDistance;
+	private double rightWheelDistance;
+
+	//pose of the robot
+	private double x;
+	private double y;
+	private double heading;
+
+	//accumulated distance the wheels slipped
+	private double slipDistance;
+
+	/**
+	 * Creates a TankDriveModel with the specified characteristics.
+	 *
+	 * @param freeSpeed the speed of a side at full duty cycle, in m/s
+	 * @param timeConstant how quickly a side reaches its speed, in seconds
+	 * @param tractionAccel the most acceleration the carpet allows, in m/s^2
+	 * @param trackWidth the distance between the left and right wheels, in m
+	 * @param staticDuty the duty cycle below which a side does not move
+	 */
+	public TankDriveModel(double freeSpeed, double timeConstant, double tractionAccel, double trackWidth,
+			double staticDuty) {
+		this.freeSpeed = freeSpeed;
+		this.timeConstant = timeConstant;
+		this.tractionAccel = tractionAccel;
+		this.trackWidth = trackWidth;
+		this.staticDuty = staticDuty;
+	}
+
+	/**
+	 * Creates a TankDriveModel with the specified characteristics
+	 * and no static friction.
+	 *
+	 * @param freeSpeed the speed of a side at full duty cycle, in m/s
+	 * @param timeConstant how quickly a side reaches its speed, in seconds
+	 * @param tractionAccel the most acceleration the carpet allows, in m/s^2
+	 * @param trackWidth the distance between the left and right wheels, in m
+	 */
+	public TankDriveModel(double freeSpeed, double timeConstant, double tractionAccel, double trackWidth) {
+		this(freeSpeed, timeConstant, tractionAccel, trackWidth, 0);
+	}
+
+	/**
+	 * Creates a TankDriveModel with the characteristics of Mettaton.
+	 */
+	public TankDriveModel() {
+		this(DEFAULT_FREE_SPEED, DEFAULT_TIME_CONSTANT, DEFAULT_TRACTION_ACCEL, DEFAULT_TRACK_WIDTH,
+				DEFAULT_STATIC_DUTY);
+	}
+
+	/**
+	 * Advances the model by the given amount of time.
+	 *
+	 * @param leftDuty the duty cycle of the left side; positive drives forward
+	 * @param rightDuty the duty cycle of the right side; positive drives forward
+	 * @param dt the amount of time to advance, in seconds
+	 */
+	public void step(double leftDuty, double rightDuty, double dt) {
+		double oldLeft = leftSpeed;
+		double oldRight = rightSpeed;
+
+		leftWheelSpeed = stepWheel(leftDuty, leftWheelSpeed, dt);
+		rightWheelSpeed = stepWheel(rightDuty, rightWheelSpeed, dt);
+		leftSpeed = stepGround(leftSpeed, leftWheelSpeed, dt);
+		rightSpeed = stepGround(rightSpeed, rightWheelSpeed, dt);
+		acceleration = ((leftSpeed - oldLeft) + (rightSpeed - oldRight)) / 2 / dt;
+
+		slipDistance += (Math.abs(leftWheelSpeed - leftSpeed) + Math.abs(rightWheelSpeed - rightSpeed)) * dt;
+		leftWheelDistance += leftWheelSpeed * dt;
+		rightWheelDistance += rightWheelSpeed * dt;
+
+		//integrate along the arc using the average speed over the step
+		double left = (oldLeft + leftSpeed) / 2 * dt;
+		double right = (oldRight + rightSpeed) / 2 * dt;
+		double distance = (left + right) / 2;
+		double turn = (right - left) / trackWidth;
+
+		if (Math.abs(turn) < 1e-9) {
+			x += distance * Math.cos(heading);
+			y += distance * Math.sin(heading);
+		} else {
+			double radius = distance / turn;
+			x += radius * (Math.sin(heading + turn) - Math.sin(heading));
+			y -= radius * (Math.cos(heading + turn) - Math.cos(heading));
+		}
+
+		heading += turn;
+	}
+
+	/**
+	 * Steps the surface speed of one side's wheels toward the
+	 * speed that its motor is driving it to.
+	 */
+	private double stepWheel(double duty, double wheelSpeed, double dt) {
+
+		//friction takes the same duty cycle whichever way the side turns,
+		//and full duty cycle still reaches free speed
+		double moving = Math.max(0, Math.abs(duty) - staticDuty) / (1 - staticDuty);
+		double freeTarget = Math.signum(duty) * moving * freeSpeed;
+		return wheelSpeed + (freeTarget - wheelSpeed) * Math.min(1, dt / timeConstant);
+	}
+
+	/**
+	 * Steps the ground speed of one side toward its wheel speed,
+	 * limited by how much grip the carpet provides.
+	 */
+	private double stepGround(double groundSpeed, double wheelSpeed, double dt) {
+		double maxChange = tractionAccel * dt;
+		double change = wheelSpeed - groundSpeed;
+
+		if (Math.abs(change) <= maxChange) {
+			return wheelSpeed;
+		}
+
+		return groundSpeed + Math.signum(change) * maxChange;
+	}
+
+	/**
+	 * Places the robot at the given pose, at rest.
+	 *
+	 * @param x the x coordinate, in meters
+	 * @param y the y coordinate, in meters
+	 * @param heading the heading, in radians
+	 */
+	public void reset(double x, double y, double heading) {
+		this.x = x;
+		this.y = y;
+		this.heading = heading;
+		leftSpeed = 0;
+		rightSpeed = 0;
+		acceleration = 0;
+		leftWheelSpeed = 0;
+		rightWheelSpeed = 0;
+		leftWheelDistance = 0;
+		rightWheelDistance = 0;
+		slipDistance = 0;
+	}
+
+	public double getX() {
+		return x;
+	}
+
+	public double getY() {
+		return y;
+	}
+
+	public double getHeading() {
+		return heading;
+	}
+
+	/**
+	 * Returns the heading the way a gyro reports it: in degrees,
+	 * increasing clockwise.
+	 *
+	 * @return the gyro angle in degrees
+	 */
+	public double getGyroAngle() {
+		return -Math.toDegrees(heading);
+	}
+
+	public double getLeftSpeed() {
+		return leftSpeed;
+	}
+
+	public double getRightSpeed() {
+		return rightSpeed;
+	}
+
+	public double getSpeed() {
+		return (leftSpeed + rightSpeed) / 2;
+	}
+
+	/**
+	 * Returns how fast the robot sped up over the last step.
+	 *
+	 * @return the forward acceleration, in m/s^2
+	 */
+	public double getAcceleration() {
+		return acceleration;
+	}
+
+	public double getTurnRate() {
+		return (rightSpeed - leftSpeed) / trackWidth;
+	}
+
+	public double getLeftWheelDistance() {
+		return leftWheelDistance;
+	}
+
+	public double getRightWheelDistance() {
+		return rightWheelDistance;
+	}
+
+	public double getSlipDistance() {
+		return slipDistance;
+	}
+
+	public double getFreeSpeed() {
+		return freeSpeed;
+	}
+
+	public double getTrackWidth() {
+		return trackWidth;
+	}
+
+	public double getStaticDuty() {
+		return staticDuty;
+	}
+}
@@ -0,0 +1,144 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A ring of fixed-size binary records passed from one thread that
+ * writes them to one thread that reads them, without locks.
+ *
+ * The writer claims a slot, fills it in place and publishes it. The
+ * reader copies every published record out and frees the slots.
+ * Neither side ever waits for the other: when the ring is full, the
+ * writer drops the record and counts it instead of blocking, since
+ * the writer is the control loop and must never stall.
+ *
+ * Slots are counted by 2 ever-increasing numbers: head, the number
+ * of records published, and tail, the number of records read. Each
+ * is written by only one side, so publishing is a single ordered
+ * write of a long.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class TelemetryBuffer {
+
+	//record storage, written in place by the writer
+	private final ByteBuffer records;
+
+	//the reader's view of the records, with its own position and limit
+	private final ByteBuffer readView;
+
+	private final int recordSize;
+	private final int capacity;
+
+	//records published; written only by the writer
+	private final AtomicLong head = new AtomicLong();
+
+	//records read; written only by the reader
+	private final AtomicLong tail = new AtomicLong();
+
+	//the writer's copies, so it rarely has to read the shared counters
+	private long writerHead;
+	private long writerTail;
+
+	//records the writer had to drop because the ring was full
+	private volatile long dropped;
+
+	/**
+	 * Creates a TelemetryBuffer.
+	 *
+	 * @param recordSize the size of every record, in bytes
+	 * @param capacity the number of records the ring holds; must be a power of 2
+	 * @throws IllegalArgumentException when capacity is not a power of 2
+	 */
+	public TelemetryBuffer(int recordSize, int capacity) throws IllegalArgumentException {
+		if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
+			throw new IllegalArgumentException("capacity (" + capacity + ") must be a power of 2");
+		}
+
+		this.recordSize = recordSize;
+		this.capacity = capacity;
+		records = ByteBuffer.allocateDirect(recordSize * capacity);
+		readView = records.duplicate();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public long getDropped() {
+		return dropped;
+	}
+
+	/**
+	 * Returns the buffer that claimed slots are written into, with
+	 * absolute puts at the offset returned by claim(). Only the
+	 * writer may use it.
+	 *
+	 * @return the record storage
+	 */
+	public ByteBuffer getRecords() {
+		return records;
+	}
+
+	/**
+	 * Claims the next slot for the writer. Fill it in, then call
+	 * publish(). Only call this from the writing thread.
+	 *
+	 * @return the offset of the slot in getRecords(), or -1 if the ring is full
+	 */
+	public int claim() {
+		if (writerHead - writerTail >= capacity) {
+
+			//only look at what the reader has freed when the ring seems full
+			writerTail = tail.get();
+
+			if (writerHead - writerTail >= capacity) {
+				dropped++;
+				return -1;
+			}
+		}
+
+		return (int) (writerHead & (capacity - 1)) * recordSize;
+	}
+
+	/**
+	 * Makes the slot last claimed visible to the reader.
+	 */
+	public void publish() {
+		writerHead++;
+
+		//an ordered write: the record is visible before the new head is
+		head.lazySet(writerHead);
+	}
+
+	/**
+	 * Copies every published record that fits into the given buffer,
+	 * oldest first, and frees their slots. Only call this from the
+	 * reading thread.
+	 *
+	 * @param out where to copy the records, at its position
+	 * @return the number of records copied
+	 */
+	public int drainTo(ByteBuffer out) {
+		long readerTail = tail.get();
+		long available = head.get() - readerTail;
+		int count = (int) Math.min(available, out.remaining() / recordSize);
+
+		//copy in at most 2 runs, since the records may wrap around the end
+		int copied = 0;
+		while (copied < count) {
+			int slot = (int) ((readerTail + copied) & (capacity - 1));
+			int run = Math.min(count - copied, capacity - slot);
+
+			readView.limit((slot + run) * recordSize);
+			readView.position(slot * recordSize);
+			out.put(readView);
+			copied += run;
+		}
+
+		tail.lazySet(readerTail + count);
+		return count;
+	}
+}
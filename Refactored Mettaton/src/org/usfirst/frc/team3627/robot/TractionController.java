@@ -0,0 +1,198 @@
+package org.usfirst.frc.team3627.robot;
+
+import edu.wpi.first.wpilibj.interfaces.Accelerometer;
+
+/**
+ * Keeps a hard-accelerating DriveTrain on the ground and on its
+ * wheels, so that its acceleration only has to be limited when it
+ * is actually about to wheelie or slip.
+ *
+ * Every tick, the controller reads the accelerometer, and the wheel
+ * encoders if there are any, and looks for trouble:
+ *
+ * Tipping: the robot is accelerating or braking hard enough to lift
+ * its wheels, or is already pitched up. The launcher raises the
+ * center of gravity, so when it is fully up both limits are lower.
+ *
+ * Slipping: the wheels are speeding up or slowing down faster than
+ * the robot is, so they are spinning on the carpet.
+ *
+ * On any trouble, the acceleration of the DriveTrain is cut to a
+ * fraction of its usual limit at once. As soon as the robot is
+ * stable again, it is let back up to the full limit over a few
+ * ticks.
+ *
+ * The roboRIO is mounted flat with its X axis pointing toward the
+ * front of the robot. Slip is only seen from the average of the two
+ * sides, so a turn in place is not covered.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class TractionController implements NeedsUpdating, Publishable {
+
+	static final double GRAVITY = 9.81;
+
+	//accelerations at which the robot starts to lift its wheels, in g;
+	//these are kept well below what it takes to actually tip over
+	static final double TIP_ACCEL = 0.6;
+	static final double TIP_ACCEL_RAISED = 0.4;
+
+	//pitch at which the robot is already tipping, in degrees
+	static final double MAX_PITCH = 6;
+	static final double MAX_PITCH_RAISED = 4;
+
+	//most the wheels may accelerate beyond the robot, in m/s^2
+	static final double SLIP_ACCEL = 3;
+
+	//weight of the newest reading in the filtered values
+	static final double FILTER_WEIGHT = 0.5;
+
+	//fraction of the acceleration limit allowed while in trouble,
+	//and how much of it comes back per stable tick
+	static final double REDUCED_SCALE = 0.3;
+	static final double RELEASE_RATE = 0.1;
+
+	//least time between dashboard updates, in seconds
+	static final double DASHBOARD_PERIOD = 0.1;
+
+	static final double TICK_LENGTH = 1 / Robot.TICKS_PER_SEC;
+
+	private Accelerometer accelerometer;
+
+	//optional sensors
+	private Measurable leftEncoder;
+	private Measurable rightEncoder;
+	private Winch launcher;
+
+	//filtered readings
+	private double forwardAccel;
+	private double verticalAccel = 1;
+	private double wheelAccel;
+
+	private double lastDistance;
+	private double lastWheelSpeed;
+	private boolean hasReading;
+
+	private boolean tipping;
+	private boolean slipping;
+	private double scale = 1;
+	private int interventions;
+
+	//dashboard field handles
+	private int scaleField;
+	private int tippingField;
+	private int slippingField;
+
+	/**
+	 * Creates a TractionController.
+	 *
+	 * @param accelerometer the accelerometer of the robot, with X pointing forward
+	 * @param leftEncoder measures how far the left wheels roll forward, or null if there is none
+	 * @param rightEncoder measures how far the right wheels roll forward, or null if there is none
+	 * @param launcher the winch that raises the launcher, or null to always treat it as down
+	 */
+	public TractionController(Accelerometer accelerometer, Measurable leftEncoder, Measurable rightEncoder,
+			Winch launcher) {
+		this.accelerometer = accelerometer;
+		this.leftEncoder = leftEncoder;
+		this.rightEncoder = rightEncoder;
+		this.launcher = launcher;
+	}
+
+	/**
+	 * Returns the fraction of its acceleration limit the DriveTrain
+	 * may use this tick.
+	 *
+	 * @return the fraction, from REDUCED_SCALE to 1
+	 */
+	public double getAccelerationScale() {
+		return scale;
+	}
+
+	public boolean isTipping() {
+		return tipping;
+	}
+
+	public boolean isSlipping() {
+		return slipping;
+	}
+
+	/**
+	 * Returns how many times the controller has cut the acceleration.
+	 *
+	 * @return the number of times
+	 */
+	public int getInterventions() {
+		return interventions;
+	}
+
+	/**
+	 * Returns how much the robot is pitched, from the filtered
+	 * accelerometer readings.
+	 *
+	 * @return the pitch in degrees, whichever way it is pitched
+	 */
+	public double getPitch() {
+		double total = Math.hypot(forwardAccel, verticalAccel);
+		return Math.toDegrees(Math.acos(Math.min(1, verticalAccel / total)));
+	}
+
+	/**
+	 * Reads the sensors and works out how much acceleration is safe
+	 * for this tick. The DriveTrain calls this itself.
+	 */
+	public void update() {
+		forwardAccel = filter(forwardAccel, accelerometer.getX());
+		verticalAccel = filter(verticalAccel, accelerometer.getZ());
+
+		boolean raised = (launcher != null && launcher.isFullyUp());
+		tipping = Math.abs(forwardAccel) > (raised ? TIP_ACCEL_RAISED : TIP_ACCEL)
+				|| getPitch() > (raised ? MAX_PITCH_RAISED : MAX_PITCH);
+
+		slipping = false;
+		if (leftEncoder != null && rightEncoder != null) {
+			double distance = (leftEncoder.getDistance() + rightEncoder.getDistance()) / 2;
+			double wheelSpeed = (distance - lastDistance) / TICK_LENGTH;
+
+			//the first reading has nothing to compare with
+			if (hasReading) {
+				wheelAccel = filter(wheelAccel, (wheelSpeed - lastWheelSpeed) / TICK_LENGTH);
+				slipping = Math.abs(wheelAccel - forwardAccel * GRAVITY) > SLIP_ACCEL;
+			}
+
+			lastDistance = distance;
+			lastWheelSpeed = wheelSpeed;
+			hasReading = true;
+		}
+
+		if (tipping || slipping) {
+			if (scale > REDUCED_SCALE) {
+				interventions++;
+			}
+			scale = REDUCED_SCALE;
+		} else {
+			scale = Math.min(1, scale + RELEASE_RATE);
+		}
+	}
+
+	private static double filter(double filtered, double reading) {
+		return filtered + (reading - filtered) * FILTER_WEIGHT;
+	}
+
+	/**
+	 * Adds the acceleration scale and what the controller sees to the
+	 * dashboard.
+	 */
+	public void addFields(DashboardPublisher publisher) {
+		scaleField = publisher.addNumber("Traction Scale", DASHBOARD_PERIOD);
+		tippingField = publisher.addBoolean("Traction Tipping", DASHBOARD_PERIOD);
+		slippingField = publisher.addBoolean("Traction Slipping", DASHBOARD_PERIOD);
+	}
+
+	public void writeFields(DashboardPublisher publisher) {
+		publisher.set(scaleField, scale);
+		publisher.set(tippingField, tipping);
+		publisher.set(slippingField, slipping);
+	}
+}
@@ -0,0 +1,100 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import javax.imageio.ImageIO;
+
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.vision.USBCamera;
+
+/**
+ * Supplies frames from a USB camera on the roboRIO.
+ * 
+ * The camera sends compressed JPEG frames, which are read into
+ * a buffer that is reused for every frame and then decoded into
+ * the caller's pixel array. The same USBCamera can also be given
+ * to the CameraServer so that the driver still gets a feed.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class UsbCameraFrameSource implements FrameSource {
+	
+	//largest JPEG the camera is expected to send, same as CameraServer
+	static final int MAX_IMAGE_SIZE = 200000;
+	
+	//frames in a row that may fail to decode, about a second's worth,
+	//before the camera is given up on
+	static final int MAX_FAILURES = 30;
+	
+	private USBCamera camera;
+	private int width;
+	private int height;
+	
+	//reused for every frame
+	private ByteBuffer imageData = ByteBuffer.allocateDirect(MAX_IMAGE_SIZE);
+	private byte[] jpeg = new byte[MAX_IMAGE_SIZE];
+	
+	/**
+	 * Creates a UsbCameraFrameSource from a camera, and sets the
+	 * camera to the given frame size.
+	 * 
+	 * @param camera the camera to read from; it will be opened and started
+	 * @param width the width of the frames
+	 * @param height the height of the frames
+	 */
+	public UsbCameraFrameSource(USBCamera camera, int width, int height) {
+		this.camera = camera;
+		this.width = width;
+		this.height = height;
+		
+		camera.setSize(width, height);
+		camera.openCamera();
+		camera.startCapture();
+	}
+	
+	public int getWidth() {
+		return width;
+	}
+	
+	public int getHeight() {
+		return height;
+	}
+	
+	/**
+	 * Copies the next frame that decodes at the right size into the
+	 * given array. A camera that sends MAX_FAILURES frames in a row
+	 * that do not is given up on.
+	 * 
+	 * @param pixels the array to fill
+	 * @return the time the frame was captured in seconds, or -1 once the camera is given up on
+	 */
+	public double grabFrame(int[] pixels) {
+		
+		//keep trying until a frame of the right size decodes
+		for (int failures = 0; failures < MAX_FAILURES; failures++) {
+			imageData.clear();
+			camera.getImageData(imageData);
+			double timestamp = Timer.getFPGATimestamp();
+			
+			int length = imageData.limit();
+			imageData.get(jpeg, 0, length);
+			
+			try {
+				BufferedImage image = ImageIO.read(new ByteArrayInputStream(jpeg, 0, length));
+				
+				if (image != null && image.getWidth() == width && image.getHeight() == height) {
+					image.getRGB(0, 0, width, height, pixels, 0, width);
+					return timestamp;
+				}
+			} catch (IOException e) {
+				
+				//a corrupt frame; skip it
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,78 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.nio.ByteBuffer;
+
+import com.ni.vision.NIVision;
+import com.ni.vision.NIVision.Image;
+
+import edu.wpi.first.wpilibj.vision.USBCamera;
+
+/**
+ * Supplies JPEG frames for the driver stream from a USB camera on
+ * the roboRIO. Each frame is scaled down to the requested size and
+ * compressed at the requested quality, the same way the CameraServer
+ * compresses frames.
+ * 
+ * The camera itself stays at its own size, so the vision code can
+ * keep using the same camera while the stream changes size.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class UsbCameraJpegSource implements JpegSource {
+	
+	private USBCamera camera;
+	
+	//reused for every frame
+	private Image frame = NIVision.imaqCreateImage(NIVision.ImageType.IMAGE_RGB, 0);
+	private Image scaled = NIVision.imaqCreateImage(NIVision.ImageType.IMAGE_RGB, 0);
+	
+	/**
+	 * Creates a UsbCameraJpegSource that reads from the given camera.
+	 * 
+	 * @param camera the camera to read from; it will be opened and started
+	 */
+	public UsbCameraJpegSource(USBCamera camera) {
+		this.camera = camera;
+		camera.openCamera();
+		camera.startCapture();
+	}
+	
+	public byte[] capture(StreamSettings settings) {
+		camera.getImage(frame);
+		
+		//scale only if the camera is not already at the requested size
+		Image image = frame;
+		NIVision.GetImageSizeResult size = NIVision.imaqGetImageSize(frame);
+		
+		if (size.width != settings.getWidth() || size.height != settings.getHeight()) {
+			NIVision.imaqResample(scaled, frame, settings.getWidth(), settings.getHeight(),
+					NIVision.InterpolationMethod.ZERO_ORDER, NIVision.NO_RECT);
+			image = scaled;
+		}
+		
+		NIVision.RawData data = NIVision.imaqFlatten(image, NIVision.FlattenType.FLATTEN_IMAGE,
+				NIVision.CompressionType.COMPRESSION_JPEG, 10 * settings.getQuality());
+		
+		try {
+			ByteBuffer buffer = data.getBuffer();
+			
+			//the flattened data has a header before the JPEG; skip to the
+			//start of image marker like CameraServer does
+			int start = 0;
+			while (start < buffer.limit() - 1) {
+				if ((buffer.get(start) & 0xFF) == 0xFF && (buffer.get(start + 1) & 0xFF) == 0xD8) {
+					break;
+				}
+				start++;
+			}
+			
+			byte[] jpeg = new byte[buffer.limit() - start];
+			buffer.position(start);
+			buffer.get(jpeg);
+			return jpeg;
+		} finally {
+			data.free();
+		}
+	}
+}
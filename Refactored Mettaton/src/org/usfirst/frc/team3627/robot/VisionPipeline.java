@@ -0,0 +1,292 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Finds the retro-reflective goal target in a camera frame.
+ *
+ * A frame goes through three steps:
+ * 1. Every pixel is converted to HSV and kept only if its hue,
+ *    saturation and brightness are all within the thresholds.
+ *    With a light ring on the camera and the camera's brightness
+ *    turned down, the target is the only thing that survives.
+ * 2. The kept pixels are grouped into blobs of touching pixels.
+ * 3. Each blob is scored by how much it is shaped like the goal
+ *    target, and the best one is turned into an angle offset.
+ *
+ * All of the working arrays are created once, so processing a
+ * frame does not create any garbage except for the VisionTarget
+ * that is returned. A VisionPipeline is not thread safe; use one
+ * per thread.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class VisionPipeline {
+
+	//the most blobs that will be considered in one frame
+	static final int MAX_BLOBS = 64;
+
+	//the 2016 goal target is 20 inches wide by 14 inches tall, and
+	//the U shape of the tape covers about a third of that rectangle
+	static final double TARGET_ASPECT = 20.0 / 14.0;
+	static final double TARGET_FILL = 0.35;
+
+	//default thresholds, tuned for a green light ring
+	static final int DEFAULT_MIN_HUE = 80;
+	static final int DEFAULT_MAX_HUE = 160;
+	static final int DEFAULT_MIN_SATURATION = 100;
+	static final int DEFAULT_MIN_VALUE = 140;
+	static final int DEFAULT_MIN_AREA = 40;
+	static final double DEFAULT_MIN_SCORE = 0.3;
+
+	//horizontal field of view of the Microsoft LifeCam HD-3000
+	static final double DEFAULT_FIELD_OF_VIEW = 61;
+
+	//size of the frames
+	private int width;
+	private int height;
+
+	//thresholds; hue is in degrees, saturation and value are 0 to 255
+	private int minHue = DEFAULT_MIN_HUE;
+	private int maxHue = DEFAULT_MAX_HUE;
+	private int minSaturation = DEFAULT_MIN_SATURATION;
+	private int minValue = DEFAULT_MIN_VALUE;
+	private int minArea = DEFAULT_MIN_AREA;
+	private double minScore = DEFAULT_MIN_SCORE;
+
+	//distance from the camera to the image plane, in pixels
+	private double focalLength;
+
+	//1 where a pixel passed the thresholds; cleared to 0 once the pixel is in a blob
+	private byte[] mask;
+
+	//pixels waiting to be visited while filling a blob
+	private int[] stack;
+
+	//statistics of the blobs in the current frame
+	private int blobCount;
+	private int[] blobArea = new int[MAX_BLOBS];
+	private int[] blobMinX = new int[MAX_BLOBS];
+	private int[] blobMaxX = new int[MAX_BLOBS];
+	private int[] blobMinY = new int[MAX_BLOBS];
+	private int[] blobMaxY = new int[MAX_BLOBS];
+	private long[] blobSumX = new long[MAX_BLOBS];
+	private long[] blobSumY = new long[MAX_BLOBS];
+
+	/**
+	 * Creates a VisionPipeline for frames of the given size.
+	 *
+	 * @param width the width of the frames in pixels
+	 * @param height the height of the frames in pixels
+	 * @param fieldOfView the horizontal field of view of the camera in degrees
+	 */
+	public VisionPipeline(int width, int height, double fieldOfView) {
+		this.width = width;
+		this.height = height;
+		focalLength = (width / 2.0) / Math.tan(Math.toRadians(fieldOfView / 2));
+
+		mask = new byte[width * height];
+		stack = new int[width * height];
+	}
+
+	/**
+	 * Creates a VisionPipeline for frames of the given size from
+	 * the LifeCam used on Mettaton.
+	 *
+	 * @param width the width of the frames in pixels
+	 * @param height the height of the frames in pixels
+	 */
+	public VisionPipeline(int width, int height) {
+		this(width, height, DEFAULT_FIELD_OF_VIEW);
+	}
+
+	/**
+	 * Sets the HSV thresholds. To threshold on brightness alone,
+	 * allow every hue (0 to 360) and any saturation (0).
+	 *
+	 * @param minHue the lowest hue kept, in degrees
+	 * @param maxHue the highest hue kept, in degrees
+	 * @param minSaturation the lowest saturation kept, from 0 to 255
+	 * @param minValue the lowest brightness kept, from 0 to 255
+	 */
+	public void setThresholds(int minHue, int maxHue, int minSaturation, int minValue) {
+		this.minHue = minHue;
+		this.maxHue = maxHue;
+		this.minSaturation = minSaturation;
+		this.minValue = minValue;
+	}
+
+	public void setMinArea(int value) {
+		minArea = value;
+	}
+
+	public void setMinScore(double value) {
+		minScore = value;
+	}
+
+	public int getBlobCount() {
+		return blobCount;
+	}
+
+	/**
+	 * Finds the best target in a frame.
+	 *
+	 * @param pixels the frame, packed as 0xRRGGBB
+	 * @param timestamp when the frame was captured, in seconds
+	 * @return the best target, or null if nothing looked like a target
+	 */
+	public VisionTarget process(int[] pixels, double timestamp) {
+		threshold(pixels);
+		findBlobs();
+
+		//pick the best scoring blob
+		int best = -1;
+		double bestScore = minScore;
+
+		for (int i = 0; i < blobCount; i++) {
+			double score = scoreBlob(i);
+
+			if (score >= bestScore) {
+				best = i;
+				bestScore = score;
+			}
+		}
+
+		if (best < 0) {
+			return null;
+		}
+
+		double centerX = (double) blobSumX[best] / blobArea[best];
+		double centerY = (double) blobSumY[best] / blobArea[best];
+		double angle = Math.toDegrees(Math.atan((centerX - width / 2.0) / focalLength));
+
+		return new VisionTarget(angle, bestScore, centerX, centerY, timestamp);
+	}
+
+	/**
+	 * Marks every pixel that passes the HSV thresholds.
+	 */
+	private void threshold(int[] pixels) {
+		int count = width * height;
+
+		for (int i = 0; i < count; i++) {
+			int pixel = pixels[i];
+			int r = (pixel >> 16) & 0xFF;
+			int g = (pixel >> 8) & 0xFF;
+			int b = pixel & 0xFF;
+
+			int max = Math.max(r, Math.max(g, b));
+			int min = Math.min(r, Math.min(g, b));
+			int range = max - min;
+
+			//cheapest tests first: most pixels are too dark
+			if (max < minValue || max == 0 || range * 255 < minSaturation * max) {
+				mask[i] = 0;
+				continue;
+			}
+
+			int hue;
+			if (range == 0) {
+				hue = 0;
+			} else if (max == r) {
+				hue = (60 * (g - b) / range + 360) % 360;
+			} else if (max == g) {
+				hue = 60 * (b - r) / range + 120;
+			} else {
+				hue = 60 * (r - g) / range + 240;
+			}
+
+			mask[i] = (byte) (hue >= minHue && hue <= maxHue ? 1 : 0);
+		}
+	}
+
+	/**
+	 * Groups the marked pixels into blobs by flood filling from
+	 * each marked pixel that is not already part of a blob.
+	 */
+	private void findBlobs() {
+		blobCount = 0;
+		int count = width * height;
+
+		for (int start = 0; start < count; start++) {
+			if (mask[start] == 0) {
+				continue;
+			}
+
+			int area = 0;
+			int minX = width;
+			int maxX = 0;
+			int minY = height;
+			int maxY = 0;
+			long sumX = 0;
+			long sumY = 0;
+
+			int top = 0;
+			stack[top++] = start;
+			mask[start] = 0;
+
+			while (top > 0) {
+				int index = stack[--top];
+				int x = index % width;
+				int y = index / width;
+
+				area++;
+				sumX += x;
+				sumY += y;
+				minX = Math.min(minX, x);
+				maxX = Math.max(maxX, x);
+				minY = Math.min(minY, y);
+				maxY = Math.max(maxY, y);
+
+				//visit the 4 neighbors, clearing each as it is pushed
+				//so that no pixel is pushed twice
+				if (x > 0 && mask[index - 1] != 0) {
+					mask[index - 1] = 0;
+					stack[top++] = index - 1;
+				}
+				if (x < width - 1 && mask[index + 1] != 0) {
+					mask[index + 1] = 0;
+					stack[top++] = index + 1;
+				}
+				if (y > 0 && mask[index - width] != 0) {
+					mask[index - width] = 0;
+					stack[top++] = index - width;
+				}
+				if (y < height - 1 && mask[index + width] != 0) {
+					mask[index + width] = 0;
+					stack[top++] = index + width;
+				}
+			}
+
+			//once the blob table is full, blobs are still filled to clear the mask
+			if (area >= minArea && blobCount < MAX_BLOBS) {
+				int blob = blobCount;
+				blobArea[blob] = area;
+				blobMinX[blob] = minX;
+				blobMaxX[blob] = maxX;
+				blobMinY[blob] = minY;
+				blobMaxY[blob] = maxY;
+				blobSumX[blob] = sumX;
+				blobSumY[blob] = sumY;
+				blobCount++;
+			}
+		}
+	}
+
+	/**
+	 * Scores a blob from 0 to 1 by how closely its aspect ratio
+	 * and fill ratio match those of the goal target.
+	 */
+	private double scoreBlob(int blob) {
+		double boxWidth = blobMaxX[blob] - blobMinX[blob] + 1;
+		double boxHeight = blobMaxY[blob] - blobMinY[blob] + 1;
+
+		double aspect = (boxWidth / boxHeight) / TARGET_ASPECT;
+		double fill = (blobArea[blob] / (boxWidth * boxHeight)) / TARGET_FILL;
+
+		//1 when the ratio matches exactly, falling off either way
+		double aspectScore = Math.min(aspect, 1 / aspect);
+		double fillScore = Math.min(fill, 1 / fill);
+
+		return aspectScore * fillScore;
+	}
+}
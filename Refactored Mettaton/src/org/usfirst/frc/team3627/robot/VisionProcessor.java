@@ -0,0 +1,170 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the vision pipeline on its own thread so that processing
+ * frames can never slow down the robot's periodic functions.
+ * 
+ * The vision thread grabs frames into a single pixel array that is
+ * reused for every frame, and after each frame it replaces the
+ * latest target with whatever it found. The main thread only ever
+ * reads the latest target. There are no locks, and an old result
+ * that was never read is simply replaced; the robot always wants
+ * the newest frame, not every frame.
+ * 
+ * While shed, the vision thread processes no more than SHED_FPS
+ * frames per second, and sleeps the rest of the time.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class VisionProcessor implements Runnable, Stoppable, Sheddable {
+	
+	//enough to keep aiming at a target the robot is not racing past
+	static final double SHED_FPS = 5;
+	
+	private FrameSource source;
+	private VisionPipeline pipeline;
+	private int[] pixels;
+	
+	//the single slot that hands results to the main thread
+	private AtomicReference<VisionTarget> latestTarget = new AtomicReference<VisionTarget>();
+	
+	private Thread thread;
+	private volatile boolean running;
+	private volatile boolean shed;
+	
+	//statistics, written only by the vision thread
+	private volatile long framesProcessed;
+	private volatile double lastFrameTime = -1;
+	
+	/**
+	 * Creates a VisionProcessor that reads frames from the given source.
+	 * 
+	 * @param source where frames come from
+	 * @param pipeline the pipeline to process frames with; must match the frame size
+	 */
+	public VisionProcessor(FrameSource source, VisionPipeline pipeline) {
+		this.source = source;
+		this.pipeline = pipeline;
+		pixels = new int[source.getWidth() * source.getHeight()];
+	}
+	
+	/**
+	 * Creates a VisionProcessor with a default pipeline for the
+	 * given source.
+	 * 
+	 * @param source where frames come from
+	 */
+	public VisionProcessor(FrameSource source) {
+		this(source, new VisionPipeline(source.getWidth(), source.getHeight()));
+	}
+	
+	/**
+	 * Returns the target found in the most recent frame. Check the
+	 * timestamp of the target to tell how old it is.
+	 * 
+	 * @return the latest target, or null if the latest frame had none
+	 */
+	public VisionTarget getLatestTarget() {
+		return latestTarget.get();
+	}
+	
+	public long getFramesProcessed() {
+		return framesProcessed;
+	}
+	
+	/**
+	 * Returns the capture time of the last frame processed, whether
+	 * or not it had a target.
+	 * 
+	 * @return the time in seconds, or a negative value if no frame was processed yet
+	 */
+	public double getLastFrameTime() {
+		return lastFrameTime;
+	}
+	
+	/**
+	 * Starts processing frames on a new thread, unless a thread is
+	 * already running.
+	 */
+	public synchronized void start() {
+		if (thread == null) {
+			running = true;
+			
+			//on the other core from the periodic functions
+			thread = CorePartition.newBackgroundThread(this, "Vision");
+			thread.start();
+		}
+	}
+	
+	/**
+	 * Stops processing frames after the current frame, and waits for
+	 * the vision thread to finish so that it can be started again.
+	 */
+	public void stop() {
+		Thread stopping;
+		synchronized (this) {
+			running = false;
+			stopping = thread;
+		}
+		
+		if (stopping != null && stopping != Thread.currentThread()) {
+			
+			//wakes the thread if it is resting while shed
+			stopping.interrupt();
+			try {
+				stopping.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	public void shed() {
+		shed = true;
+	}
+	
+	public void restore() {
+		shed = false;
+	}
+	
+	/**
+	 * Processes frames until stopped or until the source runs out.
+	 */
+	public void run() {
+		while (running) {
+			long start = System.nanoTime();
+			double timestamp = source.grabFrame(pixels);
+			
+			if (timestamp < 0) {
+				break;
+			}
+			
+			latestTarget.set(pipeline.process(pixels, timestamp));
+			lastFrameTime = timestamp;
+			framesProcessed++;
+			
+			if (shed) {
+				long rest = (long) (1e9 / SHED_FPS) - (System.nanoTime() - start);
+				if (rest > 0) {
+					try {
+						Thread.sleep(rest / 1000000, (int) (rest % 1000000));
+					} catch (InterruptedException e) {
+						break;
+					}
+				}
+			}
+		}
+		
+		//whether stopped or out of frames, the thread is done, so
+		//start() can run a new one
+		synchronized (this) {
+			if (thread == Thread.currentThread()) {
+				running = false;
+				thread = null;
+			}
+		}
+	}
+}
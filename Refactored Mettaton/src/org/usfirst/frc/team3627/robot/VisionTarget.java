@@ -0,0 +1,58 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * A vision target found in a camera frame. A VisionTarget cannot
+ * be changed once it is created, so it can safely be handed from
+ * the vision thread to the robot's main thread.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class VisionTarget {
+	
+	//how far the target is from the center of the camera, in degrees;
+	//positive values mean the target is to the right
+	private final double angleOffset;
+	
+	//how much the blob looked like a target, from 0 to 1
+	private final double score;
+	
+	//where the center of the target was in the frame, in pixels
+	private final double centerX;
+	private final double centerY;
+	
+	//when the frame the target was found in was captured, in seconds
+	private final double timestamp;
+	
+	public VisionTarget(double angleOffset, double score, double centerX, double centerY, double timestamp) {
+		this.angleOffset = angleOffset;
+		this.score = score;
+		this.centerX = centerX;
+		this.centerY = centerY;
+		this.timestamp = timestamp;
+	}
+	
+	public double getAngleOffset() {
+		return angleOffset;
+	}
+	
+	public double getScore() {
+		return score;
+	}
+	
+	public double getCenterX() {
+		return centerX;
+	}
+	
+	public double getCenterY() {
+		return centerY;
+	}
+	
+	public double getTimestamp() {
+		return timestamp;
+	}
+	
+	public String toString() {
+		return "target at " + angleOffset + " degrees (score " + score + ", frame time " + timestamp + ")";
+	}
+}
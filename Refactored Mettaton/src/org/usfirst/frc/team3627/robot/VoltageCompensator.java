@@ -0,0 +1,99 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Keeps motor speeds the same as the battery drains.
+ *
+ * A talon's output is a fraction of whatever the battery supplies, so
+ * the same output drives a motor noticeably slower at 11.5 V late in
+ * a match than at 12.8 V at the start. With a VoltageCompensator, an
+ * output instead means a fraction of NOMINAL_VOLTAGE, and is scaled
+ * up or down to get that voltage out of the battery as it is now.
+ *
+ * The battery voltage is read once per tick in update(), which must
+ * come before any component applies its outputs, and every output in
+ * the tick is compensated with that reading. Outputs that would need
+ * more than the battery has are clipped to full; outputs that drive
+ * the 2 sides of something are clipped together, so that their ratio,
+ * and with it the direction the robot drives, stays the same.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class VoltageCompensator implements NeedsUpdating {
+
+	//the voltage an output of 1 means
+	static final double NOMINAL_VOLTAGE = 12;
+
+	//readings below this are treated as this, so a bad reading or a
+	//brownout cannot make the outputs jump to full
+	static final double MIN_VOLTAGE = 7;
+
+	private DoubleSupplier batteryVoltage;
+	private double voltage = NOMINAL_VOLTAGE;
+	private double scale = 1;
+
+	/**
+	 * Creates a VoltageCompensator.
+	 *
+	 * @param batteryVoltage reads the battery voltage, in volts
+	 */
+	public VoltageCompensator(DoubleSupplier batteryVoltage) {
+		this.batteryVoltage = batteryVoltage;
+	}
+
+	/**
+	 * Returns the battery voltage read this tick.
+	 *
+	 * @return the voltage, in volts
+	 */
+	public double getVoltage() {
+		return voltage;
+	}
+
+	/**
+	 * Returns what outputs are multiplied by this tick.
+	 *
+	 * @return the scale
+	 */
+	public double getScale() {
+		return scale;
+	}
+
+	/**
+	 * Reads the battery voltage for this tick.
+	 */
+	public void update() {
+		double reading = batteryVoltage.getAsDouble();
+
+		//NaN fails the comparison and keeps the last voltage
+		if (reading > 0) {
+			voltage = Math.max(MIN_VOLTAGE, reading);
+			scale = NOMINAL_VOLTAGE / voltage;
+		}
+	}
+
+	/**
+	 * Compensates a single output.
+	 *
+	 * @param output the output, as a fraction of NOMINAL_VOLTAGE
+	 * @return the output to set on the talon, from -1 to 1
+	 */
+	public double compensate(double output) {
+		return Math.max(-1, Math.min(1, output * scale));
+	}
+
+	/**
+	 * Returns what to multiply a pair of outputs by so that both are
+	 * compensated and neither is more than full, keeping their ratio.
+	 *
+	 * @param first one output, as a fraction of NOMINAL_VOLTAGE
+	 * @param second the other output, as a fraction of NOMINAL_VOLTAGE
+	 * @return the scale for both outputs
+	 */
+	public double getPairScale(double first, double second) {
+		double largest = Math.max(Math.abs(first), Math.abs(second)) * scale;
+		return (largest > 1 ? scale / largest : scale);
+	}
+}
@@ -0,0 +1,531 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Gets the control loop compiled before the match needs it.
+ *
+ * The JVM interprets a method until it has run often enough to be
+ * worth compiling, so the first seconds of autonomous would run the
+ * control loop slowly, on the roboRIO's slow cores, just when its
+ * timing matters most. Compiled code belongs to the class rather
+ * than to any one object, though, so running the same classes
+ * anywhere else compiles them just as well.
+ *
+ * A WarmUp builds a shadow robot out of the real component classes
+ * (a DriveTrain, a Launcher with its flywheels and pusher, button
+ * bindings, voltage compensation, the robot's power budget, traction
+ * control and the Autonomous routine), wired to simulated motors,
+ * sensors and a scripted controller instead of hardware. While the
+ * robot is disabled, run() ticks the shadow through a script that
+ * drives every control the way a driver and autonomous would, a few
+ * milliseconds at a time. The real components are never touched.
+ * The shadow drives with a Feedforward only once it is given the
+ * real robot's, so it takes the same paths as the robot.
+ *
+ * The shadow robot is rebuilt at the start of every pass through the
+ * script, so the paths a fresh robot takes on its first ticks are
+ * compiled as well. The warm-up is finished once it has run at least
+ * MIN_TICKS, its ticks have stopped getting faster, and the compiler
+ * has been idle for a few batches.
+ *
+ * HotSpot compiles a call that has only ever reached 1 or 2 classes
+ * as a guess at those classes, and throws the compiled method away
+ * when a third shows up. So each pass builds the shadow's motors,
+ * sensors and controller from the next of RECEIVER_CLASSES sets of
+ * classes, and every call into the hardware is compiled as a plain
+ * virtual call, which the Talons and the Joystick take without
+ * anything being recompiled. The methods of the hardware classes
+ * themselves, such as Talon.set(), still run interpreted on the first
+ * real ticks until they are compiled, and a branch that the script
+ * never takes is still compiled away. WarmUpBenchmark counts what
+ * is thrown away once classes the warm-up never saw take over.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class WarmUp {
+
+	//HotSpot compiles a method fully after about 10000 calls
+	static final int MIN_TICKS = 20000;
+
+	//other threads may keep the compiler busy, so stop here regardless
+	static final int MAX_TICKS = 200000;
+
+	//ticks are timed in batches; it is finished once the last few
+	//batches are all within STABLE_RATIO of the fastest, and the
+	//compiler did nothing during them
+	static final int BATCH_TICKS = 1000;
+	static final int STABLE_BATCHES = 3;
+	static final double STABLE_RATIO = 1.1;
+
+	//ticks in each segment of the script, and the segments in all
+	static final int SEGMENT_TICKS = 50;
+	static final int SEGMENTS = 9;
+
+	static final double TICK_LENGTH = 1 / Robot.TICKS_PER_SEC;
+
+	//sets of classes the shadow's hardware is built from, in turn; a
+	//call that has reached 3 classes is no longer compiled as a guess
+	static final int RECEIVER_CLASSES = 3;
+
+	//a set of classes that the warm-up never uses, standing in for the
+	//real hardware's
+	static final int STAND_IN = RECEIVER_CLASSES;
+
+	//the shadow robot
+	private SimulatedMotor frontLeft;
+	private SimulatedMotor frontRight;
+	private SimulatedMotor backLeft;
+	private SimulatedMotor backRight;
+	private SimulatedMotor winchMotor;
+	private ScriptedController controller;
+	private SimulatedLimitSwitch ballSensor;
+	private TankDriveModel driveModel;
+	private WinchModel winchModel;
+
+	private DriveTrain driveTrain;
+	private Launcher launcher;
+	private ButtonBindings bindings;
+	private Autonomous autonomous;
+	private double[] pose = new double[3];
+	private NeedsUpdating[] needsUpdating;
+
+	//the set of classes the next shadow is built from
+	private int receivers;
+
+	//which autonomous routine the next shadow runs; they take turns
+	private boolean pathChosen;
+
+	//the real robot's feedforward, or null while it has none
+	private Feedforward leftFeedforward;
+	private Feedforward rightFeedforward;
+
+	//null when the JVM cannot say how much it has compiled
+	private CompilationMXBean compiler;
+	private long compileTime;
+
+	//progress
+	private int ticks;
+	private long startTime;
+	private long batchStart;
+	private double firstBatch;
+	private double fastestBatch = Double.MAX_VALUE;
+	private int stableBatches;
+	private boolean finished;
+	private double lastBatch;
+	private double elapsed;
+
+	/**
+	 * Creates a WarmUp with its own shadow robot.
+	 */
+	public WarmUp() {
+		this(0);
+	}
+
+	/**
+	 * Creates a WarmUp whose first shadow robot is built from the given
+	 * set of classes.
+	 *
+	 * @param receivers the set of classes, or STAND_IN to only ever use the stand-ins
+	 */
+	WarmUp(int receivers) {
+		this.receivers = receivers;
+
+		compiler = ManagementFactory.getCompilationMXBean();
+		if (compiler != null && !compiler.isCompilationTimeMonitoringSupported()) {
+			compiler = null;
+		}
+
+		build();
+	}
+
+	/**
+	 * Builds a new shadow robot, fresh from its constructors the way
+	 * the real one starts the match.
+	 */
+	private void build() {
+		frontLeft = newMotor();
+		frontRight = newMotor();
+		backLeft = newMotor();
+		backRight = newMotor();
+		winchMotor = newMotor();
+		controller = newController();
+		ballSensor = newSwitch();
+		driveModel = new TankDriveModel();
+		winchModel = new WinchModel();
+
+		RobotParameters parameters = RobotParameters.defaults();
+
+		driveTrain = new DriveTrain(frontLeft, frontRight, backLeft, backRight, parameters.getDriveAcc());
+		parameters.applyTo(driveTrain);
+		driveTrain.setGyro(newGyro());
+		SimulatedEncoder leftEncoder = newEncoder(true);
+		SimulatedEncoder rightEncoder = newEncoder(false);
+		driveTrain.setFeedforward(leftFeedforward, rightFeedforward);
+
+		Winch winch = new Winch(winchMotor, newLimit(winchModel.getLowerLimit()), newLimit(winchModel.getUpperLimit()),
+				parameters.getWinchSpeed(), parameters.getWinchAcc());
+		launcher = new Launcher(winch, newPusher(parameters),
+				new Flywheel(newMotor(), Robot.FLY_SHOOT_SPD, Robot.FLY_INTAKE_SPD, false),
+				new Flywheel(newMotor(), Robot.FLY_SHOOT_SPD, Robot.FLY_INTAKE_SPD, true));
+		launcher.setBallSensor(ballSensor);
+
+		driveTrain.setTractionController(new TractionController(
+				newAccelerometer(), leftEncoder, rightEncoder, launcher));
+
+		//the battery never changes, but the same code runs
+		VoltageCompensator compensator = new VoltageCompensator(newSupplier(() -> 12.5));
+		driveTrain.setVoltageCompensator(compensator);
+		launcher.setVoltageCompensator(compensator);
+
+		//the PDP always agrees with the estimate, so the budget is the robot's
+		PowerBudget power = Robot.newPowerBudget(driveTrain, launcher);
+		power.setMeasuredCurrent(newSupplier(power::getEstimatedCurrent));
+
+		bindings = new ButtonBindings();
+		driveTrain.bindControls(bindings);
+		launcher.bindControls(bindings);
+
+		autonomous = new Autonomous(driveTrain, launcher, Robot.TRACK_WIDTH);
+		autonomous.setPathChosen(pathChosen);
+		pathChosen = !pathChosen;
+
+		//same order as Robot.updateComponents()
+		needsUpdating = new NeedsUpdating[] {compensator, power, driveTrain, launcher, controller};
+
+		if (receivers != STAND_IN) {
+			receivers = (receivers + 1) % RECEIVER_CLASSES;
+		}
+	}
+
+	//the shadow's hardware, from the current set of classes; each
+	//anonymous subclass is a class of its own, which is all it is for
+
+	private SimulatedMotor newMotor() {
+		switch (receivers) {
+		case 0:
+			return new SimulatedMotor();
+		case 1:
+			return new SimulatedMotor() {};
+		case 2:
+			return new SimulatedMotor() {};
+		default:
+			return new SimulatedMotor() {};
+		}
+	}
+
+	private ScriptedController newController() {
+		switch (receivers) {
+		case 0:
+			return new ScriptedController();
+		case 1:
+			return new ScriptedController() {};
+		case 2:
+			return new ScriptedController() {};
+		default:
+			return new ScriptedController() {};
+		}
+	}
+
+	private SimulatedLimitSwitch newSwitch() {
+		switch (receivers) {
+		case 0:
+			return new SimulatedLimitSwitch();
+		case 1:
+			return new SimulatedLimitSwitch() {};
+		case 2:
+			return new SimulatedLimitSwitch() {};
+		default:
+			return new SimulatedLimitSwitch() {};
+		}
+	}
+
+	private Pressable newLimit(SimulatedLimitSwitch limit) {
+		switch (receivers) {
+		case 0:
+			return limit;
+		case 1:
+			return () -> limit.isPressed();
+		case 2:
+			return () -> limit.isPressed();
+		default:
+			return () -> limit.isPressed();
+		}
+	}
+
+	private SimulatedGyro newGyro() {
+		switch (receivers) {
+		case 0:
+			return new SimulatedGyro(driveModel);
+		case 1:
+			return new SimulatedGyro(driveModel) {};
+		case 2:
+			return new SimulatedGyro(driveModel) {};
+		default:
+			return new SimulatedGyro(driveModel) {};
+		}
+	}
+
+	private SimulatedEncoder newEncoder(boolean left) {
+		switch (receivers) {
+		case 0:
+			return new SimulatedEncoder(driveModel, left);
+		case 1:
+			return new SimulatedEncoder(driveModel, left) {};
+		case 2:
+			return new SimulatedEncoder(driveModel, left) {};
+		default:
+			return new SimulatedEncoder(driveModel, left) {};
+		}
+	}
+
+	private SimulatedAccelerometer newAccelerometer() {
+		switch (receivers) {
+		case 0:
+			return new SimulatedAccelerometer(driveModel);
+		case 1:
+			return new SimulatedAccelerometer(driveModel) {};
+		case 2:
+			return new SimulatedAccelerometer(driveModel) {};
+		default:
+			return new SimulatedAccelerometer(driveModel) {};
+		}
+	}
+
+	private SimulatedPusher newPusher(RobotParameters parameters) {
+		double retracted = parameters.getPusherRetracted();
+		double extended = parameters.getPusherExtended();
+		switch (receivers) {
+		case 0:
+			return new SimulatedPusher(retracted, extended);
+		case 1:
+			return new SimulatedPusher(retracted, extended) {};
+		case 2:
+			return new SimulatedPusher(retracted, extended) {};
+		default:
+			return new SimulatedPusher(retracted, extended) {};
+		}
+	}
+
+	private DoubleSupplier newSupplier(DoubleSupplier supplier) {
+		switch (receivers) {
+		case 0:
+			return supplier;
+		case 1:
+			return () -> supplier.getAsDouble();
+		case 2:
+			return () -> supplier.getAsDouble();
+		default:
+			return () -> supplier.getAsDouble();
+		}
+	}
+
+	/**
+	 * Gives the shadow robot the real robot's Feedforward, so that it
+	 * drives the way the robot does, from now on.
+	 *
+	 * @param left the Feedforward of the left side, or null for none
+	 * @param right the Feedforward of the right side, or null for none
+	 * @throws IllegalArgumentException when only 1 side is given a Feedforward
+	 */
+	public void setFeedforward(Feedforward left, Feedforward right) throws IllegalArgumentException {
+		driveTrain.setFeedforward(left, right);
+		leftFeedforward = left;
+		rightFeedforward = right;
+	}
+
+	public boolean isFinished() {
+		return finished;
+	}
+
+	public int getTicks() {
+		return ticks;
+	}
+
+	/**
+	 * Ticks the shadow robot for about the given time, or until the
+	 * warm-up finishes.
+	 *
+	 * @param budget how long to run, in seconds
+	 * @return true once the warm-up has finished
+	 */
+	public boolean run(double budget) {
+		if (finished) {
+			return true;
+		}
+
+		long now = System.nanoTime();
+		long end = now + (long) (budget * 1e9);
+		if (ticks == 0) {
+			startTime = now;
+			batchStart = now;
+		}
+
+		do {
+			tick();
+
+			if (ticks % BATCH_TICKS == 0) {
+				endBatch(System.nanoTime());
+			}
+		} while (!finished && System.nanoTime() < end);
+
+		return finished;
+	}
+
+	/**
+	 * Times the batch that just ended, and finishes the warm-up if
+	 * the ticks have stopped getting faster and nothing more is being
+	 * compiled.
+	 */
+	private void endBatch(long now) {
+		double perTick = (now - batchStart) / 1e3 / BATCH_TICKS;
+		batchStart = now;
+
+		if (ticks == BATCH_TICKS) {
+			firstBatch = perTick;
+		}
+		lastBatch = perTick;
+
+		//a batch cut short by a new tick of the real robot will look
+		//slower, so only fast enough batches count toward stable
+		if (perTick < fastestBatch) {
+			fastestBatch = perTick;
+		}
+
+		//a compiled method only replaces the running one once it is
+		//done, so the ticks can look settled while the compiler works
+		boolean compiling = false;
+		if (compiler != null) {
+			long time = compiler.getTotalCompilationTime();
+			compiling = (time != compileTime);
+			compileTime = time;
+		}
+
+		boolean stable = (!compiling && perTick <= fastestBatch * STABLE_RATIO);
+		stableBatches = (stable ? stableBatches + 1 : 0);
+
+		if ((ticks >= MIN_TICKS && stableBatches >= STABLE_BATCHES) || ticks >= MAX_TICKS) {
+			finished = true;
+			elapsed = (now - startTime) / 1e9;
+		}
+	}
+
+	/**
+	 * Describes how the warm-up went.
+	 *
+	 * @return the report
+	 */
+	public String report() {
+		if (!finished) {
+			return String.format("Warm-up: %d shadow ticks so far%n", ticks);
+		}
+		return String.format("Warm-up finished after %d shadow ticks over %.1f s: %.1f us per tick, " +
+				"down from %.1f us at first%n", ticks, elapsed, lastBatch, firstBatch);
+	}
+
+	/**
+	 * Runs one tick of the shadow robot: drives it the way the
+	 * script says for this point, updates it and steps its physics.
+	 */
+	void tick() {
+		int step = ticks % (SEGMENTS * SEGMENT_TICKS);
+
+		//the first ticks of a fresh robot take paths that later ones
+		//do not, so those get compiled too rather than trapping later
+		if (step == 0 && ticks > 0) {
+			build();
+		}
+		int segment = step / SEGMENT_TICKS;
+		boolean firstHalf = (step % SEGMENT_TICKS < SEGMENT_TICKS / 2);
+		boolean inAutonomous = false;
+
+		controller.releaseAll();
+		switch (segment) {
+		case 0:
+
+			//drive straight on the sticks, holding the heading
+			controller.setAxisLY(0.6);
+			controller.setAxisRY(0.55);
+			break;
+		case 1:
+
+			//curve, then back up
+			controller.setAxisLY(firstHalf ? 0.8 : -0.5);
+			controller.setAxisRY(firstHalf ? 0.2 : -0.6);
+			break;
+		case 2:
+
+			//sprint on the triggers and brake
+			controller.setAxisRTrig(firstHalf ? 1 : 0);
+			controller.setAxisLTrig(firstHalf ? 0 : 0.5);
+			break;
+		case 3:
+
+			//hold a bumper to rotate slowly, then tap one to turn by an angle
+			driveTrain.setBumperTurnEnabled(!firstHalf);
+			controller.setButton(firstHalf ? RoboticsController.BTN_RB : RoboticsController.BTN_LB,
+					firstHalf || step % SEGMENT_TICKS % (SEGMENT_TICKS / 2) < 3);
+			break;
+		case 4:
+
+			//raise the launcher while shooting
+			controller.setButton(RoboticsController.BTN_Y, true);
+			controller.setButton(RoboticsController.BTN_START, firstHalf);
+			controller.setButton(RoboticsController.BTN_X, !firstHalf);
+			break;
+		case 5:
+
+			//lower it again, then both at once
+			controller.setButton(RoboticsController.BTN_A, true);
+			controller.setButton(RoboticsController.BTN_Y, !firstHalf);
+			break;
+		case 6:
+
+			//take in a ball, which is seated halfway through
+			controller.setButton(RoboticsController.BTN_BACK, step % SEGMENT_TICKS < 2);
+			ballSensor.setPressed(!firstHalf);
+			break;
+		case 7:
+
+			//switch to curvature drive, sweep a curve, quick-turn, then switch back
+			controller.setButton(RoboticsController.BTN_B,
+					step % SEGMENT_TICKS == 0 || step % SEGMENT_TICKS == SEGMENT_TICKS - 1);
+			controller.setAxisRTrig(firstHalf ? 0.7 : 0);
+			controller.setAxisLX(firstHalf ? 0.5 : -0.8);
+			controller.setButton(RoboticsController.BTN_RB, !firstHalf);
+			break;
+		default:
+
+			//what autonomous does, from the start of the segment
+			inAutonomous = true;
+			if (step % SEGMENT_TICKS == 0) {
+				autonomous.init();
+			}
+			pose[PoseEstimator.POSE_X] = driveModel.getX();
+			pose[PoseEstimator.POSE_Y] = driveModel.getY();
+			pose[PoseEstimator.POSE_HEADING] = driveModel.getHeading();
+			autonomous.periodic(pose);
+			break;
+		}
+
+		if (!inAutonomous) {
+			driveTrain.driveByController(controller);
+			bindings.driveByController(controller);
+		}
+
+		for (NeedsUpdating component : needsUpdating) {
+			component.update();
+		}
+
+		//the right side is wired backwards, so undo the negation
+		double leftDuty = (frontLeft.getOutput() + backLeft.getOutput()) / 2;
+		double rightDuty = -(frontRight.getOutput() + backRight.getOutput()) / 2;
+		driveModel.step(leftDuty, rightDuty, TICK_LENGTH);
+		winchModel.step(winchMotor.getOutput(), TICK_LENGTH);
+
+		ticks++;
+	}
+}
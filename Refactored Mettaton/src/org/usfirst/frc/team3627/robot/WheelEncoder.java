@@ -0,0 +1,28 @@
+package org.usfirst.frc.team3627.robot;
+
+import edu.wpi.first.wpilibj.*;
+
+/**
+ * An Encoder on a drive train gearbox that reports the
+ * distance its wheels have rolled, in meters.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class WheelEncoder extends Encoder implements Measurable {
+
+	/**
+	 * Constructs a WheelEncoder on the specified channels.
+	 * 
+	 * @param channelA the DIO channel of the A signal
+	 * @param channelB the DIO channel of the B signal
+	 * @param reversed true if the encoder counts down when driving forward
+	 * @param metersPerPulse the distance the wheels roll per encoder pulse
+	 */
+	public WheelEncoder(int channelA, int channelB, boolean reversed, double metersPerPulse) {
+		
+		//count every edge of both signals for the finest resolution
+		super(channelA, channelB, reversed, EncodingType.k4X);
+		setDistancePerPulse(metersPerPulse);
+	}
+}
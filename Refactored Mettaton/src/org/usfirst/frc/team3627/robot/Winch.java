@@ -1,5 +1,6 @@
 package org.usfirst.frc.team3627.robot;
 
+import edu.wpi.first.wpilibj.SpeedController;
 import edu.wpi.first.wpilibj.Talon;
 
 /**
@@ -11,16 +12,78 @@ import edu.wpi.first.wpilibj.Talon;
  * @version March 2016
  *
  */
-public class Winch implements NeedsUpdating, DampenedStoppable {
+public class Winch implements NeedsUpdating, DampenedStoppable, Publishable, PowerLimitable {
+	
+	//least time between dashboard updates, in seconds
+	static final double DASHBOARD_PERIOD = 0.1;
 	
 	//used to prevent jerking of the winch movement
 	private Dampener motorDampener;
 	
-	private Talon motor;
-	private LimitSwitch lowerLimit;
-	private LimitSwitch upperLimit;
+	private SpeedController motor;
+	private Pressable lowerLimit;
+	private Pressable upperLimit;
 	private double speed;
 	
+	//follows driver input through to the talon
+	private LatencyTracer tracer;
+	
+	//optional battery voltage compensation
+	private VoltageCompensator compensator;
+	
+	//dashboard field handles
+	private int currentField;
+	private int targetField;
+	private int fullyUpField;
+	private int fullyDownField;
+	
+	public double getSpeed() {
+		return speed;
+	}
+	
+	public double getMaxAcceleration() {
+		return motorDampener.getMaxAcceleration();
+	}
+	
+	public double getCurrentVal() {
+		return motorDampener.getCurrentVal();
+	}
+	
+	public double getTargetVal() {
+		return motorDampener.getTargetVal();
+	}
+	
+	/**
+	 * Returns the value last sent to the winch motor.
+	 * 
+	 * @return the motor output, from -1 to 1
+	 */
+	public double getOutput() {
+		return motor.get();
+	}
+	
+	public LatencyTracer getTracer() {
+		return tracer;
+	}
+	
+	/**
+	 * Gives the Winch a compensator, so that its speed is the same
+	 * whatever the battery voltage.
+	 * 
+	 * @param compensator the compensator to use, or null to set raw outputs
+	 */
+	public void setVoltageCompensator(VoltageCompensator compensator) {
+		this.compensator = compensator;
+	}
+	
+	public void setSpeed(double value) {
+		speed = value;
+	}
+	
+	public void setMaxAcceleration(double value) {
+		motorDampener.setMaxAcceleration(value);
+	}
+	
 	/**
 	 * Creates a Winch as used with Mettaton for 2016.
 	 * 
@@ -31,11 +94,28 @@ public class Winch implements NeedsUpdating, DampenedStoppable {
 	 * @param maxAcceleration the maximum acceleration of the winch
 	 */
 	public Winch(int motorPort, int lowerLimitPort, int upperLimitPort, double speed, double maxAcceleration) {
-		motor = new Talon(motorPort);
-		lowerLimit = new LimitSwitch(lowerLimitPort);
-		upperLimit = new LimitSwitch(upperLimitPort);
+		this(new Talon(motorPort), new LimitSwitch(lowerLimitPort), new LimitSwitch(upperLimitPort),
+				speed, maxAcceleration);
+	}
+	
+	/**
+	 * Creates a Winch from the given motor and limit switches.
+	 * This allows a Winch to be run against a simulated motor
+	 * and simulated switches.
+	 * 
+	 * @param motor the winch motor
+	 * @param lowerLimit the lower boundary limit switch
+	 * @param upperLimit the upper boundary limit switch
+	 * @param speed the speed at which the winch moves
+	 * @param maxAcceleration the maximum acceleration of the winch
+	 */
+	public Winch(SpeedController motor, Pressable lowerLimit, Pressable upperLimit, double speed, double maxAcceleration) {
+		this.motor = motor;
+		this.lowerLimit = lowerLimit;
+		this.upperLimit = upperLimit;
 		this.speed = speed;
 		motorDampener = new Dampener(-1, 1, maxAcceleration);
+		tracer = new LatencyTracer("Winch");
 	}
 	
 	/**
@@ -49,6 +129,8 @@ public class Winch implements NeedsUpdating, DampenedStoppable {
 		upperLimit = other.upperLimit;
 		speed = other.speed;
 		motorDampener = other.motorDampener;
+		tracer = other.tracer;
+		compensator = other.compensator;
 	}
 	
 	/**
@@ -93,6 +175,7 @@ public class Winch implements NeedsUpdating, DampenedStoppable {
 	public void immediateStop() {
 		motor.set(0);
 		motorDampener.setTargetVal(0);
+		tracer.actuated(0);
 	}
 	
 	/**
@@ -140,18 +223,54 @@ public class Winch implements NeedsUpdating, DampenedStoppable {
 		return lowerLimit.isPressed();
 	}
 	
+	/**
+	 * Adds the dampener values and limit switches to the dashboard.
+	 */
+	public void addFields(DashboardPublisher publisher) {
+		currentField = publisher.addNumber("Winch Current", DASHBOARD_PERIOD);
+		targetField = publisher.addNumber("Winch Target", DASHBOARD_PERIOD);
+		fullyUpField = publisher.addBoolean("Winch Fully Up", DASHBOARD_PERIOD);
+		fullyDownField = publisher.addBoolean("Winch Fully Down", DASHBOARD_PERIOD);
+	}
+	
+	public void writeFields(DashboardPublisher publisher) {
+		publisher.set(currentField, motorDampener.getCurrentVal());
+		publisher.set(targetField, motorDampener.getTargetVal());
+		publisher.set(fullyUpField, isFullyUp());
+		publisher.set(fullyDownField, isFullyDown());
+	}
+	
+	public double getRequestedOutput() {
+		return Math.abs(motorDampener.getNextVal());
+	}
+	
+	public void limitOutput(double limit) {
+		motorDampener.limitNextStep(limit);
+	}
+	
 	/**
 	 * Steps the current speed of the winch closer to the target speed
 	 */
 	public void update() {
 		motorDampener.update();
-		applyDampenerValues();
+		
+		//a target left over from raise() or lower() must not drive
+		//the winch past a limit switch once nothing checks it
+		double current = motorDampener.getCurrentVal();
+		if ((current > 0 && upperLimit.isPressed()) || (current < 0 && lowerLimit.isPressed())) {
+			immediateStop();
+		} else {
+			applyDampenerValues();
+		}
+		tracer.update();
 	}
 	
 	/**
 	 * Actually applies the dampener values to the motor talon
 	 */
 	private void applyDampenerValues() {
-		motor.set(motorDampener.getCurrentVal());
+		double output = motorDampener.getCurrentVal();
+		motor.set(compensator == null ? output : compensator.compensate(output));
+		tracer.actuated(motorDampener.getCurrentVal());
 	}
 }
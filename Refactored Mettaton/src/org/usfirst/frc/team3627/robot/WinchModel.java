@@ -0,0 +1,128 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * A simple physics model of the Mettaton launcher winch, used to
+ * run the winch code on a computer without the robot.
+ *
+ * The position of the launcher is measured as a fraction of its
+ * travel, where 0 is fully down and 1 is fully up. The limit
+ * switches trip a little before the hard stops, so anything that
+ * keeps driving the winch after a switch trips pushes the launcher
+ * past the switch. That distance is tracked as overshoot.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class WinchModel {
+
+	//default characteristics of Mettaton
+	static final double DEFAULT_RAISE_RATE = 0.6;
+	static final double DEFAULT_LOWER_RATE = 0.9;
+	static final double DEFAULT_TIME_CONSTANT = 0.1;
+	static final double LIMIT_MARGIN = 0.05;
+
+	//fractions of travel per second at full duty cycle
+	private double raiseRate;
+	private double lowerRate;
+	private double timeConstant;
+
+	private double position;
+	private double velocity;
+
+	//furthest the launcher went past a tripped limit switch
+	private double overshoot;
+
+	//the simulated switches, which the winch under test reads
+	private SimulatedLimitSwitch lowerLimit = new SimulatedLimitSwitch();
+	private SimulatedLimitSwitch upperLimit = new SimulatedLimitSwitch();
+
+	/**
+	 * Creates a WinchModel with the specified characteristics.
+	 *
+	 * @param raiseRate fraction of travel per second when raising at full duty cycle
+	 * @param lowerRate fraction of travel per second when lowering at full duty cycle
+	 * @param timeConstant how quickly the winch reaches its speed, in seconds
+	 */
+	public WinchModel(double raiseRate, double lowerRate, double timeConstant) {
+		this.raiseRate = raiseRate;
+		this.lowerRate = lowerRate;
+		this.timeConstant = timeConstant;
+		reset(0);
+	}
+
+	/**
+	 * Creates a WinchModel with the characteristics of Mettaton.
+	 */
+	public WinchModel() {
+		this(DEFAULT_RAISE_RATE, DEFAULT_LOWER_RATE, DEFAULT_TIME_CONSTANT);
+	}
+
+	/**
+	 * Advances the model by the given amount of time.
+	 *
+	 * @param duty the duty cycle of the winch motor; positive raises
+	 * @param dt the amount of time to advance, in seconds
+	 */
+	public void step(double duty, double dt) {
+		double target = duty * (duty > 0 ? raiseRate : lowerRate);
+		velocity += (target - velocity) * Math.min(1, dt / timeConstant);
+		position += velocity * dt;
+
+		//hard stops
+		if (position > 1) {
+			position = 1;
+		} else if (position < 0) {
+			position = 0;
+		}
+
+		//only count travel past a switch while moving into its stop
+		if (velocity > 0 && position >= 1 - LIMIT_MARGIN) {
+			overshoot = Math.max(overshoot, position - (1 - LIMIT_MARGIN));
+		} else if (velocity < 0 && position <= LIMIT_MARGIN) {
+			overshoot = Math.max(overshoot, LIMIT_MARGIN - position);
+		}
+
+		if (position == 1 || position == 0) {
+			velocity = 0;
+		}
+
+		updateSwitches();
+	}
+
+	/**
+	 * Places the launcher at the given position, at rest.
+	 *
+	 * @param position the fraction of travel, where 0 is fully down
+	 */
+	public void reset(double position) {
+		this.position = position;
+		velocity = 0;
+		overshoot = 0;
+		updateSwitches();
+	}
+
+	private void updateSwitches() {
+		lowerLimit.setPressed(position <= LIMIT_MARGIN);
+		upperLimit.setPressed(position >= 1 - LIMIT_MARGIN);
+	}
+
+	public double getPosition() {
+		return position;
+	}
+
+	public double getVelocity() {
+		return velocity;
+	}
+
+	public double getOvershoot() {
+		return overshoot;
+	}
+
+	public SimulatedLimitSwitch getLowerLimit() {
+		return lowerLimit;
+	}
+
+	public SimulatedLimitSwitch getUpperLimit() {
+		return upperLimit;
+	}
+}
@@ -0,0 +1,156 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Checks in simulation that curvature drive turns through the same
+ * arc at any speed, that its quick-turn spins in place as fast as
+ * tank drive, and that heading hold does not swing the robot back
+ * after a turn.
+ *
+ * A SimulatedRobot in curvature drive, with a Feedforward that
+ * overcomes the model's static friction as a calibrated robot's
+ * would (without one, the slow inner side of a gentle curve stalls,
+ * and no drive mode could keep the arc), holds the stick at WHEEL on
+ * each of the THROTTLES until it settles into a circle, and the
+ * radius of each circle is measured. The last throttle asks the
+ * outer side for more than full speed, so it only keeps the circle
+ * if the output is scaled down without changing its shape. Then the
+ * robot spins half a turn in place, once with the sticks pushed
+ * opposite ways in tank drive and once with a quick-turn, and the
+ * times are compared. Last, it drives forward at TURN_THROTTLE,
+ * quick-turns for TURN_TIME and lets go of the stick while still
+ * driving, and the most it turns back from its furthest heading is
+ * measured:
+ *
+ * java CurvatureDriveValidator
+ *
+ * It exits with a nonzero status if any radius is more than
+ * RADIUS_TOLERANCE from the first one, the quick-turn is slower than
+ * tank drive, or the robot turns back more than SWING_TOLERANCE.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class CurvatureDriveValidator {
+
+	static final double WHEEL = 0.5;
+	static final double[] THROTTLES = {0.4, 0.7, 1};
+	static final double RADIUS_TOLERANCE = 0.1;
+
+	//time to settle into a circle, and to measure it over
+	static final double SETTLE_TIME = 3;
+	static final double MEASURE_TIME = 1;
+
+	static final double TIMEOUT = 10;
+
+	static final double TURN_THROTTLE = 0.6;
+	static final double TURN_TIME = 0.4;
+	static final double SWING_TOLERANCE = 2;
+
+	//the spin times are only measured to the tick
+	static final double TIME_TOLERANCE = 1 / Robot.TICKS_PER_SEC;
+
+	public static void main(String[] args) {
+		boolean passed = true;
+
+		System.out.println("throttle   radius");
+		double first = Double.NaN;
+		for (double throttle : THROTTLES) {
+			double radius = circle(throttle);
+			System.out.printf("%6.1f   %6.2f m%n", throttle, radius);
+
+			if (Double.isNaN(first)) {
+				first = radius;
+			} else if (Math.abs(radius - first) > RADIUS_TOLERANCE * first) {
+				passed = false;
+			}
+		}
+
+		double tank = spin(false);
+		double quick = spin(true);
+		double swing = swingBack();
+
+		System.out.printf("half turn in tank drive   %6.2f s%n", tank);
+		System.out.printf("half turn by quick-turn   %6.2f s%n", quick);
+		System.out.printf("swing back after a turn   %6.1f deg%n", swing);
+
+		passed &= quick <= tank + TIME_TOLERANCE && swing <= SWING_TOLERANCE;
+		Validation.finish(passed);
+	}
+
+	/**
+	 * Drives in a circle in curvature drive, and returns its radius.
+	 */
+	private static double circle(double throttle) {
+		SimulatedRobot robot = Validation.calibratedRobot();
+		TankDriveModel model = robot.getDriveModel();
+		robot.getDriveTrain().setCurvatureDriveEnabled(true);
+
+		robot.getController().setAxisRTrig(throttle);
+		robot.getController().setAxisLX(WHEEL);
+		Validation.teleopUntil(robot, SETTLE_TIME);
+
+		//the radius of a circle is its speed over its turn rate
+		double speed = 0;
+		double turnRate = 0;
+		int ticks = 0;
+		while (robot.getTime() < SETTLE_TIME + MEASURE_TIME) {
+			robot.teleopTick();
+			speed += model.getSpeed();
+			turnRate += model.getTurnRate();
+			ticks++;
+		}
+		return Math.abs(speed / turnRate);
+	}
+
+	/**
+	 * Spins half a turn in place, and returns the time it took.
+	 */
+	private static double spin(boolean quickTurn) {
+		SimulatedRobot robot = new SimulatedRobot(RobotParameters.defaults());
+		TankDriveModel model = robot.getDriveModel();
+		ScriptedController controller = robot.getController();
+
+		if (quickTurn) {
+			robot.getDriveTrain().setCurvatureDriveEnabled(true);
+			controller.setButton(RoboticsController.BTN_RB, true);
+			controller.setAxisLX(1);
+		} else {
+			controller.setAxisLY(1);
+			controller.setAxisRY(-1);
+		}
+
+		while (model.getGyroAngle() < 180 && robot.getTime() < TIMEOUT) {
+			robot.teleopTick();
+		}
+		return robot.getTime();
+	}
+
+	/**
+	 * Quick-turns while driving and lets go of the stick, and returns
+	 * how far the robot turned back from its furthest heading.
+	 */
+	private static double swingBack() {
+		SimulatedRobot robot = new SimulatedRobot(RobotParameters.defaults());
+		TankDriveModel model = robot.getDriveModel();
+		ScriptedController controller = robot.getController();
+		robot.getDriveTrain().setCurvatureDriveEnabled(true);
+
+		controller.setAxisRTrig(TURN_THROTTLE);
+		Validation.teleopUntil(robot, 1);
+
+		controller.setButton(RoboticsController.BTN_RB, true);
+		controller.setAxisLX(1);
+		Validation.teleopUntil(robot, 1 + TURN_TIME);
+
+		controller.setButton(RoboticsController.BTN_RB, false);
+		controller.setAxisLX(0);
+		double furthest = model.getGyroAngle();
+		double swing = 0;
+		while (robot.getTime() < 1 + TURN_TIME + SETTLE_TIME) {
+			robot.teleopTick();
+			furthest = Math.max(furthest, model.getGyroAngle());
+			swing = Math.max(swing, furthest - model.getGyroAngle());
+		}
+		return swing;
+	}
+}
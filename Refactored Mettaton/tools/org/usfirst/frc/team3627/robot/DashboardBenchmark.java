@@ -0,0 +1,111 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.wpi.first.wpilibj.tables.ITable;
+
+/**
+ * Measures what the DashboardPublisher costs the control loop, and
+ * how many table updates it saves compared to putting every value
+ * every tick.
+ *
+ * A SimulatedRobot drives around at the real rate of 50 ticks per
+ * second, publishing its drive train and winch into a table that
+ * only counts what is put into it. It first runs ticks as fast as it
+ * can, without measuring, so that the code is compiled:
+ *
+ * java DashboardBenchmark [seconds]
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class DashboardBenchmark {
+
+	static final double DEFAULT_SECONDS = 10;
+	static final int WARMUP_TICKS = 20000;
+
+	public static void main(String[] args) throws InterruptedException {
+		double seconds = (args.length >= 1 ? Double.parseDouble(args[0]) : DEFAULT_SECONDS);
+		int ticks = (int) (seconds * Robot.TICKS_PER_SEC);
+
+		//a table that counts puts and ignores everything else
+		final AtomicLong puts = new AtomicLong();
+		ITable table = (ITable) Proxy.newProxyInstance(ITable.class.getClassLoader(), new Class<?>[] {ITable.class},
+				(proxy, method, methodArgs) -> {
+					if (method.getName().startsWith("put")) {
+						puts.incrementAndGet();
+						return true;
+					}
+					return null;
+				});
+
+		SimulatedRobot robot = new SimulatedRobot(RobotParameters.defaults());
+		Publishable[] published = {robot.getDriveTrain(), robot.getWinch()};
+
+		DashboardPublisher dashboard = new DashboardPublisher(table);
+		for (Publishable component : published) {
+			component.addFields(dashboard);
+		}
+		dashboard.start();
+
+		long[] times = new long[ticks];
+		long period = (long) (1e9 / Robot.TICKS_PER_SEC);
+		long next = 0;
+
+		//ticks run back to back have warm caches, unlike ticks 20 ms apart
+		long warmTotal = 0;
+
+		for (int tick = -WARMUP_TICKS; tick < ticks; tick++) {
+			if (tick == 0) {
+				puts.set(0);
+				next = System.nanoTime();
+			}
+
+			//drive in bursts, with the winch going up and down
+			ScriptedController controller = robot.getController();
+			int time = tick + WARMUP_TICKS;
+			controller.setAxisRTrig((time / 100) % 2 == 0 ? 0.8 : 0);
+			controller.setButton(RoboticsController.BTN_RB, time % 150 == 0);
+			robot.getWinch().raise((time / 120) % 2 == 0 ? 1 : -1);
+			robot.teleopTick();
+
+			long start = System.nanoTime();
+			for (Publishable component : published) {
+				component.writeFields(dashboard);
+			}
+			dashboard.commit();
+			long elapsed = System.nanoTime() - start;
+
+			if (tick < 0) {
+				if (tick >= -WARMUP_TICKS / 2) {
+					warmTotal += elapsed;
+				}
+				continue;
+			}
+
+			times[tick] = elapsed;
+			next += period;
+			long wait = next - System.nanoTime();
+			if (wait > 0) {
+				Thread.sleep(wait / 1000000, (int) (wait % 1000000));
+			}
+		}
+
+		dashboard.stop();
+
+		Arrays.sort(times);
+		long total = 0;
+		for (long time : times) {
+			total += time;
+		}
+
+		long everyTick = (long) ticks * dashboard.getFieldCount();
+		System.out.printf("%d fields; control loop: mean %d ns, median %d ns, 99%% %d ns per tick " +
+				"(%d ns back to back)%n", dashboard.getFieldCount(), total / ticks, times[ticks / 2],
+				times[(int) (ticks * 0.99)], warmTotal / (WARMUP_TICKS / 2));
+		System.out.printf("%d puts in %.1f s, instead of %d putting every field every tick (%.1f%%)%n",
+				puts.get(), seconds, everyTick, 100.0 * puts.get() / everyTick);
+	}
+}
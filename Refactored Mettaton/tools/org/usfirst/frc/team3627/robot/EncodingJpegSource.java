@@ -0,0 +1,71 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+/**
+ * Supplies JPEG frames for the driver stream by compressing the
+ * frames of another FrameSource on a computer. This is used to
+ * test the stream without a roboRIO or a camera.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class EncodingJpegSource implements JpegSource {
+	
+	private FrameSource source;
+	private int[] pixels;
+	private BufferedImage frame;
+	private ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+	
+	/**
+	 * Creates an EncodingJpegSource that compresses the frames of
+	 * the given source.
+	 * 
+	 * @param source the source of uncompressed frames
+	 */
+	public EncodingJpegSource(FrameSource source) {
+		this.source = source;
+		pixels = new int[source.getWidth() * source.getHeight()];
+		frame = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+	}
+	
+	public byte[] capture(StreamSettings settings) {
+		source.grabFrame(pixels);
+		frame.setRGB(0, 0, frame.getWidth(), frame.getHeight(), pixels, 0, frame.getWidth());
+		
+		BufferedImage image = frame;
+		if (frame.getWidth() != settings.getWidth() || frame.getHeight() != settings.getHeight()) {
+			image = new BufferedImage(settings.getWidth(), settings.getHeight(), BufferedImage.TYPE_INT_RGB);
+			Graphics2D graphics = image.createGraphics();
+			graphics.drawImage(frame, 0, 0, settings.getWidth(), settings.getHeight(), null);
+			graphics.dispose();
+		}
+		
+		ImageWriteParam param = writer.getDefaultWriteParam();
+		param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+		param.setCompressionQuality(Math.max(0.01f, settings.getQuality() / 100f));
+		
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try {
+			MemoryCacheImageOutputStream output = new MemoryCacheImageOutputStream(bytes);
+			writer.setOutput(output);
+			writer.write(null, new IIOImage(image, null, null), param);
+			output.close();
+		} catch (IOException e) {
+			
+			//writing to memory cannot actually fail
+			throw new IllegalStateException(e);
+		}
+		
+		return bytes.toByteArray();
+	}
+}
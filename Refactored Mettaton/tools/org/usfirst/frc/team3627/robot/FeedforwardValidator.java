@@ -0,0 +1,81 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Checks the FeedforwardCalibrator in simulation. It calibrates a
+ * SimulatedRobot, checks the fit against the model, and shows how
+ * speeds follow small inputs with and without the feedforward:
+ *
+ * java FeedforwardValidator
+ *
+ * It exits with a nonzero status if a fitted constant is further
+ * from the model than its tolerance.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class FeedforwardValidator {
+
+	//how far the simulated fit may be from the model
+	static final double STATIC_TOLERANCE = 0.01;
+	static final double TOP_SPEED_TOLERANCE = 0.05;
+	static final double ACCELERATION_TOLERANCE = 0.2;
+
+	//stick inputs shown in the comparison
+	static final double[] COMPARISON_INPUTS = {0.15, 0.2, 0.3, 0.5, 0.7, 1};
+
+	public static void main(String[] args) {
+		SimulatedRobot robot = new SimulatedRobot(RobotParameters.defaults());
+		TankDriveModel model = robot.getDriveModel();
+		FeedforwardCalibrator calibrator = new FeedforwardCalibrator(robot.getDriveTrain(),
+				robot.getLeftEncoder(), robot.getRightEncoder());
+
+		calibrator.start();
+		while (!calibrator.calibrate()) {
+			robot.tick();
+		}
+		System.out.print(calibrator.report());
+
+		//what the model's own constants work out to
+		double staticDuty = model.getStaticDuty();
+		double expectedKA = (1 - staticDuty) * TankDriveModel.DEFAULT_TIME_CONSTANT;
+		System.out.printf("model: kS=%.4f kV=%.4f kA=%.4f, top speed %.2f m/s%n",
+				staticDuty, 1 - staticDuty, expectedKA, model.getFreeSpeed());
+
+		boolean passed = true;
+		for (Feedforward side : new Feedforward[] {calibrator.getLeft(), calibrator.getRight()}) {
+			passed &= Math.abs(side.getKS() - staticDuty) <= STATIC_TOLERANCE;
+			passed &= Math.abs(side.getKA() - expectedKA) <= ACCELERATION_TOLERANCE * expectedKA;
+		}
+		for (double topSpeed : new double[] {calibrator.getLeftTopSpeed(), calibrator.getRightTopSpeed()}) {
+			passed &= Math.abs(topSpeed - model.getFreeSpeed()) <= TOP_SPEED_TOLERANCE * model.getFreeSpeed();
+		}
+
+		//how fast the robot drives for each stick input, as a fraction
+		//of the speed the (scaled) input asks for
+		System.out.println();
+		System.out.println("stick  asked    without feedforward    with feedforward");
+		for (double input : COMPARISON_INPUTS) {
+			double without = holdStick(null, null, input);
+			double with = holdStick(calibrator.getLeft(), calibrator.getRight(), input);
+			double asked = robot.getDriveTrain().getScaledValue(input) * model.getFreeSpeed();
+			System.out.printf("%.2f   %.2f m/s %6.2f m/s (%3.0f%%)    %6.2f m/s (%3.0f%%)%n",
+					input, asked, without, 100 * without / asked, with, 100 * with / asked);
+		}
+
+		Validation.finish(passed);
+	}
+
+	/**
+	 * Holds both sticks at the given input on a new SimulatedRobot
+	 * until it settles, and returns its speed.
+	 */
+	private static double holdStick(Feedforward left, Feedforward right, double input) {
+		SimulatedRobot robot = new SimulatedRobot(RobotParameters.defaults());
+		robot.getDriveTrain().setFeedforward(left, right);
+		robot.getController().setAxisLY(input);
+		robot.getController().setAxisRY(input);
+
+		Validation.teleopUntil(robot, 2);
+		return robot.getDriveModel().getSpeed();
+	}
+}
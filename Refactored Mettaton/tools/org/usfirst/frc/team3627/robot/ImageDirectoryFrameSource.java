@@ -0,0 +1,111 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Supplies frames from a directory of recorded JPEG images instead
+ * of a camera. This is used to test and benchmark the vision code
+ * on a computer.
+ * 
+ * Frames are supplied in file name order and then repeat. Every
+ * image is decoded when the source is created, so grabbing a frame
+ * only costs a copy and the vision code can be timed on its own.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class ImageDirectoryFrameSource implements FrameSource {
+	
+	private List<int[]> frames = new ArrayList<int[]>();
+	private List<String> names = new ArrayList<String>();
+	private int width;
+	private int height;
+	private int next;
+	private boolean repeat;
+	
+	/**
+	 * Loads every JPEG in the given directory. Every image must be
+	 * the same size.
+	 * 
+	 * @param directory the directory to load images from
+	 * @param repeat if true, start over after the last image instead of stopping
+	 * @throws IOException when an image cannot be read
+	 * @throws IllegalArgumentException when there are no images or the sizes differ
+	 */
+	public ImageDirectoryFrameSource(File directory, boolean repeat) throws IOException {
+		this.repeat = repeat;
+		
+		File[] files = directory.listFiles();
+		if (files == null) {
+			throw new IllegalArgumentException(directory + " is not a directory");
+		}
+		Arrays.sort(files);
+		
+		for (File file : files) {
+			String name = file.getName().toLowerCase();
+			if (!name.endsWith(".jpg") && !name.endsWith(".jpeg")) {
+				continue;
+			}
+			
+			BufferedImage image = ImageIO.read(file);
+			if (frames.isEmpty()) {
+				width = image.getWidth();
+				height = image.getHeight();
+			} else if (image.getWidth() != width || image.getHeight() != height) {
+				throw new IllegalArgumentException(file + " is not " + width + "x" + height);
+			}
+			
+			int[] pixels = new int[width * height];
+			image.getRGB(0, 0, width, height, pixels, 0, width);
+			frames.add(pixels);
+			names.add(file.getName());
+		}
+		
+		if (frames.isEmpty()) {
+			throw new IllegalArgumentException("no JPEG images in " + directory);
+		}
+	}
+	
+	public int getWidth() {
+		return width;
+	}
+	
+	public int getHeight() {
+		return height;
+	}
+	
+	public int getFrameCount() {
+		return frames.size();
+	}
+	
+	/**
+	 * Returns the file name of a frame.
+	 * 
+	 * @param index the index of the frame
+	 * @return the file name of the frame
+	 */
+	public String getFrameName(int index) {
+		return names.get(index);
+	}
+	
+	public double grabFrame(int[] pixels) {
+		if (next >= frames.size()) {
+			if (!repeat) {
+				return -1;
+			}
+			next = 0;
+		}
+		
+		System.arraycopy(frames.get(next), 0, pixels, 0, width * height);
+		next++;
+		
+		return System.nanoTime() / 1e9;
+	}
+}
@@ -0,0 +1,163 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures how late the control loop runs while background threads
+ * keep every core busy, with and without a CorePartition pinning them
+ * to separate cores.
+ *
+ * Each measurement runs in a new JVM. The control loop is a WarmUp's
+ * shadow robot, ticked every 20 ms like the periodic functions, once
+ * it is warmed up. Meanwhile one background thread per core runs the
+ * vision pipeline on frames as fast as it can, as vision and the
+ * camera stream would with work queued up. For each tick the time
+ * from when it was due until it started, and until it finished, is
+ * recorded.
+ *
+ * java JitterBenchmark [seconds]
+ * java JitterBenchmark pinned|unpinned seconds
+ *
+ * Pinning needs at least 2 cores, /proc/thread-self and taskset, as on
+ * the roboRIO; elsewhere both runs are unpinned, and the pinned run
+ * says why.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class JitterBenchmark {
+
+	static final int DEFAULT_SECONDS = 20;
+
+	static final double PERIOD = 1 / Robot.TICKS_PER_SEC;
+
+	static final int FRAME_WIDTH = 320;
+	static final int FRAME_HEIGHT = 240;
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length == 2 && (args[0].equals("pinned") || args[0].equals("unpinned"))) {
+			measure(args[0].equals("pinned"), Integer.parseInt(args[1]));
+			return;
+		}
+
+		int seconds = (args.length >= 1 ? Integer.parseInt(args[0]) : DEFAULT_SECONDS);
+		double[] unpinned = spawn("unpinned", seconds);
+		double[] pinned = spawn("pinned", seconds);
+
+		System.out.printf("%d s at %d ticks per second with %d busy background threads, in microseconds:%n",
+				seconds, (int) Robot.TICKS_PER_SEC, CorePartition.CPUS);
+		System.out.printf("%-10s %14s %14s %14s %16s%n", "", "median start", "99% start", "worst start",
+				"99% finished");
+		print("unpinned", unpinned);
+		print("pinned", pinned);
+	}
+
+	private static void print(String name, double[] result) {
+		System.out.printf("%-10s %14.0f %14.0f %14.0f %16.0f%n", name, result[0], result[1], result[2], result[3]);
+	}
+
+	/**
+	 * Runs one measurement in a new JVM.
+	 *
+	 * @return the median, 99th percentile and worst time from each tick
+	 * being due to starting, and the 99th percentile to finishing, in microseconds
+	 */
+	private static double[] spawn(String mode, int seconds) throws IOException, InterruptedException {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+				JitterBenchmark.class.getName(), mode, Integer.toString(seconds)).redirectErrorStream(true).start();
+
+		String result = null;
+		BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream()));
+		try {
+			for (String line = in.readLine(); line != null; line = in.readLine()) {
+				if (line.startsWith("result ")) {
+					result = line;
+				} else {
+					System.out.println(mode + ": " + line);
+				}
+			}
+		} finally {
+			in.close();
+		}
+
+		if (process.waitFor() != 0 || result == null) {
+			throw new IllegalStateException("the " + mode + " run failed");
+		}
+
+		String[] fields = result.split(" ");
+		return new double[] {Double.parseDouble(fields[1]), Double.parseDouble(fields[2]),
+				Double.parseDouble(fields[3]), Double.parseDouble(fields[4])};
+	}
+
+	/**
+	 * Ticks a warmed-up robot against busy background threads and
+	 * prints the timing on a single "result" line.
+	 */
+	private static void measure(boolean pinned, int seconds) {
+		CorePartition.setPinningEnabled(pinned);
+
+		WarmUp warmUp = new WarmUp();
+		while (!warmUp.run(1)) {
+			//keep going until it is compiled
+		}
+		WarmUp robot = new WarmUp();
+
+		//the same order as Robot: background threads first, then the loop
+		for (int i = 0; i < CorePartition.CPUS; i++) {
+			CorePartition.newBackgroundThread(JitterBenchmark::processFrames, "Load " + i).start();
+		}
+		CorePartition.pinControlLoop();
+		System.out.print(CorePartition.report());
+
+		int ticks = (int) (seconds * Robot.TICKS_PER_SEC);
+		long period = (long) (PERIOD * 1e9);
+		long[] starts = new long[ticks];
+		long[] finishes = new long[ticks];
+
+		long due = System.nanoTime() + period;
+		for (int i = 0; i < ticks; i++) {
+			for (long now = System.nanoTime(); now < due; now = System.nanoTime()) {
+				LockSupport.parkNanos(due - now);
+			}
+
+			long start = System.nanoTime();
+			robot.tick();
+			starts[i] = start - due;
+			finishes[i] = System.nanoTime() - due;
+			due += period;
+
+			//a tick that ran past the next one is not made up for, as
+			//the driver station waits for no one
+			due = Math.max(due, System.nanoTime());
+		}
+
+		Arrays.sort(starts);
+		Arrays.sort(finishes);
+		System.out.println("result " + starts[ticks / 2] / 1e3 + " " + starts[ticks * 99 / 100] / 1e3 + " " +
+				starts[ticks - 1] / 1e3 + " " + finishes[ticks * 99 / 100] / 1e3);
+	}
+
+	/**
+	 * Runs the vision pipeline on a frame with a target in it, over
+	 * and over.
+	 */
+	private static void processFrames() {
+		VisionPipeline pipeline = new VisionPipeline(FRAME_WIDTH, FRAME_HEIGHT);
+		int[] frame = new int[FRAME_WIDTH * FRAME_HEIGHT];
+		for (int y = FRAME_HEIGHT / 3; y < FRAME_HEIGHT / 2; y++) {
+			for (int x = FRAME_WIDTH / 3; x < 2 * FRAME_WIDTH / 3; x++) {
+				frame[y * FRAME_WIDTH + x] = 0x20ff40;
+			}
+		}
+
+		for (double time = 0; true; time += PERIOD) {
+			pipeline.process(frame, time);
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * A simple physics model of the Mettaton launcher's flywheels and
+ * ball, used to run an intake and a shot on a computer without the
+ * robot.
+ *
+ * Each flywheel's speed is a fraction of its free speed, and follows
+ * its duty cycle with a time constant: the long one while the motor
+ * drives it up to speed, and a short one while the Talon brakes it
+ * down. The ball's position is measured in meters from the ball
+ * sensor, negative while it is still outside. While the flywheels
+ * spin inward (the left forward and the right backward) they pull
+ * the ball in at their surface speed, until it stops against the
+ * backstop. Anything that keeps the flywheels pulling after the
+ * sensor trips pushes the ball past it, and that distance is tracked
+ * as overshoot.
+ *
+ * A seated ball sits clear of the flywheels until the pusher pushes
+ * it into them, when it is launched at their surface speed.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class LauncherModel {
+
+	//default characteristics of Mettaton
+	static final double DEFAULT_SURFACE_SPEED = 5;
+	static final double DEFAULT_TIME_CONSTANT = 0.8;
+	static final double DEFAULT_BRAKE_TIME_CONSTANT = 0.05;
+
+	//where a ball is placed to be taken in, and the hard stop behind
+	//the sensor, in meters from the sensor
+	static final double BALL_START = -0.3;
+	static final double BACKSTOP = 0.15;
+
+	//surface speed at full duty cycle, in meters per second
+	private double surfaceSpeed;
+	private double timeConstant;
+	private double brakeTimeConstant;
+
+	//fractions of free speed; positive is forward
+	private double leftSpeed;
+	private double rightSpeed;
+
+	private double ballPosition;
+	private boolean launched;
+	private double launchSpeed;
+
+	//furthest the ball went past the sensor
+	private double overshoot;
+
+	//the simulated sensor, which the launcher under test reads
+	private SimulatedLimitSwitch ballSensor = new SimulatedLimitSwitch();
+
+	/**
+	 * Creates a LauncherModel with the specified characteristics.
+	 *
+	 * @param surfaceSpeed speed of the flywheels' surface at full duty cycle, in meters per second
+	 * @param timeConstant how quickly the flywheels spin up, in seconds
+	 * @param brakeTimeConstant how quickly the flywheels brake, in seconds
+	 */
+	public LauncherModel(double surfaceSpeed, double timeConstant, double brakeTimeConstant) {
+		this.surfaceSpeed = surfaceSpeed;
+		this.timeConstant = timeConstant;
+		this.brakeTimeConstant = brakeTimeConstant;
+		reset();
+	}
+
+	/**
+	 * Creates a LauncherModel with the characteristics of Mettaton.
+	 */
+	public LauncherModel() {
+		this(DEFAULT_SURFACE_SPEED, DEFAULT_TIME_CONSTANT, DEFAULT_BRAKE_TIME_CONSTANT);
+	}
+
+	/**
+	 * Advances the model by the given amount of time.
+	 *
+	 * @param leftDuty the duty cycle of the left flywheel motor
+	 * @param rightDuty the duty cycle of the right flywheel motor
+	 * @param pusherExtended whether the pusher is extended
+	 * @param dt the amount of time to advance, in seconds
+	 */
+	public void step(double leftDuty, double rightDuty, boolean pusherExtended, double dt) {
+		leftSpeed = spin(leftSpeed, leftDuty, dt);
+		rightSpeed = spin(rightSpeed, rightDuty, dt);
+
+		if (launched) {
+			return;
+		}
+
+		//the flywheels spin in opposite directions to grip the ball
+		double grip = (leftSpeed - rightSpeed) / 2;
+
+		if (grip > 0) {
+			ballPosition = Math.min(BACKSTOP, ballPosition + grip * surfaceSpeed * dt);
+			overshoot = Math.max(overshoot, ballPosition);
+		}
+
+		if (pusherExtended && ballPosition >= 0) {
+			launched = true;
+			launchSpeed = Math.max(0, -grip) * surfaceSpeed;
+		}
+
+		ballSensor.setPressed(!launched && ballPosition >= 0);
+	}
+
+	/**
+	 * Returns a flywheel's speed after dt, braking when the duty
+	 * cycle is closer to stopped than the flywheel is.
+	 */
+	private double spin(double speed, double duty, double dt) {
+		boolean braking = (Math.abs(duty) < Math.abs(speed) || duty * speed < 0);
+		return speed + (duty - speed) * Math.min(1, dt / (braking ? brakeTimeConstant : timeConstant));
+	}
+
+	/**
+	 * Stops the flywheels and places a new ball outside the launcher,
+	 * ready to be taken in.
+	 */
+	public void reset() {
+		leftSpeed = 0;
+		rightSpeed = 0;
+		ballPosition = BALL_START;
+		launched = false;
+		launchSpeed = 0;
+		overshoot = 0;
+		ballSensor.setPressed(false);
+	}
+
+	public double getLeftSpeed() {
+		return leftSpeed;
+	}
+
+	public double getRightSpeed() {
+		return rightSpeed;
+	}
+
+	public double getBallPosition() {
+		return ballPosition;
+	}
+
+	public boolean isLaunched() {
+		return launched;
+	}
+
+	/**
+	 * Returns how fast the ball left the launcher.
+	 *
+	 * @return the speed, in meters per second, or 0 if it has not been launched
+	 */
+	public double getLaunchSpeed() {
+		return launchSpeed;
+	}
+
+	public double getOvershoot() {
+		return overshoot;
+	}
+
+	public SimulatedLimitSwitch getBallSensor() {
+		return ballSensor;
+	}
+}
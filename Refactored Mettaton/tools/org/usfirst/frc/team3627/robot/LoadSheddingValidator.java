@@ -0,0 +1,142 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Checks that a LoadGovernor keeps the critical control of the
+ * robot on time through an overload, and gives everything back
+ * afterwards.
+ *
+ * This runs a model of the control loop rather than the loop
+ * itself, so that the result does not depend on the computer it
+ * runs on. Each tick does its critical work (driving and updating
+ * the components), then its telemetry, each taking a fixed time.
+ * The camera stream and vision thread take time from the loop in
+ * proportion to how much they do, and from OVERLOAD_START to
+ * OVERLOAD_END something else takes a lot more, as a burst of
+ * camera encoding or logging would. A tick that
+ * runs over makes the next one start late.
+ *
+ * The stages are real: a RateDivider for the telemetry and an
+ * AdaptiveStreamController for the camera, shed by a real
+ * LoadGovernor, which prints every transition.
+ *
+ * java LoadSheddingValidator
+ *
+ * It exits with a nonzero status if the governed loop finishes its
+ * critical work late in more than MAX_LATE_FRACTION of its ticks, or
+ * has not restored every stage by the end.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class LoadSheddingValidator {
+
+	static final double PERIOD = 1 / Robot.TICKS_PER_SEC;
+	static final double DURATION = 25;
+	static final double OVERLOAD_START = 5;
+	static final double OVERLOAD_END = 15;
+
+	//time the work of a tick takes with nothing else running, in seconds
+	static final double CRITICAL = 0.003;
+	static final double TELEMETRY = 0.002;
+
+	//fraction of the loop's time taken by the camera at its default
+	//level, by the vision thread at full and shed rates, and by the overload
+	static final double CAMERA_LOAD = 0.3;
+	static final double VISION_LOAD = 0.25;
+	static final double SHED_VISION_LOAD = VISION_LOAD * VisionProcessor.SHED_FPS / 30;
+	static final double OVERLOAD = 2.7;
+
+	static final double MAX_LATE_FRACTION = 0.01;
+
+	public static void main(String[] args) throws InterruptedException {
+		double[] ungoverned = run(false);
+		System.out.println("Governed transitions:");
+		double[] governed = run(true);
+
+		//the governor prints on the background core, so let it catch up
+		CountDownLatch printed = new CountDownLatch(1);
+		CorePartition.submit(printed::countDown);
+		printed.await();
+
+		System.out.println("             critical late   worst critical finish   stages shed at end");
+		print("ungoverned", ungoverned);
+		print("governed", governed);
+
+		boolean passed = governed[0] <= MAX_LATE_FRACTION && governed[2] == 0;
+		Validation.finish(passed);
+	}
+
+	private static void print(String name, double[] result) {
+		System.out.printf("%-12s %10.1f %%       %8.1f ms               %d%n",
+				name, result[0] * 100, result[1] * 1e3, (int) result[2]);
+	}
+
+	/**
+	 * Runs the model loop, and returns the fraction of ticks whose
+	 * critical work finished after the next tick was due, the latest
+	 * it finished after its own tick was due, and the number of
+	 * stages still shed at the end.
+	 */
+	private static double[] run(boolean governed) {
+		LoadGovernor governor = new LoadGovernor(PERIOD);
+		RateDivider telemetry = new RateDivider();
+		AdaptiveStreamController camera = new AdaptiveStreamController(Double.MAX_VALUE, Double.MAX_VALUE);
+		final boolean[] visionShed = new boolean[1];
+
+		//same order as Robot
+		governor.addStage("telemetry", telemetry);
+		governor.addStage("camera", camera);
+		governor.addStage("vision", new Sheddable() {
+
+			public void shed() {
+				visionShed[0] = true;
+			}
+
+			public void restore() {
+				visionShed[0] = false;
+			}
+		});
+
+		double defaultCameraCost = AdaptiveStreamController.LADDER[AdaptiveStreamController.DEFAULT_LEVEL]
+				.getRelativeCost();
+
+		int ticks = (int) (DURATION / PERIOD);
+		int late = 0;
+		double worst = 0;
+		double end = 0;
+
+		for (int tick = 0; tick < ticks; tick++) {
+			double due = tick * PERIOD;
+			double start = Math.max(due, end);
+
+			//everything else running slows the loop down
+			double load = CAMERA_LOAD * camera.getSettings().getRelativeCost() / defaultCameraCost
+					+ (visionShed[0] ? SHED_VISION_LOAD : VISION_LOAD)
+					+ (due >= OVERLOAD_START && due < OVERLOAD_END ? OVERLOAD : 0);
+			double slowdown = 1 + load;
+
+			if (governed) {
+				governor.beginTick(start);
+			}
+
+			double critical = start + CRITICAL * slowdown;
+			end = critical;
+			if (telemetry.shouldRun()) {
+				end += TELEMETRY * slowdown;
+			}
+
+			if (governed) {
+				governor.endTick(end);
+			}
+
+			if (critical > due + PERIOD) {
+				late++;
+			}
+			worst = Math.max(worst, critical - due);
+		}
+
+		return new double[] {(double) late / ticks, worst, governor.getLevel()};
+	}
+}
@@ -0,0 +1,141 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * Tests the adaptive camera stream on a computer by pretending to be
+ * a dashboard on a link with limited bandwidth.
+ *
+ * It starts an AdaptiveStreamServer on the local machine that streams
+ * a directory of recorded JPEG images, connects to it, and reads the
+ * stream no faster than the current bandwidth limit allows. The limit
+ * changes every phase, and every second the client prints what it
+ * received and what the server decided:
+ *
+ * java LoopbackStreamClient imageDirectory [port] [phaseSeconds] [limit1 limit2 ...]
+ *
+ * Limits are in kilobytes per second, and 0 means no limit. The default
+ * phases go from a clear link to a congested one and back.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class LoopbackStreamClient {
+
+	static final int DEFAULT_TEST_PORT = 11800;
+	static final double DEFAULT_PHASE_SECONDS = 10;
+	static final int[] DEFAULT_LIMITS = {0, 200, 40, 400};
+
+	//bandwidth and latency targets for the test server
+	static final double TEST_BANDWIDTH_TARGET = 250000;
+	static final double TEST_LATENCY_TARGET = 0.1;
+
+	//small receive buffer, so the limit is felt by the server right away
+	static final int RECEIVE_BUFFER_SIZE = 4 * 1024;
+	static final int CHUNK_SIZE = 1024;
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length < 1) {
+			System.err.println("usage: LoopbackStreamClient imageDirectory [port] [phaseSeconds] [limit1 limit2 ...]");
+			return;
+		}
+
+		int port = (args.length >= 2 ? Integer.parseInt(args[1]) : DEFAULT_TEST_PORT);
+		double phaseSeconds = (args.length >= 3 ? Double.parseDouble(args[2]) : DEFAULT_PHASE_SECONDS);
+		int[] limits = DEFAULT_LIMITS;
+
+		if (args.length >= 4) {
+			limits = new int[args.length - 3];
+			for (int i = 0; i < limits.length; i++) {
+				limits[i] = Integer.parseInt(args[i + 3]);
+			}
+		}
+
+		//serve the recording on this machine
+		JpegSource source = new EncodingJpegSource(new ImageDirectoryFrameSource(new File(args[0]), true));
+		AdaptiveStreamServer server = new AdaptiveStreamServer(source,
+				new AdaptiveStreamController(TEST_BANDWIDTH_TARGET, TEST_LATENCY_TARGET), port);
+		server.start();
+
+		Socket socket = new Socket();
+		socket.setReceiveBufferSize(RECEIVE_BUFFER_SIZE);
+		socket.connect(new java.net.InetSocketAddress("localhost", port));
+
+		DataInputStream input = new DataInputStream(socket.getInputStream());
+		DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+
+		//ask for 30 fps, hardware compression and 320x240, like the dashboard
+		output.writeInt(30);
+		output.writeInt(-1);
+		output.writeInt(1);
+		output.flush();
+
+		byte[] chunk = new byte[CHUNK_SIZE];
+		long start = System.nanoTime();
+		long lastReport = start;
+		int frames = 0;
+		long bytes = 0;
+		long phaseBytes = 0;
+		int phase = -1;
+
+		while (true) {
+			double elapsed = (System.nanoTime() - start) / 1e9;
+			int currentPhase = (int) (elapsed / phaseSeconds);
+
+			if (currentPhase >= limits.length) {
+				break;
+			}
+
+			if (currentPhase != phase) {
+				phase = currentPhase;
+				phaseBytes = 0;
+				System.out.println("--- limit " + (limits[phase] == 0 ? "none" : limits[phase] + " kB/s") + " ---");
+			}
+
+			//read one frame, waiting as needed to stay under the limit
+			input.readInt();
+			int length = input.readInt();
+			int remaining = length;
+
+			while (remaining > 0) {
+				int read = input.read(chunk, 0, Math.min(chunk.length, remaining));
+				if (read < 0) {
+					throw new IOException("server closed the stream");
+				}
+				remaining -= read;
+				phaseBytes += read;
+
+				if (limits[phase] > 0) {
+					double phaseElapsed = elapsed - phase * phaseSeconds;
+					double allowed = limits[phase] * 1000.0 * Math.max(phaseElapsed, 0.001);
+					double ahead = (phaseBytes - allowed) / (limits[phase] * 1000.0);
+					if (ahead > 0) {
+						Thread.sleep((long) (ahead * 1000));
+					}
+					elapsed = (System.nanoTime() - start) / 1e9;
+				}
+			}
+
+			frames++;
+			bytes += length + 8;
+
+			long now = System.nanoTime();
+			if (now - lastReport >= 1000000000L) {
+				double seconds = (now - lastReport) / 1e9;
+				System.out.printf("received %.1f fps, %.0f kB/s | server: %s | %s%n",
+						frames / seconds, bytes / seconds / 1000, server.getSettings(),
+						server.getClientReport().trim());
+				frames = 0;
+				bytes = 0;
+				lastReport = now;
+			}
+		}
+
+		socket.close();
+		server.stop();
+	}
+}
@@ -0,0 +1,194 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures mechanism performance from the match logs written by the
+ * MatchLogger.
+ *
+ * Each log is memory-mapped and streamed through a MatchLogStats
+ * record by record, so logs are never read into memory and there is
+ * no limit on their size. Logs are measured in parallel across every
+ * core of the computer, then merged into a summary of all of them.
+ *
+ * This runs on a computer, not on the robot. Give it log files, or
+ * directories to search for .mlog files:
+ *
+ * java MatchLogAnalyzer [-csv output.csv] [-threads n] log1 [log2 ...]
+ *
+ * It prints one line per log and a report of every log together,
+ * and the CSV has one row per log plus a row for the total.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class MatchLogAnalyzer {
+
+	static final String LOG_EXTENSION = ".mlog";
+
+	//the most of a log mapped at once, a whole number of records
+	static final long MAX_MAP_SIZE = (Integer.MAX_VALUE / MatchLogFormat.RECORD_SIZE) * (long) MatchLogFormat.RECORD_SIZE;
+
+	public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+		String csv = null;
+		int threads = Runtime.getRuntime().availableProcessors();
+		List<File> logs = new ArrayList<File>();
+
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-csv") && i + 1 < args.length) {
+				csv = args[++i];
+			} else if (args[i].equals("-threads") && i + 1 < args.length) {
+				threads = Integer.parseInt(args[++i]);
+			} else {
+				findLogs(new File(args[i]), logs, true);
+			}
+		}
+
+		if (logs.isEmpty()) {
+			System.err.println("usage: MatchLogAnalyzer [-csv output.csv] [-threads n] log1 [log2 ...]");
+			return;
+		}
+
+		long start = System.nanoTime();
+		List<MatchLogStats> results = analyzeAll(logs, threads);
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		MatchLogStats total = new MatchLogStats("total");
+		long bytes = 0;
+
+		for (int i = 0; i < results.size(); i++) {
+			MatchLogStats stats = results.get(i);
+			total.merge(stats);
+			bytes += logs.get(i).length();
+
+			System.out.printf("%s: %d records, 99%% loop period %.1f ms%n",
+					stats.getName(), stats.getRecords(), stats.getPeriodPercentile(0.99));
+		}
+
+		System.out.println();
+		System.out.print(total.report());
+		System.out.printf("%nAnalyzed %d logs (%.1f MB, %d records) in %.2f s on %d threads%n",
+				results.size(), bytes / 1e6, total.getRecords(), seconds, threads);
+
+		if (csv != null) {
+			PrintWriter writer = new PrintWriter(new FileWriter(csv));
+
+			try {
+				writer.println(MatchLogStats.CSV_HEADER);
+				for (MatchLogStats stats : results) {
+					writer.println(stats.toCsvRow());
+				}
+				writer.println(total.toCsvRow());
+			} finally {
+				writer.close();
+			}
+
+			System.out.println("CSV written to " + csv);
+		}
+	}
+
+	/**
+	 * Analyzes every log on a pool of threads.
+	 *
+	 * @param logs the log files
+	 * @param threads the number of threads to use
+	 * @return the stats of each log, in the same order
+	 */
+	public static List<MatchLogStats> analyzeAll(List<File> logs, int threads)
+			throws InterruptedException, ExecutionException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+		try {
+			List<Callable<MatchLogStats>> tasks = new ArrayList<Callable<MatchLogStats>>();
+			for (final File log : logs) {
+				tasks.add(() -> analyze(log));
+			}
+
+			List<MatchLogStats> results = new ArrayList<MatchLogStats>();
+			for (Future<MatchLogStats> future : pool.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+
+			return results;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Streams through one log.
+	 *
+	 * @param log the log file
+	 * @return the stats of the log
+	 * @throws IOException when the log cannot be read or is not a match log
+	 */
+	public static MatchLogStats analyze(File log) throws IOException {
+		MatchLogStats stats = new MatchLogStats(log.getPath());
+		RandomAccessFile file = new RandomAccessFile(log, "r");
+
+		try {
+			FileChannel channel = file.getChannel();
+
+			MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, MatchLogFormat.HEADER_SIZE);
+			if (header.getInt(MatchLogFormat.HEADER_MAGIC) != MatchLogFormat.MAGIC) {
+				throw new IOException(log + " is not a match log");
+			}
+			if (header.getInt(MatchLogFormat.HEADER_VERSION) != MatchLogFormat.VERSION
+					|| header.getInt(MatchLogFormat.HEADER_RECORD_SIZE) != MatchLogFormat.RECORD_SIZE) {
+				throw new IOException(log + " was written by a different version of the logger");
+			}
+
+			//trust the count in the header, but never read past the end of the file
+			long count = header.getInt(MatchLogFormat.HEADER_RECORD_COUNT) & 0xFFFFFFFFL;
+			count = Math.min(count, (channel.size() - MatchLogFormat.HEADER_SIZE) / MatchLogFormat.RECORD_SIZE);
+			long end = MatchLogFormat.HEADER_SIZE + count * MatchLogFormat.RECORD_SIZE;
+
+			//map the records a piece at a time
+			for (long position = MatchLogFormat.HEADER_SIZE; position < end; position += MAX_MAP_SIZE) {
+				long size = Math.min(MAX_MAP_SIZE, end - position);
+				MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+
+				for (int offset = 0; offset < size; offset += MatchLogFormat.RECORD_SIZE) {
+					stats.accept(records, offset);
+				}
+			}
+		} finally {
+			file.close();
+		}
+
+		return stats;
+	}
+
+	/**
+	 * Adds a log, or every log in a directory and its subdirectories,
+	 * to the list, in name order. Files named on the command line are
+	 * added whatever their extension.
+	 */
+	private static void findLogs(File path, List<File> logs, boolean named) {
+		if (path.isDirectory()) {
+			File[] children = path.listFiles();
+			if (children != null) {
+				Arrays.sort(children);
+				for (File child : children) {
+					findLogs(child, logs, false);
+				}
+			}
+		} else if (named || path.getName().endsWith(LOG_EXTENSION)) {
+			logs.add(path);
+		}
+	}
+}
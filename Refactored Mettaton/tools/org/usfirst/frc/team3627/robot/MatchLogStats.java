@@ -0,0 +1,365 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Mechanism performance measured from match log records.
+ *
+ * Records are fed in one at a time, in order, and every metric is
+ * updated as they go, so a log of any size can be measured without
+ * holding it in memory. The stats of several logs can be merged
+ * into one to summarize a whole event or season.
+ *
+ * The metrics are:
+ * - loop period: time between consecutive records, as a histogram
+ * - drive train: ticks where a side was at full output (saturated),
+ *   and ticks where a dampener was still stepping toward its target
+ * - winch: time from leaving the bottom switch to reaching the top
+ *   switch, and from the top back to the bottom
+ * - shots: time the flywheels had been shooting when the pusher
+ *   extended, which is how long they had to spin up
+ *
+ * Whenever the robot is disabled, nothing is logged, so a long gap
+ * between records (or a change of mode) starts a new session. Periods
+ * and movements are never measured across sessions.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class MatchLogStats {
+
+	//header for the CSV columns written by toCsvRow()
+	static final String CSV_HEADER = "log,records,sessions,seconds,dropped,autonomousTicks,teleopTicks," +
+			"meanPeriodMs,p50PeriodMs,p99PeriodMs,maxPeriodMs,overruns,driveSaturated,driveLagging," +
+			"winchRaises,meanRaiseTime,minRaiseTime,maxRaiseTime,winchLowers,meanLowerTime," +
+			"shots,shotsWithoutSpinUp,meanSpinUp,minSpinUp";
+
+	//loop periods are binned by 0.1 ms up to 100 ms; longer ones go in the last bin
+	static final int PERIOD_BIN = 100;
+	static final int PERIOD_BINS = 1000;
+
+	//a tick that took this much longer than it should have, in microseconds
+	static final long OVERRUN_PERIOD = (long) (1.5e6 / Robot.TICKS_PER_SEC);
+
+	//a gap this long between records means the robot was disabled, in microseconds
+	static final long SESSION_GAP = 1000000;
+
+	//outputs at least this far from 0 count as saturated
+	static final double SATURATED_OUTPUT = 0.99;
+
+	//dampeners further than this from their target count as lagging
+	static final double LAGGING_ERROR = 0.001;
+
+	private String name;
+
+	//totals
+	private long records;
+	private long sessions;
+	private long sessionMicros;
+	private long dropped;
+	private long[] modeTicks = new long[MatchLogFormat.MODE_NAMES.length];
+
+	//loop periods
+	private long[] periodBins = new long[PERIOD_BINS];
+	private long periodCount;
+	private long periodSum;
+	private long periodMax;
+	private long overruns;
+
+	//drive train
+	private long driveSaturated;
+	private long driveLagging;
+
+	//winch traversals, in seconds
+	private long raises;
+	private double raiseTotal;
+	private double raiseMin = Double.POSITIVE_INFINITY;
+	private double raiseMax;
+	private long lowers;
+	private double lowerTotal;
+
+	//shots, in seconds of spin up
+	private long shots;
+	private long shotsWithoutSpinUp;
+	private double spinUpTotal;
+	private double spinUpMin = Double.POSITIVE_INFINITY;
+	private long spinUpCount;
+
+	//state carried from one record to the next; not merged
+	private boolean started;
+	private long lastTimestamp;
+	private int lastSequence;
+	private int lastMode;
+	private int lastFlags;
+	private int lastFlywheelState;
+	private long leftBottomTime = -1;
+	private long leftTopTime = -1;
+	private long shootingSince = -1;
+
+	/**
+	 * Creates empty stats.
+	 *
+	 * @param name what the stats are of, such as the log file name
+	 */
+	public MatchLogStats(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getRecords() {
+		return records;
+	}
+
+	/**
+	 * Measures one record.
+	 *
+	 * @param log the buffer holding the record
+	 * @param offset the offset of the record in the buffer
+	 */
+	public void accept(ByteBuffer log, int offset) {
+		long timestamp = log.getLong(offset + MatchLogFormat.TIMESTAMP);
+		int sequence = log.getInt(offset + MatchLogFormat.SEQUENCE);
+		int flags = log.get(offset + MatchLogFormat.FLAGS);
+		int flywheelState = log.get(offset + MatchLogFormat.FLYWHEEL_STATE);
+		int mode = log.get(offset + MatchLogFormat.MODE);
+
+		records++;
+		if (mode >= 0 && mode < modeTicks.length) {
+			modeTicks[mode]++;
+		}
+
+		long period = timestamp - lastTimestamp;
+		boolean newSession = (!started || mode != lastMode || period < 0 || period > SESSION_GAP);
+
+		if (started && sequence - lastSequence > 1) {
+			dropped += sequence - lastSequence - 1;
+		}
+
+		if (newSession) {
+			sessions++;
+			leftBottomTime = -1;
+			leftTopTime = -1;
+			shootingSince = (flywheelState == Flywheel.FlywheelState.Shooting.ordinal() ? timestamp : -1);
+		} else {
+			sessionMicros += period;
+			measurePeriod(period);
+			measureWinch(timestamp, flags);
+			measureShots(timestamp, flags, flywheelState);
+		}
+
+		measureDrive(log, offset);
+
+		started = true;
+		lastTimestamp = timestamp;
+		lastSequence = sequence;
+		lastMode = mode;
+		lastFlags = flags;
+		lastFlywheelState = flywheelState;
+	}
+
+	private void measurePeriod(long period) {
+		int bin = (int) Math.min(period / PERIOD_BIN, PERIOD_BINS - 1);
+		periodBins[bin]++;
+		periodCount++;
+		periodSum += period;
+		periodMax = Math.max(periodMax, period);
+
+		if (period > OVERRUN_PERIOD) {
+			overruns++;
+		}
+	}
+
+	private void measureDrive(ByteBuffer log, int offset) {
+		float leftCurrent = log.getFloat(offset + MatchLogFormat.LEFT_CURRENT);
+		float rightCurrent = log.getFloat(offset + MatchLogFormat.RIGHT_CURRENT);
+		float leftTarget = log.getFloat(offset + MatchLogFormat.LEFT_TARGET);
+		float rightTarget = log.getFloat(offset + MatchLogFormat.RIGHT_TARGET);
+
+		if (Math.abs(leftCurrent) >= SATURATED_OUTPUT || Math.abs(rightCurrent) >= SATURATED_OUTPUT) {
+			driveSaturated++;
+		}
+
+		if (Math.abs(leftTarget - leftCurrent) > LAGGING_ERROR || Math.abs(rightTarget - rightCurrent) > LAGGING_ERROR) {
+			driveLagging++;
+		}
+	}
+
+	private void measureWinch(long timestamp, int flags) {
+		boolean wasDown = (lastFlags & MatchLogFormat.FLAG_LOWER_LIMIT) != 0;
+		boolean wasUp = (lastFlags & MatchLogFormat.FLAG_UPPER_LIMIT) != 0;
+		boolean down = (flags & MatchLogFormat.FLAG_LOWER_LIMIT) != 0;
+		boolean up = (flags & MatchLogFormat.FLAG_UPPER_LIMIT) != 0;
+
+		if (wasDown && !down) {
+			leftBottomTime = timestamp;
+		}
+		if (wasUp && !up) {
+			leftTopTime = timestamp;
+		}
+
+		//a traversal only counts if it went all the way from one switch to the other
+		if (!wasUp && up) {
+			if (leftBottomTime >= 0) {
+				double time = (timestamp - leftBottomTime) / 1e6;
+				raises++;
+				raiseTotal += time;
+				raiseMin = Math.min(raiseMin, time);
+				raiseMax = Math.max(raiseMax, time);
+			}
+			leftBottomTime = -1;
+		}
+
+		if (!wasDown && down) {
+			if (leftTopTime >= 0) {
+				lowers++;
+				lowerTotal += (timestamp - leftTopTime) / 1e6;
+			}
+			leftTopTime = -1;
+		}
+	}
+
+	private void measureShots(long timestamp, int flags, int flywheelState) {
+		int shooting = Flywheel.FlywheelState.Shooting.ordinal();
+
+		if (flywheelState == shooting && lastFlywheelState != shooting) {
+			shootingSince = timestamp;
+		} else if (flywheelState != shooting) {
+			shootingSince = -1;
+		}
+
+		boolean wasExtended = (lastFlags & MatchLogFormat.FLAG_PUSHER_EXTENDED) != 0;
+		boolean extended = (flags & MatchLogFormat.FLAG_PUSHER_EXTENDED) != 0;
+
+		if (!wasExtended && extended) {
+			shots++;
+
+			if (flywheelState != shooting) {
+				shotsWithoutSpinUp++;
+			} else if (shootingSince >= 0) {
+				double spinUp = (timestamp - shootingSince) / 1e6;
+				spinUpTotal += spinUp;
+				spinUpMin = Math.min(spinUpMin, spinUp);
+				spinUpCount++;
+			}
+		}
+	}
+
+	/**
+	 * Adds the totals of other stats to these.
+	 *
+	 * @param other the stats to add
+	 */
+	public void merge(MatchLogStats other) {
+		records += other.records;
+		sessions += other.sessions;
+		sessionMicros += other.sessionMicros;
+		dropped += other.dropped;
+
+		for (int i = 0; i < modeTicks.length; i++) {
+			modeTicks[i] += other.modeTicks[i];
+		}
+
+		for (int i = 0; i < PERIOD_BINS; i++) {
+			periodBins[i] += other.periodBins[i];
+		}
+		periodCount += other.periodCount;
+		periodSum += other.periodSum;
+		periodMax = Math.max(periodMax, other.periodMax);
+		overruns += other.overruns;
+
+		driveSaturated += other.driveSaturated;
+		driveLagging += other.driveLagging;
+
+		raises += other.raises;
+		raiseTotal += other.raiseTotal;
+		raiseMin = Math.min(raiseMin, other.raiseMin);
+		raiseMax = Math.max(raiseMax, other.raiseMax);
+		lowers += other.lowers;
+		lowerTotal += other.lowerTotal;
+
+		shots += other.shots;
+		shotsWithoutSpinUp += other.shotsWithoutSpinUp;
+		spinUpTotal += other.spinUpTotal;
+		spinUpMin = Math.min(spinUpMin, other.spinUpMin);
+		spinUpCount += other.spinUpCount;
+	}
+
+	/**
+	 * Returns the loop period below which the given fraction of periods fall.
+	 *
+	 * @param fraction the fraction, from 0 to 1
+	 * @return the period in milliseconds, to the nearest bin
+	 */
+	public double getPeriodPercentile(double fraction) {
+		long rank = (long) Math.ceil(fraction * periodCount);
+		long seen = 0;
+
+		for (int i = 0; i < PERIOD_BINS; i++) {
+			seen += periodBins[i];
+			if (seen >= rank && seen > 0) {
+				return (i + 1) * PERIOD_BIN / 1000.0;
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Describes the stats for a person to read.
+	 *
+	 * @return a report several lines long
+	 */
+	public String report() {
+		StringBuilder report = new StringBuilder();
+
+		report.append(String.format("%s: %d records in %d sessions, %.1f s enabled, %d dropped%n",
+				name, records, sessions, sessionMicros / 1e6, dropped));
+		report.append(String.format("  ticks: %d autonomous, %d teleop%n",
+				modeTicks[MatchLogFormat.MODE_AUTONOMOUS], modeTicks[MatchLogFormat.MODE_TELEOP]));
+		report.append(String.format("  loop period: mean %.2f ms, median %.1f ms, 99%% %.1f ms, max %.1f ms, %d overruns%n",
+				getMeanPeriod(), getPeriodPercentile(0.5), getPeriodPercentile(0.99), periodMax / 1000.0, overruns));
+		report.append(String.format("  drive train: saturated %.1f%% of ticks, dampeners lagging %.1f%% of ticks%n",
+				percent(driveSaturated, records), percent(driveLagging, records)));
+		report.append(String.format("  winch: %d raises (mean %.2f s, min %.2f s, max %.2f s), %d lowers (mean %.2f s)%n",
+				raises, average(raiseTotal, raises), finite(raiseMin), raiseMax, lowers, average(lowerTotal, lowers)));
+		report.append(String.format("  shots: %d (%d without the flywheels shooting), spin up mean %.2f s, min %.2f s%n",
+				shots, shotsWithoutSpinUp, average(spinUpTotal, spinUpCount), finite(spinUpMin)));
+
+		return report.toString();
+	}
+
+	/**
+	 * Describes the stats as a row of CSV, matching CSV_HEADER.
+	 *
+	 * @return the row, without a line ending
+	 */
+	public String toCsvRow() {
+		return name + "," + records + "," + sessions + "," + sessionMicros / 1e6 + "," + dropped + ","
+				+ modeTicks[MatchLogFormat.MODE_AUTONOMOUS] + "," + modeTicks[MatchLogFormat.MODE_TELEOP] + ","
+				+ getMeanPeriod() + "," + getPeriodPercentile(0.5) + "," + getPeriodPercentile(0.99) + ","
+				+ periodMax / 1000.0 + "," + overruns + ","
+				+ percent(driveSaturated, records) / 100 + "," + percent(driveLagging, records) / 100 + ","
+				+ raises + "," + average(raiseTotal, raises) + "," + finite(raiseMin) + "," + raiseMax + ","
+				+ lowers + "," + average(lowerTotal, lowers) + ","
+				+ shots + "," + shotsWithoutSpinUp + "," + average(spinUpTotal, spinUpCount) + "," + finite(spinUpMin);
+	}
+
+	private double getMeanPeriod() {
+		return average(periodSum / 1000.0, periodCount);
+	}
+
+	private static double average(double total, long count) {
+		return (count == 0 ? 0 : total / count);
+	}
+
+	private static double percent(long count, long total) {
+		return (total == 0 ? 0 : 100.0 * count / total);
+	}
+
+	private static double finite(double value) {
+		return (Double.isInfinite(value) ? 0 : value);
+	}
+}
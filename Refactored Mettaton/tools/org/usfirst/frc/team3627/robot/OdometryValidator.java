@@ -0,0 +1,129 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Checks the PoseEstimator against the ground truth of a simulation.
+ *
+ * A SimulatedRobot is driven along a path that sprints hard enough
+ * to slip its wheels, curves, turns in place with the bumpers and
+ * backs up. Every tick, the estimated pose is compared against the
+ * pose of the TankDriveModel, and the history is checked by looking
+ * up where the robot was a camera latency ago:
+ *
+ * java OdometryValidator
+ *
+ * It exits with a nonzero status if the estimate strays further
+ * than the tolerances.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class OdometryValidator {
+
+	//most the estimate may be off by at the end of the path; the
+	//encoders count wheel slip as distance, so some error is expected
+	static final double POSITION_TOLERANCE = 0.25;
+	static final double HEADING_TOLERANCE = Math.toRadians(1);
+
+	//how far back to look up poses, like a delayed vision frame
+	static final double LOOKUP_LATENCY = 0.1;
+	static final double LOOKUP_TOLERANCE = 1e-9;
+
+	public static void main(String[] args) {
+		SimulatedRobot robot = new SimulatedRobot(RobotParameters.defaults());
+		ScriptedController controller = robot.getController();
+		TankDriveModel truth = robot.getDriveModel();
+		PoseEstimator estimator = robot.getPoseEstimator();
+
+		//ground truth and estimates at every tick, for checking lookups
+		int totalTicks = (int) (10 * Robot.TICKS_PER_SEC);
+		double[] truthX = new double[totalTicks + 1];
+		double[] truthY = new double[totalTicks + 1];
+		double[] estimateX = new double[totalTicks + 1];
+		double[] estimateY = new double[totalTicks + 1];
+		int lookupTicks = (int) Math.round(LOOKUP_LATENCY * Robot.TICKS_PER_SEC);
+
+		double[] pose = new double[3];
+		double maxError = 0;
+		double maxHeadingError = 0;
+		double maxLookupError = 0;
+		double maxDelayedError = 0;
+		double maxStaleError = 0;
+
+		for (int tick = 0; tick < totalTicks; tick++) {
+			script(controller, robot.getTime());
+			robot.teleopTick();
+
+			truthX[tick + 1] = truth.getX();
+			truthY[tick + 1] = truth.getY();
+			estimateX[tick + 1] = estimator.getX();
+			estimateY[tick + 1] = estimator.getY();
+
+			double error = Math.hypot(estimator.getX() - truth.getX(), estimator.getY() - truth.getY());
+			maxError = Math.max(maxError, error);
+			maxHeadingError = Math.max(maxHeadingError, Math.abs(estimator.getHeading() - truth.getHeading()));
+
+			//where was the robot a camera latency ago?
+			int past = tick + 1 - lookupTicks;
+			if (past >= 0 && estimator.getPoseAt(robot.getTime() - LOOKUP_LATENCY, pose)) {
+
+				//the history must give back exactly what was estimated then
+				maxLookupError = Math.max(maxLookupError, Math.hypot(
+						pose[PoseEstimator.POSE_X] - estimateX[past], pose[PoseEstimator.POSE_Y] - estimateY[past]));
+				maxDelayedError = Math.max(maxDelayedError, Math.hypot(
+						pose[PoseEstimator.POSE_X] - truthX[past], pose[PoseEstimator.POSE_Y] - truthY[past]));
+
+				//what using the current pose instead would have cost
+				double staleError = Math.hypot(truth.getX() - truthX[past], truth.getY() - truthY[past]);
+				maxStaleError = Math.max(maxStaleError, staleError);
+			}
+		}
+
+		double finalError = Math.hypot(estimator.getX() - truth.getX(), estimator.getY() - truth.getY());
+		double finalHeadingError = Math.abs(estimator.getHeading() - truth.getHeading());
+
+		System.out.printf("path: %.2f m, %.2f m, %.1f deg, %.2f m of wheel slip%n",
+				truth.getX(), truth.getY(), Math.toDegrees(truth.getHeading()), truth.getSlipDistance());
+		System.out.printf("position error: %.3f m at the end, %.3f m at most%n", finalError, maxError);
+		System.out.printf("heading error: %.3f deg at the end, %.3f deg at most%n",
+				Math.toDegrees(finalHeadingError), Math.toDegrees(maxHeadingError));
+		System.out.printf("lookup %.0f ms back: %.6f m from the recorded estimate, %.3f m from the truth " +
+				"(the current pose would be up to %.3f m off)%n",
+				LOOKUP_LATENCY * 1000, maxLookupError, maxDelayedError, maxStaleError);
+
+		boolean passed = finalError <= POSITION_TOLERANCE && finalHeadingError <= HEADING_TOLERANCE
+				&& maxLookupError <= LOOKUP_TOLERANCE;
+		Validation.finish(passed);
+	}
+
+	/**
+	 * Holds the controller inputs for the point in the path at the given time.
+	 */
+	private static void script(ScriptedController controller, double time) {
+		controller.releaseAll();
+
+		if (time < 2) {
+
+			//sprint, slipping the wheels
+			controller.setAxisRTrig(1);
+		} else if (time < 3.5) {
+
+			//curve to the right
+			controller.setAxisLY(0.8);
+			controller.setAxisRY(0.3);
+		} else if (time < 5) {
+
+			//hold the left bumper to turn in place
+			controller.setButton(RoboticsController.BTN_LB, true);
+		} else if (time < 5.5) {
+
+			//let the turn finish
+		} else if (time < 7.5) {
+
+			//back up on a gentle curve
+			controller.setAxisLY(-0.5);
+			controller.setAxisRY(-0.65);
+		} else if (time < 8.5) {
+			controller.setAxisRTrig(0.5);
+		}
+	}
+}
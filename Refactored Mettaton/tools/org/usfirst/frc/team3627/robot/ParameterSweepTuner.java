@@ -0,0 +1,368 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Finds good values for the drive train and winch constants by
+ * simulating the robot instead of testing on the practice field.
+ *
+ * Every candidate set of parameters is run through the same
+ * scripted driving scenarios on its own SimulatedRobot, and the
+ * results are scored and ranked. The candidates come from either
+ * a grid around the current values or a random search, and they
+ * are spread across every core of the computer, so a full sweep
+ * can be left running overnight.
+ *
+ * This runs on a computer, not on the robot:
+ *
+ * java ParameterSweepTuner grid [output.csv]
+ * java ParameterSweepTuner random samples [seed] [output.csv]
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class ParameterSweepTuner {
+
+	static final String DEFAULT_OUTPUT = "tuning-results.csv";
+
+	//values tried for each parameter in a grid search
+	static final double[] DRIVE_ACC_GRID = {0.5, 0.75, 1, 1.5, 2, 3};
+	static final double[] WINCH_ACC_GRID = {0.5, 1, 1.5, 2};
+	static final double[] WINCH_SPEED_GRID = {0.6, 0.7, 0.8, 0.9, 1};
+	static final double[] INPUT_SCALAR_GRID = {1, 1.5, 2, 2.5, 3};
+	static final double[] THRESHOLD_GRID = {0, 0.1, 0.2, 0.3};
+	static final double[] BUMPER_GRID = {0.2, 0.3, 0.4, 0.5, 0.6};
+
+	//how much each metric counts toward the score
+	static final double SPRINT_TIME_WEIGHT = 1;
+	static final double SPRINT_OVERSHOOT_WEIGHT = 2;
+	static final double SLIP_WEIGHT = 1;
+	static final double TURN_TIME_WEIGHT = 1;
+	static final double TURN_OVERSHOOT_WEIGHT = 0.05;
+	static final double DRIFT_WEIGHT = 0.1;
+	static final double CURVE_WEIGHT = 2;
+	static final double WINCH_TIME_WEIGHT = 1;
+	static final double WINCH_OVERSHOOT_WEIGHT = 20;
+
+	//scenario settings
+	static final double SPRINT_DISTANCE = 3;
+	static final double TURN_ANGLE = 90;
+	static final double STOPPED_SPEED = 0.05;
+	static final double STOPPED_TURN_RATE = Math.toRadians(2);
+	static final double SCENARIO_TIMEOUT = 10;
+	static final double STICK_TIME = 3;
+
+	public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+		List<RobotParameters> candidates;
+		String output = DEFAULT_OUTPUT;
+
+		if (args.length >= 2 && args[0].equals("random")) {
+			int samples = Integer.parseInt(args[1]);
+			long seed = (args.length >= 3 ? Long.parseLong(args[2]) : System.currentTimeMillis());
+
+			if (args.length >= 4) {
+				output = args[3];
+			}
+
+			candidates = randomCandidates(samples, new Random(seed));
+		} else if (args.length == 0 || args[0].equals("grid")) {
+			if (args.length >= 2) {
+				output = args[1];
+			}
+
+			candidates = gridCandidates();
+		} else {
+			System.err.println("usage: ParameterSweepTuner grid [output.csv]");
+			System.err.println("       ParameterSweepTuner random samples [seed] [output.csv]");
+			return;
+		}
+
+		int threads = Runtime.getRuntime().availableProcessors();
+		System.out.println("Simulating " + candidates.size() + " candidates on " + threads + " threads");
+
+		long start = System.nanoTime();
+		List<TuningResult> results = runAll(candidates, threads);
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		writeCsv(results, output);
+
+		System.out.println("Finished in " + seconds + " s; results written to " + output);
+		System.out.println("Best:     " + results.get(0).getParameters() + " (score " + results.get(0).getScore() + ")");
+		System.out.println("Baseline: score " + evaluate(RobotParameters.defaults()).getScore());
+	}
+
+	/**
+	 * Evaluates every candidate on a pool of threads and ranks the results.
+	 *
+	 * @param candidates the parameters to evaluate
+	 * @param threads the number of threads to use
+	 * @return the results, best first
+	 */
+	public static List<TuningResult> runAll(List<RobotParameters> candidates, int threads)
+			throws InterruptedException, ExecutionException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+		try {
+			List<Callable<TuningResult>> tasks = new ArrayList<Callable<TuningResult>>();
+			for (final RobotParameters candidate : candidates) {
+				tasks.add(() -> evaluate(candidate));
+			}
+
+			List<TuningResult> results = new ArrayList<TuningResult>();
+			for (Future<TuningResult> future : pool.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+
+			Collections.sort(results);
+			return results;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Runs every scenario for the given parameters and scores them.
+	 * Each scenario gets a fresh SimulatedRobot, so nothing carries
+	 * over from one scenario to the next.
+	 *
+	 * @param parameters the parameters to evaluate
+	 * @return the result of the evaluation
+	 */
+	public static TuningResult evaluate(RobotParameters parameters) {
+		TuningResult result = new TuningResult(parameters);
+
+		runSprint(new SimulatedRobot(parameters), result);
+		runTurn(new SimulatedRobot(parameters), result);
+		runStraight(new SimulatedRobot(parameters), result);
+		runCurve(parameters, result);
+		runWinch(new SimulatedRobot(parameters), result);
+
+		result.setScore(SPRINT_TIME_WEIGHT * result.sprintTime
+				+ SPRINT_OVERSHOOT_WEIGHT * result.sprintOvershoot
+				+ SLIP_WEIGHT * result.wheelSlip
+				+ TURN_TIME_WEIGHT * result.turnTime
+				+ TURN_OVERSHOOT_WEIGHT * result.turnOvershoot
+				+ DRIFT_WEIGHT * result.straightDrift
+				+ CURVE_WEIGHT * Math.max(0, 1 - result.curveResponse)
+				+ WINCH_TIME_WEIGHT * result.winchTime
+				+ WINCH_OVERSHOOT_WEIGHT * result.winchOvershoot);
+
+		return result;
+	}
+
+	/**
+	 * Full right trigger until the robot crosses the line, then let go
+	 * and wait for the robot to stop.
+	 */
+	static void runSprint(SimulatedRobot robot, TuningResult result) {
+		ScriptedController controller = robot.getController();
+		TankDriveModel model = robot.getDriveModel();
+		boolean released = false;
+
+		controller.setAxisRTrig(1);
+
+		while (robot.getTime() < SCENARIO_TIMEOUT) {
+			if (!released && model.getX() >= SPRINT_DISTANCE) {
+				controller.releaseAll();
+				released = true;
+			}
+
+			robot.teleopTick();
+
+			if (released && Math.abs(model.getSpeed()) < STOPPED_SPEED) {
+				break;
+			}
+		}
+
+		result.sprintTime = robot.getTime();
+		result.sprintOvershoot = model.getX() - SPRINT_DISTANCE;
+		result.wheelSlip += model.getSlipDistance();
+	}
+
+	/**
+	 * Hold the right bumper until the robot has turned 90 degrees,
+	 * then let go and wait for the robot to stop turning.
+	 */
+	static void runTurn(SimulatedRobot robot, TuningResult result) {
+		ScriptedController controller = robot.getController();
+		TankDriveModel model = robot.getDriveModel();
+		boolean released = false;
+
+		controller.setButton(RoboticsController.BTN_RB, true);
+
+		while (robot.getTime() < SCENARIO_TIMEOUT) {
+			if (!released && Math.abs(model.getGyroAngle()) >= TURN_ANGLE) {
+				controller.releaseAll();
+				released = true;
+			}
+
+			robot.teleopTick();
+
+			if (released && Math.abs(model.getTurnRate()) < STOPPED_TURN_RATE) {
+				break;
+			}
+		}
+
+		result.turnTime = robot.getTime();
+		result.turnOvershoot = Math.abs(model.getGyroAngle()) - TURN_ANGLE;
+		result.wheelSlip += model.getSlipDistance();
+	}
+
+	/**
+	 * Push both sticks up, but not quite evenly, as a driver who
+	 * means to drive straight would.
+	 */
+	static void runStraight(SimulatedRobot robot, TuningResult result) {
+		ScriptedController controller = robot.getController();
+		controller.setAxisLY(0.75);
+		controller.setAxisRY(0.65);
+
+		while (robot.getTime() < STICK_TIME) {
+			robot.teleopTick();
+		}
+
+		result.straightDrift = Math.abs(robot.getDriveModel().getGyroAngle());
+		result.wheelSlip += robot.getDriveModel().getSlipDistance();
+	}
+
+	/**
+	 * Push the sticks apart to drive a gentle curve, and compare the
+	 * turn to the same input with no straightening at all.
+	 */
+	static void runCurve(RobotParameters parameters, TuningResult result) {
+		RobotParameters unstraightened = new RobotParameters(parameters.getDriveAcc(),
+				parameters.getWinchAcc(), parameters.getWinchSpeed(), parameters.getInputScalar(),
+				0, parameters.getBumperRotSpeed());
+
+		double requested = curveHeading(new SimulatedRobot(unstraightened));
+		double actual = curveHeading(new SimulatedRobot(parameters));
+
+		result.curveResponse = (requested == 0 ? 1 : actual / requested);
+	}
+
+	private static double curveHeading(SimulatedRobot robot) {
+		ScriptedController controller = robot.getController();
+		controller.setAxisLY(0.8);
+		controller.setAxisRY(0.55);
+
+		while (robot.getTime() < STICK_TIME) {
+			robot.teleopTick();
+		}
+
+		return Math.abs(robot.getDriveModel().getGyroAngle());
+	}
+
+	/**
+	 * Hold Y from the bottom until the launcher is fully up, and keep
+	 * holding it briefly like a driver would.
+	 */
+	static void runWinch(SimulatedRobot robot, TuningResult result) {
+		Winch winch = robot.getWinch();
+		double reachedTop = -1;
+
+		while (robot.getTime() < SCENARIO_TIMEOUT) {
+			winch.raise();
+			robot.tick();
+
+			if (reachedTop < 0 && winch.isFullyUp()) {
+				reachedTop = robot.getTime();
+			}
+
+			if (reachedTop >= 0 && robot.getTime() - reachedTop >= 0.5) {
+				break;
+			}
+		}
+
+		result.winchTime = (reachedTop < 0 ? SCENARIO_TIMEOUT : reachedTop);
+		result.winchOvershoot = robot.getWinchModel().getOvershoot();
+	}
+
+	/**
+	 * Creates every combination of the grid values, which are
+	 * multiples of (or, for some, replacements for) the current values.
+	 *
+	 * @return the candidates
+	 */
+	public static List<RobotParameters> gridCandidates() {
+		List<RobotParameters> candidates = new ArrayList<RobotParameters>();
+
+		for (double driveAcc : DRIVE_ACC_GRID) {
+			for (double winchAcc : WINCH_ACC_GRID) {
+				for (double winchSpeed : WINCH_SPEED_GRID) {
+					for (double inputScalar : INPUT_SCALAR_GRID) {
+						for (double threshold : THRESHOLD_GRID) {
+							for (double bumper : BUMPER_GRID) {
+								candidates.add(new RobotParameters(driveAcc * Robot.DRIVE_ACC,
+										winchAcc * Robot.WINCH_ACC, winchSpeed,
+										inputScalar, threshold, bumper));
+							}
+						}
+					}
+				}
+			}
+		}
+
+		return candidates;
+	}
+
+	/**
+	 * Creates candidates chosen uniformly at random within the
+	 * bounds of the grid.
+	 *
+	 * @param samples the number of candidates to create
+	 * @param random the source of randomness
+	 * @return the candidates
+	 */
+	public static List<RobotParameters> randomCandidates(int samples, Random random) {
+		List<RobotParameters> candidates = new ArrayList<RobotParameters>();
+
+		for (int i = 0; i < samples; i++) {
+			candidates.add(new RobotParameters(
+					between(random, DRIVE_ACC_GRID) * Robot.DRIVE_ACC,
+					between(random, WINCH_ACC_GRID) * Robot.WINCH_ACC,
+					between(random, WINCH_SPEED_GRID),
+					between(random, INPUT_SCALAR_GRID),
+					between(random, THRESHOLD_GRID),
+					between(random, BUMPER_GRID)));
+		}
+
+		return candidates;
+	}
+
+	//picks a value between the first and last values of a grid
+	private static double between(Random random, double[] grid) {
+		double low = grid[0];
+		double high = grid[grid.length - 1];
+		return low + random.nextDouble() * (high - low);
+	}
+
+	/**
+	 * Writes the ranked results to a CSV file.
+	 *
+	 * @param results the results, best first
+	 * @param fileName the file to write
+	 */
+	public static void writeCsv(List<TuningResult> results, String fileName) throws IOException {
+		PrintWriter writer = new PrintWriter(new FileWriter(fileName));
+
+		try {
+			writer.println(TuningResult.CSV_HEADER);
+			for (int i = 0; i < results.size(); i++) {
+				writer.println(results.get(i).toCsvRow(i + 1));
+			}
+		} finally {
+			writer.close();
+		}
+	}
+}
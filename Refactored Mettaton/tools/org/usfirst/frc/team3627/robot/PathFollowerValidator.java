@@ -0,0 +1,129 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Checks in simulation that a PathFollower keeps the robot on its
+ * path, and gets there faster than driving the same waypoints as
+ * straight lines and turns in place.
+ *
+ * A SimulatedRobot follows each path from rest, steering by its own
+ * PoseEstimator as the real robot does, while its true pose is
+ * compared against the planned path every tick. Then a fresh robot
+ * drives from waypoint to waypoint the old way: turnToAngle() to face
+ * the next one, then driveStraight() until it gets there. Both have
+ * a Feedforward that overcomes the model's static friction, as a
+ * calibrated robot's would:
+ *
+ * java PathFollowerValidator
+ *
+ * It exits with a nonzero status if the robot strays further from a
+ * path than PATH_TOLERANCE, ends further than END_TOLERANCE from its
+ * last waypoint, or is not faster than the old way.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class PathFollowerValidator {
+
+	//the autonomous path, and a tighter S-curve
+	static final double[][][] PATHS = {
+		Autonomous.PATH,
+		{{0, 0}, {1.5, 0}, {2.5, 1}, {3.5, 2}, {5, 2}},
+	};
+
+	static final double PATH_TOLERANCE = 0.15;
+	static final double END_TOLERANCE = 0.15;
+
+	static final double TIMEOUT = 15;
+
+	public static void main(String[] args) {
+		boolean passed = true;
+
+		System.out.println("path   length   follower: time  off path  at end   straight and turns: time  at end");
+		for (int i = 0; i < PATHS.length; i++) {
+			double[] followed = follow(PATHS[i]);
+			double[] segments = driveSegments(PATHS[i]);
+
+			System.out.printf("%4d   %5.2f m       %6.2f s  %5.3f m  %5.3f m                %6.2f s  %5.3f m%n",
+					i, followed[3], followed[0], followed[1], followed[2], segments[0], segments[1]);
+
+			passed &= followed[1] <= PATH_TOLERANCE && followed[2] <= END_TOLERANCE && followed[0] < segments[0];
+		}
+
+		Validation.finish(passed);
+	}
+
+	/**
+	 * Follows a path, and returns the time it took, the furthest the
+	 * robot got from the path, how far it stopped from the end and the
+	 * length of the path.
+	 */
+	private static double[] follow(double[][] waypoints) {
+		SimulatedRobot robot = Validation.calibratedRobot();
+		TankDriveModel truth = robot.getDriveModel();
+		PathFollower follower = new PathFollower(TankDriveModel.DEFAULT_TRACK_WIDTH, Autonomous.SPEED);
+		follower.plan(waypoints);
+
+		double[] pose = new double[3];
+		double worst = 0;
+		while (!follower.isFinished() && robot.getTime() < TIMEOUT) {
+			robot.getPoseEstimator().getPose(pose);
+			follower.follow(pose, robot.getDriveTrain());
+			robot.tick();
+			worst = Math.max(worst, distanceFromPath(follower, truth.getX(), truth.getY()));
+		}
+		double time = robot.getTime();
+
+		Validation.settle(robot);
+		double[] end = waypoints[waypoints.length - 1];
+		return new double[] {time, worst, Math.hypot(truth.getX() - end[0], truth.getY() - end[1]),
+				follower.getLength()};
+	}
+
+	/**
+	 * Turns to face each waypoint and drives straight to it, and
+	 * returns the time it took and how far it stopped from the end.
+	 */
+	private static double[] driveSegments(double[][] waypoints) {
+		SimulatedRobot robot = Validation.calibratedRobot();
+		TankDriveModel truth = robot.getDriveModel();
+		PoseEstimator estimator = robot.getPoseEstimator();
+		DriveTrain driveTrain = robot.getDriveTrain();
+
+		for (int i = 1; i < waypoints.length && robot.getTime() < TIMEOUT; i++) {
+			double dx = waypoints[i][0] - estimator.getX();
+			double dy = waypoints[i][1] - estimator.getY();
+
+			//the gyro's angles increase clockwise, in degrees
+			double angle = -Math.toDegrees(Math.atan2(dy, dx));
+			while (!driveTrain.turnToAngle(angle) && robot.getTime() < TIMEOUT) {
+				robot.tick();
+			}
+
+			//stop once the waypoint is no longer ahead
+			double startX = estimator.getX();
+			double startY = estimator.getY();
+			double length = Math.hypot(dx, dy);
+			while (((estimator.getX() - startX) * dx + (estimator.getY() - startY) * dy) / length < length &&
+					robot.getTime() < TIMEOUT) {
+				driveTrain.driveStraight(Autonomous.SPEED);
+				robot.tick();
+			}
+		}
+		double time = robot.getTime();
+
+		Validation.settle(robot);
+		double[] end = waypoints[waypoints.length - 1];
+		return new double[] {time, Math.hypot(truth.getX() - end[0], truth.getY() - end[1])};
+	}
+
+	/**
+	 * Returns how far a point is from the closest sample of the path.
+	 */
+	private static double distanceFromPath(PathFollower follower, double x, double y) {
+		double closest = Double.MAX_VALUE;
+		for (int i = 0; i < follower.getSampleCount(); i++) {
+			closest = Math.min(closest, Math.hypot(follower.getSampleX(i) - x, follower.getSampleY(i) - y));
+		}
+		return closest;
+	}
+}
@@ -0,0 +1,77 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Checks in simulation that the PowerBudget never slows the drive
+ * train, and holds back the flywheels instead.
+ *
+ * A SimulatedRobot goes from rest to full stick, once on its own and
+ * once while spinning up the flywheels, each with the robot's budget
+ * and with no limit at all. The drive train's time to full output is
+ * measured, and how many ticks the flywheels were held back:
+ *
+ * java PowerBudgetValidator
+ *
+ * It exits with a nonzero status if the budget slows the drive train
+ * in either case, holds anything back while it drives on its own, or
+ * never holds the flywheels back while both run.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class PowerBudgetValidator {
+
+	//the drive train is at full output past this
+	static final double FULL_OUTPUT = 0.99;
+
+	static final double TIMEOUT = 5;
+
+	//the times are only measured to the tick
+	static final double TIME_TOLERANCE = 1 / Robot.TICKS_PER_SEC;
+
+	public static void main(String[] args) {
+		double[] alone = fullStick(false, true);
+		double[] aloneFree = fullStick(false, false);
+		double[] shooting = fullStick(true, true);
+		double[] shootingFree = fullStick(true, false);
+
+		System.out.println("                        to full output   flywheels held back");
+		print("drive, budgeted", alone);
+		print("drive, no limit", aloneFree);
+		print("drive and flywheels", shooting);
+		print("  with no limit", shootingFree);
+
+		Validation.finish(alone[0] <= aloneFree[0] + TIME_TOLERANCE && alone[1] == 0 &&
+				shooting[0] <= shootingFree[0] + TIME_TOLERANCE && shooting[1] > 0);
+	}
+
+	private static void print(String name, double[] result) {
+		System.out.printf("%-24s %8.2f s   %10d ticks%n", name, result[0], (int) result[1]);
+	}
+
+	/**
+	 * Pushes both sticks all the way from rest, and returns the time
+	 * the drive train took to reach full output and the number of
+	 * ticks the budget limited anything.
+	 */
+	private static double[] fullStick(boolean shooting, boolean budgeted) {
+		SimulatedRobot robot = new SimulatedRobot(RobotParameters.defaults());
+		DriveTrain driveTrain = robot.getDriveTrain();
+		ScriptedController controller = robot.getController();
+		if (!budgeted) {
+			robot.getPowerBudget().setBudget(Double.MAX_VALUE);
+		}
+
+		controller.setAxisLY(1);
+		controller.setAxisRY(1);
+		controller.setButton(RoboticsController.BTN_START, shooting);
+
+		int limited = 0;
+		while (Math.max(Math.abs(driveTrain.getLeftCurrentVal()), Math.abs(driveTrain.getRightCurrentVal())) < FULL_OUTPUT &&
+				robot.getTime() < TIMEOUT) {
+			robot.teleopTick();
+			controller.setButton(RoboticsController.BTN_START, false);
+			limited += (robot.getPowerBudget().getLimitedCount() > 0 ? 1 : 0);
+		}
+		return new double[] {robot.getTime(), limited};
+	}
+}
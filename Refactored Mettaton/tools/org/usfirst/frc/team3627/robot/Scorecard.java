@@ -0,0 +1,362 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Scores the robot's code on the cycles that matter in a match, in
+ * simulation, and checks that none of them got worse.
+ *
+ * Each scenario runs on a fresh SimulatedRobot, with a Feedforward
+ * that matches its model as a calibrated robot's would:
+ *
+ * autonomous: the Autonomous routine, from the launcher fully up
+ * path: the same, following Autonomous.PATH
+ * winch: raising the launcher from fully down to fully up
+ * intake: Back to take in a ball, Start once it is seated, then X
+ * once the flywheels are up to speed, until the ball is launched
+ * turn: turnToAngle() through 180 degrees
+ *
+ * Each is scored on the time it takes, how far it overshoots (meters
+ * to the side of the line straight ahead, meters from the end of the
+ * path, fractions of the winch's travel, meters of the ball past its
+ * sensor and degrees past the heading) and what
+ * its ticks cost: the time spent in the robot's code each tick, not
+ * counting the physics. The time and overshoot are the same on every
+ * run. The cost is the median of TIMED_RUNS runs, after WARM_UP_RUNS
+ * to get the code compiled.
+ *
+ * java Scorecard [file]
+ * java Scorecard save [file]
+ *
+ * The first compares the scores against a baseline saved by the
+ * second, scorecard.properties by default, and exits with a nonzero
+ * status if any is worse by more than its tolerance. The cost
+ * depends on the computer, so save a baseline on the computer it is
+ * compared on.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class Scorecard {
+
+	static final String DEFAULT_FILE = "scorecard.properties";
+
+	static final String[] SCENARIOS = {"autonomous", "path", "winch", "intake", "turn"};
+	static final String[] METRICS = {"time", "overshoot", "cost"};
+
+	//a score regresses when it is worse than the baseline by both
+	//this fraction and this amount
+	static final double[] RELATIVE_TOLERANCE = {0.05, 0.1, 0.5};
+	static final double[] ABSOLUTE_TOLERANCE = {0.02, 0.01, 1};
+
+	static final int WARM_UP_RUNS = 200;
+	static final int TIMED_RUNS = 21;
+
+	//a scenario that is not done by then has failed
+	static final double TIMEOUT = 15;
+
+	//time to come to rest after a scenario, in seconds
+	static final double SETTLE_TIME = 1;
+
+	//the flywheels are up to speed at this fraction of it
+	static final double SPIN_UP = 0.95;
+
+	static final double TURN_ANGLE = 180;
+
+	public static void main(String[] args) throws IOException {
+		boolean save = (args.length >= 1 && args[0].equals("save"));
+		int fileArg = (save ? 1 : 0);
+		File file = new File(args.length > fileArg ? args[fileArg] : DEFAULT_FILE);
+
+		double[][] scores = score();
+
+		if (save) {
+			save(file, scores);
+			print(scores, null);
+			System.out.println("Saved to " + file);
+			return;
+		}
+
+		if (!file.exists()) {
+			print(scores, null);
+			System.out.println("No baseline in " + file + "; run java Scorecard save");
+			Validation.finish(false);
+			return;
+		}
+
+		Validation.finish(print(scores, load(file)));
+	}
+
+	/**
+	 * Runs every scenario, and returns the time, overshoot and cost of
+	 * each.
+	 */
+	static double[][] score() {
+		double[][] scores = new double[SCENARIOS.length][];
+		for (int i = 0; i < SCENARIOS.length; i++) {
+			for (int run = 0; run < WARM_UP_RUNS; run++) {
+				run(i);
+			}
+
+			double[] costs = new double[TIMED_RUNS];
+			for (int run = 0; run < TIMED_RUNS; run++) {
+				scores[i] = run(i);
+				costs[run] = scores[i][2];
+			}
+			Arrays.sort(costs);
+			scores[i][2] = costs[TIMED_RUNS / 2];
+		}
+		return scores;
+	}
+
+	/**
+	 * Prints the scores, each against its baseline if there is one.
+	 *
+	 * @return false if any score regressed
+	 */
+	private static boolean print(double[][] scores, Properties baseline) {
+		boolean passed = true;
+
+		System.out.printf("%-12s %-10s %12s %12s%n", "scenario", "", "score", "baseline");
+		for (int i = 0; i < SCENARIOS.length; i++) {
+			for (int j = 0; j < METRICS.length; j++) {
+				String key = SCENARIOS[i] + "." + METRICS[j];
+				System.out.printf("%-12s %-10s %12.3f", (j == 0 ? SCENARIOS[i] : ""), METRICS[j], scores[i][j]);
+
+				String value = (baseline == null ? null : baseline.getProperty(key));
+				if (baseline == null) {
+					System.out.println();
+				} else if (value == null) {
+					System.out.printf(" %12s  REGRESSED%n", "missing");
+					passed = false;
+				} else {
+					double base = Double.parseDouble(value.trim());
+					boolean regressed = (scores[i][j] > base * (1 + RELATIVE_TOLERANCE[j]) &&
+							scores[i][j] > base + ABSOLUTE_TOLERANCE[j]);
+					System.out.printf(" %12.3f%s%n", base, (regressed ? "  REGRESSED" : ""));
+					passed &= !regressed;
+				}
+			}
+		}
+		System.out.println("time in seconds, cost in microseconds per tick");
+		return passed;
+	}
+
+	private static Properties load(File file) throws IOException {
+		Properties properties = new Properties();
+		InputStream in = new FileInputStream(file);
+
+		try {
+			properties.load(in);
+		} finally {
+			in.close();
+		}
+		return properties;
+	}
+
+	private static void save(File file, double[][] scores) throws IOException {
+		Properties properties = new Properties();
+		for (int i = 0; i < SCENARIOS.length; i++) {
+			for (int j = 0; j < METRICS.length; j++) {
+				properties.setProperty(SCENARIOS[i] + "." + METRICS[j], Double.toString(scores[i][j]));
+			}
+		}
+
+		OutputStream out = new FileOutputStream(file);
+		try {
+			properties.store(out, "baseline scores, from Scorecard");
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Runs a scenario once, and returns its time, overshoot and cost.
+	 */
+	private static double[] run(int scenario) {
+		SimulatedRobot robot = Validation.calibratedRobot();
+
+		Scenario running = newScenario(scenario);
+		running.start(robot);
+
+		//only the robot's code is timed, not the physics
+		long cost = 0;
+		boolean done = false;
+		while (!done && robot.getTime() < TIMEOUT) {
+			long start = System.nanoTime();
+			done = running.control(robot);
+			robot.updateComponents();
+			cost += System.nanoTime() - start;
+			robot.step();
+		}
+		double time = robot.getTime();
+		int ticks = robot.getTicks();
+
+		for (int i = 0; i < SETTLE_TIME * Robot.TICKS_PER_SEC; i++) {
+			running.hold(robot);
+			robot.tick();
+		}
+
+		return new double[] {time, running.getOvershoot(robot), cost / 1e3 / ticks};
+	}
+
+	private static Scenario newScenario(int scenario) {
+		switch (scenario) {
+		case 0:
+			return new AutonomousScenario(false);
+		case 1:
+			return new AutonomousScenario(true);
+		case 2:
+			return new WinchScenario();
+		case 3:
+			return new IntakeScenario();
+		default:
+			return new TurnScenario();
+		}
+	}
+
+	/**
+	 * One cycle to score.
+	 */
+	private abstract static class Scenario {
+
+		/**
+		 * Sets the robot up to start the cycle.
+		 */
+		void start(SimulatedRobot robot) {
+		}
+
+		/**
+		 * Runs the robot's code for this tick of the cycle.
+		 *
+		 * @return true once the cycle is done
+		 */
+		abstract boolean control(SimulatedRobot robot);
+
+		/**
+		 * Runs the robot's code for a tick after the cycle is done.
+		 */
+		void hold(SimulatedRobot robot) {
+			control(robot);
+		}
+
+		abstract double getOvershoot(SimulatedRobot robot);
+	}
+
+	private static class AutonomousScenario extends Scenario {
+
+		private boolean followingPath;
+		private Autonomous autonomous;
+		private double[] pose = new double[3];
+
+		AutonomousScenario(boolean followingPath) {
+			this.followingPath = followingPath;
+		}
+
+		void start(SimulatedRobot robot) {
+			robot.getWinchModel().reset(1);
+			autonomous = new Autonomous(robot.getDriveTrain(), robot.getLauncher(),
+					robot.getDriveModel().getTrackWidth());
+			autonomous.setPathChosen(followingPath);
+			autonomous.init();
+		}
+
+		boolean control(SimulatedRobot robot) {
+			robot.getPoseEstimator().getPose(pose);
+			autonomous.periodic(pose);
+			return autonomous.isFinished();
+		}
+
+		double getOvershoot(SimulatedRobot robot) {
+			TankDriveModel truth = robot.getDriveModel();
+			if (!followingPath) {
+				return Math.abs(truth.getY());
+			}
+
+			double[] end = Autonomous.PATH[Autonomous.PATH.length - 1];
+			return Math.hypot(truth.getX() - end[0], truth.getY() - end[1]);
+		}
+	}
+
+	private static class WinchScenario extends Scenario {
+
+		boolean control(SimulatedRobot robot) {
+
+			//the driver holds Y past the top
+			robot.getLauncher().raise();
+			return robot.getLauncher().isFullyUp();
+		}
+
+		double getOvershoot(SimulatedRobot robot) {
+			return robot.getWinchModel().getOvershoot();
+		}
+	}
+
+	private static class IntakeScenario extends Scenario {
+
+		private int stage;
+
+		boolean control(SimulatedRobot robot) {
+			ScriptedController controller = robot.getController();
+			LauncherModel model = robot.getLauncherModel();
+			controller.releaseAll();
+
+			switch (stage) {
+			case 0:
+				controller.setButton(RoboticsController.BTN_BACK, true);
+				stage++;
+				break;
+			case 1:
+				if (robot.getLauncher().hasBall() && !robot.getLauncher().isAutoIntaking()) {
+					controller.setButton(RoboticsController.BTN_START, true);
+					stage++;
+				}
+				break;
+			case 2:
+				if ((model.getRightSpeed() - model.getLeftSpeed()) / 2 >= SPIN_UP * Robot.FLY_SHOOT_SPD) {
+					controller.setButton(RoboticsController.BTN_X, true);
+					stage++;
+				}
+				break;
+			default:
+				controller.setButton(RoboticsController.BTN_X, true);
+				break;
+			}
+
+			robot.driveByController();
+			return model.isLaunched();
+		}
+
+		void hold(SimulatedRobot robot) {
+			robot.getController().releaseAll();
+			robot.driveByController();
+		}
+
+		double getOvershoot(SimulatedRobot robot) {
+			return robot.getLauncherModel().getOvershoot();
+		}
+	}
+
+	private static class TurnScenario extends Scenario {
+
+		private double overshoot;
+
+		boolean control(SimulatedRobot robot) {
+
+			//the gyro's angles increase clockwise, like turnToAngle()'s
+			overshoot = Math.max(overshoot, robot.getGyro().getAngle() - TURN_ANGLE);
+			return robot.getDriveTrain().turnToAngle(TURN_ANGLE);
+		}
+
+		double getOvershoot(SimulatedRobot robot) {
+			return overshoot;
+		}
+	}
+}
@@ -0,0 +1,155 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Measures the round-trip time of the shared-state region: how long
+ * it takes from a client sending a command until it reads a state in
+ * which the robot has applied it.
+ *
+ * A SimulatedRobot stands in for the robot. Rather than ticking 50
+ * times per second, it ticks as fast as it can, yielding between
+ * ticks, so that what is measured is the region and not the wait for
+ * the next tick. The robot and the client can run as 2 threads of
+ * this process, or as 2 processes to include the cost of sharing
+ * memory between them:
+ *
+ * java SharedStateBenchmark [roundTrips]
+ * java SharedStateBenchmark serve file
+ * java SharedStateBenchmark ping file [roundTrips]
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class SharedStateBenchmark {
+
+	static final int DEFAULT_ROUND_TRIPS = 100000;
+
+	//round trips to run before measuring, so the code is compiled
+	static final int WARMUP_ROUND_TRIPS = 20000;
+
+	//the longest to wait for an acknowledgement, in nanoseconds
+	static final long TIMEOUT = 1000000000L;
+
+	private static volatile boolean serving;
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length >= 2 && args[0].equals("serve")) {
+			serving = true;
+			serve(new File(args[1]));
+
+		} else if (args.length >= 2 && args[0].equals("ping")) {
+			int roundTrips = (args.length >= 3 ? Integer.parseInt(args[2]) : DEFAULT_ROUND_TRIPS);
+			ping(new File(args[1]), roundTrips);
+
+		} else {
+			int roundTrips = (args.length >= 1 ? Integer.parseInt(args[0]) : DEFAULT_ROUND_TRIPS);
+			final File file = File.createTempFile("mettaton", ".shm", new File(System.getProperty("java.io.tmpdir")));
+			file.deleteOnExit();
+
+			serving = true;
+			Thread robot = new Thread(() -> {
+				try {
+					serve(file);
+				} catch (IOException e) {
+					System.err.println("Robot failed: " + e.getMessage());
+				}
+			}, "Robot");
+			robot.start();
+
+			//wait for the robot to create the region
+			while (file.length() < SharedStateFormat.REGION_SIZE) {
+				Thread.sleep(10);
+			}
+			Thread.sleep(100);
+
+			ping(file, roundTrips);
+			serving = false;
+			robot.join();
+		}
+	}
+
+	/**
+	 * Runs a simulated robot that applies commands and publishes its
+	 * state, until the process ends.
+	 */
+	private static void serve(File file) throws IOException {
+		SimulatedRobot robot = new SimulatedRobot(RobotParameters.defaults());
+		SharedStateServer server = new SharedStateServer(robot.getDriveTrain(), robot.getWinch(), robot.getPoseEstimator());
+		server.start(file);
+		server.setCommandsEnabled(true);
+		System.out.println("Serving " + file);
+
+		long[] publishTimes = new long[1 << 16];
+		int ticks = 0;
+
+		while (serving) {
+			server.applyCommands();
+			robot.tick();
+
+			long start = System.nanoTime();
+			server.publish(start / 1000, MatchLogFormat.MODE_TEST);
+			publishTimes[ticks++ & (publishTimes.length - 1)] = System.nanoTime() - start;
+
+			Thread.yield();
+		}
+
+		server.stop();
+
+		int count = Math.min(ticks, publishTimes.length);
+		long[] times = Arrays.copyOf(publishTimes, count);
+		Arrays.sort(times);
+		System.out.printf("publish(): median %d ns, 99%% %d ns over the last %d ticks%n",
+				times[count / 2], times[(int) (count * 0.99)], count);
+	}
+
+	/**
+	 * Sends commands one at a time and measures how long each takes
+	 * to be acknowledged.
+	 */
+	private static void ping(File file, int roundTrips) throws IOException {
+		SharedStateClient client = new SharedStateClient(file);
+		long[] times = new long[roundTrips];
+		int lost = 0;
+
+		for (int i = -WARMUP_ROUND_TRIPS; i < roundTrips; i++) {
+
+			//drive in a slow circle
+			long start = System.nanoTime();
+			int id = client.sendDrive(0.3, 0.5);
+			boolean acknowledged = client.waitForAcknowledgement(id, TIMEOUT);
+			long time = System.nanoTime() - start;
+
+			if (i < 0) {
+				continue;
+			}
+			if (!acknowledged) {
+				lost++;
+			}
+			times[i] = time;
+		}
+
+		//the cost of reading a state that did not change
+		long start = System.nanoTime();
+		for (int i = 0; i < roundTrips; i++) {
+			client.update();
+		}
+		long updateTime = (System.nanoTime() - start) / roundTrips;
+
+		client.close();
+
+		Arrays.sort(times);
+		long total = 0;
+		for (long time : times) {
+			total += time;
+		}
+
+		System.out.printf("Round trip: mean %.1f us, median %.1f us, 99%% %.1f us, 99.9%% %.1f us, max %.1f us " +
+				"over %d commands (%d not acknowledged)%n",
+				total / 1e3 / roundTrips, times[roundTrips / 2] / 1e3, times[(int) (roundTrips * 0.99)] / 1e3,
+				times[(int) (roundTrips * 0.999)] / 1e3, times[roundTrips - 1] / 1e3, roundTrips, lost);
+		System.out.printf("Checking for a new state: %d ns%n", updateTime);
+	}
+}
@@ -0,0 +1,251 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * A Mettaton drive train and launcher running against simulated
+ * motors, switches and physics instead of the real robot.
+ *
+ * The components are the same DriveTrain and Launcher classes that
+ * run on the robot, bound to the controller the same way, so a
+ * simulation exercises the real code. Each
+ * SimulatedRobot is completely independent of every other one,
+ * so many of them can be run at the same time on different threads.
+ *
+ * Use it like the periodic functions in Robot: drive the components
+ * (through the controller or by calling their methods directly),
+ * then call tick() once to update the components and advance the
+ * physics by one period. tick() is updateComponents() followed by
+ * step(), which can also be called on their own to time the robot's
+ * code apart from the physics.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class SimulatedRobot {
+
+	//length of one tick in seconds
+	static final double TICK_LENGTH = 1 / Robot.TICKS_PER_SEC;
+
+	//physics steps per tick; the pose estimator updates after each one,
+	//the way its Notifier runs 4 times per tick on the robot
+	static final int SUBSTEPS = (int) Math.round(TICK_LENGTH / PoseEstimator.DEFAULT_PERIOD);
+
+	//simulated hardware
+	private SimulatedMotor frontLeft = new SimulatedMotor();
+	private SimulatedMotor frontRight = new SimulatedMotor();
+	private SimulatedMotor backLeft = new SimulatedMotor();
+	private SimulatedMotor backRight = new SimulatedMotor();
+	private SimulatedMotor winchMotor = new SimulatedMotor();
+	private SimulatedMotor leftFlyMotor = new SimulatedMotor();
+	private SimulatedMotor rightFlyMotor = new SimulatedMotor();
+	private SimulatedPusher pusher;
+	private ScriptedController controller = new ScriptedController();
+	private SimulatedGyro gyro;
+	private SimulatedAccelerometer accelerometer;
+	private SimulatedEncoder leftEncoder;
+	private SimulatedEncoder rightEncoder;
+
+	//physics
+	private TankDriveModel driveModel;
+	private WinchModel winchModel;
+	private LauncherModel launcherModel;
+
+	//the real components under test
+	private DriveTrain driveTrain;
+	private Launcher launcher;
+	private ButtonBindings bindings;
+	private PowerBudget power;
+	private PoseEstimator poseEstimator;
+
+	//same order as Robot.updateComponents()
+	private NeedsUpdating[] needsUpdating;
+
+	private int ticks;
+
+	/**
+	 * Creates a SimulatedRobot configured with the given parameters.
+	 *
+	 * @param parameters the parameters to configure the components with
+	 * @param driveModel the physics model of the drive train
+	 * @param winchModel the physics model of the winch
+	 * @param launcherModel the physics model of the flywheels and ball
+	 */
+	public SimulatedRobot(RobotParameters parameters, TankDriveModel driveModel, WinchModel winchModel,
+			LauncherModel launcherModel) {
+		this.driveModel = driveModel;
+		this.winchModel = winchModel;
+		this.launcherModel = launcherModel;
+
+		driveTrain = new DriveTrain(frontLeft, frontRight, backLeft, backRight, parameters.getDriveAcc());
+		parameters.applyTo(driveTrain);
+		
+		//same as the robot, which has a gyro
+		gyro = new SimulatedGyro(driveModel);
+		driveTrain.setGyro(gyro);
+
+		leftEncoder = new SimulatedEncoder(driveModel, true);
+		rightEncoder = new SimulatedEncoder(driveModel, false);
+		poseEstimator = new PoseEstimator(leftEncoder, rightEncoder, gyro, driveModel.getTrackWidth());
+
+		Winch winch = new Winch(winchMotor, winchModel.getLowerLimit(), winchModel.getUpperLimit(),
+				parameters.getWinchSpeed(), parameters.getWinchAcc());
+		pusher = new SimulatedPusher(parameters.getPusherRetracted(), parameters.getPusherExtended());
+		launcher = new Launcher(winch, pusher,
+				new Flywheel(leftFlyMotor, Robot.FLY_SHOOT_SPD, Robot.FLY_INTAKE_SPD, false),
+				new Flywheel(rightFlyMotor, Robot.FLY_SHOOT_SPD, Robot.FLY_INTAKE_SPD, true));
+		launcher.setBallSensor(launcherModel.getBallSensor());
+		launcher.setPreSpinEnabled(Robot.FLY_PRE_SPIN);
+		
+		//same as the robot, which watches its accelerometer for tipping and slip
+		accelerometer = new SimulatedAccelerometer(driveModel);
+		driveTrain.setTractionController(new TractionController(accelerometer, leftEncoder, rightEncoder, launcher));
+
+		bindings = new ButtonBindings();
+		driveTrain.bindControls(bindings);
+		launcher.bindControls(bindings);
+
+		//the same budget as the robot, so a simulation is held back
+		//wherever the robot would be
+		power = Robot.newPowerBudget(driveTrain, launcher);
+
+		needsUpdating = new NeedsUpdating[] {power, driveTrain, launcher, controller};
+	}
+
+	/**
+	 * Creates a SimulatedRobot with the given parameters and the
+	 * physics of Mettaton.
+	 *
+	 * @param parameters the parameters to configure the components with
+	 */
+	public SimulatedRobot(RobotParameters parameters) {
+		this(parameters, new TankDriveModel(), new WinchModel(), new LauncherModel());
+	}
+
+	/**
+	 * Updates every component, then advances the physics by one tick.
+	 */
+	public void tick() {
+		updateComponents();
+		step();
+	}
+
+	/**
+	 * Updates every component, as Robot.updateComponents() does.
+	 */
+	public void updateComponents() {
+		for (NeedsUpdating component : needsUpdating) {
+			Object event = FlightRecorderEvents.beginComponentCall();
+			component.update();
+			FlightRecorderEvents.commitComponentCall(event, component, "update");
+		}
+	}
+
+	/**
+	 * Advances the physics by one tick, from the motor outputs the
+	 * components last set.
+	 */
+	public void step() {
+
+		//the right side is wired backwards, so undo the negation
+		double leftDuty = (frontLeft.getOutput() + backLeft.getOutput()) / 2;
+		double rightDuty = -(frontRight.getOutput() + backRight.getOutput()) / 2;
+
+		for (int i = 1; i <= SUBSTEPS; i++) {
+			driveModel.step(leftDuty, rightDuty, TICK_LENGTH / SUBSTEPS);
+			poseEstimator.update(getTime() + i * TICK_LENGTH / SUBSTEPS);
+		}
+		winchModel.step(winchMotor.getOutput(), TICK_LENGTH);
+		launcherModel.step(leftFlyMotor.getOutput(), rightFlyMotor.getOutput(), pusher.isExtended(), TICK_LENGTH);
+
+		ticks++;
+	}
+
+	/**
+	 * Drives every controller-driven component by the scripted
+	 * controller, then ticks. This is one teleoperated period.
+	 */
+	public void teleopTick() {
+		FlightRecorderEvents.beginTick();
+
+		driveByController();
+		FlightRecorderEvents.endPhase(FlightRecorderEvents.PHASE_DRIVE);
+
+		//the physics count as part of the update phase
+		tick();
+		FlightRecorderEvents.endPhase(FlightRecorderEvents.PHASE_UPDATE);
+		FlightRecorderEvents.commitTick("teleop");
+	}
+
+	/**
+	 * Drives the drive train and the bound controls by the scripted
+	 * controller, without ticking.
+	 */
+	public void driveByController() {
+		Object event = FlightRecorderEvents.beginComponentCall();
+		driveTrain.driveByController(controller);
+		FlightRecorderEvents.commitComponentCall(event, driveTrain, "driveByController");
+
+		event = FlightRecorderEvents.beginComponentCall();
+		bindings.driveByController(controller);
+		FlightRecorderEvents.commitComponentCall(event, bindings, "driveByController");
+	}
+
+	public int getTicks() {
+		return ticks;
+	}
+
+	public double getTime() {
+		return ticks * TICK_LENGTH;
+	}
+
+	public ScriptedController getController() {
+		return controller;
+	}
+
+	public SimulatedGyro getGyro() {
+		return gyro;
+	}
+
+	public SimulatedAccelerometer getAccelerometer() {
+		return accelerometer;
+	}
+
+	public SimulatedEncoder getLeftEncoder() {
+		return leftEncoder;
+	}
+
+	public SimulatedEncoder getRightEncoder() {
+		return rightEncoder;
+	}
+
+	public PoseEstimator getPoseEstimator() {
+		return poseEstimator;
+	}
+
+	public DriveTrain getDriveTrain() {
+		return driveTrain;
+	}
+
+	public Winch getWinch() {
+		return launcher;
+	}
+
+	public Launcher getLauncher() {
+		return launcher;
+	}
+
+	public PowerBudget getPowerBudget() {
+		return power;
+	}
+
+	public TankDriveModel getDriveModel() {
+		return driveModel;
+	}
+
+	public WinchModel getWinchModel() {
+		return winchModel;
+	}
+
+	public LauncherModel getLauncherModel() {
+		return launcherModel;
+	}
+}
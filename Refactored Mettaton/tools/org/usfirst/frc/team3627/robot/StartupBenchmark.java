@@ -0,0 +1,132 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures how long the robot code takes from launching the JVM to
+ * being ready to play, with and without some JVM options, such as a
+ * class-data-sharing archive.
+ *
+ * Each run starts a new JVM that goes through the parts of
+ * robotInit() that need no hardware, with a SubsystemInitializer:
+ * the WarmUp on its own thread, and a SimulatedRobot and the vision
+ * pipeline on the main thread. Most of that time is spent loading and
+ * verifying classes, which is what sharing class data saves. The time
+ * is taken from just before the JVM is launched until it prints that
+ * it is ready.
+ *
+ * java StartupBenchmark [runs] [JVM options...]
+ *
+ * For example, on the roboRIO after "ant cds-archive", with the
+ * robot program stopped and the jar on the class path:
+ *
+ * java StartupBenchmark 10 -XX:+UnlockCommercialFeatures -XX:+UseAppCDS
+ *     -XX:SharedArchiveFile=/home/lvuser/robot.jsa
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class StartupBenchmark {
+
+	static final int DEFAULT_RUNS = 5;
+
+	//what a run prints once it is ready
+	static final String READY = "ready";
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length == 1 && args[0].equals(READY)) {
+			start();
+			return;
+		}
+
+		int runs = (args.length >= 1 ? Integer.parseInt(args[0]) : DEFAULT_RUNS);
+		List<String> options = new ArrayList<String>();
+		for (int i = 1; i < args.length; i++) {
+			options.add(args[i]);
+		}
+
+		double[] plain = new double[runs];
+		double[] optioned = new double[runs];
+
+		//alternate so that anything else slowing the machine hits both
+		for (int i = 0; i < runs; i++) {
+			plain[i] = launch(new ArrayList<String>());
+			if (!options.isEmpty()) {
+				optioned[i] = launch(options);
+			}
+		}
+
+		System.out.printf("launch to ready, median of %d runs:%n", runs);
+		System.out.printf("  %-40s %6.0f ms%n", "default", median(plain));
+		if (!options.isEmpty()) {
+			System.out.printf("  %-40s %6.0f ms%n", String.join(" ", options), median(optioned));
+		}
+	}
+
+	private static double median(double[] values) {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted[sorted.length / 2];
+	}
+
+	/**
+	 * Launches a JVM with the given options, and waits until it is
+	 * ready.
+	 *
+	 * @return the time from launching it until it was ready, in milliseconds
+	 */
+	private static double launch(List<String> options) throws IOException, InterruptedException {
+		List<String> command = new ArrayList<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.addAll(options);
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(StartupBenchmark.class.getName());
+		command.add(READY);
+
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+		double time = -1;
+		BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream()));
+		try {
+			for (String line = in.readLine(); line != null; line = in.readLine()) {
+				if (line.equals(READY) && time < 0) {
+					time = (System.nanoTime() - start) / 1e6;
+				} else if (!line.startsWith(" ") && !line.startsWith("Initialized")) {
+
+					//whatever the JVM complains about, like an unusable archive
+					System.out.println(line);
+				}
+			}
+		} finally {
+			in.close();
+		}
+
+		if (process.waitFor() != 0 || time < 0) {
+			throw new IllegalStateException("the run with " + options + " failed");
+		}
+		return time;
+	}
+
+	/**
+	 * Starts up what can be started without hardware, then says so.
+	 */
+	private static void start() {
+		SubsystemInitializer init = new SubsystemInitializer();
+
+		init.start("warm-up", WarmUp::new);
+		init.run("simulation", () -> new SimulatedRobot(RobotParameters.defaults()).teleopTick());
+		init.run("vision", () -> new VisionPipeline(320, 240).process(new int[320 * 240], 0));
+		init.await();
+
+		System.out.print(init.report());
+		System.out.println(READY);
+	}
+}
@@ -0,0 +1,90 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+/**
+ * Measures how much the MatchLogger costs the control loop.
+ *
+ * A SimulatedRobot drives around while its components are logged
+ * every tick into a real log file, and the time spent in log() is
+ * measured. The ticks are run back to back instead of at 50 per
+ * second, pausing every half buffer for the background thread to
+ * catch up, as it would during the seconds those ticks take on the
+ * robot. At the end, the log is read back to check that every
+ * record made it:
+ *
+ * java TelemetryBenchmark logDirectory [ticks]
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class TelemetryBenchmark {
+
+	//a full match of 2 minutes and 30 seconds, 5 times over
+	static final int DEFAULT_TICKS = (int) (150 * Robot.TICKS_PER_SEC) * 5;
+
+	//ticks to run before measuring, so the code is compiled
+	static final int WARMUP_TICKS = 10000;
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length < 1) {
+			System.err.println("usage: TelemetryBenchmark logDirectory [ticks]");
+			return;
+		}
+
+		int ticks = (args.length >= 2 ? Integer.parseInt(args[1]) : DEFAULT_TICKS);
+
+		SimulatedRobot robot = new SimulatedRobot(RobotParameters.defaults());
+		MatchLogger logger = new MatchLogger(robot.getDriveTrain(), robot.getWinch(), robot.getPoseEstimator());
+		logger.start(new File(args[0]));
+
+		long[] times = new long[ticks];
+
+		for (int tick = 0; tick < WARMUP_TICKS + ticks; tick++) {
+
+			//weave and run the winch up and down so the values change
+			ScriptedController controller = robot.getController();
+			controller.setAxisLY(Math.sin(tick * 0.01));
+			controller.setAxisRY(Math.cos(tick * 0.013));
+			robot.getWinch().raise((tick / 200) % 2 == 0 ? 1 : -1);
+			robot.teleopTick();
+
+			long start = System.nanoTime();
+			logger.log(start / 1000, MatchLogFormat.MODE_TELEOP);
+			long time = System.nanoTime() - start;
+
+			if (tick >= WARMUP_TICKS) {
+				times[tick - WARMUP_TICKS] = time;
+			}
+
+			//every half buffer, give the background thread time to drain
+			if (tick % (MatchLogger.BUFFER_RECORDS / 2) == 0) {
+				Thread.sleep(MatchLogger.DRAIN_INTERVAL + 10);
+			}
+		}
+
+		logger.stop();
+
+		Arrays.sort(times);
+		long total = 0;
+		for (long time : times) {
+			total += time;
+		}
+
+		System.out.printf("log(): mean %d ns, median %d ns, 99%% %d ns, 99.9%% %d ns, max %d ns over %d ticks%n",
+				total / ticks, times[ticks / 2], times[(int) (ticks * 0.99)], times[(int) (ticks * 0.999)],
+				times[ticks - 1], ticks);
+
+		//check the file
+		RandomAccessFile file = new RandomAccessFile(logger.getFile(), "r");
+		file.seek(MatchLogFormat.HEADER_RECORD_COUNT);
+		int count = file.readInt();
+		file.close();
+
+		System.out.printf("%s: %d records written, %d dropped, %d expected%n",
+				logger.getFile(), count, logger.getDropped(), WARMUP_TICKS + ticks);
+	}
+}
@@ -0,0 +1,84 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * Checks in simulation that traction control lets the drive train
+ * accelerate harder without slipping its wheels more.
+ *
+ * A SimulatedRobot sprints SPRINT_DISTANCE from rest on the triggers
+ * and then lets go, once with the acceleration limit of Robot and no
+ * traction control, and then with AGGRESSIVE_DRIVE_ACC with and
+ * without traction control:
+ *
+ * java TractionValidator
+ *
+ * It exits with a nonzero status if the aggressive limit with
+ * traction control slips more than half as much as the robot's limit
+ * does, or sprints slower than it.
+ *
+ * The model never pitches, so this only covers slipping. The robot
+ * keeps its limit until the tip limits are checked on the robot.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class TractionValidator {
+
+	static final double SPRINT_DISTANCE = 3;
+	static final double TIMEOUT = 10;
+
+	//the sprint times are only measured to the tick
+	static final double TIME_TOLERANCE = 1 / Robot.TICKS_PER_SEC;
+
+	//the acceleration limit traction control could allow
+	static final double AGGRESSIVE_DRIVE_ACC = 9 / Robot.TICKS_PER_SEC;
+
+	public static void main(String[] args) {
+		double[] old = sprint(Robot.DRIVE_ACC, false);
+		double[] aggressive = sprint(AGGRESSIVE_DRIVE_ACC, false);
+		double[] controlled = sprint(AGGRESSIVE_DRIVE_ACC, true);
+
+		System.out.println("                          time to " + SPRINT_DISTANCE + " m   wheel slip   stop    interventions");
+		print("robot's limit", old);
+		print("aggressive, no control", aggressive);
+		print("aggressive, controlled", controlled);
+
+		boolean passed = controlled[1] <= old[1] / 2 && controlled[0] <= old[0] + TIME_TOLERANCE;
+		Validation.finish(passed);
+	}
+
+	private static void print(String name, double[] result) {
+		System.out.printf("%-24s  %8.2f s       %6.3f m    %5.2f m  %d%n",
+				name, result[0], result[1], result[2], (int) result[3]);
+	}
+
+	/**
+	 * Sprints from rest and stops, and returns the time it took to
+	 * cover the distance, the distance the wheels slipped, the
+	 * distance it took to stop and the number of interventions.
+	 */
+	private static double[] sprint(double driveAcc, boolean controlled) {
+		RobotParameters parameters = RobotParameters.defaults().with("driveAcc", driveAcc);
+		SimulatedRobot robot = new SimulatedRobot(parameters);
+		TankDriveModel model = robot.getDriveModel();
+		TractionController traction = robot.getDriveTrain().getTractionController();
+
+		if (!controlled) {
+			robot.getDriveTrain().setTractionController(null);
+		}
+
+		robot.getController().setAxisRTrig(1);
+		while (model.getX() < SPRINT_DISTANCE && robot.getTime() < TIMEOUT) {
+			robot.teleopTick();
+		}
+		double time = robot.getTime();
+
+		double stopStart = model.getX();
+		robot.getController().releaseAll();
+		while (Math.abs(model.getSpeed()) > 0.01 && robot.getTime() < 2 * TIMEOUT) {
+			robot.teleopTick();
+		}
+
+		return new double[] {time, model.getSlipDistance(), model.getX() - stopStart,
+				(controlled ? traction.getInterventions() : 0)};
+	}
+}
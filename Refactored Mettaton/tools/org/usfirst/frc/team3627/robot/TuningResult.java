@@ -0,0 +1,77 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * The outcome of running the tuning scenarios on one set of
+ * RobotParameters. Lower scores are better.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class TuningResult implements Comparable<TuningResult> {
+
+	//header for the CSV columns written by toCsvRow()
+	static final String CSV_HEADER = "rank,score,driveAcc,winchAcc,winchSpeed,inputScalar," +
+			"straighteningThreshold,bumperRotSpeed,sprintTime,sprintOvershoot,wheelSlip," +
+			"turnTime,turnOvershoot,straightDrift,curveResponse,winchTime,winchOvershoot";
+
+	private RobotParameters parameters;
+
+	//time to cross and stop at the sprint line, and how far past it the robot went
+	double sprintTime;
+	double sprintOvershoot;
+
+	//distance the wheels slipped over every drive scenario
+	double wheelSlip;
+
+	//time to turn 90 degrees with the bumpers, and degrees past 90
+	double turnTime;
+	double turnOvershoot;
+
+	//degrees of drift when the driver meant to go straight
+	double straightDrift;
+
+	//fraction of the requested curve the robot actually drove
+	double curveResponse;
+
+	//time to raise the winch from the bottom to the top, and travel past the switch
+	double winchTime;
+	double winchOvershoot;
+
+	private double score;
+
+	public TuningResult(RobotParameters parameters) {
+		this.parameters = parameters;
+	}
+
+	public RobotParameters getParameters() {
+		return parameters;
+	}
+
+	public double getScore() {
+		return score;
+	}
+
+	void setScore(double score) {
+		this.score = score;
+	}
+
+	public int compareTo(TuningResult other) {
+		return Double.compare(score, other.score);
+	}
+
+	/**
+	 * Formats this result as a line of CSV matching CSV_HEADER.
+	 *
+	 * @param rank the rank of this result among all results
+	 * @return the CSV line, without a line terminator
+	 */
+	public String toCsvRow(int rank) {
+		return rank + "," + score + "," +
+				parameters.getDriveAcc() + "," + parameters.getWinchAcc() + "," +
+				parameters.getWinchSpeed() + "," + parameters.getInputScalar() + "," +
+				parameters.getStraighteningThreshold() + "," + parameters.getBumperRotSpeed() + "," +
+				sprintTime + "," + sprintOvershoot + "," + wheelSlip + "," +
+				turnTime + "," + turnOvershoot + "," + straightDrift + "," + curveResponse + "," +
+				winchTime + "," + winchOvershoot;
+	}
+}
@@ -0,0 +1,69 @@
+package org.usfirst.frc.team3627.robot;
+
+/**
+ * What the validators share. Each one drives SimulatedRobots through
+ * its scenarios, prints what it measured, and ends with finish(),
+ * which prints PASSED or FAILED and exits with a nonzero status on a
+ * failure, so a script can run them all.
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class Validation {
+
+	private Validation() {
+	}
+
+	/**
+	 * Creates a SimulatedRobot whose drive train has a Feedforward
+	 * that matches its model, as a calibrated robot's would.
+	 *
+	 * @return the robot
+	 */
+	public static SimulatedRobot calibratedRobot() {
+		SimulatedRobot robot = new SimulatedRobot(RobotParameters.defaults());
+		double kS = robot.getDriveModel().getStaticDuty();
+		robot.getDriveTrain().setFeedforward(new Feedforward(kS, 1 - kS, 0), new Feedforward(kS, 1 - kS, 0));
+		return robot;
+	}
+
+	/**
+	 * Runs the robot as in teleop until its clock reaches the given
+	 * time.
+	 *
+	 * @param robot the robot
+	 * @param time the time to stop at, in seconds since it was created
+	 */
+	public static void teleopUntil(SimulatedRobot robot, double time) {
+		while (robot.getTime() < time) {
+			robot.teleopTick();
+		}
+	}
+
+	/**
+	 * Stops the drive train and waits a second for the robot to come
+	 * to rest.
+	 *
+	 * @param robot the robot
+	 */
+	public static void settle(SimulatedRobot robot) {
+		for (int i = 0; i < Robot.TICKS_PER_SEC; i++) {
+			robot.getDriveTrain().stop();
+			robot.tick();
+		}
+	}
+
+	/**
+	 * Prints whether the validator passed, and exits with a nonzero
+	 * status if it did not.
+	 *
+	 * @param passed whether every check passed
+	 */
+	public static void finish(boolean passed) {
+		System.out.println(passed ? "PASSED" : "FAILED");
+
+		if (!passed) {
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Measures how many frames per second the vision code can process,
+ * using a directory of recorded JPEG images. This runs on a computer:
+ * 
+ * java VisionBenchmark imageDirectory [seconds]
+ * 
+ * It first prints what was found in each image, then runs the
+ * VisionProcessor on its own thread for the given number of seconds
+ * (10 by default) and reports the frame rate.
+ * 
+ * @author agent
+ * @version October 2026
+ */
+public class VisionBenchmark {
+	
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length < 1) {
+			System.err.println("usage: VisionBenchmark imageDirectory [seconds]");
+			return;
+		}
+		
+		double seconds = (args.length >= 2 ? Double.parseDouble(args[1]) : 10);
+		ImageDirectoryFrameSource source = new ImageDirectoryFrameSource(new File(args[0]), true);
+		
+		//show what the pipeline sees in each recorded frame
+		VisionPipeline pipeline = new VisionPipeline(source.getWidth(), source.getHeight());
+		int[] pixels = new int[source.getWidth() * source.getHeight()];
+		
+		for (int i = 0; i < source.getFrameCount(); i++) {
+			double timestamp = source.grabFrame(pixels);
+			VisionTarget target = pipeline.process(pixels, timestamp);
+			
+			System.out.println(source.getFrameName(i) + ": " + pipeline.getBlobCount() + " blobs, " +
+					(target == null ? "no target" : target.toString()));
+		}
+		
+		//now measure throughput on the vision thread
+		VisionProcessor processor = new VisionProcessor(source);
+		long start = System.nanoTime();
+		processor.start();
+		Thread.sleep((long) (seconds * 1000));
+		processor.stop();
+		
+		long frames = processor.getFramesProcessed();
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		
+		System.out.println(source.getWidth() + "x" + source.getHeight() + ": " + frames + " frames in " +
+				elapsed + " s = " + (frames / elapsed) + " frames per second");
+	}
+}
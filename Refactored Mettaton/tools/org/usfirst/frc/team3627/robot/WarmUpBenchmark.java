@@ -0,0 +1,192 @@
+package org.usfirst.frc.team3627.robot;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures how long the first ticks of the control loop take, with
+ * and without a WarmUp while disabled.
+ *
+ * Compiled code is shared by the whole process, so each measurement
+ * runs in a new JVM, which starts out as cold as the robot does after
+ * a reboot. The measured robot is a fresh WarmUp built from the
+ * STAND_IN classes, which the warm-up never uses, the way the real
+ * robot's Talons and Joystick are classes the warm-up never sees; in
+ * a warm run, another WarmUp runs until it is finished first, as it
+ * would while the robot sits disabled before a match.
+ *
+ * Each run also counts the robot's fully optimized (tier 4) methods
+ * that the JVM threw away ("made not entrant" with
+ * -XX:+PrintCompilation) while the measured ticks ran, which is what
+ * meeting new classes costs. Quickly compiled (tier 1 to 3) methods
+ * are thrown away every time they are optimized, so those are not
+ * counted.
+ * The JVM prints those lines as it goes, so the run puts its own
+ * lines on standard error, where they cannot be broken up.
+ *
+ * java WarmUpBenchmark [runs]
+ * java WarmUpBenchmark cold|warm
+ *
+ * @author agent
+ * @version October 2026
+ */
+public class WarmUpBenchmark {
+
+	static final int DEFAULT_RUNS = 5;
+
+	//ticks measured in each run; 250 is the first 5 seconds
+	static final int MEASURED_TICKS = 250;
+
+	//the first second of ticks, where the worst tick is looked for
+	static final int EARLY_TICKS = 50;
+
+	//how long a warm run spends warming up per simulated disabled tick
+	static final double BUDGET = 0.005;
+
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length >= 1 && (args[0].equals("cold") || args[0].equals("warm"))) {
+			measure(args[0].equals("warm"));
+			return;
+		}
+
+		int runs = (args.length >= 1 ? Integer.parseInt(args[0]) : DEFAULT_RUNS);
+		double[][] cold = new double[runs][];
+		double[][] warm = new double[runs][];
+
+		//alternate so that anything else slowing the machine hits both
+		for (int i = 0; i < runs; i++) {
+			cold[i] = spawn("cold");
+			warm[i] = spawn("warm");
+		}
+
+		System.out.println("medians of " + runs + " runs, in microseconds:");
+		System.out.printf("%-8s %12s %16s %16s %12s%n", "", "first tick",
+				"worst of " + EARLY_TICKS, "mean of " + MEASURED_TICKS, "thrown away");
+		print("cold", cold);
+		print("warm", warm);
+	}
+
+	private static void print(String name, double[][] results) {
+		System.out.printf("%-8s %12.1f %16.1f %16.1f %12.0f%n", name,
+				median(results, 0), median(results, 1), median(results, 2), median(results, 3));
+	}
+
+	private static double median(double[][] results, int column) {
+		double[] values = new double[results.length];
+		for (int i = 0; i < results.length; i++) {
+			values[i] = results[i][column];
+		}
+		Arrays.sort(values);
+		return values[values.length / 2];
+	}
+
+	/**
+	 * Runs one measurement in a new JVM.
+	 *
+	 * @return the first tick, the worst early tick and the mean tick, in
+	 * microseconds, and the number of the robot's methods thrown away
+	 */
+	private static double[] spawn(String mode) throws IOException, InterruptedException {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		Process process = new ProcessBuilder(java, "-XX:+PrintCompilation", "-cp", System.getProperty("java.class.path"),
+				WarmUpBenchmark.class.getName(), mode).start();
+
+		//the compilations, each starting with its time in milliseconds
+		String prefix = WarmUpBenchmark.class.getPackage().getName();
+		List<Long> thrownAway = new ArrayList<Long>();
+		BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream()));
+		try {
+			for (String line = in.readLine(); line != null; line = in.readLine()) {
+				if (!line.contains("made not entrant") || !line.contains(prefix)) {
+					continue;
+				}
+
+				//the tier is the field just before the method's name
+				String[] fields = line.trim().split("\\s+");
+				for (int i = 1; i < fields.length; i++) {
+					if (fields[i].startsWith(prefix) && fields[i - 1].equals("4") && fields[0].matches("\\d+")) {
+						thrownAway.add(Long.parseLong(fields[0]));
+					}
+				}
+			}
+		} finally {
+			in.close();
+		}
+
+		String result = null;
+		BufferedReader err = new BufferedReader(new InputStreamReader(process.getErrorStream()));
+		try {
+			for (String line = err.readLine(); line != null; line = err.readLine()) {
+				if (line.startsWith("result ")) {
+					result = line;
+				} else {
+					System.out.println(line);
+				}
+			}
+		} finally {
+			err.close();
+		}
+
+		if (process.waitFor() != 0 || result == null) {
+			throw new IllegalStateException("the " + mode + " run failed");
+		}
+
+		String[] fields = result.split(" ");
+		long start = Long.parseLong(fields[4]);
+		long end = Long.parseLong(fields[5]);
+		int count = 0;
+		for (long time : thrownAway) {
+			if (time >= start && time <= end) {
+				count++;
+			}
+		}
+
+		return new double[] {Double.parseDouble(fields[1]), Double.parseDouble(fields[2]),
+				Double.parseDouble(fields[3]), count};
+	}
+
+	/**
+	 * Times the first ticks of a fresh robot and prints them on a
+	 * single "result" line, with the JVM's uptime in milliseconds when
+	 * the robot was built and when its ticks were done.
+	 */
+	private static void measure(boolean warm) {
+		if (warm) {
+			WarmUp warmUp = new WarmUp();
+			while (!warmUp.run(BUDGET)) {
+				//the robot would wait for its next disabled tick here
+			}
+			System.err.print(warmUp.report());
+		}
+
+		RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+		long startTime = runtime.getUptime();
+		WarmUp robot = new WarmUp(WarmUp.STAND_IN);
+		long[] times = new long[MEASURED_TICKS];
+		for (int i = 0; i < MEASURED_TICKS; i++) {
+			long start = System.nanoTime();
+			robot.tick();
+			times[i] = System.nanoTime() - start;
+		}
+
+		long worst = 0;
+		for (int i = 0; i < EARLY_TICKS; i++) {
+			worst = Math.max(worst, times[i]);
+		}
+		long total = 0;
+		for (long time : times) {
+			total += time;
+		}
+
+		System.err.println("result " + times[0] / 1e3 + " " + worst / 1e3 + " " + total / 1e3 / MEASURED_TICKS +
+				" " + startTime + " " + runtime.getUptime());
+	}
+}